@@ -0,0 +1,101 @@
+package com.dqrapps.global.graphics;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Vector API shading kernel. Processes one hardware vector of pixels per iteration
+ * (8 on AVX2, 16 on AVX-512) with the same steps as {@link ScalarShadingKernel}.
+ * Only the light intensity is computed in float; it is converted once to 16.16 fixed point
+ * and the colour channels stay in integer lanes, since lane-wise int/float conversions are
+ * not reliably intrinsified on JDK 17. The atmosphere's weights and glow are gathered from
+ * its table by a lane-wise index and blended in the same integer lanes. Channels can differ
+ * from the scalar kernel by one level at rounding boundaries. Built only by the {@code vector} Maven profile and loaded
+ * reflectively by {@link ShadingKernels}.
+ */
+public class VectorShadingKernel implements ShadingKernel {
+    private static final VectorSpecies<Integer> INTS = IntVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Float> FLOATS = VectorSpecies.of(float.class, INTS.vectorShape());
+    private static final int FIXED_ONE = 1 << 16;
+    private static final int DIVIDE_BY_FIVE = 52429; // (x * 52429) >>> 18 == x / 5 for x < 81920
+    private static final float VIEW_SCALE = AtmosphereTable.VIEW_STEPS - 1;
+    private static final float LIGHT_SCALE = 0.5f * (AtmosphereTable.LIGHT_STEPS - 1);
+
+    @Override
+    public void shade(int[] texels, float[] normalX, float[] normalY, float[] normalZ,
+                      int[] alpha, int[] pixelIndex, int count,
+                      float lightX, float lightY, float lightZ, float ambient,
+                      AtmosphereTable atmosphere, int[] output) {
+        float directional = (1.0f - ambient) * FIXED_ONE;
+        float ambientFixed = ambient * FIXED_ONE;
+        int[] entries = new int[INTS.length()];
+        int bound = INTS.loopBound(count);
+        int i = 0;
+        for (; i < bound; i += INTS.length()) {
+            FloatVector viewCos = FloatVector.fromArray(FLOATS, normalZ, i);
+            FloatVector dot = FloatVector.fromArray(FLOATS, normalX, i).mul(lightX)
+                    .add(FloatVector.fromArray(FLOATS, normalY, i).mul(lightY))
+                    .add(viewCos.mul(lightZ));
+            IntVector intensity = (IntVector) dot.max(0.0f).mul(directional).add(ambientFixed)
+                    .convertShape(VectorOperators.F2I, INTS, 0);
+            
+            IntVector color = IntVector.fromArray(INTS, texels, i);
+            IntVector red = litChannel(color.lanewise(VectorOperators.LSHR, 16), intensity);
+            IntVector green = litChannel(color.lanewise(VectorOperators.LSHR, 8), intensity);
+            IntVector blue = litChannel(color, intensity);
+            
+            if (atmosphere != null) {
+                // Same rounding and clamping as AtmosphereTable.index
+                IntVector view = (IntVector) viewCos.mul(VIEW_SCALE).add(0.5f)
+                        .convertShape(VectorOperators.F2I, INTS, 0);
+                IntVector light = (IntVector) dot.add(1.0f).mul(LIGHT_SCALE).add(0.5f)
+                        .convertShape(VectorOperators.F2I, INTS, 0);
+                view.max(0).min(AtmosphereTable.VIEW_STEPS - 1)
+                        .mul(AtmosphereTable.LIGHT_STEPS)
+                        .add(light.max(0).min(AtmosphereTable.LIGHT_STEPS - 1))
+                        .intoArray(entries, 0);
+                IntVector keep = IntVector.fromArray(INTS, atmosphere.getWeights(), 0, entries, 0).neg().add(256);
+                IntVector glow = IntVector.fromArray(INTS, atmosphere.getGlow(), 0, entries, 0);
+                red = scatterChannel(red, keep, glow.lanewise(VectorOperators.LSHR, 16));
+                green = scatterChannel(green, keep, glow.lanewise(VectorOperators.LSHR, 8));
+                blue = scatterChannel(blue, keep, glow);
+            }
+            
+            IntVector.fromArray(INTS, alpha, i)
+                    .or(red.lanewise(VectorOperators.LSHL, 16))
+                    .or(green.lanewise(VectorOperators.LSHL, 8))
+                    .or(blue)
+                    .intoArray(texels, i);
+        }
+        // Scatter through the pixel index; hardware scatter is slower than scalar stores here
+        for (int j = 0; j < i; j++) {
+            output[pixelIndex[j]] = texels[j];
+        }
+        ScalarShadingKernel.shadeRange(texels, normalX, normalY, normalZ, alpha, pixelIndex, i, count,
+                lightX, lightY, lightZ, ambient, atmosphere, output);
+    }
+
+    /**
+     * Brighten one 8-bit channel (low byte of each lane) by c * 1.2 + 20 = (6c + 100) / 5,
+     * then scale it by the 16.16 light intensity
+     */
+    private static IntVector litChannel(IntVector channel, IntVector intensity) {
+        IntVector enhanced = channel.and(0xFF).mul(6).add(100)
+                .mul(DIVIDE_BY_FIVE).lanewise(VectorOperators.LSHR, 18).min(255);
+        return enhanced.mul(intensity).lanewise(VectorOperators.LSHR, 16).min(255);
+    }
+
+    /**
+     * Blend one lit channel with the low byte of the gathered glow: c * keep / 256 + glow
+     */
+    private static IntVector scatterChannel(IntVector channel, IntVector keep, IntVector glow) {
+        return channel.mul(keep).lanewise(VectorOperators.LSHR, 8).add(glow.and(0xFF));
+    }
+
+    @Override
+    public String getName() {
+        return "vector-" + INTS.length() + "x32";
+    }
+}
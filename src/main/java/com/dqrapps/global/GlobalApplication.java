@@ -1,20 +1,169 @@
 package com.dqrapps.global;
 
+import com.dqrapps.global.geo.GeodataParser;
+import com.dqrapps.global.geo.MarkerSet;
+import com.dqrapps.global.geo.PolylineSet;
+import com.dqrapps.global.graphics.RenderBackendType;
+import com.dqrapps.global.graphics.TexelFormat;
+import com.dqrapps.global.graphics.TexelLayout;
+import com.dqrapps.global.graphics.TextureManager;
+import com.dqrapps.global.metrics.RenderMeterBinder;
+import com.dqrapps.global.metrics.RenderMetrics;
 import com.dqrapps.global.model.Planet;
+import com.dqrapps.global.model.PlanetCatalog;
+import com.dqrapps.global.orbit.SolarClock;
+import com.dqrapps.global.orbit.TleParser;
+import com.dqrapps.global.session.SessionRecorder;
+import com.dqrapps.global.session.SessionReplayer;
+import com.dqrapps.global.session.SessionStore;
+import com.dqrapps.global.stream.FrameStreamServer;
+import com.dqrapps.global.stream.FrameStreamer;
+import com.dqrapps.global.ui.FramePacing;
+import com.dqrapps.global.ui.FrameScheduler;
 import com.dqrapps.global.ui.GlobePanel;
+import com.dqrapps.global.ui.StartupWindow;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.core.env.SimpleCommandLinePropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.io.support.ResourcePropertySource;
+import org.springframework.jdbc.core.JdbcTemplate;
 
 import javax.swing.*;
 import java.awt.*;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
 import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 @SpringBootApplication
 public class GlobalApplication implements CommandLineRunner {
     private static final Logger logger = LoggerFactory.getLogger(GlobalApplication.class);
+    /** Size of the planet selector, which its texture previews fill exactly */
+    private static final int PREVIEW_WIDTH = 185;
+    private static final int PREVIEW_HEIGHT = 42;
+    
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final ObjectProvider<JdbcTemplate> jdbcTemplate;
+    private final ObjectProvider<StartupWindow> startupWindow;
+    private final ObjectProvider<PlanetCatalog> planetCatalog;
+    // Moves the sun once per clock second; runs only while a viewport follows a sun clock
+    private Timer sunTimer;
+    
+    @Value("${globe.quality.adaptive:false}")
+    private boolean adaptiveQuality;
+    
+    @Value("${globe.quality.target-fps:60}")
+    private int targetFps;
+    
+    @Value("${globe.frame.pacing:fixed}")
+    private String framePacing;
+    
+    @Value("${globe.render.resolution-scale:1.0}")
+    private double resolutionScale;
+    
+    @Value("${globe.render.bicubic-upscale:false}")
+    private boolean bicubicUpscale;
+    
+    @Value("${globe.render.temporal-reprojection:false}")
+    private boolean temporalReprojection;
+    
+    @Value("${globe.render.simd:true}")
+    private boolean simdShading;
+    
+    @Value("${globe.render.backend:java2d}")
+    private String renderBackend;
+    
+    @Value("${globe.texture.layout:morton}")
+    private String texelLayout;
+    
+    @Value("${globe.texture.format:rgb}")
+    private String texelFormat;
+    
+    @Value("${globe.catalog.location:}")
+    private String catalogLocation;
+    
+    @Value("${globe.satellites.tle:}")
+    private String tleLocation;
+    
+    @Value("${globe.geodata.show:false}")
+    private boolean showGeodata;
+    
+    @Value("${globe.geodata.graticule-step:30}")
+    private double graticuleStep;
+    
+    @Value("${globe.geodata.coastlines:}")
+    private String coastlineLocation;
+    
+    @Value("${globe.geodata.markers:}")
+    private String markerLocation;
+    
+    @Value("${globe.geodata.planet:earth}")
+    private String geodataPlanet;
+    
+    @Value("${globe.sun.real-time:false}")
+    private boolean sunRealTime;
+    
+    @Value("${globe.sun.start:}")
+    private String sunStart;
+    
+    @Value("${globe.sun.time-scale:1.0}")
+    private double sunTimeScale;
+    
+    @Value("${globe.stream.enabled:false}")
+    private boolean streamEnabled;
+    
+    @Value("${globe.stream.port:8090}")
+    private int streamPort;
+    
+    @Value("${globe.stream.max-fps:30}")
+    private int streamMaxFps;
+    
+    @Value("${globe.stream.quality:0.8}")
+    private float streamQuality;
+    
+    @Value("${globe.stream.encoder-threads:2}")
+    private int streamEncoderThreads;
+    
+    @Value("${globe.viewports:1}")
+    private int viewportCount;
+    
+    @Value("${globe.session.record:false}")
+    private boolean recordSession;
+    
+    @Value("${globe.session.replay:}")
+    private String replaySession;
+    
+    @Value("${globe.startup.exit-when-ready:false}")
+    private boolean exitWhenReady;
+    
+    public GlobalApplication(ObjectProvider<MeterRegistry> meterRegistry, ObjectProvider<JdbcTemplate> jdbcTemplate,
+                             ObjectProvider<StartupWindow> startupWindow, ObjectProvider<PlanetCatalog> planetCatalog) {
+        this.meterRegistry = meterRegistry;
+        this.jdbcTemplate = jdbcTemplate;
+        this.startupWindow = startupWindow;
+        this.planetCatalog = planetCatalog;
+    }
 
     public static void main(String[] args) {
         // Set system properties for headless mode compatibility
@@ -22,17 +171,43 @@ public class GlobalApplication implements CommandLineRunner {
         System.setProperty("awt.useSystemAAFontSettings", "on");
         System.setProperty("swing.aatext", "true");
         
-        SpringApplication.run(GlobalApplication.class, args);
+        // Show the window before building the context, which takes most of the startup time. The
+        // catalog is parsed once, here, and handed to the window and the application
+        PlanetCatalog catalog = PlanetCatalog.load(startupCatalogLocation(args));
+        StartupWindow window = StartupWindow.show(catalog);
+        SpringApplication application = new SpringApplication(GlobalApplication.class);
+        application.addInitializers(context -> {
+            context.getBeanFactory().registerSingleton("planetCatalog", catalog);
+            context.getBeanFactory().registerSingleton("startupWindow", window);
+        });
+        application.run(args);
+    }
+
+    /**
+     * The configured planet catalog location, read before the context exists from the command
+     * line, system properties, the environment and the bundled application.properties
+     */
+    private static String startupCatalogLocation(String[] args) {
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new SimpleCommandLinePropertySource(args));
+        try {
+            environment.getPropertySources().addLast(new ResourcePropertySource("classpath:application.properties"));
+        } catch (IOException e) {
+            logger.debug("No application.properties for the startup window: {}", e.getMessage());
+        }
+        return environment.getProperty("globe.catalog.location", "");
     }
 
     @Override
     public void run(String... args) throws Exception {
         logger.info("Starting Globe 2D Visualization Application...");
         
-        SwingUtilities.invokeLater(this::createAndShowGUI);
+        // Started without main() there is no catalog bean; load it here rather than on the EDT
+        PlanetCatalog catalog = planetCatalog.getIfAvailable(() -> PlanetCatalog.load(catalogLocation));
+        SwingUtilities.invokeLater(() -> createAndShowGUI(catalog));
     }
 
-    private void createAndShowGUI() {
+    private void createAndShowGUI(PlanetCatalog planetCatalog) {
         try {
             // Set look and feel
             UIManager.setLookAndFeel(UIManager.getSystemLookAndFeelClassName());
@@ -40,39 +215,281 @@ public class GlobalApplication implements CommandLineRunner {
             logger.warn("Could not set system look and feel: {}", e.getMessage());
         }
 
-        // Create main frame
-        JFrame frame = new JFrame("Enhanced Globe 3D Visualization - Refactored");
-        frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
-        frame.setSize(1000, 700);
-        frame.setLocationRelativeTo(null);
+        // Reuse the window shown at launch, replacing its placeholder
+        JFrame frame = startupWindow.getIfAvailable(() -> new StartupWindow(planetCatalog)).getFrame();
 
-        // Create globe panel
-        GlobePanel globePanel = new GlobePanel();
+        // Create globe panels; extra viewports share the primary panel's textures and tables but
+        // the controls, metrics, tracked satellites and streaming stay with the primary panel
+        GlobePanel globePanel = createGlobePanel(planetCatalog);
+        loadSatelliteCatalog(globePanel);
+        startFrameStreaming(globePanel);
+        List<GlobePanel> viewports = new ArrayList<>();
+        viewports.add(globePanel);
+        List<Planet> planets = planetCatalog.getPlanets();
+        for (int i = 1; i < viewportCount; i++) {
+            GlobePanel viewport = createGlobePanel(planetCatalog);
+            viewport.setPlanet(planets.get(i % planets.size()));
+            viewports.add(viewport);
+        }
+        loadGeodata(viewports);
+        
+        // Export render metrics to Micrometer and JMX; the registry is created lazily, so off the EDT
+        CompletableFuture.runAsync(() -> {
+            meterRegistry.ifAvailable(registry -> new RenderMeterBinder(
+                    globePanel.getFrameMetrics(), globePanel.getTextureManager()).bindTo(registry));
+            new RenderMetrics(globePanel.getFrameMetrics(), globePanel.getTextureManager()).register();
+        });
         
         // Create control panel
         JPanel controlPanel = createControlPanel(globePanel);
         
         // Layout
-        frame.setLayout(new BorderLayout());
-        frame.add(globePanel, BorderLayout.CENTER);
-        frame.add(controlPanel, BorderLayout.EAST);
+        JPanel content = new JPanel(new BorderLayout());
+        content.add(createViewportPanel(viewports), BorderLayout.CENTER);
+        content.add(controlPanel, BorderLayout.EAST);
+        frame.setContentPane(content);
+        frame.revalidate();
 
-        // Start animation timer (16ms = 60 FPS for ultra-smooth rotation)
-        Timer timer = new Timer(16, e -> globePanel.repaint());
-        timer.start();
+        // Frames are paced by the scheduler; animation advances with real time whatever rate it achieves
+        FrameScheduler scheduler = new FrameScheduler(FramePacing.fromName(framePacing), targetFps,
+                () -> viewports.forEach(viewport ->
+                        viewport.paintImmediately(0, 0, viewport.getWidth(), viewport.getHeight())));
+        if (scheduler.getPacing() == FramePacing.ON_DEMAND) {
+            viewports.forEach(viewport -> viewport.setFrameRequester(scheduler::requestFrame));
+        }
+        // Frames are dropped when the scheduler skips them, not when on-demand pacing idles
+        viewports.forEach(viewport -> viewport.getFrameMetrics().setSkippedFrameSource(scheduler::getSkippedFrames));
+        // The subsolar point moves once per clock second; on-demand pacing draws only when it does.
+        // The timer stops itself once no viewport has a clock and is restarted when one is set.
+        sunTimer = new Timer(1000, e -> {
+            if (viewports.stream().noneMatch(viewport -> viewport.getSolarClock() != null)) {
+                sunTimer.stop();
+                return;
+            }
+            viewports.forEach(GlobePanel::updateSunPosition);
+        });
+        if (sunRealTime) {
+            sunTimer.start();
+        }
+        frame.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                sunTimer.stop();
+                scheduler.close();
+            }
+        });
 
-        // Show frame
-        frame.setVisible(true);
-        frame.setAlwaysOnTop(true); // Bring to front initially
-        frame.setAlwaysOnTop(false); // Remove always on top after showing
-        frame.toFront(); // Bring to front
-        frame.requestFocus(); // Request focus
+        startSession(frame, globePanel, scheduler);
+        globePanel.whenTexturesReady(() -> {
+            logger.info("Globe textures ready {} ms after JVM start", ManagementFactory.getRuntimeMXBean().getUptime());
+            if (exitWhenReady) {
+                // Training runs, e.g. for a class data sharing archive, stop after startup;
+                // the shutdown hook closes the context
+                System.exit(0);
+            }
+        });
 
         logger.info("Enhanced Globe 3D Visualization window created successfully");
         logger.info("Look for a window titled 'Enhanced Globe 3D Visualization - Refactored' with rotating Earth and interactive controls");
         logger.info("If you don't see it, check your taskbar or use Alt+Tab to cycle through windows");
     }
 
+    /**
+     * Create a globe panel with the configured render settings
+     */
+    private GlobePanel createGlobePanel(PlanetCatalog planetCatalog) {
+        GlobePanel globePanel = new GlobePanel(planetCatalog, TexelFormat.fromName(texelFormat),
+                TexelLayout.fromName(texelLayout));
+        globePanel.setTargetFps(targetFps);
+        globePanel.setAdaptiveQuality(adaptiveQuality);
+        globePanel.setResolutionScale(resolutionScale);
+        globePanel.setBicubicUpscale(bicubicUpscale);
+        globePanel.setTemporalReprojection(temporalReprojection);
+        globePanel.setSimdShading(simdShading);
+        globePanel.setRenderBackend(RenderBackendType.fromName(renderBackend));
+        globePanel.setGraticuleStep(graticuleStep);
+        globePanel.setShowGeodata(showGeodata);
+        if (sunRealTime) {
+            globePanel.setSolarClock(createSolarClock());
+        }
+        return globePanel;
+    }
+
+    /**
+     * Clock for sun-driven lighting: the system's UTC time, or a simulated one if a start or scale is set
+     */
+    private SolarClock createSolarClock() {
+        Instant start = null;
+        if (!sunStart.trim().isEmpty()) {
+            try {
+                start = Instant.parse(sunStart.trim());
+            } catch (DateTimeParseException e) {
+                logger.warn("Invalid globe.sun.start '{}', using the current time: {}", sunStart, e.getMessage());
+            }
+        }
+        return new SolarClock(start, sunTimeScale);
+    }
+
+    /**
+     * Lay out several viewports in a near-square grid; a single viewport is used as is
+     */
+    private Component createViewportPanel(List<GlobePanel> viewports) {
+        if (viewports.size() == 1) {
+            return viewports.get(0);
+        }
+        int columns = (int) Math.ceil(Math.sqrt(viewports.size()));
+        int rows = (viewports.size() + columns - 1) / columns;
+        JPanel grid = new JPanel(new GridLayout(rows, columns, 2, 2));
+        grid.setBackground(Color.BLACK);
+        viewports.forEach(grid::add);
+        return grid;
+    }
+
+    /**
+     * Load the configured TLE file, if any; a missing or unreadable file leaves only the decorative satellites
+     */
+    private void loadSatelliteCatalog(GlobePanel globePanel) {
+        if (tleLocation.trim().isEmpty()) return;
+        try {
+            globePanel.setSatelliteCatalog(TleParser.parse(Paths.get(tleLocation.trim())));
+        } catch (IOException e) {
+            logger.error("Failed to load satellite catalog {}: {}", tleLocation, e.getMessage());
+        }
+    }
+
+    /**
+     * Load the configured coastline and marker files off the event dispatch thread and hand them to
+     * every viewport; a missing or unreadable file is left out of the overlay
+     */
+    private void loadGeodata(List<GlobePanel> viewports) {
+        if (coastlineLocation.trim().isEmpty() && markerLocation.trim().isEmpty()) return;
+        CompletableFuture.runAsync(() -> {
+            PolylineSet coastlines = null;
+            MarkerSet markers = null;
+            try {
+                if (!coastlineLocation.trim().isEmpty()) {
+                    coastlines = GeodataParser.parsePolylines(Paths.get(coastlineLocation.trim()));
+                }
+            } catch (IOException e) {
+                logger.error("Failed to load coastlines {}: {}", coastlineLocation, e.getMessage());
+            }
+            try {
+                if (!markerLocation.trim().isEmpty()) {
+                    markers = GeodataParser.parseMarkers(Paths.get(markerLocation.trim()));
+                }
+            } catch (IOException e) {
+                logger.error("Failed to load markers {}: {}", markerLocation, e.getMessage());
+            }
+            PolylineSet loadedCoastlines = coastlines;
+            MarkerSet loadedMarkers = markers;
+            SwingUtilities.invokeLater(() -> viewports.forEach(viewport ->
+                    viewport.setGeodata(geodataPlanet.trim(), loadedCoastlines, loadedMarkers)));
+        });
+    }
+
+    /**
+     * Serve rendered frames over HTTP for remote displays when enabled
+     */
+    private void startFrameStreaming(GlobePanel globePanel) {
+        if (!streamEnabled) return;
+        FrameStreamer streamer = new FrameStreamer(streamMaxFps, streamQuality, streamEncoderThreads);
+        try {
+            new FrameStreamServer(streamPort, streamer).start();
+            globePanel.setFrameStreamer(streamer);
+        } catch (IOException e) {
+            streamer.close();
+            logger.error("Could not start frame streaming on port {}: {}", streamPort, e.getMessage());
+        }
+    }
+
+    /**
+     * Start the frame scheduler, first replaying or starting to record a session if configured
+     */
+    private void startSession(JFrame frame, GlobePanel globePanel, FrameScheduler scheduler) {
+        boolean replay = !replaySession.trim().isEmpty();
+        // Beans are initialized lazily; the database is only started when a session needs it
+        JdbcTemplate jdbc = replay || recordSession ? jdbcTemplate.getIfAvailable() : null;
+        if ((replay || recordSession) && jdbc == null) {
+            logger.warn("Session recording and replay need a DataSource; none is configured");
+        } else if (replay) {
+            // The replayer paints each recorded frame itself; live animation resumes afterwards
+            new SessionReplayer(new SessionStore(jdbc))
+                    .replay(Long.parseLong(replaySession.trim()), globePanel, report -> scheduler.start());
+            return;
+        } else if (recordSession) {
+            // The session records the panel's size, known once the frame has laid it out
+            whenLaidOut(globePanel, () -> {
+                SessionRecorder recorder = new SessionRecorder(new SessionStore(jdbc),
+                        frame.getTitle(), globePanel.getWidth(), globePanel.getHeight());
+                globePanel.setSessionRecorder(recorder);
+                frame.addWindowListener(new WindowAdapter() {
+                    @Override
+                    public void windowClosing(WindowEvent e) {
+                        globePanel.setSessionRecorder(null);
+                        recorder.close();
+                    }
+                });
+            });
+        }
+        scheduler.start();
+    }
+
+    /**
+     * Run an action on the event dispatch thread once a component has a non-empty size
+     */
+    private static void whenLaidOut(Component component, Runnable action) {
+        if (component.getWidth() > 0 && component.getHeight() > 0) {
+            action.run();
+            return;
+        }
+        component.addComponentListener(new ComponentAdapter() {
+            @Override
+            public void componentResized(ComponentEvent e) {
+                if (component.getWidth() > 0 && component.getHeight() > 0) {
+                    component.removeComponentListener(this);
+                    action.run();
+                }
+            }
+        });
+    }
+
+    /**
+     * Selector entry for a body: its texture stretched over the whole entry under a tint, with the
+     * name centred on top; null if the body has no texture
+     */
+    private static Icon createPlanetPreview(BufferedImage texture, String planetName, boolean highlighted) {
+        if (texture == null) return null;
+        BufferedImage preview = new BufferedImage(PREVIEW_WIDTH, PREVIEW_HEIGHT, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2d = preview.createGraphics();
+        g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        
+        // Fill entire background with texture
+        g2d.drawImage(texture, 0, 0, PREVIEW_WIDTH, PREVIEW_HEIGHT, null);
+        
+        // Add semi-transparent overlay for text readability
+        g2d.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 0.6f));
+        g2d.setColor(highlighted ? new Color(0, 100, 200, 180) : new Color(0, 0, 0, 120));
+        g2d.fillRect(0, 0, PREVIEW_WIDTH, PREVIEW_HEIGHT);
+        g2d.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 1.0f));
+        
+        // Scale the font so the name spans most of the width (with some padding), within reasonable bounds
+        FontMetrics baseFm = g2d.getFontMetrics(new Font("Arial", Font.BOLD, 12));
+        float scaleFactor = PREVIEW_WIDTH * 0.8f / baseFm.stringWidth(planetName);
+        g2d.setFont(new Font("Arial", Font.BOLD, Math.max(8, Math.min(24, (int) (12 * scaleFactor)))));
+        FontMetrics fm = g2d.getFontMetrics();
+        
+        // Center the text, with a shadow for better visibility
+        int textX = (PREVIEW_WIDTH - fm.stringWidth(planetName)) / 2;
+        int textY = (PREVIEW_HEIGHT + fm.getAscent()) / 2;
+        g2d.setColor(Color.BLACK);
+        g2d.drawString(planetName, textX + 1, textY + 1);
+        g2d.setColor(Color.WHITE);
+        g2d.drawString(planetName, textX, textY);
+        g2d.dispose();
+        return new ImageIcon(preview);
+    }
+
     private JPanel createControlPanel(GlobePanel globePanel) {
         JPanel controlPanel = new JPanel();
         controlPanel.setLayout(new BoxLayout(controlPanel, BoxLayout.Y_AXIS));
@@ -83,7 +500,7 @@ public class GlobalApplication implements CommandLineRunner {
         // Animation speed control
         JLabel speedLabel = new JLabel("Speed:");
         speedLabel.setForeground(Color.WHITE);
-        JSlider speedSlider = new JSlider(1, 50, 10);
+        JSlider speedSlider = new JSlider(0, 50, 10); // 0 pauses the animation
         speedSlider.setBackground(Color.DARK_GRAY);
         speedSlider.setForeground(Color.WHITE);
         speedSlider.addChangeListener(e -> globePanel.setAnimationSpeed(speedSlider.getValue() / 10.0));
@@ -99,20 +516,26 @@ public class GlobalApplication implements CommandLineRunner {
         // Planet selection
         JLabel planetLabel = new JLabel("Planet:");
         planetLabel.setForeground(Color.WHITE);
-        String[] planetNames = Planet.getAllDisplayNames();
-        System.out.println("Planet names loaded: " + java.util.Arrays.toString(planetNames)); // Debug
+        String[] planetNames = globePanel.getPlanetCatalog().getAllDisplayNames();
+        logger.debug("Planet names loaded: {}", Arrays.toString(planetNames));
         JComboBox<String> planetCombo = new JComboBox<>(planetNames);
         planetCombo.setMaximumRowCount(8);  // Show all planets at once
-        planetCombo.setPreferredSize(new Dimension(185, 42)); // Exact size to match texture
-        planetCombo.setMinimumSize(new Dimension(185, 42));   // Force exact size
-        planetCombo.setMaximumSize(new Dimension(185, 42));   // Force exact size
+        planetCombo.setPreferredSize(new Dimension(PREVIEW_WIDTH, PREVIEW_HEIGHT)); // Exact size to match texture
+        planetCombo.setMinimumSize(new Dimension(PREVIEW_WIDTH, PREVIEW_HEIGHT));   // Force exact size
+        planetCombo.setMaximumSize(new Dimension(PREVIEW_WIDTH, PREVIEW_HEIGHT));   // Force exact size
         
         // Remove all default styling to let our renderer take full control
         planetCombo.setOpaque(false);
         planetCombo.setBorder(BorderFactory.createEmptyBorder(0, 0, 0, 0)); // No border at all
         planetCombo.setBackground(new Color(0, 0, 0, 0)); // Fully transparent
         
-        // Custom renderer to show texture previews
+        // Custom renderer to show texture previews. A body's preview is drawn once its textures
+        // have loaded on the texture loader thread; until then the entry shows its name, so
+        // opening the selector never decodes textures on the event dispatch thread
+        TextureManager textures = globePanel.getTextureManager();
+        Map<Planet, Icon> previews = new HashMap<>();
+        Map<Planet, Icon> highlightedPreviews = new HashMap<>();
+        Set<Planet> previewLoads = new HashSet<>();
         DefaultListCellRenderer textureRenderer = new DefaultListCellRenderer() {
             @Override
             public Component getListCellRendererComponent(JList<?> list, Object value, int index,
@@ -120,87 +543,47 @@ public class GlobalApplication implements CommandLineRunner {
                 
                 if (value != null) {
                     String planetName = value.toString();
-                    Planet planet = Planet.fromDisplayName(planetName);
-                    if (planet != null) {
-                        BufferedImage texture = globePanel.getTextureManager().getPlanetTexture(planet);
-                        if (texture != null) {
-                            // Create a preview that exactly fills the entire combo box area
-                            int previewWidth = 185; // Match combo box width exactly
-                            int previewHeight = 42;  // Match combo box height exactly - fill completely
-                            BufferedImage preview = new BufferedImage(previewWidth, previewHeight, BufferedImage.TYPE_INT_RGB);
-                            Graphics2D g2d = preview.createGraphics();
-                            g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
-                            g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-                            
-                            // Fill entire background with texture
-                            g2d.drawImage(texture, 0, 0, previewWidth, previewHeight, null);
-                            
-                            // Add semi-transparent overlay for text readability
-                            g2d.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 0.6f));
-                            if (isSelected || index == -1) { // index == -1 means this is the selected value display
-                                g2d.setColor(new Color(0, 100, 200, 180));
-                            } else {
-                                g2d.setColor(new Color(0, 0, 0, 120));
-                            }
-                            g2d.fillRect(0, 0, previewWidth, previewHeight);
-                            
-                            // Add planet name text overlay - stretched to fill width
-                            g2d.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 1.0f));
-                            g2d.setColor(Color.WHITE);
-                            
-                            // Calculate optimal font size to stretch text across width
-                            Font baseFont = new Font("Arial", Font.BOLD, 12);
-                            FontMetrics baseFm = g2d.getFontMetrics(baseFont);
-                            int baseTextWidth = baseFm.stringWidth(planetName);
-                            
-                            // Scale font to fit most of the width (with some padding)
-                            int targetWidth = (int)(previewWidth * 0.8); // Use 80% of available width
-                            float scaleFactor = (float)targetWidth / baseTextWidth;
-                            int newFontSize = Math.max(8, Math.min(24, (int)(12 * scaleFactor))); // Keep reasonable bounds
-                            
-                            Font stretchedFont = new Font("Arial", Font.BOLD, newFontSize);
-                            g2d.setFont(stretchedFont);
-                            FontMetrics fm = g2d.getFontMetrics();
-                            
-                            // Center the stretched text
-                            int textX = (previewWidth - fm.stringWidth(planetName)) / 2;
-                            int textY = (previewHeight + fm.getAscent()) / 2;
-                            
-                            // Add text shadow for better visibility
-                            g2d.setColor(Color.BLACK);
-                            g2d.drawString(planetName, textX + 1, textY + 1);
-                            g2d.setColor(Color.WHITE);
-                            g2d.drawString(planetName, textX, textY);
-                            
-                            g2d.dispose();
-                            
-                            // Set the icon as our rendered texture
-                            setIcon(new ImageIcon(preview));
-                            setText(""); // No text - everything is in the icon
-                            
-                            // Customize the component appearance - fill entire space
-                            setHorizontalAlignment(SwingConstants.CENTER);
-                            setVerticalAlignment(SwingConstants.CENTER);
-                            setOpaque(true);
-                            setBackground(new Color(0, 0, 0, 0)); // Transparent
-                            setBorder(BorderFactory.createEmptyBorder(0, 0, 0, 0)); // No border/margin at all
-                            
-                            // Force the component to fill the entire combo box space
-                            setPreferredSize(new Dimension(previewWidth, previewHeight));
-                            setMinimumSize(new Dimension(previewWidth, previewHeight));
-                            setMaximumSize(new Dimension(previewWidth, previewHeight));
-                            setSize(new Dimension(previewWidth, previewHeight));
-                            
-                            // Additional settings to ensure full coverage
-                            setAlignmentX(Component.CENTER_ALIGNMENT);
-                            setAlignmentY(Component.CENTER_ALIGNMENT);
-                            
-                            return this;
-                        }
+                    Planet planet = globePanel.getPlanetCatalog().fromDisplayName(planetName);
+                    Icon preview = null;
+                    if (planet != null && textures.isLoaded(planet)) {
+                        // index == -1 means this is the selected value display
+                        Map<Planet, Icon> cache = isSelected || index == -1 ? highlightedPreviews : previews;
+                        preview = cache.computeIfAbsent(planet, p -> createPlanetPreview(
+                                textures.getPlanetTexture(p), planetName, cache == highlightedPreviews));
+                    } else if (planet != null && previewLoads.add(planet)) {
+                        textures.load(planet).whenComplete((done, failure) -> SwingUtilities.invokeLater(() -> {
+                            list.repaint();
+                            planetCombo.repaint();
+                        }));
+                    }
+                    if (preview != null) {
+                        // Set the icon as our rendered texture
+                        setIcon(preview);
+                        setText(""); // No text - everything is in the icon
+                        
+                        // Customize the component appearance - fill entire space
+                        setHorizontalAlignment(SwingConstants.CENTER);
+                        setVerticalAlignment(SwingConstants.CENTER);
+                        setOpaque(true);
+                        setBackground(new Color(0, 0, 0, 0)); // Transparent
+                        setBorder(BorderFactory.createEmptyBorder(0, 0, 0, 0)); // No border/margin at all
+                        
+                        // Force the component to fill the entire combo box space
+                        Dimension size = new Dimension(PREVIEW_WIDTH, PREVIEW_HEIGHT);
+                        setPreferredSize(size);
+                        setMinimumSize(size);
+                        setMaximumSize(size);
+                        setSize(size);
+                        
+                        // Additional settings to ensure full coverage
+                        setAlignmentX(Component.CENTER_ALIGNMENT);
+                        setAlignmentY(Component.CENTER_ALIGNMENT);
+                        
+                        return this;
                     }
                 }
                 
-                // Fallback for null values
+                // Bodies without a loaded texture, and null values
                 setText(value != null ? value.toString() : "");
                 setIcon(null);
                 setOpaque(true);
@@ -211,13 +594,14 @@ public class GlobalApplication implements CommandLineRunner {
         };
         
         planetCombo.setRenderer(textureRenderer);
+        globePanel.whenTexturesReady(planetCombo::repaint);
         
         // Force the combo box to use our renderer for the selected value display
         planetCombo.putClientProperty("JComboBox.isTableCellEditor", Boolean.TRUE);
         
         planetCombo.addActionListener(e -> {
             String selected = (String) planetCombo.getSelectedItem();
-            System.out.println("Planet selected: " + selected); // Debug
+            logger.debug("Planet selected: {}", selected);
             globePanel.setPlanet(selected);
         });
 
@@ -239,6 +623,39 @@ public class GlobalApplication implements CommandLineRunner {
         terminatorCheckbox.setForeground(Color.WHITE);
         terminatorCheckbox.addActionListener(e -> globePanel.setShowTerminator(terminatorCheckbox.isSelected()));
 
+        // Geodata overlay toggle
+        JCheckBox geodataCheckbox = new JCheckBox("Show Geodata", showGeodata);
+        geodataCheckbox.setBackground(Color.DARK_GRAY);
+        geodataCheckbox.setForeground(Color.WHITE);
+        geodataCheckbox.addActionListener(e -> globePanel.setShowGeodata(geodataCheckbox.isSelected()));
+
+        // Show metrics overlay toggle
+        JCheckBox metricsCheckbox = new JCheckBox("Show Metrics", false);
+        metricsCheckbox.setBackground(Color.DARK_GRAY);
+        metricsCheckbox.setForeground(Color.WHITE);
+        metricsCheckbox.addActionListener(e -> globePanel.setShowMetrics(metricsCheckbox.isSelected()));
+
+        // Sphere render resolution
+        JLabel resolutionLabel = new JLabel("Resolution:");
+        resolutionLabel.setForeground(Color.WHITE);
+        String[] resolutionNames = {"100%", "75%", "50%"};
+        double[] resolutionScales = {1.0, 0.75, 0.5};
+        JComboBox<String> resolutionCombo = new JComboBox<>(resolutionNames);
+        resolutionCombo.setMaximumSize(new Dimension(185, 25));
+        for (int i = 0; i < resolutionScales.length; i++) {
+            if (Math.abs(resolutionScales[i] - resolutionScale) < 0.01) {
+                resolutionCombo.setSelectedIndex(i);
+            }
+        }
+        resolutionCombo.addActionListener(e ->
+            globePanel.setResolutionScale(resolutionScales[resolutionCombo.getSelectedIndex()]));
+
+        // Adaptive quality toggle
+        JCheckBox adaptiveCheckbox = new JCheckBox("Adaptive Quality", adaptiveQuality);
+        adaptiveCheckbox.setBackground(Color.DARK_GRAY);
+        adaptiveCheckbox.setForeground(Color.WHITE);
+        adaptiveCheckbox.addActionListener(e -> globePanel.setAdaptiveQuality(adaptiveCheckbox.isSelected()));
+
         // Light angle control
         JLabel lightLabel = new JLabel("Light Angle:");
         lightLabel.setForeground(Color.WHITE);
@@ -246,6 +663,19 @@ public class GlobalApplication implements CommandLineRunner {
         lightSlider.setBackground(Color.DARK_GRAY);
         lightSlider.setForeground(Color.WHITE);
         lightSlider.addChangeListener(e -> globePanel.setLightAngle(Math.toRadians(lightSlider.getValue())));
+        lightSlider.setEnabled(!sunRealTime);
+
+        // The real-time sun replaces the light angle while it is on
+        JCheckBox sunCheckbox = new JCheckBox("Real-Time Sun", sunRealTime);
+        sunCheckbox.setBackground(Color.DARK_GRAY);
+        sunCheckbox.setForeground(Color.WHITE);
+        sunCheckbox.addActionListener(e -> {
+            globePanel.setSolarClock(sunCheckbox.isSelected() ? createSolarClock() : null);
+            lightSlider.setEnabled(!sunCheckbox.isSelected());
+            if (sunCheckbox.isSelected()) {
+                sunTimer.start();
+            }
+        });
 
         // Reset button
         JButton resetButton = new JButton("Reset");
@@ -254,10 +684,11 @@ public class GlobalApplication implements CommandLineRunner {
         resetButton.addActionListener(e -> {
             speedSlider.setValue(10);
             satSlider.setValue(8);
-            planetCombo.setSelectedItem("Earth");
+            planetCombo.setSelectedItem(globePanel.getPlanetCatalog().getDefault().getDisplayName());
             orbitCheckbox.setSelected(true);
             lightCheckbox.setSelected(true);
             terminatorCheckbox.setSelected(true);
+            metricsCheckbox.setSelected(false);
             lightSlider.setValue(45);
             globePanel.reset();
         });
@@ -282,10 +713,24 @@ public class GlobalApplication implements CommandLineRunner {
         controlPanel.add(Box.createVerticalStrut(5));
         
         controlPanel.add(terminatorCheckbox);
+        controlPanel.add(Box.createVerticalStrut(5));
+        
+        controlPanel.add(geodataCheckbox);
+        controlPanel.add(Box.createVerticalStrut(5));
+        
+        controlPanel.add(metricsCheckbox);
+        controlPanel.add(Box.createVerticalStrut(5));
+        
+        controlPanel.add(adaptiveCheckbox);
+        controlPanel.add(Box.createVerticalStrut(10));
+        
+        controlPanel.add(resolutionLabel);
+        controlPanel.add(resolutionCombo);
         controlPanel.add(Box.createVerticalStrut(10));
         
         controlPanel.add(lightLabel);
         controlPanel.add(lightSlider);
+        controlPanel.add(sunCheckbox);
         controlPanel.add(Box.createVerticalStrut(10));
         
         controlPanel.add(resetButton);
@@ -0,0 +1,142 @@
+package com.dqrapps.global.geo;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Reads overlay data from plain text files.
+ * <ul>
+ * <li>Polylines: one {@code longitude latitude} pair in degrees per line, separated by spaces,
+ * tabs or a comma; a blank line or a line starting with {@code >} ends a polyline (the GMT
+ * multi-segment format that coastline datasets are commonly exported in)</li>
+ * <li>Markers: {@code name,latitude,longitude[,colour]} per line, the colour as {@code RRGGBB}
+ * or {@code #RRGGBB}</li>
+ * </ul>
+ * Lines starting with {@code #} are comments. Lines that do not parse are skipped and counted.
+ */
+public class GeodataParser {
+    private static final Logger logger = LoggerFactory.getLogger(GeodataParser.class);
+    /** Colour of markers that do not give one */
+    public static final int DEFAULT_MARKER_COLOR = 0xFFFF5050;
+    private static final Pattern POINT_SEPARATOR = Pattern.compile("[\\s,]+");
+
+    private GeodataParser() {
+    }
+
+    /**
+     * Read polylines such as coastlines
+     */
+    public static PolylineSet parsePolylines(Path path) throws IOException {
+        long start = System.nanoTime();
+        List<double[]> polylines = new ArrayList<>();
+        double[] current = new double[256];
+        int length = 0;
+        int skipped = 0;
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.startsWith("#")) continue;
+                if (line.isEmpty() || line.startsWith(">")) {
+                    if (length > 0) {
+                        polylines.add(Arrays.copyOf(current, length));
+                        length = 0;
+                    }
+                    continue;
+                }
+                String[] fields = POINT_SEPARATOR.split(line);
+                double longitude;
+                double latitude;
+                try {
+                    longitude = Double.parseDouble(fields[0]);
+                    latitude = Double.parseDouble(fields[1]);
+                } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+                    skipped++;
+                    continue;
+                }
+                if (Math.abs(latitude) > 90) {
+                    skipped++;
+                    continue;
+                }
+                if (length + 2 > current.length) {
+                    current = Arrays.copyOf(current, current.length * 2);
+                }
+                current[length++] = longitude;
+                current[length++] = latitude;
+            }
+        }
+        if (length > 0) {
+            polylines.add(Arrays.copyOf(current, length));
+        }
+        PolylineSet set = new PolylineSet(polylines);
+        logger.info("Parsed {} polylines ({} points, {} chunks) from {} in {} ms ({} lines skipped)",
+                set.getPolylineCount(), set.getPointCount(), set.getChunkCount(), path,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), skipped);
+        return set;
+    }
+
+    /**
+     * Read point markers such as sites or ground stations
+     */
+    public static MarkerSet parseMarkers(Path path) throws IOException {
+        long start = System.nanoTime();
+        List<String> names = new ArrayList<>();
+        double[] longitudes = new double[256];
+        double[] latitudes = new double[256];
+        int[] colors = new int[256];
+        int skipped = 0;
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) continue;
+                String[] fields = line.split(",");
+                int count = names.size();
+                try {
+                    double latitude = Double.parseDouble(fields[1].trim());
+                    double longitude = Double.parseDouble(fields[2].trim());
+                    int color = fields.length > 3 && !fields[3].trim().isEmpty()
+                            ? parseColor(fields[3].trim()) : DEFAULT_MARKER_COLOR;
+                    if (Math.abs(latitude) > 90) {
+                        skipped++;
+                        continue;
+                    }
+                    if (count == longitudes.length) {
+                        longitudes = Arrays.copyOf(longitudes, count * 2);
+                        latitudes = Arrays.copyOf(latitudes, count * 2);
+                        colors = Arrays.copyOf(colors, count * 2);
+                    }
+                    longitudes[count] = longitude;
+                    latitudes[count] = latitude;
+                    colors[count] = color;
+                    names.add(fields[0].trim());
+                } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+                    skipped++;
+                }
+            }
+        }
+        MarkerSet set = new MarkerSet(names.size(), names.toArray(new String[0]), longitudes, latitudes, colors);
+        logger.info("Parsed {} markers from {} in {} ms ({} lines skipped)", set.size(), path,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), skipped);
+        return set;
+    }
+
+    private static int parseColor(String value) {
+        String hex = value.startsWith("#") ? value.substring(1) : value;
+        if (hex.length() != 6) {
+            throw new NumberFormatException("Not an RRGGBB colour: " + value);
+        }
+        return 0xFF000000 | Integer.parseInt(hex, 16);
+    }
+}
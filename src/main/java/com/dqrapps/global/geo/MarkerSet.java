@@ -0,0 +1,63 @@
+package com.dqrapps.global.geo;
+
+/**
+ * Point markers on a sphere (sites, ground stations) stored as unit vectors in one array per
+ * axis, with a name and an ARGB colour each. Markers are indexed by a {@link SphericalGrid}
+ * so a frame only tests the markers of cells reaching into the visible hemisphere.
+ */
+public class MarkerSet {
+    private final int size;
+    private final String[] names;
+    private final int[] colors;
+    private final float[] x;
+    private final float[] y;
+    private final float[] z;
+    private final SphericalGrid grid;
+
+    /**
+     * Takes ownership of the arrays; longitudes and latitudes in degrees, colours as ARGB
+     */
+    public MarkerSet(int size, String[] names, double[] longitudes, double[] latitudes, int[] colors) {
+        this.size = size;
+        this.names = names;
+        this.colors = colors;
+        this.x = new float[size];
+        this.y = new float[size];
+        this.z = new float[size];
+        for (int i = 0; i < size; i++) {
+            double[] direction = SphericalGrid.direction(longitudes[i], latitudes[i]);
+            x[i] = (float) direction[0];
+            y[i] = (float) direction[1];
+            z[i] = (float) direction[2];
+        }
+        this.grid = new SphericalGrid(x, y, z, new float[size], size);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public String getName(int index) {
+        return names[index];
+    }
+
+    public int[] getColors() {
+        return colors;
+    }
+
+    public float[] getX() {
+        return x;
+    }
+
+    public float[] getY() {
+        return y;
+    }
+
+    public float[] getZ() {
+        return z;
+    }
+
+    public SphericalGrid getGrid() {
+        return grid;
+    }
+}
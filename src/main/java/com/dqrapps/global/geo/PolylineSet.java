@@ -0,0 +1,233 @@
+package com.dqrapps.global.geo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Polylines on a sphere (coastlines, borders, graticule lines) stored as unit vectors in one
+ * array per axis. Each polyline is cut into chunks of at most {@link #MAX_CHUNK_POINTS} points
+ * that share their end points, and the chunks are indexed by a {@link SphericalGrid}, so
+ * drawing walks only the chunks that reach into the visible hemisphere.
+ * <p>
+ * Segments longer than {@link #MAX_SEGMENT_DEGREES} are subdivided on load, so lines follow the
+ * curvature of the globe and can be clipped at its limb.
+ */
+public class PolylineSet {
+    static final int MAX_CHUNK_POINTS = 32;
+    static final double MAX_SEGMENT_DEGREES = 2;
+
+    private final float[] pointX;
+    private final float[] pointY;
+    private final float[] pointZ;
+    private final int pointCount;
+    private final int polylineCount;
+    // Chunk i spans points chunkStart[i] to chunkEnd[i] inclusive
+    private final int[] chunkStart;
+    private final int[] chunkEnd;
+    private final float[] chunkX;
+    private final float[] chunkY;
+    private final float[] chunkZ;
+    private final float[] chunkHorizon;
+    private final SphericalGrid grid;
+
+    /**
+     * Build from polylines given as interleaved longitude, latitude pairs in degrees; polylines
+     * with fewer than two points are ignored
+     */
+    public PolylineSet(List<double[]> polylines) {
+        FloatList xs = new FloatList();
+        FloatList ys = new FloatList();
+        FloatList zs = new FloatList();
+        List<int[]> chunks = new ArrayList<>();
+        int lines = 0;
+        for (double[] polyline : polylines) {
+            if (polyline.length < 4) continue;
+            int first = xs.size;
+            double[] previous = null;
+            for (int i = 0; i + 1 < polyline.length; i += 2) {
+                double[] point = SphericalGrid.direction(polyline[i], polyline[i + 1]);
+                if (previous != null) {
+                    subdivide(previous, point, xs, ys, zs);
+                }
+                xs.add(point[0]);
+                ys.add(point[1]);
+                zs.add(point[2]);
+                previous = point;
+            }
+            int last = xs.size - 1;
+            for (int start = first; start < last; start += MAX_CHUNK_POINTS - 1) {
+                chunks.add(new int[]{start, Math.min(last, start + MAX_CHUNK_POINTS - 1)});
+            }
+            lines++;
+        }
+
+        pointX = xs.toArray();
+        pointY = ys.toArray();
+        pointZ = zs.toArray();
+        pointCount = xs.size;
+        polylineCount = lines;
+        int count = chunks.size();
+        chunkStart = new int[count];
+        chunkEnd = new int[count];
+        chunkX = new float[count];
+        chunkY = new float[count];
+        chunkZ = new float[count];
+        chunkHorizon = new float[count];
+        float[] chunkRadius = new float[count];
+        for (int i = 0; i < count; i++) {
+            chunkStart[i] = chunks.get(i)[0];
+            chunkEnd[i] = chunks.get(i)[1];
+            chunkRadius[i] = (float) boundChunk(i);
+            chunkHorizon[i] = (float) Math.cos(Math.min(Math.PI, Math.PI / 2 + chunkRadius[i])) - 1e-4f;
+        }
+        grid = new SphericalGrid(chunkX, chunkY, chunkZ, chunkRadius, count);
+    }
+
+    /**
+     * Meridians and parallels every {@code stepDegrees}, sampled densely enough to stay curved
+     */
+    public static PolylineSet graticule(double stepDegrees) {
+        List<double[]> lines = new ArrayList<>();
+        if (stepDegrees > 0) {
+            int samples = (int) Math.ceil(180 / MAX_SEGMENT_DEGREES);
+            for (double longitude = -180; longitude < 180 - 1e-9; longitude += stepDegrees) {
+                double[] meridian = new double[2 * (samples + 1)];
+                for (int i = 0; i <= samples; i++) {
+                    meridian[2 * i] = longitude;
+                    meridian[2 * i + 1] = -90 + 180.0 * i / samples;
+                }
+                lines.add(meridian);
+            }
+            for (double latitude = stepDegrees; latitude < 90 - 1e-9; latitude += stepDegrees) {
+                lines.add(parallel(latitude, 2 * samples));
+                lines.add(parallel(-latitude, 2 * samples));
+            }
+            lines.add(parallel(0, 2 * samples));
+        }
+        return new PolylineSet(lines);
+    }
+
+    private static double[] parallel(double latitude, int samples) {
+        double[] line = new double[2 * (samples + 1)];
+        for (int i = 0; i <= samples; i++) {
+            line[2 * i] = -180 + 360.0 * i / samples;
+            line[2 * i + 1] = latitude;
+        }
+        return line;
+    }
+
+    /**
+     * Add evenly spaced points between two directions when they are too far apart
+     */
+    private static void subdivide(double[] from, double[] to, FloatList xs, FloatList ys, FloatList zs) {
+        double dot = from[0] * to[0] + from[1] * to[1] + from[2] * to[2];
+        double angle = Math.toDegrees(Math.acos(Math.max(-1, Math.min(1, dot))));
+        // The tolerance keeps points sampled exactly MAX_SEGMENT_DEGREES apart from being split
+        int steps = (int) Math.ceil(angle / MAX_SEGMENT_DEGREES - 1e-6);
+        for (int step = 1; step < steps; step++) {
+            double t = step / (double) steps;
+            double x = from[0] + (to[0] - from[0]) * t;
+            double y = from[1] + (to[1] - from[1]) * t;
+            double z = from[2] + (to[2] - from[2]) * t;
+            double length = Math.sqrt(x * x + y * y + z * z);
+            if (length < 1e-9) continue; // Antipodal points have no defined path between them
+            xs.add(x / length);
+            ys.add(y / length);
+            zs.add(z / length);
+        }
+    }
+
+    /**
+     * Set a chunk's cap centre and horizon threshold and return its angular radius
+     */
+    private double boundChunk(int chunk) {
+        double x = 0;
+        double y = 0;
+        double z = 0;
+        for (int p = chunkStart[chunk]; p <= chunkEnd[chunk]; p++) {
+            x += pointX[p];
+            y += pointY[p];
+            z += pointZ[p];
+        }
+        double length = Math.sqrt(x * x + y * y + z * z);
+        if (length < 1e-9) {
+            // Points spread around a great circle; centre on the first and let the radius cover the rest
+            x = pointX[chunkStart[chunk]];
+            y = pointY[chunkStart[chunk]];
+            z = pointZ[chunkStart[chunk]];
+            length = 1;
+        }
+        chunkX[chunk] = (float) (x / length);
+        chunkY[chunk] = (float) (y / length);
+        chunkZ[chunk] = (float) (z / length);
+        double radius = 0;
+        for (int p = chunkStart[chunk]; p <= chunkEnd[chunk]; p++) {
+            double dot = chunkX[chunk] * pointX[p] + chunkY[chunk] * pointY[p] + chunkZ[chunk] * pointZ[p];
+            radius = Math.max(radius, Math.acos(Math.max(-1, Math.min(1, dot))));
+        }
+        return radius;
+    }
+
+    /**
+     * Whether any part of a chunk may face the eye, a unit vector in the body frame
+     */
+    public boolean isChunkVisible(int chunk, double eyeX, double eyeY, double eyeZ) {
+        return chunkX[chunk] * eyeX + chunkY[chunk] * eyeY + chunkZ[chunk] * eyeZ >= chunkHorizon[chunk];
+    }
+
+    public SphericalGrid getGrid() {
+        return grid;
+    }
+
+    public int getChunkCount() {
+        return chunkStart.length;
+    }
+
+    public int getChunkStart(int chunk) {
+        return chunkStart[chunk];
+    }
+
+    public int getChunkEnd(int chunk) {
+        return chunkEnd[chunk];
+    }
+
+    public float[] getPointX() {
+        return pointX;
+    }
+
+    public float[] getPointY() {
+        return pointY;
+    }
+
+    public float[] getPointZ() {
+        return pointZ;
+    }
+
+    public int getPointCount() {
+        return pointCount;
+    }
+
+    public int getPolylineCount() {
+        return polylineCount;
+    }
+
+    /**
+     * Growable float array, so large files are not boxed point by point while loading
+     */
+    private static class FloatList {
+        float[] values = new float[1024];
+        int size;
+
+        void add(double value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = (float) value;
+        }
+
+        float[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
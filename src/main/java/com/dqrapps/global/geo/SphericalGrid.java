@@ -0,0 +1,107 @@
+package com.dqrapps.global.geo;
+
+import java.util.Arrays;
+
+/**
+ * Spatial index of features on a sphere, bucketed by the longitude/latitude cell of each
+ * feature's centre. Every cell keeps a bounding cap around the features filed in it, so a
+ * cell entirely on the far side of the planet is rejected with one dot product and a frame
+ * only walks the features of cells that reach into the visible hemisphere.
+ * <p>
+ * Directions use the renderer's body frame: x towards longitude 0 on the equator, y towards
+ * the south pole and z towards longitude 90 east.
+ */
+public class SphericalGrid {
+    /** Cell size in degrees of longitude and latitude */
+    public static final int CELL_DEGREES = 10;
+    private static final int COLUMNS = 360 / CELL_DEGREES;
+    private static final int ROWS = 180 / CELL_DEGREES;
+    private static final int CELLS = COLUMNS * ROWS;
+
+    private final int[] cellStart = new int[CELLS + 1];
+    private final int[] items;
+    private final float[] cellX = new float[CELLS];
+    private final float[] cellY = new float[CELLS];
+    private final float[] cellZ = new float[CELLS];
+    // A cell is hidden when its centre's dot product with the eye falls below this
+    private final float[] cellHorizon = new float[CELLS];
+
+    /**
+     * Index features given by their centre directions (unit vectors) and angular radii in radians
+     */
+    SphericalGrid(float[] x, float[] y, float[] z, float[] radius, int count) {
+        int[] cellOf = new int[count];
+        for (int i = 0; i < count; i++) {
+            cellOf[i] = cellOf(x[i], y[i], z[i]);
+            cellStart[cellOf[i] + 1]++;
+        }
+        for (int cell = 0; cell < CELLS; cell++) {
+            cellStart[cell + 1] += cellStart[cell];
+        }
+        items = new int[count];
+        int[] next = Arrays.copyOf(cellStart, CELLS);
+        for (int i = 0; i < count; i++) {
+            items[next[cellOf[i]]++] = i;
+        }
+
+        for (int cell = 0; cell < CELLS; cell++) {
+            double longitude = Math.toRadians((cell % COLUMNS + 0.5) * CELL_DEGREES - 180);
+            double latitude = Math.toRadians(90 - (cell / COLUMNS + 0.5) * CELL_DEGREES);
+            double centerX = Math.cos(latitude) * Math.cos(longitude);
+            double centerY = -Math.sin(latitude);
+            double centerZ = Math.cos(latitude) * Math.sin(longitude);
+            cellX[cell] = (float) centerX;
+            cellY[cell] = (float) centerY;
+            cellZ[cell] = (float) centerZ;
+
+            // Widest reach of the cell's features from its centre; empty cells are never visible
+            double margin = -1;
+            for (int k = cellStart[cell]; k < cellStart[cell + 1]; k++) {
+                int i = items[k];
+                double dot = centerX * x[i] + centerY * y[i] + centerZ * z[i];
+                margin = Math.max(margin, Math.acos(Math.max(-1, Math.min(1, dot))) + radius[i]);
+            }
+            // Float rounding must not hide a feature that touches the horizon
+            cellHorizon[cell] = margin < 0 ? 2 : (float) Math.cos(Math.min(Math.PI, Math.PI / 2 + margin)) - 1e-4f;
+        }
+    }
+
+    /**
+     * Collect the features of every cell that may be visible from the eye direction (a unit
+     * vector in the body frame) into {@code out}, which must hold {@link #size()} entries;
+     * returns how many were collected
+     */
+    public int collect(double eyeX, double eyeY, double eyeZ, int[] out) {
+        int count = 0;
+        for (int cell = 0; cell < CELLS; cell++) {
+            int start = cellStart[cell];
+            int end = cellStart[cell + 1];
+            if (start == end) continue;
+            if (cellX[cell] * eyeX + cellY[cell] * eyeY + cellZ[cell] * eyeZ < cellHorizon[cell]) continue;
+            System.arraycopy(items, start, out, count, end - start);
+            count += end - start;
+        }
+        return count;
+    }
+
+    public int size() {
+        return items.length;
+    }
+
+    private static int cellOf(double x, double y, double z) {
+        double longitude = Math.toDegrees(Math.atan2(z, x));
+        double latitude = Math.toDegrees(Math.asin(Math.max(-1, Math.min(1, -y))));
+        int column = Math.min(COLUMNS - 1, (int) ((longitude + 180) / CELL_DEGREES));
+        int row = Math.min(ROWS - 1, Math.max(0, (int) ((90 - latitude) / CELL_DEGREES)));
+        return row * COLUMNS + column;
+    }
+
+    /**
+     * Body-frame unit vector of a longitude and latitude in degrees
+     */
+    static double[] direction(double longitude, double latitude) {
+        double lon = Math.toRadians(longitude);
+        double lat = Math.toRadians(latitude);
+        return new double[]{Math.cos(lat) * Math.cos(lon), -Math.sin(lat), Math.cos(lat) * Math.sin(lon)};
+    }
+}
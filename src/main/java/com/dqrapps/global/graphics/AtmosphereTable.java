@@ -0,0 +1,135 @@
+package com.dqrapps.global.graphics;
+
+import com.dqrapps.global.model.Planet;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Precomputed atmospheric scattering for one planet's atmosphere colour and density, as a
+ * small 2D table indexed by the view angle (the cosine between the surface normal and the
+ * view direction) and the light angle (the normal-light dot product). Each entry holds a
+ * blend weight and the scattered colour already multiplied by it, so shading a pixel costs
+ * one lookup and a blend per channel:
+ * <pre>  channel' = channel * (256 - weight) / 256 + glow</pre>
+ * The scattering follows the air mass along the line of sight, which grows towards the limb,
+ * and fades from the day side to a faint residual across the terminator.
+ * <p>
+ * The edge fade of the sphere's alpha, which depends only on the distance from the centre,
+ * is tabulated here as well so no renderer evaluates {@code Math.pow} per pixel.
+ */
+public class AtmosphereTable {
+    public static final int VIEW_STEPS = 64;
+    public static final int LIGHT_STEPS = 64;
+    private static final int EDGE_STEPS = 1024;
+    private static final int[] EDGE_ALPHA = new int[EDGE_STEPS + 1];
+    /** Fraction of the surface colour replaced per unit of relative air mass, before density */
+    private static final double EXTINCTION = 0.25;
+    /** Keeps the air mass finite on the limb itself */
+    private static final double LIMB_OFFSET = 0.08;
+    /** Scattering left on the night side, as a fraction of the day side */
+    private static final double NIGHT_WEIGHT = 0.35;
+    private static final double NIGHT_BRIGHTNESS = 0.12;
+    private static final Map<List<Double>, AtmosphereTable> TABLES = new ConcurrentHashMap<>();
+
+    static {
+        for (int i = 0; i <= EDGE_STEPS; i++) {
+            // Subtle fade towards the edge for the sphere effect, never below 70% opacity
+            double edgeFade = 1.0 - Math.pow(i / (double) EDGE_STEPS, 1.5);
+            EDGE_ALPHA[i] = (int) (255 * Math.max(0.7, edgeFade));
+        }
+    }
+
+    private final int[] weights = new int[VIEW_STEPS * LIGHT_STEPS];
+    private final int[] glow = new int[VIEW_STEPS * LIGHT_STEPS];
+
+    /**
+     * Build the table for an atmosphere colour (r, g, b in 0..1) and density (0..1 typical)
+     */
+    public AtmosphereTable(double red, double green, double blue, double density) {
+        for (int view = 0; view < VIEW_STEPS; view++) {
+            double viewCos = view / (double) (VIEW_STEPS - 1);
+            // Relative air mass along the line of sight above that of looking straight down
+            double airMass = Math.max(0, 1 / (viewCos + LIMB_OFFSET) - 1 / (1 + LIMB_OFFSET));
+            double thickness = density * (1 - Math.exp(-EXTINCTION * airMass));
+            for (int light = 0; light < LIGHT_STEPS; light++) {
+                double lightDot = light / (double) (LIGHT_STEPS - 1) * 2 - 1;
+                double day = smoothstep(-0.25, 0.35, lightDot);
+                double cover = Math.min(1, thickness * (NIGHT_WEIGHT + (1 - NIGHT_WEIGHT) * day));
+                int weight = (int) Math.round(256 * cover);
+                // Scaled by the rounded weight and truncated, so a blend never exceeds 255
+                double brightness = 255 * (weight / 256.0) * (NIGHT_BRIGHTNESS + (1 - NIGHT_BRIGHTNESS) * day);
+                int index = view * LIGHT_STEPS + light;
+                weights[index] = weight;
+                glow[index] = (channel(red * brightness) << 16) | (channel(green * brightness) << 8)
+                    | channel(blue * brightness);
+            }
+        }
+    }
+
+    /**
+     * Shared table for a planet's atmosphere, or null for a planet without one
+     */
+    public static AtmosphereTable forPlanet(Planet planet) {
+        if (planet.getAtmosphereDensity() <= 0) return null;
+        List<Double> key = Arrays.asList(planet.getAtmosphereRed(), planet.getAtmosphereGreen(),
+            planet.getAtmosphereBlue(), planet.getAtmosphereDensity());
+        return TABLES.computeIfAbsent(key, k -> new AtmosphereTable(k.get(0), k.get(1), k.get(2), k.get(3)));
+    }
+
+    /**
+     * Table entry for a view cosine in [0, 1] and a normal-light dot product in [-1, 1]
+     */
+    public static int index(double viewCos, double lightDot) {
+        int view = (int) (viewCos * (VIEW_STEPS - 1) + 0.5);
+        int light = (int) ((lightDot + 1) * 0.5 * (LIGHT_STEPS - 1) + 0.5);
+        view = Math.max(0, Math.min(VIEW_STEPS - 1, view));
+        light = Math.max(0, Math.min(LIGHT_STEPS - 1, light));
+        return view * LIGHT_STEPS + light;
+    }
+
+    /**
+     * Blend the scattered light into an RGB colour; the alpha byte is dropped
+     */
+    public int scatter(int color, double viewCos, double lightDot) {
+        int index = index(viewCos, lightDot);
+        int keep = 256 - weights[index];
+        int add = glow[index];
+        int red = ((((color >> 16) & 0xFF) * keep) >> 8) + ((add >> 16) & 0xFF);
+        int green = ((((color >> 8) & 0xFF) * keep) >> 8) + ((add >> 8) & 0xFF);
+        int blue = (((color & 0xFF) * keep) >> 8) + (add & 0xFF);
+        return (red << 16) | (green << 8) | blue;
+    }
+
+    /**
+     * Blend weights out of 256, by {@link #index}
+     */
+    public int[] getWeights() {
+        return weights;
+    }
+
+    /**
+     * Scattered colour per entry as packed RGB, already scaled by the weight
+     */
+    public int[] getGlow() {
+        return glow;
+    }
+
+    /**
+     * Sphere alpha for a squared distance from the centre, in units of the radius
+     */
+    public static int edgeAlpha(double distanceSquared) {
+        return EDGE_ALPHA[(int) (Math.min(1, distanceSquared) * EDGE_STEPS)];
+    }
+
+    private static int channel(double value) {
+        return (int) Math.max(0, Math.min(255, value));
+    }
+
+    private static double smoothstep(double edge0, double edge1, double x) {
+        double t = Math.max(0, Math.min(1, (x - edge0) / (edge1 - edge0)));
+        return t * t * (3 - 2 * t);
+    }
+}
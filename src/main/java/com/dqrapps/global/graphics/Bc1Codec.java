@@ -0,0 +1,146 @@
+package com.dqrapps.global.graphics;
+
+/**
+ * BC1-style block compression: each 4x4 block is one long holding two RGB565 endpoints in the
+ * low 32 bits and sixteen 2-bit palette indices in the high 32 bits. Every block uses the
+ * four-colour palette (no punch-through alpha), so the endpoint order carries no meaning.
+ */
+final class Bc1Codec {
+    static final int BLOCK_SIZE = 4;
+
+    private Bc1Codec() {
+    }
+
+    /**
+     * Compress a row-major RGB image; blocks are stored row-major, partial edge blocks
+     * repeat their last row and column
+     */
+    static long[] encode(int[] rgb, int width, int height) {
+        int blocksPerRow = blocksAcross(width);
+        int blockRows = blocksAcross(height);
+        long[] blocks = new long[blocksPerRow * blockRows];
+        int[] block = new int[BLOCK_SIZE * BLOCK_SIZE];
+        for (int by = 0; by < blockRows; by++) {
+            for (int bx = 0; bx < blocksPerRow; bx++) {
+                for (int i = 0; i < block.length; i++) {
+                    int x = Math.min(bx * BLOCK_SIZE + (i & 3), width - 1);
+                    int y = Math.min(by * BLOCK_SIZE + (i >> 2), height - 1);
+                    block[i] = rgb[y * width + x];
+                }
+                blocks[by * blocksPerRow + bx] = encodeBlock(block);
+            }
+        }
+        return blocks;
+    }
+
+    static int blocksAcross(int size) {
+        return (size + BLOCK_SIZE - 1) / BLOCK_SIZE;
+    }
+
+    /**
+     * Decode one texel; {@code texel} is its position inside the block, y * 4 + x
+     */
+    static int decode(long block, int texel) {
+        return decode(block, texel, endpoint0(block), endpoint1(block));
+    }
+
+    /**
+     * Decode one texel from endpoints already expanded with {@link #endpoint0} and
+     * {@link #endpoint1}, so several texels of a block share one expansion; the blended
+     * palette entries are only computed for texels that use them
+     */
+    static int decode(long block, int texel, int color0, int color1) {
+        switch ((int) (block >>> (32 + texel * 2)) & 3) {
+            case 0:
+                return color0;
+            case 1:
+                return color1;
+            case 2:
+                return blend(color0, color1);
+            default:
+                return blend(color1, color0);
+        }
+    }
+
+    /**
+     * First endpoint of a block as ARGB; with range fit encoding the brighter corner
+     */
+    static int endpoint0(long block) {
+        return expand565((int) block & 0xFFFF);
+    }
+
+    /**
+     * Second endpoint of a block as ARGB
+     */
+    static int endpoint1(long block) {
+        return expand565((int) (block >>> 16) & 0xFFFF);
+    }
+
+    /**
+     * Range fit: endpoints are the corners of the block's colour bounding box, and each
+     * texel takes the nearest of the four palette colours
+     */
+    private static long encodeBlock(int[] block) {
+        int minRed = 255, minGreen = 255, minBlue = 255;
+        int maxRed = 0, maxGreen = 0, maxBlue = 0;
+        for (int color : block) {
+            int red = (color >> 16) & 0xFF;
+            int green = (color >> 8) & 0xFF;
+            int blue = color & 0xFF;
+            minRed = Math.min(minRed, red);
+            minGreen = Math.min(minGreen, green);
+            minBlue = Math.min(minBlue, blue);
+            maxRed = Math.max(maxRed, red);
+            maxGreen = Math.max(maxGreen, green);
+            maxBlue = Math.max(maxBlue, blue);
+        }
+        int endpoint0 = to565(maxRed, maxGreen, maxBlue);
+        int endpoint1 = to565(minRed, minGreen, minBlue);
+        int color0 = expand565(endpoint0);
+        int color1 = expand565(endpoint1);
+        int[] palette = {color0, color1, blend(color0, color1), blend(color1, color0)};
+
+        long indices = 0;
+        for (int i = 0; i < block.length; i++) {
+            int best = 0;
+            int bestDistance = Integer.MAX_VALUE;
+            for (int p = 0; p < palette.length; p++) {
+                int distance = distance(block[i], palette[p]);
+                if (distance < bestDistance) {
+                    bestDistance = distance;
+                    best = p;
+                }
+            }
+            indices |= (long) best << (i * 2);
+        }
+        return (indices << 32) | ((long) endpoint1 << 16) | endpoint0;
+    }
+
+    private static int to565(int red, int green, int blue) {
+        return ((red * 31 + 127) / 255) << 11 | ((green * 63 + 127) / 255) << 5 | ((blue * 31 + 127) / 255);
+    }
+
+    private static int expand565(int color) {
+        int red = (color >> 11) & 0x1F;
+        int green = (color >> 5) & 0x3F;
+        int blue = color & 0x1F;
+        return 0xFF000000 | ((red << 3) | (red >> 2)) << 16 | ((green << 2) | (green >> 4)) << 8 | ((blue << 3) | (blue >> 2));
+    }
+
+    /**
+     * Two thirds of {@code near} plus one third of {@code far}
+     */
+    private static int blend(int near, int far) {
+        int red = (2 * ((near >> 16) & 0xFF) + ((far >> 16) & 0xFF)) / 3;
+        int green = (2 * ((near >> 8) & 0xFF) + ((far >> 8) & 0xFF)) / 3;
+        int blue = (2 * (near & 0xFF) + (far & 0xFF)) / 3;
+        return 0xFF000000 | (red << 16) | (green << 8) | blue;
+    }
+
+    private static int distance(int a, int b) {
+        int red = ((a >> 16) & 0xFF) - ((b >> 16) & 0xFF);
+        int green = ((a >> 8) & 0xFF) - ((b >> 8) & 0xFF);
+        int blue = (a & 0xFF) - (b & 0xFF);
+        return red * red + green * green + blue * blue;
+    }
+}
@@ -0,0 +1,86 @@
+package com.dqrapps.global.graphics;
+
+/**
+ * Immutable globe orientation stored as a unit quaternion that maps view-space directions
+ * into the planet's body frame. Built from a spin about the polar axis (the existing
+ * rotation), a pitch about the screen's horizontal axis and a tilt about the view axis.
+ */
+public class CameraOrientation {
+    public static final CameraOrientation IDENTITY = new CameraOrientation(1, 0, 0, 0, 0, 0, 0);
+
+    private final double w;
+    private final double x;
+    private final double y;
+    private final double z;
+    private final double yaw;
+    private final double pitch;
+    private final double tilt;
+
+    private CameraOrientation(double w, double x, double y, double z, double yaw, double pitch, double tilt) {
+        this.w = w;
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        this.yaw = yaw;
+        this.pitch = pitch;
+        this.tilt = tilt;
+    }
+
+    /**
+     * Orientation that tilts the view, then pitches it, then spins the planet about its axis
+     */
+    public static CameraOrientation fromAngles(double yaw, double pitch, double tilt) {
+        // Longitude grows with yaw, which is a negative turn about +Y in this right-handed frame
+        double[] spin = axisAngle(0, 1, 0, -yaw);
+        double[] pitchTurn = axisAngle(1, 0, 0, pitch);
+        double[] tiltTurn = axisAngle(0, 0, 1, tilt);
+        double[] q = multiply(multiply(spin, pitchTurn), tiltTurn);
+        return new CameraOrientation(q[0], q[1], q[2], q[3], yaw, pitch, tilt);
+    }
+
+    /**
+     * Whether the orientation is a pure spin about the polar axis, which lets the
+     * renderer shift texture u instead of transforming every pixel
+     */
+    public boolean isYawOnly() {
+        return pitch == 0 && tilt == 0;
+    }
+
+    /**
+     * Row-major 3x3 rotation matrix taking view-space directions to the body frame
+     */
+    public double[] toMatrix() {
+        return new double[]{
+            1 - 2 * (y * y + z * z), 2 * (x * y - w * z),     2 * (x * z + w * y),
+            2 * (x * y + w * z),     1 - 2 * (x * x + z * z), 2 * (y * z - w * x),
+            2 * (x * z - w * y),     2 * (y * z + w * x),     1 - 2 * (x * x + y * y)
+        };
+    }
+
+    private static double[] axisAngle(double ax, double ay, double az, double angle) {
+        double half = angle / 2;
+        double s = Math.sin(half);
+        return new double[]{Math.cos(half), ax * s, ay * s, az * s};
+    }
+
+    private static double[] multiply(double[] a, double[] b) {
+        return new double[]{
+            a[0] * b[0] - a[1] * b[1] - a[2] * b[2] - a[3] * b[3],
+            a[0] * b[1] + a[1] * b[0] + a[2] * b[3] - a[3] * b[2],
+            a[0] * b[2] - a[1] * b[3] + a[2] * b[0] + a[3] * b[1],
+            a[0] * b[3] + a[1] * b[2] - a[2] * b[1] + a[3] * b[0]
+        };
+    }
+
+    public double getYaw() {
+        return yaw;
+    }
+
+    public double getPitch() {
+        return pitch;
+    }
+
+    public double getTilt() {
+        return tilt;
+    }
+}
@@ -0,0 +1,39 @@
+package com.dqrapps.global.graphics;
+
+/**
+ * Polynomial approximations for per-pixel trigonometry in the sphere renderer.
+ * Maximum error is about 1e-5 rad, far below one texel of a 2048-wide map (3e-3 rad).
+ */
+final class FastTrig {
+    private static final double HALF_PI = Math.PI / 2;
+    
+    private FastTrig() {
+    }
+    
+    /**
+     * Approximate Math.atan2(y, x)
+     */
+    static double atan2(double y, double x) {
+        double absX = Math.abs(x);
+        double absY = Math.abs(y);
+        if (absX == 0 && absY == 0) {
+            return 0;
+        }
+        // Reduce to atan of a ratio in [0, 1], then unfold into the right octant
+        boolean swap = absY > absX;
+        double t = swap ? absX / absY : absY / absX;
+        double angle = atanUnit(t);
+        if (swap) angle = HALF_PI - angle;
+        if (x < 0) angle = Math.PI - angle;
+        return y < 0 ? -angle : angle;
+    }
+    
+    /**
+     * Minimax polynomial for atan(t), t in [0, 1]
+     */
+    private static double atanUnit(double t) {
+        double t2 = t * t;
+        return t * (0.99997726 + t2 * (-0.33262347 + t2 * (0.19354346
+                + t2 * (-0.11643287 + t2 * (0.05265332 + t2 * -0.01172120)))));
+    }
+}
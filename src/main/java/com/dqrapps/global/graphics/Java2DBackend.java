@@ -0,0 +1,71 @@
+package com.dqrapps.global.graphics;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+/**
+ * Default backend: draws through a {@link Graphics2D}, honouring its rendering hints
+ * (antialiasing, interpolation), clip and transform. Wrappers are cheap, so one is created
+ * per target graphics.
+ */
+public class Java2DBackend implements RenderBackend {
+    private final Graphics2D g2d;
+
+    public Java2DBackend(Graphics2D g2d) {
+        this.g2d = g2d;
+    }
+
+    @Override
+    public void drawImage(BufferedImage image, int x, int y, int width, int height) {
+        if (image.getWidth() == width && image.getHeight() == height) {
+            g2d.drawImage(image, x, y, null);
+        } else {
+            g2d.drawImage(image, x, y, width, height, null);
+        }
+    }
+
+    @Override
+    public void fillOval(int x, int y, int width, int height, Color color) {
+        g2d.setColor(color);
+        g2d.fillOval(x, y, width, height);
+    }
+
+    @Override
+    public void fillGradientOval(int x, int y, int width, int height,
+                                 float centerX, float centerY, float radius, float[] fractions, Color[] colors) {
+        g2d.setPaint(new RadialGradientPaint(centerX, centerY, radius, fractions, colors));
+        g2d.fillOval(x, y, width, height);
+    }
+
+    @Override
+    public void drawOval(int x, int y, int width, int height, Color color, BasicStroke stroke) {
+        g2d.setStroke(stroke);
+        g2d.setColor(color);
+        g2d.drawOval(x, y, width, height);
+    }
+
+    @Override
+    public void drawLine(int x1, int y1, int x2, int y2, Color color, BasicStroke stroke) {
+        g2d.setStroke(stroke);
+        g2d.setColor(color);
+        g2d.drawLine(x1, y1, x2, y2);
+    }
+
+    @Override
+    public void draw(Shape shape, int translateX, int translateY, Color color, BasicStroke stroke) {
+        g2d.setColor(color);
+        g2d.setStroke(stroke);
+        g2d.translate(translateX, translateY);
+        g2d.draw(shape);
+        g2d.translate(-translateX, -translateY);
+    }
+
+    public Graphics2D getGraphics() {
+        return g2d;
+    }
+
+    @Override
+    public String getName() {
+        return "java2d";
+    }
+}
@@ -1,25 +1,57 @@
 package com.dqrapps.global.graphics;
 
 import java.awt.*;
-import java.awt.geom.Path2D;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Arc2D;
 
 /**
  * Handles all lighting calculations and rendering for the globe visualization
  */
 public class LightingSystem {
+    private static final Color TERMINATOR_COLOR = new Color(255, 255, 0, 150);
+    private static final BasicStroke TERMINATOR_STROKE = new BasicStroke(2, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND);
+    private static final Color RAY_COLOR = new Color(255, 255, 150, 80);
+    private static final BasicStroke RAY_STROKE = new BasicStroke(2);
+    private static final float[] LIGHT_FRACTIONS = {0.0f, 0.7f, 1.0f};
+    private static final Color[] LIGHT_COLORS = {
+        new Color(255, 255, 200, 200), new Color(255, 255, 100, 100), new Color(255, 255, 0, 0)};
+    private static final double AMBIENT = 0.25;
+    /** Rays reach at most 20 + 30 pixels from the light; 2 more for the stroke and antialiasing */
+    private static final int LIGHT_SOURCE_EXTENT = 52;
+    
     private boolean showLightSource = true;
     private boolean showTerminator = true;
     private double lightAngle = Math.PI / 4; // 45 degrees default
     
+    // Normalized light direction in the frame the sphere is shaded in, from the angle or the sun
+    private double lightX;
+    private double lightY;
+    private double lightZ;
+    private boolean sunDriven;
+    private double[] cameraMatrix; // View-to-body rotation, used to place the sun on screen
+    
+    // Terminator shape cache
+    private Shape cachedTerminator;
+    private double cachedTerminatorX = Double.NaN;
+    private double cachedTerminatorY = Double.NaN;
+    private double cachedTerminatorZ = Double.NaN;
+    private int cachedTerminatorRadius = -1;
+    
+    public LightingSystem() {
+        updateLightFromAngle();
+    }
+    
     /**
      * Calculate lighting intensity for a given position on the sphere
      */
     public double calculateLightingIntensity(double longitude, double latitude) {
-        // Light source position in 3D space (fixed position from the right side)
-        double lightX = Math.cos(lightAngle);
-        double lightY = Math.sin(lightAngle);
-        double lightZ = 0.5; // Light slightly forward for better illumination
-        
+        return applyAmbient(calculateLightDot(longitude, latitude));
+    }
+    
+    /**
+     * Raw normal-light dot product for a given position on the sphere, before the ambient floor
+     */
+    public double calculateLightDot(double longitude, double latitude) {
         // Calculate 3D surface normal at the given longitude/latitude
         double cosLat = Math.cos(latitude);
         double sinLat = Math.sin(latitude);
@@ -31,18 +63,73 @@ public class LightingSystem {
         double normalY = -sinLat;  // Negative for proper Earth orientation
         double normalZ = cosLat * sinLon;
         
-        // Normalize light vector
-        double lightLength = Math.sqrt(lightX * lightX + lightY * lightY + lightZ * lightZ);
-        lightX /= lightLength;
-        lightY /= lightLength;
-        lightZ /= lightLength;
-        
         // Calculate dot product for lighting intensity (3D)
-        double intensity = normalX * lightX + normalY * lightY + normalZ * lightZ;
-        
+        return normalX * lightX + normalY * lightY + normalZ * lightZ;
+    }
+    
+    /**
+     * Map a raw normal-light dot product to the final intensity
+     */
+    public double applyAmbient(double intensity) {
         // Apply smooth lighting with good ambient component
         intensity = Math.max(0.0, intensity); // Remove negative values
-        return Math.max(0.25, intensity * 0.75 + 0.25); // 25% ambient, 75% directional
+        return Math.max(AMBIENT, intensity * (1 - AMBIENT) + AMBIENT); // 25% ambient, 75% directional
+    }
+    
+    /**
+     * Ambient floor used by applyAmbient, for shading kernels that inline it
+     */
+    public double getAmbient() {
+        return AMBIENT;
+    }
+    
+    /**
+     * Normalized light direction {x, y, z} matching calculateLightingIntensity
+     */
+    public double[] getLightDirection() {
+        return new double[]{lightX, lightY, lightZ};
+    }
+    
+    /**
+     * Light direction on screen (x right, y down, z towards the viewer), which places the
+     * terminator and the light source. Both the manual light and the sun are in the planet's
+     * body frame, as the sphere is shaded, so they are taken through the camera set with
+     * {@link #setCamera}; without a camera the light direction is returned as is.
+     */
+    public double[] getViewLightDirection() {
+        double[] m = cameraMatrix;
+        if (m == null) {
+            return getLightDirection();
+        }
+        // Transpose of the view-to-body rotation
+        return new double[]{
+            m[0] * lightX + m[3] * lightY + m[6] * lightZ,
+            m[1] * lightX + m[4] * lightY + m[7] * lightZ,
+            m[2] * lightX + m[5] * lightY + m[8] * lightZ};
+    }
+    
+    /**
+     * Recompute the light direction from the manual angle; the light sits to the side at the
+     * angle and slightly in front for better illumination
+     */
+    private void updateLightFromAngle() {
+        double x = Math.cos(lightAngle);
+        double y = Math.sin(lightAngle);
+        double z = 0.5;
+        double length = Math.sqrt(x * x + y * y + z * z);
+        lightX = x / length;
+        lightY = y / length;
+        lightZ = z / length;
+    }
+    
+    /**
+     * Screen angle at which the light source is drawn: the manual angle until a camera is set,
+     * then the direction the light comes from on screen
+     */
+    private double getScreenLightAngle() {
+        if (cameraMatrix == null && !sunDriven) return lightAngle;
+        double[] view = getViewLightDirection();
+        return Math.atan2(view[1], view[0]);
     }
     
     /**
@@ -62,29 +149,35 @@ public class LightingSystem {
         return (alpha << 24) | (red << 16) | (green << 8) | blue;
     }
     
+    /**
+     * Screen area covered by the light source and its longest rays, or an empty rectangle when hidden
+     */
+    public Rectangle getLightSourceBounds(int centerX, int centerY, int radius) {
+        if (!showLightSource) return new Rectangle();
+        int lightDistance = radius + 80;
+        double screenAngle = getScreenLightAngle();
+        int lightX = (int) (centerX + Math.cos(screenAngle) * lightDistance);
+        int lightY = (int) (centerY + Math.sin(screenAngle) * lightDistance);
+        int extent = LIGHT_SOURCE_EXTENT;
+        return new Rectangle(lightX - extent, lightY - extent, 2 * extent, 2 * extent);
+    }
+    
     /**
      * Draw the light source visualization
      */
-    public void drawLightSource(Graphics2D g2d, int centerX, int centerY, int radius, double animationTime) {
+    public void drawLightSource(RenderBackend backend, int centerX, int centerY, int radius, double animationTime) {
         if (!showLightSource) return;
         
         // Calculate light position
         int lightDistance = radius + 80;
-        int lightX = (int) (centerX + Math.cos(lightAngle) * lightDistance);
-        int lightY = (int) (centerY + Math.sin(lightAngle) * lightDistance);
+        double screenAngle = getScreenLightAngle();
+        int lightX = (int) (centerX + Math.cos(screenAngle) * lightDistance);
+        int lightY = (int) (centerY + Math.sin(screenAngle) * lightDistance);
         
         // Draw light source with gradient
-        RadialGradientPaint lightGradient = new RadialGradientPaint(
-            lightX, lightY, 15,
-            new float[]{0.0f, 0.7f, 1.0f},
-            new Color[]{new Color(255, 255, 200, 200), new Color(255, 255, 100, 100), new Color(255, 255, 0, 0)}
-        );
-        g2d.setPaint(lightGradient);
-        g2d.fillOval(lightX - 15, lightY - 15, 30, 30);
+        backend.fillGradientOval(lightX - 15, lightY - 15, 30, 30, lightX, lightY, 15, LIGHT_FRACTIONS, LIGHT_COLORS);
         
         // Draw animated light rays
-        g2d.setColor(new Color(255, 255, 150, 80));
-        g2d.setStroke(new BasicStroke(2));
         for (int i = 0; i < 8; i++) {
             double rayAngle = (animationTime + i * Math.PI / 4) % (2 * Math.PI);
             int rayLength = 25 + (int)(5 * Math.sin(animationTime * 3 + i));
@@ -92,58 +185,63 @@ public class LightingSystem {
             int rayY1 = (int) (lightY + Math.sin(rayAngle) * 20);
             int rayX2 = (int) (lightX + Math.cos(rayAngle) * (20 + rayLength));
             int rayY2 = (int) (lightY + Math.sin(rayAngle) * (20 + rayLength));
-            g2d.drawLine(rayX1, rayY1, rayX2, rayY2);
+            backend.drawLine(rayX1, rayY1, rayX2, rayY2, RAY_COLOR, RAY_STROKE);
         }
     }
     
     /**
      * Draw the day/night terminator line
      */
-    public void drawTerminator(Graphics2D g2d, int centerX, int centerY, int radius) {
+    public void drawTerminator(RenderBackend backend, int centerX, int centerY, int radius) {
         if (!showTerminator) return;
         
-        // Light direction vector (normalized)
-        double lightX = Math.cos(lightAngle);
-        double lightY = Math.sin(lightAngle);
-        double lightZ = 0.5;
-        double lightLength = Math.sqrt(lightX * lightX + lightY * lightY + lightZ * lightZ);
-        lightX /= lightLength;
-        lightY /= lightLength;
-        lightZ /= lightLength;
+        Shape terminator = getTerminatorShape(radius);
+        if (terminator == null) return;
         
-        // Calculate terminator line based on 3D lighting
-        Path2D terminatorPath = new Path2D.Double();
-        boolean first = true;
+        backend.draw(terminator, centerX, centerY, TERMINATOR_COLOR, TERMINATOR_STROKE);
+    }
+    
+    /**
+     * Visible half of the terminator great circle, relative to the sphere center.
+     * The circle of points whose normal is perpendicular to the light projects to an ellipse
+     * with a unit semi-axis e1 perpendicular to the light in the view plane and a semi-axis
+     * given by the view-plane part of e2 = L x e1, with L the view-space light, so the line
+     * follows the shaded day/night boundary as the camera turns. Cached per view-space light
+     * direction and radius.
+     */
+    private Shape getTerminatorShape(int radius) {
+        double[] light = getViewLightDirection();
+        if (cachedTerminator != null && cachedTerminatorX == light[0] && cachedTerminatorY == light[1]
+                && cachedTerminatorZ == light[2] && cachedTerminatorRadius == radius) {
+            return cachedTerminator;
+        }
         
-        for (double angle = 0; angle < 2 * Math.PI; angle += 0.05) {
-            // Point on sphere edge in 2D view
-            double x = Math.cos(angle);
-            double y = Math.sin(angle);
-            
-            // Calculate corresponding 3D surface normal (assuming viewing from front)
-            double normalX = x;
-            double normalY = -y;  // Negative for proper Earth orientation
-            double normalZ = 0;   // On the visible edge, Z component is 0
-            
-            // Check if this point is near the terminator (where dot product ≈ 0)
-            double lightDot = normalX * lightX + normalY * lightY + normalZ * lightZ;
-            if (Math.abs(lightDot) < 0.1) { // Near the terminator
-                int screenX = (int) (centerX + x * radius);
-                int screenY = (int) (centerY + y * radius);
-                
-                if (first) {
-                    terminatorPath.moveTo(screenX, screenY);
-                    first = false;
-                } else {
-                    terminatorPath.lineTo(screenX, screenY);
-                }
+        double planarLength = Math.hypot(light[0], light[1]);
+        Shape terminator = null;
+        if (planarLength > 1e-9) { // Light along the view axis puts the terminator on the limb
+            double e1x = -light[1] / planarLength;
+            double e1y = light[0] / planarLength;
+            // e2 = L x e1 (e1 has no z component)
+            double e2x = -light[2] * e1y;
+            double e2y = light[2] * e1x;
+            double e2z = light[0] * e1y - light[1] * e1x;
+            if (e2z < 0) { // Keep the half facing the viewer at t in [0, pi]
+                e2x = -e2x;
+                e2y = -e2y;
             }
+            
+            // Arc2D traces (cos t, -sin t); map it onto e1 cos t + e2 sin t
+            AffineTransform toEllipse = new AffineTransform(
+                e1x * radius, e1y * radius, -e2x * radius, -e2y * radius, 0, 0);
+            terminator = toEllipse.createTransformedShape(new Arc2D.Double(-1, -1, 2, 2, 0, 180, Arc2D.OPEN));
         }
         
-        // Draw terminator line
-        g2d.setColor(new Color(255, 255, 0, 150));
-        g2d.setStroke(new BasicStroke(2, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND));
-        g2d.draw(terminatorPath);
+        cachedTerminator = terminator;
+        cachedTerminatorX = light[0];
+        cachedTerminatorY = light[1];
+        cachedTerminatorZ = light[2];
+        cachedTerminatorRadius = radius;
+        return terminator;
     }
     
     // Getters and setters
@@ -169,5 +267,41 @@ public class LightingSystem {
     
     public void setLightAngle(double lightAngle) {
         this.lightAngle = lightAngle;
+        if (!sunDriven) {
+            updateLightFromAngle();
+        }
+    }
+    
+    /**
+     * Light the planet from the Sun: a unit vector in the planet's body frame, towards the
+     * subsolar point. Null returns to the manual light angle.
+     */
+    public void setSunDirection(double[] bodyDirection) {
+        sunDriven = bodyDirection != null;
+        if (sunDriven) {
+            lightX = bodyDirection[0];
+            lightY = bodyDirection[1];
+            lightZ = bodyDirection[2];
+        } else {
+            updateLightFromAngle();
+        }
+    }
+    
+    public boolean isSunDriven() {
+        return sunDriven;
+    }
+    
+    /**
+     * Body-frame direction of the sun set by {@link #setSunDirection}, or null for the manual angle
+     */
+    public double[] getSunDirection() {
+        return sunDriven ? new double[]{lightX, lightY, lightZ} : null;
+    }
+    
+    /**
+     * Camera the frame is drawn with, so the terminator and light source follow the view
+     */
+    public void setCamera(CameraOrientation camera) {
+        this.cameraMatrix = camera.toMatrix();
     }
 }
\ No newline at end of file
@@ -0,0 +1,384 @@
+package com.dqrapps.global.graphics;
+
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Ellipse2D;
+import java.awt.geom.Line2D;
+import java.awt.geom.PathIterator;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.Arrays;
+
+/**
+ * Backend that rasterizes straight into the {@code int[]} pixels of a TYPE_INT_RGB or
+ * TYPE_INT_ARGB image, without going through Java2D's pipeline. Ovals and gradients are
+ * filled span by span; strokes are converted to outlines with {@link BasicStroke} and filled
+ * by a scanline rasterizer with an active edge list. Nothing is antialiased and scaled
+ * images are sampled nearest-neighbour, which trades edge quality for throughput in headless
+ * and offscreen deployments. Pixels are sampled at their centres, as Java2D does without
+ * antialiasing.
+ */
+public class OffscreenBackend implements RenderBackend {
+    private static final double FLATNESS = 0.25;
+    private static final int GRADIENT_STEPS = 256;
+
+    private final BufferedImage image;
+    private final int[] pixels;
+    private final int width;
+    private final int height;
+    private final boolean opaque;
+
+    // Scanline rasterizer state, reused between shapes
+    private float[] edgeX = new float[64];
+    private float[] edgeSlope = new float[64];
+    private int[] edgeFirstRow = new int[64];
+    private int[] edgeLastRow = new int[64];
+    private int[] edgeDirection = new int[64];
+    private long[] edgeOrder = new long[64];
+    private int edgeCount;
+    private int[] active = new int[64];
+    private float[] crossingX = new float[64];
+    private int[] crossingDirection = new int[64];
+    private final int[] gradient = new int[GRADIENT_STEPS];
+    private int[] rowBuffer = new int[0];
+
+    /**
+     * Backend drawing into a new transparent ARGB image
+     */
+    public OffscreenBackend(int width, int height) {
+        this(new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB));
+    }
+
+    /**
+     * Backend drawing into an existing image; Java2D may keep drawing into it as well
+     */
+    public OffscreenBackend(BufferedImage image) {
+        if (image.getType() != BufferedImage.TYPE_INT_RGB && image.getType() != BufferedImage.TYPE_INT_ARGB) {
+            throw new IllegalArgumentException("Offscreen backend needs an INT_RGB or INT_ARGB image, got type "
+                + image.getType());
+        }
+        this.image = image;
+        this.pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+        this.width = image.getWidth();
+        this.height = image.getHeight();
+        this.opaque = image.getType() == BufferedImage.TYPE_INT_RGB;
+    }
+
+    /**
+     * Fill the whole image with one colour
+     */
+    public void clear(int argb) {
+        Arrays.fill(pixels, argb);
+    }
+
+    @Override
+    public void drawImage(BufferedImage source, int x, int y, int drawWidth, int drawHeight) {
+        int x0 = Math.max(0, x);
+        int y0 = Math.max(0, y);
+        int x1 = Math.min(width, x + drawWidth);
+        int y1 = Math.min(height, y + drawHeight);
+        if (x0 >= x1 || y0 >= y1) return;
+
+        int sourceWidth = source.getWidth();
+        int sourceHeight = source.getHeight();
+        boolean sourceOpaque = !source.getColorModel().hasAlpha();
+        int[] sourcePixels = directPixels(source);
+        if (rowBuffer.length < sourceWidth) {
+            rowBuffer = new int[sourceWidth];
+        }
+        int previousRow = -1;
+        int[] row = rowBuffer;
+        int rowOffset = 0;
+        for (int dy = y0; dy < y1; dy++) {
+            int sourceY = (int) ((long) (dy - y) * sourceHeight / drawHeight);
+            if (sourcePixels != null) {
+                row = sourcePixels;
+                rowOffset = sourceY * sourceWidth;
+            } else if (sourceY != previousRow) {
+                source.getRGB(0, sourceY, sourceWidth, 1, rowBuffer, 0, sourceWidth);
+                previousRow = sourceY;
+            }
+            int target = dy * width;
+            for (int dx = x0; dx < x1; dx++) {
+                int sourceX = (int) ((long) (dx - x) * sourceWidth / drawWidth);
+                int argb = row[rowOffset + sourceX];
+                blend(target + dx, sourceOpaque ? argb | 0xFF000000 : argb);
+            }
+        }
+    }
+
+    @Override
+    public void fillOval(int x, int y, int ovalWidth, int ovalHeight, Color color) {
+        int argb = color.getRGB();
+        if (argb >>> 24 == 0 || ovalWidth <= 0 || ovalHeight <= 0) return;
+        double centerX = x + ovalWidth / 2.0;
+        double centerY = y + ovalHeight / 2.0;
+        double radiusX = ovalWidth / 2.0;
+        double radiusY = ovalHeight / 2.0;
+        for (int row = Math.max(0, y), last = Math.min(height, y + ovalHeight); row < last; row++) {
+            double dy = (row + 0.5 - centerY) / radiusY;
+            if (dy * dy >= 1) continue;
+            double half = radiusX * Math.sqrt(1 - dy * dy);
+            fillSpan(row, centerX - half, centerX + half, argb);
+        }
+    }
+
+    @Override
+    public void fillGradientOval(int x, int y, int ovalWidth, int ovalHeight,
+                                 float gradientX, float gradientY, float radius, float[] fractions, Color[] colors) {
+        if (ovalWidth <= 0 || ovalHeight <= 0) return;
+        buildGradient(fractions, colors);
+        double centerX = x + ovalWidth / 2.0;
+        double centerY = y + ovalHeight / 2.0;
+        double radiusX = ovalWidth / 2.0;
+        double radiusY = ovalHeight / 2.0;
+        double scale = (GRADIENT_STEPS - 1) / (double) radius;
+        for (int row = Math.max(0, y), last = Math.min(height, y + ovalHeight); row < last; row++) {
+            double dy = (row + 0.5 - centerY) / radiusY;
+            if (dy * dy >= 1) continue;
+            double half = radiusX * Math.sqrt(1 - dy * dy);
+            int start = Math.max(0, (int) Math.ceil(centerX - half - 0.5));
+            int end = Math.min(width, (int) Math.ceil(centerX + half - 0.5));
+            double gy = row + 0.5 - gradientY;
+            for (int column = start; column < end; column++) {
+                double gx = column + 0.5 - gradientX;
+                int step = (int) (Math.sqrt(gx * gx + gy * gy) * scale + 0.5);
+                blend(row * width + column, gradient[Math.min(GRADIENT_STEPS - 1, step)]);
+            }
+        }
+    }
+
+    @Override
+    public void drawOval(int x, int y, int ovalWidth, int ovalHeight, Color color, BasicStroke stroke) {
+        fillShape(stroke.createStrokedShape(new Ellipse2D.Float(x, y, ovalWidth, ovalHeight)), color.getRGB());
+    }
+
+    @Override
+    public void drawLine(int x1, int y1, int x2, int y2, Color color, BasicStroke stroke) {
+        fillShape(stroke.createStrokedShape(new Line2D.Float(x1, y1, x2, y2)), color.getRGB());
+    }
+
+    @Override
+    public void draw(Shape shape, int translateX, int translateY, Color color, BasicStroke stroke) {
+        Shape moved = AffineTransform.getTranslateInstance(translateX, translateY).createTransformedShape(shape);
+        fillShape(stroke.createStrokedShape(moved), color.getRGB());
+    }
+
+    /**
+     * Fill an arbitrary shape with its own winding rule: flatten it into edges, sort them by
+     * their first row and sweep the rows keeping only the edges that span the current one
+     */
+    void fillShape(Shape shape, int argb) {
+        if (argb >>> 24 == 0) return;
+        edgeCount = 0;
+        PathIterator iterator = shape.getPathIterator(null, FLATNESS);
+        boolean evenOdd = iterator.getWindingRule() == PathIterator.WIND_EVEN_ODD;
+        float[] coords = new float[6];
+        float moveX = 0;
+        float moveY = 0;
+        float lastX = 0;
+        float lastY = 0;
+        for (; !iterator.isDone(); iterator.next()) {
+            switch (iterator.currentSegment(coords)) {
+                case PathIterator.SEG_MOVETO:
+                    addEdge(lastX, lastY, moveX, moveY);
+                    moveX = lastX = coords[0];
+                    moveY = lastY = coords[1];
+                    break;
+                case PathIterator.SEG_LINETO:
+                    addEdge(lastX, lastY, coords[0], coords[1]);
+                    lastX = coords[0];
+                    lastY = coords[1];
+                    break;
+                case PathIterator.SEG_CLOSE:
+                    addEdge(lastX, lastY, moveX, moveY);
+                    lastX = moveX;
+                    lastY = moveY;
+                    break;
+                default:
+                    break; // A flattening iterator only returns lines
+            }
+        }
+        addEdge(lastX, lastY, moveX, moveY);
+        if (edgeCount == 0) return;
+
+        // Edge indices ordered by first row, packed as (row << 32 | index) for a primitive sort
+        for (int i = 0; i < edgeCount; i++) {
+            edgeOrder[i] = ((long) edgeFirstRow[i] << 32) | i;
+        }
+        Arrays.sort(edgeOrder, 0, edgeCount);
+
+        int activeCount = 0;
+        int next = 0;
+        for (int row = edgeFirstRow[(int) edgeOrder[0]]; next < edgeCount || activeCount > 0; row++) {
+            if (activeCount == 0 && next < edgeCount) {
+                row = Math.max(row, (int) (edgeOrder[next] >>> 32));
+            }
+            while (next < edgeCount && (int) (edgeOrder[next] >>> 32) == row) {
+                if (activeCount == active.length) {
+                    active = Arrays.copyOf(active, activeCount * 2);
+                    crossingX = Arrays.copyOf(crossingX, activeCount * 2);
+                    crossingDirection = Arrays.copyOf(crossingDirection, activeCount * 2);
+                }
+                active[activeCount++] = (int) edgeOrder[next++];
+            }
+            if (row >= height) break;
+
+            // Crossings of the active edges with the row's pixel centres, sorted by x
+            int crossings = 0;
+            int kept = 0;
+            float centerY = row + 0.5f;
+            for (int k = 0; k < activeCount; k++) {
+                int edge = active[k];
+                if (edgeLastRow[edge] < row) continue;
+                active[kept++] = edge;
+                float crossing = edgeX[edge] + edgeSlope[edge] * centerY;
+                int direction = edgeDirection[edge];
+                int insert = crossings++;
+                while (insert > 0 && crossingX[insert - 1] > crossing) {
+                    crossingX[insert] = crossingX[insert - 1];
+                    crossingDirection[insert] = crossingDirection[insert - 1];
+                    insert--;
+                }
+                crossingX[insert] = crossing;
+                crossingDirection[insert] = direction;
+            }
+            activeCount = kept;
+
+            int winding = 0;
+            for (int k = 0; k < crossings - 1; k++) {
+                winding += crossingDirection[k];
+                boolean inside = evenOdd ? (winding & 1) != 0 : winding != 0;
+                if (inside) {
+                    fillSpan(row, crossingX[k], crossingX[k + 1], argb);
+                }
+            }
+        }
+    }
+
+    /**
+     * Record an edge covering the pixel rows whose centres lie in [y0, y1) of its upward
+     * ordering; horizontal edges and edges outside the image rows are dropped
+     */
+    private void addEdge(float x0, float y0, float x1, float y1) {
+        int direction = 1;
+        if (y1 < y0) {
+            float swap = x0;
+            x0 = x1;
+            x1 = swap;
+            swap = y0;
+            y0 = y1;
+            y1 = swap;
+            direction = -1;
+        }
+        int firstRow = Math.max(0, (int) Math.ceil(y0 - 0.5f));
+        int lastRow = Math.min(height - 1, (int) Math.ceil(y1 - 0.5f) - 1);
+        if (firstRow > lastRow) return;
+        if (edgeCount == edgeX.length) {
+            int capacity = edgeCount * 2;
+            edgeX = Arrays.copyOf(edgeX, capacity);
+            edgeSlope = Arrays.copyOf(edgeSlope, capacity);
+            edgeFirstRow = Arrays.copyOf(edgeFirstRow, capacity);
+            edgeLastRow = Arrays.copyOf(edgeLastRow, capacity);
+            edgeDirection = Arrays.copyOf(edgeDirection, capacity);
+            edgeOrder = Arrays.copyOf(edgeOrder, capacity);
+        }
+        float slope = (x1 - x0) / (y1 - y0);
+        // Stored as x = edgeX + slope * y so a crossing is one multiply-add
+        edgeX[edgeCount] = x0 - slope * y0;
+        edgeSlope[edgeCount] = slope;
+        edgeFirstRow[edgeCount] = firstRow;
+        edgeLastRow[edgeCount] = lastRow;
+        edgeDirection[edgeCount] = direction;
+        edgeCount++;
+    }
+
+    /**
+     * Fill the pixels of a row whose centres lie in [left, right)
+     */
+    private void fillSpan(int row, double left, double right, int argb) {
+        int start = Math.max(0, (int) Math.ceil(left - 0.5));
+        int end = Math.min(width, (int) Math.ceil(right - 0.5));
+        if (start >= end) return;
+        int offset = row * width;
+        if (argb >>> 24 == 0xFF) {
+            Arrays.fill(pixels, offset + start, offset + end, argb);
+            return;
+        }
+        for (int i = offset + start; i < offset + end; i++) {
+            blend(i, argb);
+        }
+    }
+
+    /**
+     * Source-over of a non-premultiplied ARGB colour onto one pixel
+     */
+    private void blend(int index, int argb) {
+        int sourceAlpha = argb >>> 24;
+        if (sourceAlpha == 0) return;
+        if (sourceAlpha == 0xFF) {
+            pixels[index] = argb;
+            return;
+        }
+        int destination = pixels[index];
+        int destinationAlpha = opaque ? 0xFF : destination >>> 24;
+        int keep = (0xFF - sourceAlpha) * destinationAlpha / 0xFF;
+        int alpha = sourceAlpha + keep;
+        int red = (((argb >> 16) & 0xFF) * sourceAlpha + ((destination >> 16) & 0xFF) * keep) / alpha;
+        int green = (((argb >> 8) & 0xFF) * sourceAlpha + ((destination >> 8) & 0xFF) * keep) / alpha;
+        int blue = ((argb & 0xFF) * sourceAlpha + (destination & 0xFF) * keep) / alpha;
+        pixels[index] = (alpha << 24) | (red << 16) | (green << 8) | blue;
+    }
+
+    /**
+     * Tabulate a gradient's colours over the unit radius, holding the end colours outside the fractions
+     */
+    private void buildGradient(float[] fractions, Color[] colors) {
+        int segment = 0;
+        for (int i = 0; i < GRADIENT_STEPS; i++) {
+            float t = i / (float) (GRADIENT_STEPS - 1);
+            while (segment < fractions.length - 2 && t > fractions[segment + 1]) {
+                segment++;
+            }
+            float start = fractions[segment];
+            float end = fractions[segment + 1];
+            float weight = Math.max(0, Math.min(1, (t - start) / (end - start)));
+            gradient[i] = mix(colors[segment].getRGB(), colors[segment + 1].getRGB(), weight);
+        }
+    }
+
+    private static int mix(int from, int to, float weight) {
+        int color = 0;
+        for (int shift = 0; shift < 32; shift += 8) {
+            int a = (from >>> shift) & 0xFF;
+            int b = (to >>> shift) & 0xFF;
+            color |= ((int) (a + (b - a) * weight + 0.5f)) << shift;
+        }
+        return color;
+    }
+
+    /**
+     * The backing array of a plain INT_RGB or INT_ARGB image, or null when pixels must be read with getRGB
+     */
+    private static int[] directPixels(BufferedImage source) {
+        int type = source.getType();
+        if ((type != BufferedImage.TYPE_INT_RGB && type != BufferedImage.TYPE_INT_ARGB)
+                || source.getRaster().getParent() != null) {
+            return null;
+        }
+        return ((DataBufferInt) source.getRaster().getDataBuffer()).getData();
+    }
+
+    public BufferedImage getImage() {
+        return image;
+    }
+
+    public int[] getPixels() {
+        return pixels;
+    }
+
+    @Override
+    public String getName() {
+        return "offscreen";
+    }
+}
@@ -0,0 +1,84 @@
+package com.dqrapps.global.graphics;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+/**
+ * Unpacked auxiliary layers of one planet, each as a mip chain so it can be sampled at the
+ * same texel density as the day map; any layer may be absent
+ */
+public class PlanetLayers {
+    private final Map<TextureLayer, List<TexelBuffer>> layers;
+
+    /**
+     * Layers from their mip chains, level 0 first
+     */
+    public PlanetLayers(Map<TextureLayer, List<TexelBuffer>> layers) {
+        this.layers = new EnumMap<>(TextureLayer.class);
+        this.layers.putAll(layers);
+    }
+
+    /**
+     * Copy of these layers with every buffer re-laid out in the given order
+     */
+    public PlanetLayers withLayout(TexelLayout layout) {
+        return map(buffer -> buffer.withLayout(layout));
+    }
+
+    /**
+     * Copy of these layers with every buffer converted to the given format
+     */
+    public PlanetLayers withFormat(TexelFormat format, TexelLayout layout) {
+        return map(buffer -> buffer.withFormat(format, layout));
+    }
+
+    private PlanetLayers map(UnaryOperator<TexelBuffer> conversion) {
+        Map<TextureLayer, List<TexelBuffer>> converted = new EnumMap<>(TextureLayer.class);
+        layers.forEach((layer, chain) -> {
+            List<TexelBuffer> levels = new ArrayList<>(chain.size());
+            chain.forEach(buffer -> levels.add(conversion.apply(buffer)));
+            converted.put(layer, levels);
+        });
+        return new PlanetLayers(converted);
+    }
+
+    /**
+     * Get a layer at full resolution, or null if the planet does not have it
+     */
+    public TexelBuffer get(TextureLayer layer) {
+        List<TexelBuffer> chain = layers.get(layer);
+        return chain == null ? null : chain.get(0);
+    }
+
+    /**
+     * Get the largest level of a layer no wider than the given width (its smallest level if
+     * none is), or null if the planet does not have the layer
+     */
+    public TexelBuffer get(TextureLayer layer, int maxWidth) {
+        List<TexelBuffer> chain = layers.get(layer);
+        if (chain == null) return null;
+        for (TexelBuffer level : chain) {
+            if (level.getWidth() <= maxWidth) {
+                return level;
+            }
+        }
+        return chain.get(chain.size() - 1);
+    }
+
+    public boolean isEmpty() {
+        return layers.isEmpty();
+    }
+
+    long getResidentBytes() {
+        long total = 0;
+        for (List<TexelBuffer> chain : layers.values()) {
+            for (TexelBuffer buffer : chain) {
+                total += buffer.getResidentBytes();
+            }
+        }
+        return total;
+    }
+}
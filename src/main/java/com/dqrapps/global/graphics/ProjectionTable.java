@@ -0,0 +1,132 @@
+package com.dqrapps.global.graphics;
+
+import java.util.Arrays;
+
+/**
+ * Per-pixel sphere geometry for one render radius, independent of orientation and lighting.
+ * Only pixels inside the disc are stored, in scanline order. For each one the table keeps
+ * the view-space surface direction (the base direction that a camera rotation transforms),
+ * the texture coordinates at zero rotation for the yaw-only fast path, and the edge-fade alpha.
+ * Tables are immutable, so viewports rendering at the same radius share one through
+ * {@link #acquire(int)}.
+ */
+public class ProjectionTable {
+    private static final SharedCache<Integer, ProjectionTable> SHARED = new SharedCache<>(ProjectionTable::new);
+    
+    private final int radius;
+    private final int count;
+    private final int[] pixelIndex;   // Index into the (2r x 2r) sphere image
+    private final float[] baseU;      // Texture u before rotation, in [0, 1)
+    private final float[] v;          // Texture v in [0, 1]
+    private final float[] directionX; // View-space unit normal; x to the right
+    private final float[] directionY; // y down the screen
+    private final float[] directionZ; // z towards the viewer
+    private final int[] alpha;        // Edge-fade alpha, already shifted into the top byte
+    
+    public ProjectionTable(int radius) {
+        this.radius = radius;
+        int sphereSize = radius * 2;
+        int capacity = sphereSize * sphereSize;
+        int[] indices = new int[capacity];
+        float[] us = new float[capacity];
+        float[] vs = new float[capacity];
+        float[] xs = new float[capacity];
+        float[] ys = new float[capacity];
+        float[] zs = new float[capacity];
+        int[] alphas = new int[capacity];
+        
+        int n = 0;
+        for (int y = 0; y < sphereSize; y++) {
+            for (int x = 0; x < sphereSize; x++) {
+                double sx = (x - radius) / (double) radius;
+                double sy = (y - radius) / (double) radius;
+                double distance = sx * sx + sy * sy;
+                if (distance > 1.0) continue;
+                
+                // Same projection as SphereRenderer.drawSphereMappedTexture
+                double sz = Math.sqrt(1.0 - distance);
+                double longitude = Math.atan2(sz, sx);
+                double latitude = Math.asin(-sy);
+                indices[n] = y * sphereSize + x;
+                us[n] = (float) ((longitude + Math.PI) / (2 * Math.PI));
+                vs[n] = (float) Math.max(0, Math.min(1, (Math.PI / 2 - latitude) / Math.PI));
+                xs[n] = (float) sx;
+                ys[n] = (float) sy;
+                zs[n] = (float) sz;
+                alphas[n] = AtmosphereTable.edgeAlpha(distance) << 24;
+                n++;
+            }
+        }
+        
+        this.count = n;
+        this.pixelIndex = Arrays.copyOf(indices, n);
+        this.baseU = Arrays.copyOf(us, n);
+        this.v = Arrays.copyOf(vs, n);
+        this.directionX = Arrays.copyOf(xs, n);
+        this.directionY = Arrays.copyOf(ys, n);
+        this.directionZ = Arrays.copyOf(zs, n);
+        this.alpha = Arrays.copyOf(alphas, n);
+    }
+    
+    /**
+     * Take a reference to the shared table for a radius, building it on first use
+     */
+    public static ProjectionTable acquire(int radius) {
+        return SHARED.acquire(radius);
+    }
+    
+    /**
+     * Give back a table taken by {@link #acquire(int)}; it is freed with its last user
+     */
+    public static void release(ProjectionTable table) {
+        if (table != null) {
+            SHARED.release(table.getRadius());
+        }
+    }
+    
+    /**
+     * Number of distinct tables currently shared between viewports
+     */
+    public static int getSharedCount() {
+        return SHARED.size();
+    }
+    
+    public int getRadius() {
+        return radius;
+    }
+    
+    /**
+     * Number of pixels inside the disc
+     */
+    public int getCount() {
+        return count;
+    }
+    
+    public int[] getPixelIndex() {
+        return pixelIndex;
+    }
+    
+    public float[] getBaseU() {
+        return baseU;
+    }
+    
+    public float[] getV() {
+        return v;
+    }
+    
+    public float[] getDirectionX() {
+        return directionX;
+    }
+    
+    public float[] getDirectionY() {
+        return directionY;
+    }
+    
+    public float[] getDirectionZ() {
+        return directionZ;
+    }
+    
+    public int[] getAlpha() {
+        return alpha;
+    }
+}
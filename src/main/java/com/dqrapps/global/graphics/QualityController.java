@@ -0,0 +1,110 @@
+package com.dqrapps.global.graphics;
+
+/**
+ * Feedback controller that trades render quality for frame time.
+ * Measured paint times are smoothed with an exponential moving average; when the average
+ * exceeds the frame budget quality steps down one level, and it steps back up only after a
+ * sustained period of headroom. Each restore that is quickly undone doubles the hold time
+ * so the controller does not oscillate between two levels.
+ */
+public class QualityController {
+    private static final double SMOOTHING = 0.1;
+    private static final double DEGRADE_THRESHOLD = 0.9;  // Fraction of budget that triggers a step down
+    private static final double RESTORE_THRESHOLD = 0.5;  // Fraction of budget needed before stepping up
+    private static final int SETTLE_FRAMES = 30;          // Ignore measurements right after a change
+    private static final int MIN_RESTORE_HOLD = 120;
+    private static final int MAX_RESTORE_HOLD = 1920;
+    
+    private boolean enabled = true;
+    private double frameBudgetMillis;
+    private int level = 0;
+    private double averageMillis = 0;
+    private int framesSinceChange = 0;
+    private int headroomFrames = 0;
+    private int restoreHold = MIN_RESTORE_HOLD;
+    private boolean lastChangeWasRestore = false;
+    
+    public QualityController(int targetFps) {
+        setTargetFps(targetFps);
+    }
+    
+    /**
+     * Feed one measured frame time and return the quality to use for the next frame
+     */
+    public RenderQuality update(double frameMillis) {
+        if (!enabled) {
+            return RenderQuality.FULL;
+        }
+        
+        averageMillis = averageMillis == 0 ? frameMillis
+                : averageMillis + SMOOTHING * (frameMillis - averageMillis);
+        framesSinceChange++;
+        if (framesSinceChange < SETTLE_FRAMES) {
+            return RenderQuality.forLevel(level);
+        }
+        
+        if (averageMillis > frameBudgetMillis * DEGRADE_THRESHOLD && level < RenderQuality.getLevelCount() - 1) {
+            if (lastChangeWasRestore && framesSinceChange < restoreHold * 2) {
+                restoreHold = Math.min(MAX_RESTORE_HOLD, restoreHold * 2);
+            }
+            changeLevel(level + 1, false);
+        } else if (averageMillis < frameBudgetMillis * RESTORE_THRESHOLD && level > 0) {
+            if (++headroomFrames >= restoreHold) {
+                changeLevel(level - 1, true);
+            }
+        } else {
+            headroomFrames = 0;
+        }
+        return RenderQuality.forLevel(level);
+    }
+    
+    private void changeLevel(int newLevel, boolean restore) {
+        level = newLevel;
+        framesSinceChange = 0;
+        headroomFrames = 0;
+        lastChangeWasRestore = restore;
+        // Start the new level from the budget so the average re-converges from neutral
+        averageMillis = frameBudgetMillis * (DEGRADE_THRESHOLD + RESTORE_THRESHOLD) / 2;
+    }
+    
+    public void reset() {
+        level = 0;
+        averageMillis = 0;
+        framesSinceChange = 0;
+        headroomFrames = 0;
+        restoreHold = MIN_RESTORE_HOLD;
+        lastChangeWasRestore = false;
+    }
+    
+    // Getters and setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        if (!enabled) {
+            reset();
+        }
+    }
+    
+    public void setTargetFps(int targetFps) {
+        this.frameBudgetMillis = 1000.0 / Math.max(1, targetFps);
+    }
+    
+    public double getFrameBudgetMillis() {
+        return frameBudgetMillis;
+    }
+    
+    public int getLevel() {
+        return level;
+    }
+    
+    public RenderQuality getQuality() {
+        return enabled ? RenderQuality.forLevel(level) : RenderQuality.FULL;
+    }
+    
+    public double getAverageFrameMillis() {
+        return averageMillis;
+    }
+}
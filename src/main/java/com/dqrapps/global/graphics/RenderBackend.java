@@ -0,0 +1,48 @@
+package com.dqrapps.global.graphics;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+/**
+ * Drawing primitives the planet, lighting and satellite renderers target, so a frame can be
+ * rasterized by Java2D or by another implementation. Geometry, strokes and colours use the
+ * {@code java.awt} value types; colours are non-premultiplied ARGB and every primitive is
+ * composited source-over. Implementations are not thread-safe.
+ */
+public interface RenderBackend {
+
+    /**
+     * Draw an image into the given rectangle, scaling it if the sizes differ
+     */
+    void drawImage(BufferedImage image, int x, int y, int width, int height);
+
+    /**
+     * Fill the ellipse inscribed in the given rectangle with a solid colour
+     */
+    void fillOval(int x, int y, int width, int height, Color color);
+
+    /**
+     * Fill the ellipse inscribed in the given rectangle with a radial gradient around
+     * (centerX, centerY); colours are interpolated between the fractions of the radius and the
+     * last one is held beyond it, as with {@link RadialGradientPaint}
+     */
+    void fillGradientOval(int x, int y, int width, int height,
+                          float centerX, float centerY, float radius, float[] fractions, Color[] colors);
+
+    /**
+     * Stroke the outline of the ellipse inscribed in the given rectangle
+     */
+    void drawOval(int x, int y, int width, int height, Color color, BasicStroke stroke);
+
+    void drawLine(int x1, int y1, int x2, int y2, Color color, BasicStroke stroke);
+
+    /**
+     * Stroke a shape offset by (translateX, translateY)
+     */
+    void draw(Shape shape, int translateX, int translateY, Color color, BasicStroke stroke);
+
+    /**
+     * Short name for logs and benchmarks
+     */
+    String getName();
+}
@@ -0,0 +1,33 @@
+package com.dqrapps.global.graphics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+
+/**
+ * Backend a viewport draws its per-frame primitives with: {@link Java2DBackend} straight to the
+ * component, or {@link OffscreenBackend} into an offscreen frame that is then shown with one blit
+ */
+public enum RenderBackendType {
+    JAVA2D,
+    OFFSCREEN;
+
+    /** Used for unknown names */
+    public static final RenderBackendType DEFAULT = JAVA2D;
+    private static final Logger logger = LoggerFactory.getLogger(RenderBackendType.class);
+
+    /**
+     * Backend type for a property value such as "java2d" or "offscreen"; an unknown name is
+     * logged and falls back to {@link #DEFAULT}
+     */
+    public static RenderBackendType fromName(String name) {
+        try {
+            return valueOf(name.trim().toUpperCase().replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Unknown render backend '{}', expected one of {}; using {}", name,
+                Arrays.toString(values()).toLowerCase().replace('_', '-'), DEFAULT.name().toLowerCase());
+            return DEFAULT;
+        }
+    }
+}
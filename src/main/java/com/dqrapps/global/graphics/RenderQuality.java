@@ -0,0 +1,68 @@
+package com.dqrapps.global.graphics;
+
+/**
+ * Immutable set of render quality settings, plus the ladder of levels the
+ * adaptive controller steps through (index 0 is full quality)
+ */
+public class RenderQuality {
+    private static final RenderQuality[] LADDER = {
+        new RenderQuality(1.0, SamplingMode.BILINEAR, 0, true),
+        new RenderQuality(1.0, SamplingMode.BILINEAR, 0, false),
+        new RenderQuality(0.85, SamplingMode.BILINEAR, 0, false),
+        new RenderQuality(0.75, SamplingMode.BILINEAR, 1, false),
+        new RenderQuality(0.6, SamplingMode.NEAREST, 1, false),
+        new RenderQuality(0.5, SamplingMode.NEAREST, 2, false)
+    };
+    
+    public static final RenderQuality FULL = LADDER[0];
+    
+    private final double renderScale;
+    private final SamplingMode samplingMode;
+    private final int mipBias;
+    private final boolean satelliteGlow;
+    
+    public RenderQuality(double renderScale, SamplingMode samplingMode, int mipBias, boolean satelliteGlow) {
+        this.renderScale = renderScale;
+        this.samplingMode = samplingMode;
+        this.mipBias = mipBias;
+        this.satelliteGlow = satelliteGlow;
+    }
+    
+    /**
+     * Get the quality for a ladder level, clamped to the available range
+     */
+    public static RenderQuality forLevel(int level) {
+        return LADDER[Math.max(0, Math.min(level, LADDER.length - 1))];
+    }
+    
+    public static int getLevelCount() {
+        return LADDER.length;
+    }
+    
+    /**
+     * Internal sphere resolution relative to screen resolution
+     */
+    public double getRenderScale() {
+        return renderScale;
+    }
+    
+    public SamplingMode getSamplingMode() {
+        return samplingMode;
+    }
+    
+    /**
+     * Extra mip levels added on top of the level chosen from texel density
+     */
+    public int getMipBias() {
+        return mipBias;
+    }
+    
+    public boolean isSatelliteGlow() {
+        return satelliteGlow;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("%.2fx %s mip+%d%s", renderScale, samplingMode, mipBias, satelliteGlow ? " glow" : "");
+    }
+}
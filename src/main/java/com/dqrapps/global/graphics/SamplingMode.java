@@ -0,0 +1,9 @@
+package com.dqrapps.global.graphics;
+
+/**
+ * Texture sampling modes used when mapping textures onto the sphere
+ */
+public enum SamplingMode {
+    BILINEAR,
+    NEAREST
+}
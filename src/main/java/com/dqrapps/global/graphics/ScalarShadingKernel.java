@@ -0,0 +1,51 @@
+package com.dqrapps.global.graphics;
+
+/**
+ * Portable shading kernel; same arithmetic as enhanceTextureColor followed by
+ * LightingSystem.applyLighting and AtmosphereTable.scatter, one pixel at a time
+ */
+public class ScalarShadingKernel implements ShadingKernel {
+
+    @Override
+    public void shade(int[] texels, float[] normalX, float[] normalY, float[] normalZ,
+                      int[] alpha, int[] pixelIndex, int count,
+                      float lightX, float lightY, float lightZ, float ambient,
+                      AtmosphereTable atmosphere, int[] output) {
+        shadeRange(texels, normalX, normalY, normalZ, alpha, pixelIndex, 0, count,
+                lightX, lightY, lightZ, ambient, atmosphere, output);
+    }
+
+    /**
+     * Shade entries {@code from} (inclusive) to {@code to} (exclusive); also used for the
+     * tail that does not fill a whole vector
+     */
+    static void shadeRange(int[] texels, float[] normalX, float[] normalY, float[] normalZ,
+                           int[] alpha, int[] pixelIndex, int from, int to,
+                           float lightX, float lightY, float lightZ, float ambient,
+                           AtmosphereTable atmosphere, int[] output) {
+        double directional = 1.0 - ambient;
+        for (int i = from; i < to; i++) {
+            double dot = normalX[i] * lightX + normalY[i] * lightY + normalZ[i] * lightZ;
+            double intensity = Math.max(0.0, dot) * directional + ambient;
+            
+            int color = texels[i];
+            int red = Math.min(255, (int) (((color >> 16) & 0xFF) * 1.2 + 20));
+            int green = Math.min(255, (int) (((color >> 8) & 0xFF) * 1.2 + 20));
+            int blue = Math.min(255, (int) ((color & 0xFF) * 1.2 + 20));
+            
+            red = (int) Math.min(255, red * intensity);
+            green = (int) Math.min(255, green * intensity);
+            blue = (int) Math.min(255, blue * intensity);
+            int lit = (red << 16) | (green << 8) | blue;
+            if (atmosphere != null) {
+                lit = atmosphere.scatter(lit, normalZ[i], dot);
+            }
+            output[pixelIndex[i]] = alpha[i] | lit;
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "scalar";
+    }
+}
@@ -0,0 +1,26 @@
+package com.dqrapps.global.graphics;
+
+/**
+ * Per-pixel shading kernel for the projection-table renderer: brightens each sampled
+ * texel, lights it by its view-space normal, blends in the atmosphere and scatters it
+ * into the output raster.
+ * Texels are gathered beforehand so the kernel itself is pure lane-wise arithmetic;
+ * kernels may reuse {@code texels} as scratch space.
+ */
+public interface ShadingKernel {
+
+    /**
+     * Shade {@code count} pixels. Inputs are indexed by table entry; results are written to
+     * {@code output[pixelIndex[i]]} with the table's alpha. The atmosphere is null for a
+     * planet without one.
+     */
+    void shade(int[] texels, float[] normalX, float[] normalY, float[] normalZ,
+               int[] alpha, int[] pixelIndex, int count,
+               float lightX, float lightY, float lightZ, float ambient,
+               AtmosphereTable atmosphere, int[] output);
+
+    /**
+     * Short name for logs and the metrics overlay
+     */
+    String getName();
+}
@@ -0,0 +1,48 @@
+package com.dqrapps.global.graphics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Picks the shading kernel at runtime. The Vector API kernel is only compiled by the
+ * {@code vector} Maven profile and only links when the JVM was started with
+ * {@code --add-modules jdk.incubator.vector}; otherwise the scalar kernel is used.
+ */
+public final class ShadingKernels {
+    private static final Logger logger = LoggerFactory.getLogger(ShadingKernels.class);
+    private static final String VECTOR_KERNEL = "com.dqrapps.global.graphics.VectorShadingKernel";
+
+    private static final ShadingKernel SCALAR = new ScalarShadingKernel();
+    private static volatile ShadingKernel best;
+
+    private ShadingKernels() {
+    }
+
+    public static ShadingKernel scalar() {
+        return SCALAR;
+    }
+
+    /**
+     * Fastest kernel this JVM can run; resolved once
+     */
+    public static ShadingKernel best() {
+        ShadingKernel kernel = best;
+        if (kernel == null) {
+            kernel = loadVectorKernel();
+            best = kernel;
+        }
+        return kernel;
+    }
+
+    private static ShadingKernel loadVectorKernel() {
+        try {
+            ShadingKernel kernel = (ShadingKernel) Class.forName(VECTOR_KERNEL)
+                    .getDeclaredConstructor().newInstance();
+            logger.info("Using {} shading kernel", kernel.getName());
+            return kernel;
+        } catch (ReflectiveOperationException | LinkageError e) {
+            logger.info("Vector API shading kernel unavailable ({}), using scalar kernel", e.toString());
+            return SCALAR;
+        }
+    }
+}
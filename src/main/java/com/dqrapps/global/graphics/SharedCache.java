@@ -0,0 +1,76 @@
+package com.dqrapps.global.graphics;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Reference-counted values shared between viewports. The first {@link #acquire} of a key
+ * builds the value (once, even when several threads ask at the same time); later acquires
+ * return the same instance. The value is dropped when the last holder releases it.
+ * Values must be safe to read from several threads once built.
+ */
+class SharedCache<K, V> {
+    private final Map<K, Entry<V>> entries = new HashMap<>();
+    private final Function<K, V> factory;
+
+    SharedCache(Function<K, V> factory) {
+        this.factory = factory;
+    }
+
+    /**
+     * Take a reference to the value for a key, building it on first use
+     */
+    V acquire(K key) {
+        Entry<V> entry;
+        synchronized (entries) {
+            entry = entries.computeIfAbsent(key, k -> new Entry<>());
+            entry.references++;
+        }
+        try {
+            // Built outside the registry lock so unrelated keys do not wait on a slow build
+            synchronized (entry) {
+                if (entry.value == null) {
+                    entry.value = factory.apply(key);
+                }
+                return entry.value;
+            }
+        } catch (RuntimeException e) {
+            release(key);
+            throw e;
+        }
+    }
+
+    /**
+     * Give back a reference taken by {@link #acquire}
+     */
+    void release(K key) {
+        synchronized (entries) {
+            Entry<V> entry = entries.get(key);
+            if (entry != null && --entry.references <= 0) {
+                entries.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Number of live references to a key's value
+     */
+    int getReferenceCount(K key) {
+        synchronized (entries) {
+            Entry<V> entry = entries.get(key);
+            return entry == null ? 0 : entry.references;
+        }
+    }
+
+    int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private static class Entry<V> {
+        int references;
+        V value;
+    }
+}
@@ -1,16 +1,47 @@
 package com.dqrapps.global.graphics;
 
 import com.dqrapps.global.model.Planet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.awt.*;
 import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.HashSet;
+import java.util.Set;
 
 /**
  * Handles sphere mapping and rendering of planet textures onto a 2D sphere
  */
 public class SphereRenderer {
+    private static final Logger logger = LoggerFactory.getLogger(SphereRenderer.class);
+    private static final int MIN_RENDER_RADIUS = 16;
+    private static final double MIN_RESOLUTION_SCALE = 0.25;
+    
+    // Layer blending
+    private static final double NIGHT_START = 0.1;       // Night lights fade in below this light dot product
+    private static final double NIGHT_RANGE = 0.2;       // ...and are fully on NIGHT_RANGE below it
+    private static final double CLOUD_OPACITY = 0.85;
+    private static final double SPECULAR_STRENGTH = 160;
+    private static final Color OUTLINE_COLOR = new Color(100, 100, 100, 150);
+    private static final BasicStroke OUTLINE_STROKE = new BasicStroke(2);
+    
     private final TextureManager textureManager;
     private final LightingSystem lightingSystem;
+    private RenderQuality quality = RenderQuality.FULL;
+    private double resolutionScale = 1.0; // User-selected internal scale, combined with the quality scale
+    private boolean bicubicUpscale = false;
+    
+    // Temporal reprojection state
+    private boolean temporalReprojection = false;
+    private ProjectionTable projectionTable;
+    private BufferedImage reprojectionImage;
+    private float[] textureU = new float[0];
+    private float[] textureV = new float[0];
+    private int[] sampledTexels = new int[0];
+    private TextureColumnCache columnCache;
+    private ShadingKernel shadingKernel = ShadingKernels.best();
+    private final Set<Planet> missingTextures = new HashSet<>(); // Planets already reported as textureless
     
     public SphereRenderer(TextureManager textureManager, LightingSystem lightingSystem) {
         this.textureManager = textureManager;
@@ -20,38 +51,64 @@ public class SphereRenderer {
     /**
      * Draw a planet with sphere-mapped texture and lighting
      */
-    public void drawPlanet(Graphics2D g2d, int centerX, int centerY, int radius, 
+    public void drawPlanet(RenderBackend backend, int centerX, int centerY, int radius, 
                           Planet planet, double earthRotation) {
+        drawPlanet(backend, centerX, centerY, radius, planet, CameraOrientation.fromAngles(earthRotation, 0, 0));
+    }
+    
+    /**
+     * Draw a planet viewed through an arbitrary camera orientation
+     */
+    public void drawPlanet(RenderBackend backend, int centerX, int centerY, int radius,
+                          Planet planet, CameraOrientation camera) {
         BufferedImage texture = textureManager.getPlanetTexture(planet);
         if (texture == null) {
-            // Add debug info
-            System.out.println("Texture not found for " + planet.getDisplayName() + ", using fallback");
-            drawFallbackPlanet(g2d, centerX, centerY, radius, planet);
+            if (missingTextures.add(planet)) {
+                logger.info("No texture for {}, drawing the fallback planet", planet.getDisplayName());
+            }
+            drawFallbackPlanet(backend, centerX, centerY, radius, planet);
             return;
         }
         
-        drawSphereMappedTexture(g2d, centerX, centerY, radius, texture, earthRotation, planet);
-        drawPlanetOutline(g2d, centerX, centerY, radius);
+        drawSphereMappedTexture(backend, centerX, centerY, radius, texture, camera, planet);
+        drawPlanetOutline(backend, centerX, centerY, radius);
     }
     
     /**
      * Draw sphere-mapped texture with proper spherical projection
      */
-    private void drawSphereMappedTexture(Graphics2D g2d, int centerX, int centerY, int radius, 
-                                       BufferedImage texture, double earthRotation, Planet planet) {
+    private void drawSphereMappedTexture(RenderBackend backend, int centerX, int centerY, int radius, 
+                                       BufferedImage texture, CameraOrientation camera, Planet planet) {
+        // Layered planets, compressed textures and tilted cameras need the table-driven path
+        if (temporalReprojection || !camera.isYawOnly() || textureManager.isCompressed()
+                || textureManager.getPlanetLayers(planet) != null) {
+            drawReprojectedTexture(backend, centerX, centerY, radius, camera, planet);
+            return;
+        }
+        double earthRotation = camera.getYaw();
+        
         // Use time-based caching for smooth performance
         if (textureManager.canUseCachedTexture(planet)) {
             BufferedImage cached = textureManager.getCachedSphereTexture();
             if (cached != null) {
-                g2d.drawImage(cached, centerX - radius, centerY - radius, null);
+                drawScaledSphere(backend, cached, centerX, centerY, radius);
                 return;
             }
         }
         
+        // Render at the internal resolution chosen by the user and quality settings, upscale when compositing
+        int renderRadius = getRenderRadius(radius);
+        texture = textureManager.getPlanetTexture(planet, selectMipLevel(texture.getWidth(), renderRadius));
+        boolean nearest = quality.getSamplingMode() == SamplingMode.NEAREST;
+        int displayRadius = radius;
+        radius = renderRadius; // The raster loop below works at internal resolution
+        
         int textureWidth = texture.getWidth();
         int textureHeight = texture.getHeight();
         int sphereSize = radius * 2;
         
+        AtmosphereTable atmosphere = AtmosphereTable.forPlanet(planet);
+        
         // Create sphere image with proper alpha
         BufferedImage sphereImage = new BufferedImage(sphereSize, sphereSize, BufferedImage.TYPE_INT_ARGB);
         
@@ -83,31 +140,306 @@ public class SphereRenderer {
                     u = u - Math.floor(u);
                     v = Math.max(0, Math.min(1, v));
                     
-                    // Get texture pixel with bilinear interpolation
-                    int color = getInterpolatedPixel(texture, u * textureWidth, v * textureHeight);
+                    // Get texture pixel with bilinear interpolation, or nearest when quality is reduced
+                    int color = nearest
+                        ? getNearestPixel(texture, u * textureWidth, v * textureHeight)
+                        : getInterpolatedPixel(texture, u * textureWidth, v * textureHeight);
                     
                     // Enhance texture contrast and brightness before lighting
                     color = enhanceTextureColor(color);
                     
-                    // Apply lighting
-                    double lightingIntensity = lightingSystem.calculateLightingIntensity(longitude, latitude);
-                    color = lightingSystem.applyLighting(color, lightingIntensity);
+                    // Apply lighting, then the atmosphere's haze and limb glow
+                    double lightDot = lightingSystem.calculateLightDot(longitude, latitude);
+                    color = lightingSystem.applyLighting(color, lightingSystem.applyAmbient(lightDot));
+                    if (atmosphere != null) {
+                        color = atmosphere.scatter(color, sz, lightDot);
+                    }
                     
-                    // Add subtle fade towards edges for sphere effect (reduced transparency)
-                    double edgeFade = 1.0 - Math.pow(distance, 1.5); // Less aggressive fade
-                    int alpha = (int) (255 * Math.max(0.7, edgeFade)); // Minimum 70% opacity
-                    color = (alpha << 24) | (color & 0xFFFFFF);
+                    // Subtle fade towards edges for sphere effect, looked up rather than a pow per pixel
+                    color = (AtmosphereTable.edgeAlpha(distance) << 24) | (color & 0xFFFFFF);
                     
                     sphereImage.setRGB(x, y, color);
                 }
             }
         }
         
+        // Upscale once to display size so cached frames composite with a plain blit
+        sphereImage = upscaleSphere(sphereImage, displayRadius * 2);
+        
         // Cache the result
         textureManager.setCachedSphereTexture(sphereImage, planet);
         
         // Draw the sphere-mapped texture
-        g2d.drawImage(sphereImage, centerX - radius, centerY - radius, null);
+        drawScaledSphere(backend, sphereImage, centerX, centerY, displayRadius);
+    }
+    
+    /**
+     * Draw the sphere from the cached per-pixel projection table instead of re-deriving the
+     * projection. Each pixel's base direction is taken to the body frame by one 3x3 rotation;
+     * for a yaw-only camera that reduces to a shift in u, so no trigonometry runs per pixel.
+     * A yaw-only frame keeps the texture columns it sampled, so the next one samples only the
+     * columns that turned into view.
+     */
+    private void drawReprojectedTexture(RenderBackend backend, int centerX, int centerY, int radius,
+                                        CameraOrientation camera, Planet planet) {
+        int renderRadius = getRenderRadius(radius);
+        int mipLevel = selectMipLevel(textureManager.getPlanetTextureWidth(planet), renderRadius);
+        TexelBuffer texels = textureManager.getPlanetTexels(planet, mipLevel);
+        
+        if (projectionTable == null || projectionTable.getRadius() != renderRadius) {
+            ProjectionTable previous = projectionTable;
+            projectionTable = ProjectionTable.acquire(renderRadius);
+            ProjectionTable.release(previous);
+            reprojectionImage = new BufferedImage(renderRadius * 2, renderRadius * 2, BufferedImage.TYPE_INT_ARGB);
+            textureU = new float[projectionTable.getCount()];
+            textureV = new float[projectionTable.getCount()];
+            sampledTexels = new int[projectionTable.getCount()];
+        }
+        int[] output = ((DataBufferInt) reprojectionImage.getRaster().getDataBuffer()).getData();
+        
+        // Transform the light into view space once (transpose of the view-to-body rotation)
+        // instead of transforming every pixel normal into the body frame
+        double[] m = camera.toMatrix();
+        double[] light = lightingSystem.getLightDirection();
+        double lightX = m[0] * light[0] + m[3] * light[1] + m[6] * light[2];
+        double lightY = m[1] * light[0] + m[4] * light[1] + m[7] * light[2];
+        double lightZ = m[2] * light[0] + m[5] * light[1] + m[8] * light[2];
+        
+        float[] v = computeTextureCoordinates(camera, m);
+        boolean nearest = quality.getSamplingMode() == SamplingMode.NEAREST;
+        
+        AtmosphereTable atmosphere = AtmosphereTable.forPlanet(planet);
+        PlanetLayers layers = textureManager.getPlanetLayers(planet);
+        if (layers != null) {
+            shadeLayers(output, layers, texels, nearest, v, lightX, lightY, lightZ, atmosphere);
+        } else if (camera.isYawOnly()) {
+            if (columnCache == null || !columnCache.matches(projectionTable, texels, nearest)) {
+                columnCache = new TextureColumnCache(projectionTable, texels, nearest);
+            }
+            int filledColumns = columnCache.sample(textureU, sampledTexels);
+            textureManager.recordCacheLookup(filledColumns == 0);
+            shade(sampledTexels, lightX, lightY, lightZ, atmosphere, output);
+        } else {
+            // Gather texels first so the shading kernel runs over contiguous arrays
+            double textureWidth = texels.getWidth();
+            double textureHeight = texels.getHeight();
+            int count = projectionTable.getCount();
+            int[] sampled = sampledTexels;
+            float[] u = textureU;
+            for (int i = 0; i < count; i++) {
+                double x = u[i] * textureWidth;
+                double y = v[i] * textureHeight;
+                sampled[i] = nearest ? texels.sampleNearest(x, y) : texels.sampleBilinear(x, y);
+            }
+            shade(sampled, lightX, lightY, lightZ, atmosphere, output);
+        }
+        
+        BufferedImage sphereImage = upscaleSphere(reprojectionImage, radius * 2);
+        textureManager.setCachedSphereTexture(sphereImage, planet);
+        drawScaledSphere(backend, sphereImage, centerX, centerY, radius);
+    }
+    
+    /**
+     * Run the shading kernel over gathered texels, one per projection table pixel
+     */
+    private void shade(int[] sampled, double lightX, double lightY, double lightZ,
+                       AtmosphereTable atmosphere, int[] output) {
+        shadingKernel.shade(sampled, projectionTable.getDirectionX(), projectionTable.getDirectionY(),
+            projectionTable.getDirectionZ(), projectionTable.getAlpha(), projectionTable.getPixelIndex(),
+            projectionTable.getCount(), (float) lightX, (float) lightY, (float) lightZ,
+            (float) lightingSystem.getAmbient(), atmosphere, output);
+    }
+    
+    /**
+     * Fill textureU (and for tilted cameras textureV) for the current orientation and
+     * return the v array to sample with
+     */
+    private float[] computeTextureCoordinates(CameraOrientation camera, double[] m) {
+        int count = projectionTable.getCount();
+        float[] u = textureU;
+        
+        if (camera.isYawOnly()) {
+            // Spin about the polar axis only moves longitude
+            float[] baseU = projectionTable.getBaseU();
+            double rotationU = camera.getYaw() / (2 * Math.PI);
+            for (int i = 0; i < count; i++) {
+                double shifted = baseU[i] + rotationU;
+                u[i] = (float) (shifted - Math.floor(shifted));
+            }
+            return projectionTable.getV();
+        }
+        
+        float[] v = textureV;
+        float[] directionX = projectionTable.getDirectionX();
+        float[] directionY = projectionTable.getDirectionY();
+        float[] directionZ = projectionTable.getDirectionZ();
+        for (int i = 0; i < count; i++) {
+            double dx = directionX[i];
+            double dy = directionY[i];
+            double dz = directionZ[i];
+            double bodyX = m[0] * dx + m[1] * dy + m[2] * dz;
+            double bodyY = m[3] * dx + m[4] * dy + m[5] * dz;
+            double bodyZ = m[6] * dx + m[7] * dy + m[8] * dz;
+            
+            // Same longitude/latitude convention as drawSphereMappedTexture, with latitude
+            // taken as an atan2 so both angles use the fast approximation
+            double longitude = FastTrig.atan2(bodyZ, bodyX);
+            double latitude = FastTrig.atan2(-bodyY, Math.sqrt(bodyX * bodyX + bodyZ * bodyZ));
+            double texU = (longitude + Math.PI) / (2 * Math.PI);
+            u[i] = (float) (texU - Math.floor(texU));
+            v[i] = (float) Math.max(0, Math.min(1, (Math.PI / 2 - latitude) / Math.PI));
+        }
+        return v;
+    }
+    
+    /**
+     * Fused multi-layer shading pass: every layer is fetched from the same (u,v) and blended
+     * in registers, so adding layers costs extra texel fetches rather than extra sphere passes.
+     * Layers are sampled at the day map's texel density and sampling mode, so reduced-quality
+     * frames read small levels without filtering. The light is in view space, as computed by
+     * drawReprojectedTexture.
+     */
+    private void shadeLayers(int[] output, PlanetLayers layers, TexelBuffer day, boolean nearest,
+                             float[] v, double lightX, double lightY, double lightZ, AtmosphereTable atmosphere) {
+        TexelBuffer night = layers.get(TextureLayer.NIGHT, day.getWidth());
+        TexelBuffer clouds = layers.get(TextureLayer.CLOUDS, day.getWidth());
+        TexelBuffer specular = layers.get(TextureLayer.SPECULAR, day.getWidth());
+        
+        // Blinn half vector between the light and the viewer (0, 0, 1)
+        double halfX = lightX;
+        double halfY = lightY;
+        double halfZ = lightZ + 1.0;
+        double halfLength = Math.sqrt(halfX * halfX + halfY * halfY + halfZ * halfZ);
+        halfX /= halfLength;
+        halfY /= halfLength;
+        halfZ /= halfLength;
+        
+        double dayWidth = day.getWidth();
+        double dayHeight = day.getHeight();
+        int count = projectionTable.getCount();
+        int[] pixelIndex = projectionTable.getPixelIndex();
+        float[] directionX = projectionTable.getDirectionX();
+        float[] directionY = projectionTable.getDirectionY();
+        float[] directionZ = projectionTable.getDirectionZ();
+        int[] alpha = projectionTable.getAlpha();
+        float[] u = textureU;
+        
+        for (int i = 0; i < count; i++) {
+            double x = u[i] * dayWidth;
+            double y = v[i] * dayHeight;
+            int color = enhanceTextureColor(nearest ? day.sampleNearest(x, y) : day.sampleBilinear(x, y));
+            
+            double dot = directionX[i] * lightX + directionY[i] * lightY + directionZ[i] * lightZ;
+            double intensity = lightingSystem.applyAmbient(dot);
+            double red = ((color >> 16) & 0xFF) * intensity;
+            double green = ((color >> 8) & 0xFF) * intensity;
+            double blue = (color & 0xFF) * intensity;
+            
+            // Specular highlight on the ocean mask; exponent 16 by repeated squaring
+            if (specular != null && dot > 0) {
+                double mask = (sampleLayer(specular, nearest, u[i], v[i]) & 0xFF) / 255.0;
+                double highlight = Math.max(0, directionX[i] * halfX + directionY[i] * halfY + directionZ[i] * halfZ);
+                highlight *= highlight;
+                highlight *= highlight;
+                highlight *= highlight;
+                highlight *= highlight;
+                double shine = mask * highlight * SPECULAR_STRENGTH;
+                red += shine;
+                green += shine;
+                blue += shine;
+            }
+            
+            // Clouds are lit like the surface and cover whatever is below them
+            double cover = 0;
+            if (clouds != null) {
+                cover = (sampleLayer(clouds, nearest, u[i], v[i]) & 0xFF) / 255.0 * CLOUD_OPACITY;
+                double cloudBrightness = 255 * intensity;
+                red += (cloudBrightness - red) * cover;
+                green += (cloudBrightness - green) * cover;
+                blue += (cloudBrightness - blue) * cover;
+            }
+            
+            // City lights fade in across the terminator, dimmed by cloud cover
+            if (night != null && dot < NIGHT_START) {
+                double weight = Math.min(1.0, (NIGHT_START - dot) / NIGHT_RANGE) * (1 - cover);
+                int lights = sampleLayer(night, nearest, u[i], v[i]);
+                red += ((lights >> 16) & 0xFF) * weight;
+                green += ((lights >> 8) & 0xFF) * weight;
+                blue += (lights & 0xFF) * weight;
+            }
+            
+            int r = (int) Math.min(255, red);
+            int g = (int) Math.min(255, green);
+            int b = (int) Math.min(255, blue);
+            int shaded = (r << 16) | (g << 8) | b;
+            
+            // Haze and limb glow over everything, clouds and city lights included
+            if (atmosphere != null) {
+                shaded = atmosphere.scatter(shaded, directionZ[i], dot);
+            }
+            output[pixelIndex[i]] = alpha[i] | shaded;
+        }
+    }
+    
+    /**
+     * Sample a layer at texture coordinates in the frame's sampling mode
+     */
+    private static int sampleLayer(TexelBuffer layer, boolean nearest, double u, double v) {
+        double x = u * layer.getWidth();
+        double y = v * layer.getHeight();
+        return nearest ? layer.sampleNearest(x, y) : layer.sampleBilinear(x, y);
+    }
+    
+    /**
+     * Internal render radius for a display radius under the current scale settings
+     */
+    private int getRenderRadius(int radius) {
+        double scale = resolutionScale * quality.getRenderScale();
+        return Math.min(radius, Math.max(MIN_RENDER_RADIUS, (int) Math.round(radius * scale)));
+    }
+    
+    /**
+     * Upscale a reduced-resolution render to display size. Bilinear is the default;
+     * bicubic keeps coastlines sharper but costs several times more in software Java2D.
+     */
+    private BufferedImage upscaleSphere(BufferedImage sphereImage, int size) {
+        if (sphereImage.getWidth() == size) {
+            return sphereImage;
+        }
+        BufferedImage upscaled = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2d = upscaled.createGraphics();
+        g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, bicubicUpscale
+            ? RenderingHints.VALUE_INTERPOLATION_BICUBIC
+            : RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g2d.drawImage(sphereImage, 0, 0, size, size, null);
+        g2d.dispose();
+        return upscaled;
+    }
+    
+    /**
+     * Composite a rendered sphere into the target square, scaling if the panel was resized since it was cached
+     */
+    private void drawScaledSphere(RenderBackend backend, BufferedImage sphereImage, int centerX, int centerY, int radius) {
+        backend.drawImage(sphereImage, centerX - radius, centerY - radius, radius * 2, radius * 2);
+    }
+    
+    /**
+     * Pick the mip level whose texel density best matches the sphere's pixel density
+     * at the equator, then apply the quality bias
+     */
+    private int selectMipLevel(int textureWidth, int renderRadius) {
+        double texelsPerPixel = textureWidth / (2 * Math.PI * renderRadius);
+        int level = texelsPerPixel > 1 ? (int) Math.floor(Math.log(texelsPerPixel) / Math.log(2)) : 0;
+        return level + quality.getMipBias();
+    }
+    
+    /**
+     * Get the texture pixel nearest to the given coordinates
+     */
+    private int getNearestPixel(BufferedImage texture, double x, double y) {
+        int px = Math.min((int) x, texture.getWidth() - 1);
+        int py = Math.min((int) y, texture.getHeight() - 1);
+        return texture.getRGB(px, py);
     }
     
     /**
@@ -179,16 +511,14 @@ public class SphereRenderer {
     /**
      * Draw planet outline
      */
-    private void drawPlanetOutline(Graphics2D g2d, int centerX, int centerY, int radius) {
-        g2d.setStroke(new BasicStroke(2));
-        g2d.setColor(new Color(100, 100, 100, 150));
-        g2d.drawOval(centerX - radius, centerY - radius, radius * 2, radius * 2);
+    private static void drawPlanetOutline(RenderBackend backend, int centerX, int centerY, int radius) {
+        backend.drawOval(centerX - radius, centerY - radius, radius * 2, radius * 2, OUTLINE_COLOR, OUTLINE_STROKE);
     }
     
     /**
-     * Draw fallback planet when texture is not available
+     * Draw fallback planet when texture is not available; also the placeholder while textures load
      */
-    private void drawFallbackPlanet(Graphics2D g2d, int centerX, int centerY, int radius, Planet planet) {
+    public static void drawFallbackPlanet(RenderBackend backend, int centerX, int centerY, int radius, Planet planet) {
         // Create bright, visible gradient based on planet colors
         Color planetColor = new Color(
             Math.min(255, (int)(planet.getRedComponent() * 255 * 1.5)),   // Brighter colors
@@ -197,7 +527,7 @@ public class SphereRenderer {
         );
         
         // Much more visible gradient with better contrast
-        RadialGradientPaint gradient = new RadialGradientPaint(
+        backend.fillGradientOval(centerX - radius, centerY - radius, radius * 2, radius * 2,
             centerX - radius/3, centerY - radius/3, radius * 1.2f,
             new float[]{0.0f, 0.6f, 1.0f},
             new Color[]{
@@ -207,16 +537,76 @@ public class SphereRenderer {
             }
         );
         
-        g2d.setPaint(gradient);
-        g2d.fillOval(centerX - radius, centerY - radius, radius * 2, radius * 2);
-        
-        drawPlanetOutline(g2d, centerX, centerY, radius);
+        drawPlanetOutline(backend, centerX, centerY, radius);
+    }
+    
+    public RenderQuality getQuality() {
+        return quality;
+    }
+    
+    public void setQuality(RenderQuality quality) {
+        this.quality = quality;
+    }
+    
+    public double getResolutionScale() {
+        return resolutionScale;
+    }
+    
+    /**
+     * Set the internal sphere resolution as a fraction of screen resolution (e.g. 0.5 or 0.75).
+     * Per-pixel work scales with the square of this value.
+     */
+    public void setResolutionScale(double resolutionScale) {
+        this.resolutionScale = Math.max(MIN_RESOLUTION_SCALE, Math.min(1.0, resolutionScale));
+    }
+    
+    public boolean isTemporalReprojection() {
+        return temporalReprojection;
+    }
+    
+    /**
+     * Toggle temporal reprojection; the time-based sphere cache is used when disabled
+     */
+    public void setTemporalReprojection(boolean temporalReprojection) {
+        this.temporalReprojection = temporalReprojection;
+    }
+    
+    public ShadingKernel getShadingKernel() {
+        return shadingKernel;
+    }
+    
+    /**
+     * Select the per-pixel shading kernel used by the projection-table path
+     */
+    public void setShadingKernel(ShadingKernel shadingKernel) {
+        this.shadingKernel = shadingKernel;
+    }
+    
+    public boolean isBicubicUpscale() {
+        return bicubicUpscale;
+    }
+    
+    public void setBicubicUpscale(boolean bicubicUpscale) {
+        this.bicubicUpscale = bicubicUpscale;
+    }
+    
+    /**
+     * Release the shared projection table and per-viewport buffers
+     */
+    public void dispose() {
+        ProjectionTable.release(projectionTable);
+        projectionTable = null;
+        reprojectionImage = null;
+        columnCache = null;
+        textureU = new float[0];
+        textureV = new float[0];
+        sampledTexels = new int[0];
     }
     
     /**
      * Draw stars background
      */
-    public void drawStars(Graphics2D g2d, int width, int height) {
+    public void drawStars(RenderBackend backend, int width, int height) {
         BufferedImage starsTexture = textureManager.getStarsTexture();
         if (starsTexture != null) {
             // Tile the stars texture to fill the background
@@ -225,7 +615,7 @@ public class SphereRenderer {
             
             for (int x = 0; x < width; x += texWidth) {
                 for (int y = 0; y < height; y += texHeight) {
-                    g2d.drawImage(starsTexture, x, y, null);
+                    backend.drawImage(starsTexture, x, y, texWidth, texHeight);
                 }
             }
         }
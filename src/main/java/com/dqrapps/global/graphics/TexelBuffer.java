@@ -0,0 +1,220 @@
+package com.dqrapps.global.graphics;
+
+import java.awt.image.BufferedImage;
+
+/**
+ * Texture level unpacked for direct sampling, avoiding the per-call color model conversion
+ * of BufferedImage.getRGB. RGB buffers hold one int per texel in the order given by a
+ * {@link TexelLayout}; BC1 buffers hold 4x4 compressed blocks and decode texels on fetch.
+ */
+public class TexelBuffer {
+    private final int width;
+    private final int height;
+    private final TexelLayout layout;
+    private final TexelFormat format;
+    private final int[] texels;         // RGB storage, null for BC1
+    private final long[] blocks;        // BC1 storage, null for RGB
+    private final int[] rowOffsets;     // Texel index is rowOffsets[y] + columnOffsets[x]
+    private final int[] columnOffsets;
+    
+    public TexelBuffer(BufferedImage image) {
+        this(image, TexelLayout.ROW_MAJOR);
+    }
+    
+    public TexelBuffer(BufferedImage image, TexelLayout layout) {
+        this(image, layout, TexelFormat.RGB);
+    }
+    
+    /**
+     * Unpack an image; BC1 buffers ignore the layout because each block is already a 4x4 tile
+     */
+    public TexelBuffer(BufferedImage image, TexelLayout layout, TexelFormat format) {
+        this(image.getWidth(), image.getHeight(),
+            image.getRGB(0, 0, image.getWidth(), image.getHeight(), null, 0, image.getWidth()), layout, format);
+    }
+    
+    private TexelBuffer(int width, int height, int[] rowMajor, TexelLayout layout, TexelFormat format) {
+        this.width = width;
+        this.height = height;
+        this.format = format;
+        if (format == TexelFormat.BC1) {
+            // Blocks are row-major, so a texel index is the block index * 16 plus the texel inside it
+            this.layout = TexelLayout.ROW_MAJOR;
+            this.rowOffsets = new int[height];
+            this.columnOffsets = new int[width];
+            int blockRowSize = Bc1Codec.blocksAcross(width) * 16;
+            for (int y = 0; y < height; y++) {
+                rowOffsets[y] = (y >> 2) * blockRowSize + (y & 3) * 4;
+            }
+            for (int x = 0; x < width; x++) {
+                columnOffsets[x] = (x >> 2) * 16 + (x & 3);
+            }
+            this.texels = null;
+            this.blocks = Bc1Codec.encode(rowMajor, width, height);
+            return;
+        }
+        
+        this.layout = layout;
+        this.blocks = null;
+        this.rowOffsets = layout.rowOffsets(width, height);
+        this.columnOffsets = layout.columnOffsets(width);
+        if (layout == TexelLayout.ROW_MAJOR) {
+            this.texels = rowMajor;
+        } else {
+            this.texels = new int[layout.storageSize(width, height)];
+            for (int y = 0; y < height; y++) {
+                int row = rowOffsets[y];
+                for (int x = 0; x < width; x++) {
+                    texels[row + columnOffsets[x]] = rowMajor[y * width + x];
+                }
+            }
+        }
+    }
+    
+    /**
+     * Copy of this buffer re-laid out in the given order, or this buffer if it already is
+     */
+    public TexelBuffer withLayout(TexelLayout layout) {
+        if (layout == this.layout || format == TexelFormat.BC1) {
+            return this;
+        }
+        return new TexelBuffer(width, height, toRowMajor(), layout, format);
+    }
+    
+    /**
+     * Copy of this buffer in the given format, or this buffer if it already is.
+     * Converting from BC1 keeps the compression loss.
+     */
+    public TexelBuffer withFormat(TexelFormat format, TexelLayout layout) {
+        if (format == this.format && (format == TexelFormat.BC1 || layout == this.layout)) {
+            return this;
+        }
+        return new TexelBuffer(width, height, toRowMajor(), layout, format);
+    }
+    
+    private int[] toRowMajor() {
+        int[] rowMajor = new int[width * height];
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                rowMajor[y * width + x] = getTexel(x, y);
+            }
+        }
+        return rowMajor;
+    }
+    
+    public int getWidth() {
+        return width;
+    }
+    
+    public int getHeight() {
+        return height;
+    }
+    
+    public TexelLayout getLayout() {
+        return layout;
+    }
+    
+    public TexelFormat getFormat() {
+        return format;
+    }
+    
+    /**
+     * Texel at integer coordinates, which must be in range
+     */
+    public int getTexel(int x, int y) {
+        return fetch(rowOffsets[y] + columnOffsets[x]);
+    }
+    
+    private int fetch(int index) {
+        return blocks == null ? texels[index] : Bc1Codec.decode(blocks[index >> 4], index & 15);
+    }
+    
+    /**
+     * Heap held by the texels and addressing tables
+     */
+    public long getResidentBytes() {
+        long storage = blocks == null ? (long) texels.length * Integer.BYTES : (long) blocks.length * Long.BYTES;
+        return storage + (long) (rowOffsets.length + columnOffsets.length) * Integer.BYTES;
+    }
+    
+    /**
+     * Bilinear sample at texel coordinates, wrapping horizontally and clamping vertically
+     */
+    public int sampleBilinear(double x, double y) {
+        int x1 = (int) x;
+        int y1 = (int) y;
+        double fx = x - x1;
+        double fy = y - y1;
+        
+        if (x1 >= width) x1 -= width;
+        if (y1 >= height) y1 = height - 1;
+        int x2 = x1 + 1 == width ? 0 : x1 + 1;
+        int y2 = Math.min(y1 + 1, height - 1);
+        
+        int index1 = rowOffsets[y1] + columnOffsets[x1];
+        int index2 = rowOffsets[y1] + columnOffsets[x2];
+        int index3 = rowOffsets[y2] + columnOffsets[x1];
+        int index4 = rowOffsets[y2] + columnOffsets[x2];
+        int c1, c2, c3, c4;
+        if (blocks == null) {
+            c1 = texels[index1];
+            c2 = texels[index2];
+            c3 = texels[index3];
+            c4 = texels[index4];
+        } else {
+            // The four texels span one to four blocks; each block's endpoints are expanded once.
+            // Slot a holds the block of the left column, slot b that of the right column
+            long blockA = blocks[index1 >> 4];
+            int a0 = Bc1Codec.endpoint0(blockA);
+            int a1 = Bc1Codec.endpoint1(blockA);
+            long blockB = blockA;
+            int b0 = a0;
+            int b1 = a1;
+            if (index2 >> 4 != index1 >> 4) {
+                blockB = blocks[index2 >> 4];
+                b0 = Bc1Codec.endpoint0(blockB);
+                b1 = Bc1Codec.endpoint1(blockB);
+            }
+            c1 = Bc1Codec.decode(blockA, index1 & 15, a0, a1);
+            c2 = Bc1Codec.decode(blockB, index2 & 15, b0, b1);
+            if (index3 >> 4 != index1 >> 4) { // The lower row is in the next row of blocks
+                blockA = blocks[index3 >> 4];
+                a0 = Bc1Codec.endpoint0(blockA);
+                a1 = Bc1Codec.endpoint1(blockA);
+                if (index4 >> 4 == index3 >> 4) {
+                    blockB = blockA;
+                    b0 = a0;
+                    b1 = a1;
+                } else {
+                    blockB = blocks[index4 >> 4];
+                    b0 = Bc1Codec.endpoint0(blockB);
+                    b1 = Bc1Codec.endpoint1(blockB);
+                }
+            }
+            c3 = Bc1Codec.decode(blockA, index3 & 15, a0, a1);
+            c4 = Bc1Codec.decode(blockB, index4 & 15, b0, b1);
+        }
+        
+        double w1 = (1 - fx) * (1 - fy);
+        double w2 = fx * (1 - fy);
+        double w3 = (1 - fx) * fy;
+        double w4 = fx * fy;
+        
+        int red = (int) (((c1 >> 16) & 0xFF) * w1 + ((c2 >> 16) & 0xFF) * w2
+                + ((c3 >> 16) & 0xFF) * w3 + ((c4 >> 16) & 0xFF) * w4);
+        int green = (int) (((c1 >> 8) & 0xFF) * w1 + ((c2 >> 8) & 0xFF) * w2
+                + ((c3 >> 8) & 0xFF) * w3 + ((c4 >> 8) & 0xFF) * w4);
+        int blue = (int) ((c1 & 0xFF) * w1 + (c2 & 0xFF) * w2 + (c3 & 0xFF) * w3 + (c4 & 0xFF) * w4);
+        
+        return 0xFF000000 | (red << 16) | (green << 8) | blue;
+    }
+    
+    /**
+     * Nearest-texel sample at texel coordinates
+     */
+    public int sampleNearest(double x, double y) {
+        int px = Math.min((int) x, width - 1);
+        int py = Math.min((int) y, height - 1);
+        return fetch(rowOffsets[py] + columnOffsets[px]);
+    }
+}
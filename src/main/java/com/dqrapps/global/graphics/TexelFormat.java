@@ -0,0 +1,42 @@
+package com.dqrapps.global.graphics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+
+/**
+ * In-memory encoding of the texels in a {@link TexelBuffer}
+ */
+public enum TexelFormat {
+    RGB(32),  // One int per texel
+    BC1(4);   // 4x4 blocks of two RGB565 endpoints and 2-bit indices, decoded on every fetch
+
+    /** Used for unknown names */
+    public static final TexelFormat DEFAULT = RGB;
+    private static final Logger logger = LoggerFactory.getLogger(TexelFormat.class);
+
+    private final int bitsPerTexel;
+
+    TexelFormat(int bitsPerTexel) {
+        this.bitsPerTexel = bitsPerTexel;
+    }
+
+    public int getBitsPerTexel() {
+        return bitsPerTexel;
+    }
+
+    /**
+     * Format for a property value such as "rgb" or "bc1"; an unknown name is logged and falls
+     * back to {@link #DEFAULT}
+     */
+    public static TexelFormat fromName(String name) {
+        try {
+            return valueOf(name.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            logger.warn("Unknown texel format '{}', expected one of {}; using {}", name,
+                Arrays.toString(values()).toLowerCase(), DEFAULT.name().toLowerCase());
+            return DEFAULT;
+        }
+    }
+}
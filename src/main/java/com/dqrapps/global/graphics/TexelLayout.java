@@ -0,0 +1,91 @@
+package com.dqrapps.global.graphics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+
+/**
+ * Memory order of the texels in a {@link TexelBuffer}. Every layout is addressed as
+ * {@code rowOffsets[y] + columnOffsets[x]}, so samplers use one addressing path for all of them.
+ * Blocked layouts keep 2D neighbourhoods in a few cache lines, which helps the curved sampling
+ * paths near the poles and limb where row-major order touches a new line for almost every texel.
+ */
+public enum TexelLayout {
+    ROW_MAJOR(1, false),
+    TILED(8, false),   // 8x8 tiles (256 bytes), row-major inside each tile
+    MORTON(32, true);  // 32x32 blocks (4 KB pages), Z-order inside each block
+
+    /** Used for unknown names; the fastest layout measured on the bundled textures */
+    public static final TexelLayout DEFAULT = MORTON;
+    private static final Logger logger = LoggerFactory.getLogger(TexelLayout.class);
+
+    private final int blockSize;
+    private final boolean zOrder;
+
+    TexelLayout(int blockSize, boolean zOrder) {
+        this.blockSize = blockSize;
+        this.zOrder = zOrder;
+    }
+
+    /**
+     * Layout for a property value such as "row-major", "tiled" or "morton"; an unknown name
+     * is logged and falls back to {@link #DEFAULT}
+     */
+    public static TexelLayout fromName(String name) {
+        try {
+            return valueOf(name.trim().toUpperCase().replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Unknown texel layout '{}', expected one of {}; using {}", name,
+                Arrays.toString(values()).toLowerCase().replace('_', '-'), DEFAULT.name().toLowerCase());
+            return DEFAULT;
+        }
+    }
+
+    /**
+     * Per-column part of the texel address
+     */
+    int[] columnOffsets(int width) {
+        int[] offsets = new int[width];
+        for (int x = 0; x < width; x++) {
+            int inner = x % blockSize;
+            offsets[x] = (x / blockSize) * blockSize * blockSize + (zOrder ? spreadBits(inner) : inner);
+        }
+        return offsets;
+    }
+
+    /**
+     * Per-row part of the texel address
+     */
+    int[] rowOffsets(int width, int height) {
+        int blockRowSize = roundUp(width) * blockSize;
+        int[] offsets = new int[height];
+        for (int y = 0; y < height; y++) {
+            int inner = y % blockSize;
+            offsets[y] = (y / blockSize) * blockRowSize + (zOrder ? spreadBits(inner) << 1 : inner * blockSize);
+        }
+        return offsets;
+    }
+
+    /**
+     * Number of ints needed to store a width x height texture, including block padding
+     */
+    int storageSize(int width, int height) {
+        return roundUp(width) * roundUp(height);
+    }
+
+    private int roundUp(int size) {
+        return (size + blockSize - 1) / blockSize * blockSize;
+    }
+
+    /**
+     * Insert a zero bit above each bit of a 16-bit value (Morton interleave)
+     */
+    private static int spreadBits(int value) {
+        value = (value | (value << 8)) & 0x00FF00FF;
+        value = (value | (value << 4)) & 0x0F0F0F0F;
+        value = (value | (value << 2)) & 0x33333333;
+        value = (value | (value << 1)) & 0x55555555;
+        return value;
+    }
+}
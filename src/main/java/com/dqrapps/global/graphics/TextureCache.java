@@ -0,0 +1,340 @@
+package com.dqrapps.global.graphics;
+
+import com.dqrapps.global.model.Planet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Decoded textures, mip chains, unpacked texels and layers for one storage format, shared by
+ * every viewport using that format through {@link TextureManager}. Everything here is built
+ * once and then only read, so viewports may sample it from any thread.
+ * <p>
+ * Planet data is loaded lazily, the first time any viewport requests the planet. Unpacked
+ * texels and layers depend on the texel layout and are kept per layout while at least one
+ * viewport uses it; a layout a viewport switches to is derived from one already in memory.
+ */
+class TextureCache {
+    private static final Logger logger = LoggerFactory.getLogger(TextureCache.class);
+    private static final int MIN_MIP_WIDTH = 64;
+    private static final int PREVIEW_WIDTH = 256;
+
+    private final TexelFormat format;
+    private final Map<Planet, BufferedImage> planetTextures = new ConcurrentHashMap<>();
+    private final Map<Planet, List<BufferedImage>> mipChains = new ConcurrentHashMap<>();
+    private final Map<Planet, List<TexelBuffer>> compressedChains = new ConcurrentHashMap<>();
+    private final Map<TexelLayout, LayoutData> layouts = new EnumMap<>(TexelLayout.class);
+    private final Set<Planet> requestedPlanets = ConcurrentHashMap.newKeySet();
+    private volatile BufferedImage starsTexture;
+
+    TextureCache(TexelFormat format) {
+        this.format = format;
+    }
+
+    TexelFormat getFormat() {
+        return format;
+    }
+
+    /**
+     * Load the stars background once for every viewport
+     */
+    synchronized void loadStarsTexture() {
+        if (starsTexture != null) return;
+        try (InputStream stream = getClass().getClassLoader().getResourceAsStream("stars.jpg")) {
+            if (stream != null) {
+                starsTexture = ImageIO.read(stream);
+                logger.debug("Loaded stars texture: {}x{}",
+                    starsTexture.getWidth(), starsTexture.getHeight());
+            } else {
+                logger.warn("Could not find stars texture file");
+            }
+        } catch (IOException e) {
+            logger.error("Failed to load stars texture: {}", e.getMessage());
+        }
+    }
+
+    BufferedImage getStarsTexture() {
+        return starsTexture;
+    }
+
+    /**
+     * Load a planet's texture the first time any viewport requests it
+     */
+    void ensureLoaded(Planet planet) {
+        if (!requestedPlanets.contains(planet)) {
+            loadPlanet(planet);
+        }
+    }
+
+    private synchronized void loadPlanet(Planet planet) {
+        if (requestedPlanets.contains(planet)) return;
+        loadPlanetTexture(planet);
+        requestedPlanets.add(planet);
+    }
+
+    Set<Planet> getRequestedPlanets() {
+        return requestedPlanets;
+    }
+
+    /**
+     * Open a texture from the classpath, or from the file system for external catalog entries
+     */
+    private InputStream openTexture(String fileName) throws IOException {
+        InputStream stream = getClass().getClassLoader().getResourceAsStream(fileName);
+        if (stream == null && new File(fileName).isFile()) {
+            stream = new FileInputStream(fileName);
+        }
+        return stream;
+    }
+
+    private void loadPlanetTexture(Planet planet) {
+        if (planet.getTextureFileName() == null) return;
+        try (InputStream stream = openTexture(planet.getTextureFileName())) {
+            if (stream != null) {
+                BufferedImage texture = ImageIO.read(stream);
+                if (format == TexelFormat.BC1) {
+                    compressPlanetTexture(planet, texture);
+                } else {
+                    planetTextures.put(planet, texture);
+                }
+                logger.debug("Loaded texture for {}: {}x{}",
+                    planet.getDisplayName(), texture.getWidth(), texture.getHeight());
+            } else {
+                logger.warn("Could not find texture file: {}", planet.getTextureFileName());
+            }
+        } catch (IOException e) {
+            logger.error("Failed to load texture for {}: {}", planet.getDisplayName(), e.getMessage());
+        }
+    }
+
+    /**
+     * Keep only a BC1 mip chain and a small preview of a planet texture; the decoded
+     * source image is dropped. The chain is shared by every layout: BC1 blocks are already
+     * 4x4 tiles, stored row-major whatever texel layout is configured.
+     */
+    private void compressPlanetTexture(Planet planet, BufferedImage texture) {
+        List<TexelBuffer> chain = new ArrayList<>();
+        for (BufferedImage level : buildMipChain(texture)) {
+            chain.add(new TexelBuffer(level, TexelLayout.ROW_MAJOR, TexelFormat.BC1));
+        }
+        compressedChains.put(planet, chain);
+
+        int previewHeight = Math.max(1, PREVIEW_WIDTH * texture.getHeight() / texture.getWidth());
+        BufferedImage preview = new BufferedImage(PREVIEW_WIDTH, previewHeight, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2d = preview.createGraphics();
+        g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g2d.drawImage(texture, 0, 0, PREVIEW_WIDTH, previewHeight, null);
+        g2d.dispose();
+        planetTextures.put(planet, preview);
+    }
+
+    /**
+     * Load the optional night, cloud and specular layers of a planet, each with a mip chain.
+     * Missing files are skipped; the planet then renders with the layers it has.
+     */
+    private PlanetLayers loadPlanetLayers(Planet planet, TexelLayout layout) {
+        Map<TextureLayer, List<TexelBuffer>> layers = new EnumMap<>(TextureLayer.class);
+        loadLayer(layers, TextureLayer.NIGHT, planet.getNightTextureFileName(), layout);
+        loadLayer(layers, TextureLayer.CLOUDS, planet.getCloudTextureFileName(), layout);
+        loadLayer(layers, TextureLayer.SPECULAR, planet.getSpecularTextureFileName(), layout);
+        if (!layers.isEmpty()) {
+            logger.debug("Loaded layers for {}: {}", planet.getDisplayName(), layers.keySet());
+        }
+        return new PlanetLayers(layers);
+    }
+
+    private void loadLayer(Map<TextureLayer, List<TexelBuffer>> layers, TextureLayer layer, String fileName,
+                           TexelLayout layout) {
+        if (fileName == null) return;
+        try (InputStream stream = openTexture(fileName)) {
+            if (stream != null) {
+                List<TexelBuffer> chain = new ArrayList<>();
+                for (BufferedImage level : buildMipChain(ImageIO.read(stream))) {
+                    chain.add(new TexelBuffer(level, layout, format));
+                }
+                layers.put(layer, chain);
+            } else {
+                logger.debug("Optional layer texture not found: {}", fileName);
+            }
+        } catch (IOException e) {
+            logger.error("Failed to load layer texture {}: {}", fileName, e.getMessage());
+        }
+    }
+
+    /**
+     * Decoded planet texture (a reduced preview when compressed), or null if it has none
+     */
+    BufferedImage getPlanetTexture(Planet planet) {
+        ensureLoaded(planet);
+        return planetTextures.get(planet);
+    }
+
+    /**
+     * Mip level of a decoded planet texture; the chain is built on first use
+     */
+    BufferedImage getPlanetTexture(Planet planet, int level) {
+        if (level <= 0) {
+            return getPlanetTexture(planet);
+        }
+        ensureLoaded(planet);
+        List<BufferedImage> chain = mipChains.computeIfAbsent(planet, p -> buildMipChain(planetTextures.get(p)));
+        if (chain.isEmpty()) {
+            return null;
+        }
+        return chain.get(Math.min(level, chain.size() - 1));
+    }
+
+    /**
+     * Build successive half-size levels down to MIN_MIP_WIDTH
+     */
+    private List<BufferedImage> buildMipChain(BufferedImage texture) {
+        List<BufferedImage> chain = new ArrayList<>();
+        BufferedImage level = texture;
+        if (level == null) {
+            return chain;
+        }
+        chain.add(level);
+        while (level.getWidth() / 2 >= MIN_MIP_WIDTH && level.getHeight() > 1) {
+            int width = level.getWidth() / 2;
+            int height = level.getHeight() / 2;
+            BufferedImage next = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g2d = next.createGraphics();
+            // An exact 2:1 bilinear reduction averages each 2x2 block
+            g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g2d.drawImage(level, 0, 0, width, height, null);
+            g2d.dispose();
+            chain.add(next);
+            level = next;
+        }
+        logger.debug("Built {} mip levels for {}x{} texture", chain.size(), texture.getWidth(), texture.getHeight());
+        return chain;
+    }
+
+    /**
+     * BC1 mip chain of a planet, or null when this cache stores unpacked texels
+     */
+    List<TexelBuffer> getCompressedChain(Planet planet) {
+        ensureLoaded(planet);
+        return compressedChains.get(planet);
+    }
+
+    /**
+     * Unpacked texels of a texture level in a layout, converted on first use
+     */
+    TexelBuffer getTexels(BufferedImage texture, TexelLayout layout) {
+        return layoutData(layout).texelBuffers.computeIfAbsent(texture, image -> new TexelBuffer(image, layout));
+    }
+
+    /**
+     * A planet's layers in a layout, or null if it has none
+     */
+    PlanetLayers getPlanetLayers(Planet planet, TexelLayout layout) {
+        ensureLoaded(planet);
+        // Planets without layers keep an empty entry so they are not looked up again
+        PlanetLayers layers = layoutData(layout).layers.computeIfAbsent(planet, p -> deriveLayers(p, layout));
+        return layers.isEmpty() ? null : layers;
+    }
+
+    /**
+     * Re-lay out a planet's layers from another layout in memory, or load them
+     */
+    private PlanetLayers deriveLayers(Planet planet, TexelLayout layout) {
+        PlanetLayers existing = null;
+        synchronized (layouts) {
+            for (LayoutData data : layouts.values()) {
+                existing = data.layers.get(planet);
+                if (existing != null) break;
+            }
+        }
+        return existing != null ? existing.withLayout(layout) : loadPlanetLayers(planet, layout);
+    }
+
+    /**
+     * Note that a viewport samples in a layout, keeping its derived data alive
+     */
+    void retainLayout(TexelLayout layout) {
+        synchronized (layouts) {
+            layouts.computeIfAbsent(layout, l -> new LayoutData()).references++;
+        }
+    }
+
+    /**
+     * Drop a viewport's use of a layout; its derived texels are freed with the last user
+     */
+    void releaseLayout(TexelLayout layout) {
+        synchronized (layouts) {
+            LayoutData data = layouts.get(layout);
+            if (data != null && --data.references <= 0) {
+                layouts.remove(layout);
+            }
+        }
+    }
+
+    private LayoutData layoutData(TexelLayout layout) {
+        synchronized (layouts) {
+            // A viewport always retains its layout first; this only guards a racing release
+            return layouts.computeIfAbsent(layout, l -> new LayoutData());
+        }
+    }
+
+    /**
+     * Bytes of decoded texture data held for all viewports
+     */
+    long getResidentBytes() {
+        long total = imageBytes(starsTexture);
+        for (BufferedImage texture : planetTextures.values()) {
+            total += imageBytes(texture);
+        }
+        for (List<TexelBuffer> chain : compressedChains.values()) {
+            for (TexelBuffer level : chain) {
+                total += level.getResidentBytes();
+            }
+        }
+        for (List<BufferedImage> chain : mipChains.values()) {
+            // Level 0 is the base texture, already counted above
+            for (int i = 1; i < chain.size(); i++) {
+                total += imageBytes(chain.get(i));
+            }
+        }
+        synchronized (layouts) {
+            for (LayoutData data : layouts.values()) {
+                for (TexelBuffer buffer : data.texelBuffers.values()) {
+                    total += buffer.getResidentBytes();
+                }
+                for (PlanetLayers layers : data.layers.values()) {
+                    total += layers.getResidentBytes();
+                }
+            }
+        }
+        return total;
+    }
+
+    static long imageBytes(BufferedImage image) {
+        if (image == null) return 0;
+        DataBuffer buffer = image.getRaster().getDataBuffer();
+        return (long) buffer.getSize() * buffer.getNumBanks() * DataBuffer.getDataTypeSize(buffer.getDataType()) / 8;
+    }
+
+    /**
+     * Texels and layers derived for one layout, with the number of viewports using it
+     */
+    private static class LayoutData {
+        final Map<BufferedImage, TexelBuffer> texelBuffers = new ConcurrentHashMap<>();
+        final Map<Planet, PlanetLayers> layers = new ConcurrentHashMap<>();
+        int references;
+    }
+}
@@ -0,0 +1,106 @@
+package com.dqrapps.global.graphics;
+
+/**
+ * Texture samples of a yaw-only sphere frame, kept across frames while the planet turns.
+ * Without pitch or tilt every row of the sphere image keeps its latitude, so a texture column
+ * filtered down to each row's texel y stays valid as the planet spins; only the u each pixel
+ * reads from moves. A frame therefore fills just the columns that rotated into view since the
+ * previous one and interpolates between cached columns along u, which is bilinear sampling of
+ * the texture split into its two passes (up to one step of rounding). Nearest sampling reads
+ * the cached column directly.
+ * <p>
+ * The cache holds one sample per sphere row and texture column, so it belongs to one projection
+ * table, texel level and sampling mode; a new one is built when any of them changes.
+ */
+class TextureColumnCache {
+    private final ProjectionTable table;
+    private final TexelBuffer texels;
+    private final boolean nearest;
+    private final int width;
+    private final int[] pixelRow;     // Row offset into the samples of each table pixel
+    private final double[] rowTexelY; // Texel y of each sphere row, shared by all its pixels
+    private final int[] samples;      // Column-filtered texels, one row of texture width per sphere row
+    private final boolean[] filled;
+
+    TextureColumnCache(ProjectionTable table, TexelBuffer texels, boolean nearest) {
+        this.table = table;
+        this.texels = texels;
+        this.nearest = nearest;
+        this.width = texels.getWidth();
+        int rows = table.getRadius() * 2;
+        int count = table.getCount();
+        int[] pixelIndex = table.getPixelIndex();
+        float[] v = table.getV();
+        double textureHeight = texels.getHeight();
+        this.pixelRow = new int[count];
+        this.rowTexelY = new double[rows];
+        for (int i = 0; i < count; i++) {
+            int row = pixelIndex[i] / rows;
+            pixelRow[i] = row * width;
+            rowTexelY[row] = v[i] * textureHeight;
+        }
+        this.samples = new int[rows * width];
+        this.filled = new boolean[width];
+    }
+
+    /**
+     * Whether this cache holds samples for the given table, texel level and sampling mode
+     */
+    boolean matches(ProjectionTable table, TexelBuffer texels, boolean nearest) {
+        return this.table == table && this.texels == texels && this.nearest == nearest;
+    }
+
+    /**
+     * Sample every table pixel at its texture u (v is fixed per row), filling the columns not
+     * cached yet; returns how many columns were filled
+     */
+    int sample(float[] u, int[] sampled) {
+        int count = table.getCount();
+        int filledColumns = 0;
+        for (int i = 0; i < count; i++) {
+            double x = u[i] * (double) width;
+            int x1 = (int) x;
+            int row = pixelRow[i];
+            if (nearest) {
+                x1 = Math.min(x1, width - 1);
+                if (!filled[x1]) {
+                    fillColumn(x1);
+                    filledColumns++;
+                }
+                sampled[i] = samples[row + x1];
+                continue;
+            }
+            double fx = x - x1;
+            if (x1 >= width) x1 -= width;
+            int x2 = x1 + 1 == width ? 0 : x1 + 1;
+            if (!filled[x1]) {
+                fillColumn(x1);
+                filledColumns++;
+            }
+            if (!filled[x2]) {
+                fillColumn(x2);
+                filledColumns++;
+            }
+            int c1 = samples[row + x1];
+            int c2 = samples[row + x2];
+            double w1 = 1 - fx;
+            int red = (int) (((c1 >> 16) & 0xFF) * w1 + ((c2 >> 16) & 0xFF) * fx);
+            int green = (int) (((c1 >> 8) & 0xFF) * w1 + ((c2 >> 8) & 0xFF) * fx);
+            int blue = (int) ((c1 & 0xFF) * w1 + (c2 & 0xFF) * fx);
+            sampled[i] = 0xFF000000 | (red << 16) | (green << 8) | blue;
+        }
+        return filledColumns;
+    }
+
+    /**
+     * Filter one texture column down to every sphere row; sampling at the column's integer x
+     * leaves only the vertical pass of the bilinear filter
+     */
+    private void fillColumn(int column) {
+        for (int row = 0, offset = column; row < rowTexelY.length; row++, offset += width) {
+            double y = rowTexelY[row];
+            samples[offset] = nearest ? texels.sampleNearest(column, y) : texels.sampleBilinear(column, y);
+        }
+        filled[column] = true;
+    }
+}
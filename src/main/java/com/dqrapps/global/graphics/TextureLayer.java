@@ -0,0 +1,10 @@
+package com.dqrapps.global.graphics;
+
+/**
+ * Optional texture layers blended on top of a planet's day map
+ */
+public enum TextureLayer {
+    NIGHT,     // Emissive city lights, shown on the unlit side
+    CLOUDS,    // Cloud cover, brightness used as opacity
+    SPECULAR   // Ocean mask, brightness scales the specular highlight
+}
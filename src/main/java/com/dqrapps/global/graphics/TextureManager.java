@@ -4,105 +4,247 @@ import com.dqrapps.global.model.Planet;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import javax.imageio.ImageIO;
 import java.awt.image.BufferedImage;
-import java.io.IOException;
-import java.io.InputStream;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
- * Manages loading, caching, and providing access to planet textures
+ * A viewport's access to planet textures. Decoded textures, mip chains, unpacked texels and
+ * layers live in a {@link TextureCache} shared, reference-counted, by every viewport with
+ * the same storage format, so N viewports hold one copy; each manager keeps only its own
+ * sphere cache and statistics. Planet textures are read lazily, the first time any viewport
+ * requests a planet. Call {@link #release()} when the viewport is discarded.
  */
 public class TextureManager {
     private static final Logger logger = LoggerFactory.getLogger(TextureManager.class);
+    private static final SharedCache<TexelFormat, TextureCache> SHARED_CACHES = new SharedCache<>(TextureCache::new);
+    private static final ExecutorService WARMUP = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "texture-warmup");
+        thread.setDaemon(true);
+        return thread;
+    });
     
-    private final Map<Planet, BufferedImage> planetTextures = new HashMap<>();
-    private BufferedImage starsTexture;
-    private BufferedImage cachedSphereTexture;
+    // Volatile state so metrics exporters can read it off the EDT
+    private volatile TextureCache cache;
+    private volatile TexelLayout texelLayout = TexelLayout.ROW_MAJOR;
+    private volatile BufferedImage cachedSphereTexture;
     private Planet cachedPlanet;
     private long lastCacheTime = 0;
+    private volatile long cacheHits = 0;
+    private volatile long cacheMisses = 0;
+    private boolean released;
+    
+    public TextureManager() {
+        this(TexelFormat.RGB, TexelLayout.ROW_MAJOR);
+    }
     
     /**
-     * Load all planet textures
+     * Texture manager storing textures in the given format and layout from the start, so the
+     * first load already decodes into them
      */
-    public void loadAllTextures() {
-        // Load planet textures
-        for (Planet planet : Planet.values()) {
-            loadPlanetTexture(planet);
-        }
-        
-        // Load stars background
-        loadStarsTexture();
-        
+    public TextureManager(TexelFormat format, TexelLayout layout) {
+        texelLayout = layout;
+        cache = SHARED_CACHES.acquire(format);
+        cache.retainLayout(texelLayout);
+        logIgnoredLayout();
+    }
+    
+    /**
+     * Load the stars background and the first planet shown; other planets load on first use
+     */
+    public void loadStartupTextures(Planet initialPlanet) {
+        cache.loadStarsTexture();
+        cache.ensureLoaded(initialPlanet);
         logTextureStatus();
     }
     
     /**
-     * Load texture for a specific planet
+     * Load the startup textures on a background thread so a window can show before they are decoded
+     */
+    public CompletableFuture<Void> warmUp(Planet initialPlanet) {
+        return CompletableFuture.runAsync(() -> loadStartupTextures(initialPlanet), WARMUP);
+    }
+    
+    /**
+     * Load a planet's texture and layers on the background loader, so selecting a planet
+     * never decodes on the event dispatch thread
+     */
+    public CompletableFuture<Void> load(Planet planet) {
+        return CompletableFuture.runAsync(() -> {
+            TextureCache current = cache;
+            current.ensureLoaded(planet);
+            current.getPlanetLayers(planet, texelLayout);
+        }, WARMUP);
+    }
+    
+    /**
+     * Whether a planet's textures are loaded, without loading them
+     */
+    public boolean isLoaded(Planet planet) {
+        return cache.getRequestedPlanets().contains(planet);
+    }
+    
+    /**
+     * Get the auxiliary layers of a planet, or null if it has none
      */
-    private void loadPlanetTexture(Planet planet) {
-        try {
-            InputStream stream = getClass().getClassLoader()
-                    .getResourceAsStream(planet.getTextureFileName());
-            if (stream != null) {
-                BufferedImage texture = ImageIO.read(stream);
-                planetTextures.put(planet, texture);
-                logger.debug("Loaded texture for {}: {}x{}", 
-                    planet.getDisplayName(), texture.getWidth(), texture.getHeight());
-            } else {
-                logger.warn("Could not find texture file: {}", planet.getTextureFileName());
-            }
-        } catch (IOException e) {
-            logger.error("Failed to load texture for {}: {}", planet.getDisplayName(), e.getMessage());
+    public PlanetLayers getPlanetLayers(Planet planet) {
+        return cache.getPlanetLayers(planet, texelLayout);
+    }
+    
+    /**
+     * Get texture for a specific planet. With BC1 storage this is a reduced preview;
+     * render from {@link #getPlanetTexels(Planet, int)} instead.
+     */
+    public BufferedImage getPlanetTexture(Planet planet) {
+        return cache.getPlanetTexture(planet);
+    }
+    
+    /**
+     * Get a mip level of a planet texture (level 0 is full resolution).
+     * The chain is built on first use; levels beyond the smallest return the smallest.
+     */
+    public BufferedImage getPlanetTexture(Planet planet, int level) {
+        return cache.getPlanetTexture(planet, level);
+    }
+    
+    /**
+     * Get the sampleable texels of a planet's mip level, compressed or unpacked
+     * according to the texel format; null if the planet has no texture
+     */
+    public TexelBuffer getPlanetTexels(Planet planet, int level) {
+        TextureCache current = cache;
+        List<TexelBuffer> compressed = current.getCompressedChain(planet);
+        if (compressed != null) {
+            return compressed.get(Math.max(0, Math.min(level, compressed.size() - 1)));
         }
+        BufferedImage image = current.getPlanetTexture(planet, level);
+        return image == null ? null : current.getTexels(image, texelLayout);
     }
     
     /**
-     * Load stars background texture
+     * Full-resolution width of a planet texture, or 0 if it has none
      */
-    private void loadStarsTexture() {
-        try {
-            InputStream stream = getClass().getClassLoader()
-                    .getResourceAsStream("stars.jpg");
-            if (stream != null) {
-                starsTexture = ImageIO.read(stream);
-                logger.debug("Loaded stars texture: {}x{}", 
-                    starsTexture.getWidth(), starsTexture.getHeight());
-            } else {
-                logger.warn("Could not find stars texture file");
-            }
-        } catch (IOException e) {
-            logger.error("Failed to load stars texture: {}", e.getMessage());
+    public int getPlanetTextureWidth(Planet planet) {
+        List<TexelBuffer> compressed = cache.getCompressedChain(planet);
+        if (compressed != null) {
+            return compressed.isEmpty() ? 0 : compressed.get(0).getWidth();
         }
+        BufferedImage texture = cache.getPlanetTexture(planet);
+        return texture == null ? 0 : texture.getWidth();
     }
     
     /**
-     * Get texture for a specific planet
+     * Get the unpacked texels of a texture level, converting it on first use
      */
-    public BufferedImage getPlanetTexture(Planet planet) {
-        return planetTextures.get(planet);
+    public TexelBuffer getTexels(BufferedImage texture) {
+        return cache.getTexels(texture, texelLayout);
+    }
+    
+    /**
+     * Memory order used for unpacked texels. Texels and layers in the new layout are derived
+     * once and shared with other viewports using it; the old layout's are freed when no
+     * viewport uses it any more.
+     */
+    public synchronized void setTexelLayout(TexelLayout layout) {
+        if (layout == texelLayout || released) return;
+        cache.retainLayout(layout);
+        cache.releaseLayout(texelLayout);
+        texelLayout = layout;
+        logger.debug("Texel layout set to {}", layout);
+        logIgnoredLayout();
+    }
+    
+    public TexelLayout getTexelLayout() {
+        return texelLayout;
+    }
+    
+    /**
+     * Storage format for planet textures and layers. BC1 keeps 4 bits per texel and drops
+     * the decoded planet images (a preview is kept for the UI); its blocks are always stored
+     * row-major, so the texel layout only applies to RGB. The viewport moves to the
+     * shared cache for the format, loading the planets it had used if that cache lacks them.
+     */
+    public synchronized void setTexelFormat(TexelFormat format) {
+        if (format == cache.getFormat() || released) return;
+        TextureCache previous = cache;
+        TextureCache next = SHARED_CACHES.acquire(format);
+        next.retainLayout(texelLayout);
+        next.loadStarsTexture();
+        for (Planet planet : previous.getRequestedPlanets()) {
+            next.ensureLoaded(planet);
+        }
+        cache = next;
+        previous.releaseLayout(texelLayout);
+        SHARED_CACHES.release(previous.getFormat());
+        logger.info("Texture storage set to {}, {} KB resident", format, getResidentTextureBytes() / 1024);
+        logIgnoredLayout();
+    }
+    
+    private void logIgnoredLayout() {
+        if (isCompressed() && texelLayout != TexelLayout.ROW_MAJOR) {
+            logger.info("BC1 blocks are stored row-major; texel layout {} applies to RGB textures only", texelLayout);
+        }
+    }
+    
+    public TexelFormat getTexelFormat() {
+        return cache.getFormat();
+    }
+    
+    /**
+     * Whether planet textures are held block-compressed and must be sampled through texel buffers
+     */
+    public boolean isCompressed() {
+        return cache.getFormat() == TexelFormat.BC1;
     }
     
     /**
      * Get stars background texture
      */
     public BufferedImage getStarsTexture() {
-        return starsTexture;
+        return cache.getStarsTexture();
     }
     
     /**
-     * Check if all textures loaded successfully
+     * Check if the stars and every planet requested so far loaded successfully
      */
     public boolean allTexturesLoaded() {
-        if (starsTexture == null) return false;
+        TextureCache current = cache;
+        if (current.getStarsTexture() == null) return false;
         
-        for (Planet planet : Planet.values()) {
-            if (planetTextures.get(planet) == null) return false;
+        for (Planet planet : current.getRequestedPlanets()) {
+            if (current.getPlanetTexture(planet) == null) return false;
         }
         return true;
     }
     
+    /**
+     * Bytes of decoded texture data this viewport can reach: the shared cache, counted in full
+     * by every viewport that uses it, plus this viewport's sphere cache
+     */
+    public long getResidentTextureBytes() {
+        return cache.getResidentBytes() + TextureCache.imageBytes(cachedSphereTexture);
+    }
+    
+    /**
+     * Give up this viewport's reference to the shared textures; the manager must not be used afterwards
+     */
+    public synchronized void release() {
+        if (released) return;
+        released = true;
+        cache.releaseLayout(texelLayout);
+        SHARED_CACHES.release(cache.getFormat());
+        clearCache();
+    }
+    
+    /**
+     * Viewports currently sharing the textures of a storage format
+     */
+    public static int getSharedUsers(TexelFormat format) {
+        return SHARED_CACHES.getReferenceCount(format);
+    }
+    
     /**
      * Cache management for sphere textures
      */
@@ -118,9 +260,45 @@ public class TextureManager {
     
     public boolean canUseCachedTexture(Planet planet) {
         long currentTime = System.currentTimeMillis();
-        return cachedSphereTexture != null && 
+        boolean usable = cachedSphereTexture != null && 
                planet.equals(cachedPlanet) && 
                (currentTime - lastCacheTime) < 50;
+        recordCacheLookup(usable);
+        return usable;
+    }
+    
+    /**
+     * Check whether the cached sphere belongs to the planet, regardless of age
+     */
+    public boolean isCachedFor(Planet planet) {
+        return cachedSphereTexture != null && planet.equals(cachedPlanet);
+    }
+    
+    /**
+     * Count a sphere cache lookup made by a renderer with its own reuse policy
+     */
+    public void recordCacheLookup(boolean hit) {
+        if (hit) {
+            cacheHits++;
+        } else {
+            cacheMisses++;
+        }
+    }
+    
+    /**
+     * Sphere cache statistics
+     */
+    public long getCacheHits() {
+        return cacheHits;
+    }
+    
+    public long getCacheMisses() {
+        return cacheMisses;
+    }
+    
+    public double getCacheHitRate() {
+        long lookups = cacheHits + cacheMisses;
+        return lookups == 0 ? 0.0 : (double) cacheHits / lookups;
     }
     
     /**
@@ -137,11 +315,11 @@ public class TextureManager {
      */
     private void logTextureStatus() {
         StringBuilder status = new StringBuilder("Planet textures loaded: ");
-        for (Planet planet : Planet.values()) {
+        for (Planet planet : cache.getRequestedPlanets()) {
             status.append(planet.getDisplayName()).append(": ")
-                  .append(planetTextures.get(planet) != null).append(", ");
+                  .append(cache.getPlanetTexture(planet) != null).append(", ");
         }
-        status.append("Stars: ").append(starsTexture != null);
+        status.append("Stars: ").append(cache.getStarsTexture() != null);
         
         logger.info(status.toString());
     }
@@ -0,0 +1,158 @@
+package com.dqrapps.global.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Collects per-frame and per-stage timings on the painting thread.
+ * Recording is allocation-free; once per interval the histograms are copied into an
+ * immutable {@link FrameStats} snapshot that any thread may read through {@link #getLatest()}.
+ */
+public class FrameMetrics {
+    private static final long PUBLISH_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private volatile long frameBudgetNanos;
+    private final LatencyHistogram frameTimes = new LatencyHistogram();
+    private final LatencyHistogram allocations = new LatencyHistogram();
+    private final LatencyHistogram[] stageTimes = new LatencyHistogram[RenderStage.values().length];
+    private final com.sun.management.ThreadMXBean allocationBean;
+
+    private long frameStart;
+    private long lastFrameNanos;
+    private long lastMark;
+    private long allocationStart;
+    private long intervalStart;
+    private LongSupplier skippedFrames;
+    private long lastSkipped;
+    private long totalDropped;
+    private long totalFrames;
+    private boolean inFrame;
+
+    private volatile FrameStats latest = FrameStats.EMPTY;
+
+    public FrameMetrics(long frameBudget, TimeUnit unit) {
+        this.frameBudgetNanos = unit.toNanos(frameBudget);
+        for (int i = 0; i < stageTimes.length; i++) {
+            stageTimes[i] = new LatencyHistogram();
+        }
+        this.allocationBean = resolveAllocationBean();
+    }
+
+    /**
+     * Frame time the frames are measured against, one interval at the target frame rate
+     */
+    public void setFrameBudget(long frameBudget, TimeUnit unit) {
+        this.frameBudgetNanos = unit.toNanos(frameBudget);
+    }
+
+    /**
+     * Count of frames the scheduler skipped so far, reported as dropped frames. Gaps between
+     * frames are not counted themselves, since on-demand pacing leaves gaps whenever nothing
+     * changes; without a source no frames are reported dropped.
+     */
+    public void setSkippedFrameSource(LongSupplier skippedFrames) {
+        this.skippedFrames = skippedFrames;
+        this.lastSkipped = skippedFrames != null ? skippedFrames.getAsLong() : 0;
+    }
+
+    /**
+     * Mark the start of a frame
+     */
+    public void beginFrame() {
+        long now = System.nanoTime();
+        if (intervalStart == 0) {
+            intervalStart = now;
+        }
+        frameStart = now;
+        lastMark = now;
+        allocationStart = allocatedBytes();
+        inFrame = true;
+    }
+
+    /**
+     * Attribute the time since the previous mark to the given stage
+     */
+    public void lap(RenderStage stage) {
+        if (!inFrame) return;
+        long now = System.nanoTime();
+        stageTimes[stage.ordinal()].record(now - lastMark);
+        lastMark = now;
+    }
+
+    /**
+     * Mark the end of a frame and publish a new snapshot once per interval
+     */
+    public void endFrame() {
+        if (!inFrame) return;
+        inFrame = false;
+        long now = System.nanoTime();
+        lastFrameNanos = now - frameStart;
+        frameTimes.record(lastFrameNanos);
+        if (allocationStart >= 0) {
+            allocations.record(allocatedBytes() - allocationStart);
+        }
+        totalFrames++;
+
+        if (now - intervalStart >= PUBLISH_INTERVAL_NANOS) {
+            publish(now);
+        }
+    }
+
+    /**
+     * Most recently published snapshot; safe to call from any thread
+     */
+    public FrameStats getLatest() {
+        return latest;
+    }
+
+    /**
+     * Duration of the most recently completed frame; painting thread only
+     */
+    public long getLastFrameNanos() {
+        return lastFrameNanos;
+    }
+
+    public long getFrameBudgetNanos() {
+        return frameBudgetNanos;
+    }
+
+    private void publish(long now) {
+        double seconds = (now - intervalStart) / (double) TimeUnit.SECONDS.toNanos(1);
+        Map<RenderStage, LatencyHistogram> stages = new EnumMap<>(RenderStage.class);
+        for (RenderStage stage : RenderStage.values()) {
+            stages.put(stage, stageTimes[stage.ordinal()].copy());
+            stageTimes[stage.ordinal()].reset();
+        }
+        long skipped = skippedFrames != null ? skippedFrames.getAsLong() : lastSkipped;
+        long intervalDropped = skipped - lastSkipped;
+        lastSkipped = skipped;
+        totalDropped += intervalDropped;
+        latest = new FrameStats(frameTimes.copy(), stages, allocations.copy(),
+                frameTimes.getTotalCount() / seconds, intervalDropped, totalDropped,
+                totalFrames, frameBudgetNanos);
+
+        frameTimes.reset();
+        allocations.reset();
+        intervalStart = now;
+    }
+
+    private long allocatedBytes() {
+        if (allocationBean == null) return -1;
+        return allocationBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private static com.sun.management.ThreadMXBean resolveAllocationBean() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean sunBean = (com.sun.management.ThreadMXBean) bean;
+            if (sunBean.isThreadAllocatedMemorySupported() && sunBean.isThreadAllocatedMemoryEnabled()) {
+                return sunBean;
+            }
+        }
+        return null;
+    }
+}
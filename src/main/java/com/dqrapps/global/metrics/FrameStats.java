@@ -0,0 +1,99 @@
+package com.dqrapps.global.metrics;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Immutable snapshot of frame metrics over one publishing interval
+ */
+public class FrameStats {
+    static final FrameStats EMPTY = new FrameStats(new LatencyHistogram(), new EnumMap<>(RenderStage.class),
+            new LatencyHistogram(), 0, 0, 0, 0, 0);
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final LatencyHistogram frameTimes;
+    private final Map<RenderStage, LatencyHistogram> stageTimes;
+    private final LatencyHistogram allocations;
+    private final double framesPerSecond;
+    private final long droppedFrames;
+    private final long totalDroppedFrames;
+    private final long totalFrames;
+    private final long frameBudgetNanos;
+
+    FrameStats(LatencyHistogram frameTimes, Map<RenderStage, LatencyHistogram> stageTimes,
+               LatencyHistogram allocations, double framesPerSecond, long droppedFrames,
+               long totalDroppedFrames, long totalFrames, long frameBudgetNanos) {
+        this.frameTimes = frameTimes;
+        this.stageTimes = stageTimes;
+        this.allocations = allocations;
+        this.framesPerSecond = framesPerSecond;
+        this.droppedFrames = droppedFrames;
+        this.totalDroppedFrames = totalDroppedFrames;
+        this.totalFrames = totalFrames;
+        this.frameBudgetNanos = frameBudgetNanos;
+    }
+
+    public double getFramesPerSecond() {
+        return framesPerSecond;
+    }
+
+    /**
+     * Frame time at the given percentile (0-100) in milliseconds
+     */
+    public double getFrameTimeMillis(double percentile) {
+        return frameTimes.getValueAtPercentile(percentile) / NANOS_PER_MILLI;
+    }
+
+    public double getMeanFrameTimeMillis() {
+        return frameTimes.getMean() / NANOS_PER_MILLI;
+    }
+
+    public double getMaxFrameTimeMillis() {
+        return frameTimes.getMaxValue() / NANOS_PER_MILLI;
+    }
+
+    public double getStageMeanMillis(RenderStage stage) {
+        LatencyHistogram histogram = stageTimes.get(stage);
+        return histogram == null ? 0.0 : histogram.getMean() / NANOS_PER_MILLI;
+    }
+
+    /**
+     * Stage time at the given percentile (0-100) in milliseconds
+     */
+    public double getStageTimeMillis(RenderStage stage, double percentile) {
+        LatencyHistogram histogram = stageTimes.get(stage);
+        return histogram == null ? 0.0 : histogram.getValueAtPercentile(percentile) / NANOS_PER_MILLI;
+    }
+
+    /**
+     * Mean heap bytes allocated by the painting thread per frame, or -1 if the JVM cannot report it
+     */
+    public double getMeanAllocatedBytes() {
+        return allocations.getTotalCount() == 0 ? -1 : allocations.getMean();
+    }
+
+    /**
+     * Frames the frame scheduler skipped during this interval because the previous one was
+     * still painting at their deadline
+     */
+    public long getDroppedFrames() {
+        return droppedFrames;
+    }
+
+    public long getTotalDroppedFrames() {
+        return totalDroppedFrames;
+    }
+
+    public long getTotalFrames() {
+        return totalFrames;
+    }
+
+    public long getIntervalFrames() {
+        return frameTimes.getTotalCount();
+    }
+
+    public double getFrameBudgetMillis() {
+        return frameBudgetNanos / NANOS_PER_MILLI;
+    }
+}
@@ -0,0 +1,103 @@
+package com.dqrapps.global.metrics;
+
+import java.util.Arrays;
+
+/**
+ * Low-overhead log-linear histogram in the style of HdrHistogram.
+ * Values are bucketed by power of two with 32 linear sub-buckets each (about 3% precision),
+ * so recording is a couple of bit operations and an array increment with no allocation.
+ * Not thread-safe; record from a single thread and hand out {@link #copy()} snapshots.
+ */
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int SUB_BUCKET_HALF = SUB_BUCKET_COUNT / 2;
+    private static final int INDEX_COUNT = (64 - SUB_BUCKET_BITS + 2) * SUB_BUCKET_HALF;
+
+    private final long[] counts;
+    private long totalCount;
+    private double totalValue; // Summed in double so values near Long.MAX_VALUE cannot wrap the mean
+    private long maxValue;
+
+    public LatencyHistogram() {
+        this.counts = new long[INDEX_COUNT];
+    }
+
+    private LatencyHistogram(LatencyHistogram source) {
+        this.counts = source.counts.clone();
+        this.totalCount = source.totalCount;
+        this.totalValue = source.totalValue;
+        this.maxValue = source.maxValue;
+    }
+
+    /**
+     * Record a single non-negative value
+     */
+    public void record(long value) {
+        if (value < 0) value = 0;
+        counts[indexFor(value)]++;
+        totalCount++;
+        totalValue += value;
+        if (value > maxValue) maxValue = value;
+    }
+
+    /**
+     * Value at the given percentile (0-100), reported as the midpoint of its bucket
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (totalCount == 0) return 0;
+        long target = Math.max(1, (long) Math.ceil(totalCount * Math.min(100.0, percentile) / 100.0));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= target) {
+                return Math.min(maxValue, midpointFor(i));
+            }
+        }
+        return maxValue;
+    }
+
+    public double getMean() {
+        return totalCount == 0 ? 0.0 : totalValue / totalCount;
+    }
+
+    public long getMaxValue() {
+        return maxValue;
+    }
+
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    public void reset() {
+        Arrays.fill(counts, 0);
+        totalCount = 0;
+        totalValue = 0;
+        maxValue = 0;
+    }
+
+    /**
+     * Independent copy that can be read safely from other threads
+     */
+    public LatencyHistogram copy() {
+        return new LatencyHistogram(this);
+    }
+
+    private static int indexFor(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - (SUB_BUCKET_BITS - 1);
+        int subBucket = (int) (value >>> shift); // In [SUB_BUCKET_HALF, SUB_BUCKET_COUNT)
+        return shift * SUB_BUCKET_HALF + subBucket;
+    }
+
+    private static long midpointFor(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = index / SUB_BUCKET_HALF - 1;
+        long subBucket = index - (long) shift * SUB_BUCKET_HALF;
+        return (subBucket << shift) + ((1L << shift) >> 1);
+    }
+}
@@ -0,0 +1,65 @@
+package com.dqrapps.global.metrics;
+
+import com.dqrapps.global.graphics.TextureManager;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes rendering and texture metrics as Micrometer meters.
+ * All meters read the latest {@link FrameStats} snapshot, so scraping never touches the EDT.
+ */
+public class RenderMeterBinder implements MeterBinder {
+    private static final double[] PERCENTILES = {50, 95, 99};
+
+    private final FrameMetrics frameMetrics;
+    private final TextureManager textureManager;
+
+    public RenderMeterBinder(FrameMetrics frameMetrics, TextureManager textureManager) {
+        this.frameMetrics = frameMetrics;
+        this.textureManager = textureManager;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (double percentile : PERCENTILES) {
+            TimeGauge.builder("globe.frame.latency", frameMetrics, TimeUnit.MILLISECONDS,
+                            m -> m.getLatest().getFrameTimeMillis(percentile))
+                    .tag("percentile", String.valueOf(percentile / 100))
+                    .description("Frame paint time over the last interval")
+                    .register(registry);
+        }
+        Gauge.builder("globe.frame.rate", frameMetrics, m -> m.getLatest().getFramesPerSecond())
+                .baseUnit("frames/s")
+                .description("Frames painted per second")
+                .register(registry);
+        FunctionCounter.builder("globe.frame.dropped", frameMetrics, m -> m.getLatest().getTotalDroppedFrames())
+                .description("Frames skipped because the previous one was still painting")
+                .register(registry);
+
+        for (RenderStage stage : RenderStage.values()) {
+            TimeGauge.builder("globe.stage.time", frameMetrics, TimeUnit.MILLISECONDS,
+                            m -> m.getLatest().getStageMeanMillis(stage))
+                    .tag("stage", stage.name().toLowerCase())
+                    .description("Mean time spent in a frame stage over the last interval")
+                    .register(registry);
+        }
+
+        Gauge.builder("globe.texture.resident", textureManager, TextureManager::getResidentTextureBytes)
+                .baseUnit("bytes")
+                .description("Decoded texture data held in memory")
+                .register(registry);
+        FunctionCounter.builder("globe.sphere.cache", textureManager, TextureManager::getCacheHits)
+                .tag("result", "hit")
+                .description("Sphere cache lookups")
+                .register(registry);
+        FunctionCounter.builder("globe.sphere.cache", textureManager, TextureManager::getCacheMisses)
+                .tag("result", "miss")
+                .description("Sphere cache lookups")
+                .register(registry);
+    }
+}
@@ -0,0 +1,88 @@
+package com.dqrapps.global.metrics;
+
+import com.dqrapps.global.graphics.TextureManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Standard MBean exposing the latest frame snapshot and texture statistics
+ */
+public class RenderMetrics implements RenderMetricsMBean {
+    private static final Logger logger = LoggerFactory.getLogger(RenderMetrics.class);
+    public static final String OBJECT_NAME = "com.dqrapps.global:type=RenderMetrics";
+
+    private final FrameMetrics frameMetrics;
+    private final TextureManager textureManager;
+
+    public RenderMetrics(FrameMetrics frameMetrics, TextureManager textureManager) {
+        this.frameMetrics = frameMetrics;
+        this.textureManager = textureManager;
+    }
+
+    /**
+     * Register with the platform MBean server, replacing any previous registration
+     */
+    public void register() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+            server.registerMBean(this, name);
+            logger.info("Registered render metrics MBean {}", OBJECT_NAME);
+        } catch (JMException e) {
+            logger.warn("Could not register render metrics MBean: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public double getFramesPerSecond() {
+        return frameMetrics.getLatest().getFramesPerSecond();
+    }
+
+    @Override
+    public double getFrameTimeP50Millis() {
+        return frameMetrics.getLatest().getFrameTimeMillis(50);
+    }
+
+    @Override
+    public double getFrameTimeP95Millis() {
+        return frameMetrics.getLatest().getFrameTimeMillis(95);
+    }
+
+    @Override
+    public double getFrameTimeP99Millis() {
+        return frameMetrics.getLatest().getFrameTimeMillis(99);
+    }
+
+    @Override
+    public long getDroppedFrames() {
+        return frameMetrics.getLatest().getTotalDroppedFrames();
+    }
+
+    @Override
+    public double getSimulationTickMillis() {
+        return frameMetrics.getLatest().getStageMeanMillis(RenderStage.SIMULATION);
+    }
+
+    @Override
+    public long getTextureResidentBytes() {
+        return textureManager.getResidentTextureBytes();
+    }
+
+    @Override
+    public long getSphereCacheHits() {
+        return textureManager.getCacheHits();
+    }
+
+    @Override
+    public long getSphereCacheMisses() {
+        return textureManager.getCacheMisses();
+    }
+}
@@ -0,0 +1,24 @@
+package com.dqrapps.global.metrics;
+
+/**
+ * JMX view of rendering and texture metrics
+ */
+public interface RenderMetricsMBean {
+    double getFramesPerSecond();
+
+    double getFrameTimeP50Millis();
+
+    double getFrameTimeP95Millis();
+
+    double getFrameTimeP99Millis();
+
+    long getDroppedFrames();
+
+    double getSimulationTickMillis();
+
+    long getTextureResidentBytes();
+
+    long getSphereCacheHits();
+
+    long getSphereCacheMisses();
+}
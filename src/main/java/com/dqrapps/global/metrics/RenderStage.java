@@ -0,0 +1,25 @@
+package com.dqrapps.global.metrics;
+
+/**
+ * Timed stages of a single frame, in the order they run
+ */
+public enum RenderStage {
+    STARS("Stars"),
+    SATELLITES("Satellites"),
+    SPHERE("Sphere"),
+    GEODATA("Geodata"),
+    TRACKING("Tracking"),
+    LIGHTING("Lighting"),
+    OVERLAY("Overlay"),
+    SIMULATION("Simulation");
+
+    private final String displayName;
+
+    RenderStage(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+}
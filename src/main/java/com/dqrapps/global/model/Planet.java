@@ -1,42 +1,107 @@
 package com.dqrapps.global.model;
 
+import java.util.Objects;
+
 /**
- * Represents different planets with their properties and characteristics
+ * A body from the {@link PlanetCatalog} with its textures and fallback colouring.
+ * Planets are identified by their catalog id.
  */
-public enum Planet {
-    EARTH("Earth", "earth_daymap.jpg", 1.0, 0.8, 0.6, 0.4),
-    MARS("Mars", "mars.jpg", 0.8, 0.4, 0.2, 0.0),
-    JUPITER("Jupiter", "jupiter.jpg", 1.2, 1.0, 0.8, 0.6),
-    VENUS("Venus", "venus.jpg", 0.9, 0.7, 0.5, 0.3),
-    MERCURY("Mercury", "mercury.jpg", 0.7, 0.5, 0.3, 0.1),
-    SATURN("Saturn", "saturn.jpg", 1.1, 0.9, 0.7, 0.5),
-    NEPTUNE("Neptune", "neptune.jpg", 1.0, 0.6, 0.8, 0.9);
-
+public final class Planet {
+    private final String id;
     private final String displayName;
     private final String textureFileName;
     private final double baseReflectivity;
     private final double redComponent;
     private final double greenComponent;
     private final double blueComponent;
+    private final String nightTextureFileName;
+    private final String cloudTextureFileName;
+    private final String specularTextureFileName;
+    private final double atmosphereRed;
+    private final double atmosphereGreen;
+    private final double atmosphereBlue;
+    private final double atmosphereDensity;
+
+    public Planet(String id, String displayName, String textureFileName, double baseReflectivity,
+                  double red, double green, double blue) {
+        this(id, displayName, textureFileName, baseReflectivity, red, green, blue, null, null, null);
+    }
+
+    public Planet(String id, String displayName, String textureFileName, double baseReflectivity,
+                  double red, double green, double blue,
+                  String nightTextureFileName, String cloudTextureFileName, String specularTextureFileName) {
+        this(id, displayName, textureFileName, baseReflectivity, red, green, blue,
+            nightTextureFileName, cloudTextureFileName, specularTextureFileName, 0, 0, 0, 0);
+    }
 
-    Planet(String displayName, String textureFileName, double baseReflectivity, 
-           double red, double green, double blue) {
-        this.displayName = displayName;
+    public Planet(String id, String displayName, String textureFileName, double baseReflectivity,
+                  double red, double green, double blue,
+                  String nightTextureFileName, String cloudTextureFileName, String specularTextureFileName,
+                  double atmosphereRed, double atmosphereGreen, double atmosphereBlue, double atmosphereDensity) {
+        this.id = Objects.requireNonNull(id, "id");
+        this.displayName = Objects.requireNonNull(displayName, "displayName");
         this.textureFileName = textureFileName;
         this.baseReflectivity = baseReflectivity;
         this.redComponent = red;
         this.greenComponent = green;
         this.blueComponent = blue;
+        this.nightTextureFileName = nightTextureFileName;
+        this.cloudTextureFileName = cloudTextureFileName;
+        this.specularTextureFileName = specularTextureFileName;
+        this.atmosphereRed = atmosphereRed;
+        this.atmosphereGreen = atmosphereGreen;
+        this.atmosphereBlue = atmosphereBlue;
+        this.atmosphereDensity = atmosphereDensity;
+    }
+
+    /**
+     * Same body under another display name
+     */
+    public Planet withDisplayName(String displayName) {
+        return new Planet(id, displayName, textureFileName, baseReflectivity, redComponent, greenComponent,
+            blueComponent, nightTextureFileName, cloudTextureFileName, specularTextureFileName,
+            atmosphereRed, atmosphereGreen, atmosphereBlue, atmosphereDensity);
+    }
+
+    /**
+     * Catalog key, e.g. "earth"
+     */
+    public String getId() {
+        return id;
     }
 
     public String getDisplayName() {
         return displayName;
     }
 
+    /**
+     * Day map, as a classpath resource or file path; null draws the fallback colours
+     */
     public String getTextureFileName() {
         return textureFileName;
     }
 
+    /**
+     * Optional night-lights texture, or null
+     */
+    public String getNightTextureFileName() {
+        return nightTextureFileName;
+    }
+
+    /**
+     * Optional cloud layer texture, or null
+     */
+    public String getCloudTextureFileName() {
+        return cloudTextureFileName;
+    }
+
+    /**
+     * Optional specular (ocean) mask texture, or null
+     */
+    public String getSpecularTextureFileName() {
+        return specularTextureFileName;
+    }
+
     public double getBaseReflectivity() {
         return baseReflectivity;
     }
@@ -54,25 +119,39 @@ public enum Planet {
     }
 
     /**
-     * Get planet by display name
+     * Colour of light scattered by the atmosphere, r, g and b in 0..1
      */
-    public static Planet fromDisplayName(String name) {
-        for (Planet planet : values()) {
-            if (planet.displayName.equals(name)) {
-                return planet;
-            }
-        }
-        return EARTH; // Default fallback
+    public double getAtmosphereRed() {
+        return atmosphereRed;
+    }
+
+    public double getAtmosphereGreen() {
+        return atmosphereGreen;
+    }
+
+    public double getAtmosphereBlue() {
+        return atmosphereBlue;
     }
 
     /**
-     * Get all planet display names for UI components
+     * Strength of the limb glow and day-side haze; 0 for a body without an atmosphere
      */
-    public static String[] getAllDisplayNames() {
-        String[] names = new String[values().length];
-        for (int i = 0; i < values().length; i++) {
-            names[i] = values()[i].displayName;
-        }
-        return names;
-    }
-}
\ No newline at end of file
+    public double getAtmosphereDensity() {
+        return atmosphereDensity;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof Planet && id.equals(((Planet) other).id);
+    }
+
+    @Override
+    public int hashCode() {
+        return id.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return displayName;
+    }
+}
@@ -0,0 +1,243 @@
+package com.dqrapps.global.model;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Catalog of renderable bodies, read from the built-in {@code planets.properties} and
+ * optionally an external catalog file or directory of {@code *.properties} files.
+ * <p>
+ * Each file lists its ids in {@code bodies} (selector order) and describes each body with
+ * {@code <id>.name}, {@code <id>.texture}, {@code <id>.reflectivity}, {@code <id>.color}
+ * (r,g,b in 0..1) and the optional {@code <id>.night-texture}, {@code <id>.cloud-texture},
+ * {@code <id>.specular-texture}, {@code <id>.atmosphere} (scattered colour, r,g,b in 0..1)
+ * and {@code <id>.atmosphere-density} (0, the default, for none). Later files replace bodies
+ * with the same id in place and append new ones. Relative texture paths in external files
+ * resolve against the file's directory when that file exists, otherwise against the
+ * classpath. A display name already used by an earlier body in selector order gets the
+ * body's id appended.
+ * <p>
+ * Loading only parses properties; textures are read by TextureManager when a body is first
+ * drawn. Lookups by id and display name are hash lookups.
+ */
+public class PlanetCatalog {
+    private static final Logger logger = LoggerFactory.getLogger(PlanetCatalog.class);
+    private static final String BUILT_IN_CATALOG = "planets.properties";
+
+    private final Map<String, Planet> byId = new LinkedHashMap<>();
+    private final Map<String, Planet> byDisplayName = new HashMap<>();
+    private List<Planet> planets = Collections.emptyList();
+
+    /**
+     * Built-in catalog only
+     */
+    public static PlanetCatalog loadDefault() {
+        return load(null);
+    }
+
+    /**
+     * Built-in catalog extended by an external file or directory; null or blank skips it
+     */
+    public static PlanetCatalog load(String location) {
+        PlanetCatalog catalog = new PlanetCatalog();
+        try (InputStream stream = PlanetCatalog.class.getClassLoader().getResourceAsStream(BUILT_IN_CATALOG)) {
+            if (stream != null) {
+                catalog.addAll(readProperties(stream), null, BUILT_IN_CATALOG);
+            } else {
+                logger.warn("Built-in planet catalog {} not found", BUILT_IN_CATALOG);
+            }
+        } catch (IOException e) {
+            logger.error("Failed to read built-in planet catalog: {}", e.getMessage());
+        }
+
+        if (location != null && !location.trim().isEmpty()) {
+            catalog.addExternal(new File(location.trim()));
+        }
+        if (catalog.byId.isEmpty()) {
+            throw new IllegalStateException("Planet catalog is empty");
+        }
+        catalog.indexDisplayNames();
+        catalog.planets = Collections.unmodifiableList(new ArrayList<>(catalog.byId.values()));
+        logger.info("Planet catalog loaded: {} bodies", catalog.planets.size());
+        return catalog;
+    }
+
+    private void addExternal(File location) {
+        File[] files;
+        if (location.isDirectory()) {
+            files = location.listFiles((dir, name) -> name.endsWith(".properties"));
+            if (files == null) files = new File[0];
+            Arrays.sort(files);
+        } else if (location.isFile()) {
+            files = new File[]{location};
+        } else {
+            logger.warn("Planet catalog location not found: {}", location);
+            return;
+        }
+        for (File file : files) {
+            try (InputStream stream = new FileInputStream(file)) {
+                addAll(readProperties(stream), file.getAbsoluteFile().getParentFile(), file.getPath());
+                logger.debug("Read planet catalog {}", file);
+            } catch (IOException | IllegalArgumentException e) {
+                logger.error("Failed to read planet catalog {}: {}", file, e.getMessage());
+            }
+        }
+    }
+
+    private static Properties readProperties(InputStream stream) throws IOException {
+        Properties properties = new Properties();
+        properties.load(stream);
+        return properties;
+    }
+
+    /**
+     * Add or replace the bodies of one catalog file; a body with an invalid entry is logged
+     * and skipped, keeping the rest of the file
+     */
+    private void addAll(Properties properties, File baseDirectory, String source) {
+        String bodies = properties.getProperty("bodies", "");
+        for (String id : bodies.split(",")) {
+            id = id.trim();
+            if (id.isEmpty()) continue;
+            Planet planet;
+            try {
+                planet = parse(id, properties, baseDirectory, source);
+            } catch (IllegalArgumentException e) {
+                logger.error("Skipping body {}: {}", id, e.getMessage());
+                continue;
+            }
+            byId.put(id, planet);
+        }
+    }
+
+    /**
+     * Index the final bodies by display name. A name already taken by an earlier body in
+     * selector order is logged and made unique with the body's id, so every body stays selectable.
+     */
+    private void indexDisplayNames() {
+        for (Map.Entry<String, Planet> entry : byId.entrySet()) {
+            Planet planet = entry.getValue();
+            Planet taken = byDisplayName.get(planet.getDisplayName());
+            if (taken != null) {
+                String unique = planet.getDisplayName() + " (" + planet.getId() + ")";
+                logger.warn("Bodies {} and {} are both named '{}'; listing {} as '{}'", taken.getId(),
+                        planet.getId(), planet.getDisplayName(), planet.getId(), unique);
+                planet = planet.withDisplayName(unique);
+                entry.setValue(planet);
+            }
+            byDisplayName.put(planet.getDisplayName(), planet);
+        }
+    }
+
+    private static Planet parse(String id, Properties properties, File baseDirectory, String source) {
+        String name = properties.getProperty(id + ".name", id);
+        double[] color = parseColor(properties, id, "color", "0.5,0.5,0.5", source);
+        double[] atmosphere = parseColor(properties, id, "atmosphere", "0,0,0", source);
+        return new Planet(id, name,
+                resolve(properties.getProperty(id + ".texture"), baseDirectory),
+                parseNumber(properties, id, "reflectivity", "1.0", source),
+                color[0], color[1], color[2],
+                resolve(properties.getProperty(id + ".night-texture"), baseDirectory),
+                resolve(properties.getProperty(id + ".cloud-texture"), baseDirectory),
+                resolve(properties.getProperty(id + ".specular-texture"), baseDirectory),
+                atmosphere[0], atmosphere[1], atmosphere[2],
+                parseNumber(properties, id, "atmosphere-density", "0", source));
+    }
+
+    private static double parseNumber(Properties properties, String id, String key, String defaultValue, String source) {
+        String value = properties.getProperty(id + "." + key, defaultValue);
+        try {
+            return Double.parseDouble(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Expected a number for " + id + "." + key + " in " + source
+                + " but got " + value);
+        }
+    }
+
+    private static double[] parseColor(Properties properties, String id, String key, String defaultValue, String source) {
+        String value = properties.getProperty(id + "." + key, defaultValue);
+        String[] parts = value.split(",");
+        try {
+            if (parts.length == 3) {
+                return new double[]{
+                    Double.parseDouble(parts[0].trim()), Double.parseDouble(parts[1].trim()), Double.parseDouble(parts[2].trim())
+                };
+            }
+        } catch (NumberFormatException e) {
+            // Reported below with the key and file
+        }
+        throw new IllegalArgumentException("Expected r,g,b for " + id + "." + key + " in " + source + " but got " + value);
+    }
+
+    private static String resolve(String path, File baseDirectory) {
+        if (path == null || path.trim().isEmpty()) return null;
+        path = path.trim();
+        if (baseDirectory != null) {
+            File file = new File(path);
+            if (!file.isAbsolute()) {
+                file = new File(baseDirectory, path);
+            }
+            if (file.isFile()) {
+                return file.getPath();
+            }
+        }
+        return path;
+    }
+
+    /**
+     * All bodies in selector order
+     */
+    public List<Planet> getPlanets() {
+        return planets;
+    }
+
+    /**
+     * First body in the catalog, shown at startup and after reset
+     */
+    public Planet getDefault() {
+        return planets.get(0);
+    }
+
+    /**
+     * Look up a body by id, or null
+     */
+    public Planet get(String id) {
+        return byId.get(id);
+    }
+
+    /**
+     * Look up a body by display name, falling back to the default body
+     */
+    public Planet fromDisplayName(String name) {
+        Planet planet = byDisplayName.get(name);
+        return planet != null ? planet : getDefault();
+    }
+
+    /**
+     * Display names in selector order for UI components
+     */
+    public String[] getAllDisplayNames() {
+        String[] names = new String[planets.size()];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = planets.get(i).getDisplayName();
+        }
+        return names;
+    }
+
+    public int size() {
+        return planets.size();
+    }
+}
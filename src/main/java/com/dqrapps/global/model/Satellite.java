@@ -1,11 +1,17 @@
 package com.dqrapps.global.model;
 
+import com.dqrapps.global.graphics.RenderBackend;
+
 import java.awt.*;
 
 /**
  * Represents a satellite orbiting around the planet
  */
 public class Satellite {
+    private static final Color ORBIT_COLOR = new Color(100, 100, 100, 100);
+    private static final BasicStroke ORBIT_STROKE = new BasicStroke(1, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND,
+                                                                   0, new float[]{2, 4}, 0);
+    
     private double angle;
     private double orbitRadius;
     private double speed;
@@ -42,27 +48,33 @@ public class Satellite {
     /**
      * Draw the satellite
      */
-    public void draw(Graphics2D g2d, int centerX, int centerY) {
+    public void draw(RenderBackend backend, int centerX, int centerY) {
+        draw(backend, centerX, centerY, true);
+    }
+    
+    /**
+     * Draw the satellite, optionally skipping the glow to save fill time
+     */
+    public void draw(RenderBackend backend, int centerX, int centerY, boolean glow) {
         Point pos = getPosition(centerX, centerY);
         
         // Draw satellite
-        g2d.setColor(color);
-        g2d.fillOval(pos.x - size/2, pos.y - size/2, size, size);
+        backend.fillOval(pos.x - size/2, pos.y - size/2, size, size, color);
         
         // Draw satellite glow
-        g2d.setColor(new Color(color.getRed(), color.getGreen(), color.getBlue(), 50));
-        g2d.fillOval(pos.x - size, pos.y - size, size * 2, size * 2);
+        if (glow) {
+            backend.fillOval(pos.x - size, pos.y - size, size * 2, size * 2,
+                new Color(color.getRed(), color.getGreen(), color.getBlue(), 50));
+        }
     }
     
     /**
      * Draw orbit path
      */
-    public void drawOrbit(Graphics2D g2d, int centerX, int centerY) {
-        g2d.setStroke(new BasicStroke(1, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND, 
-                                     0, new float[]{2, 4}, 0));
-        g2d.setColor(new Color(100, 100, 100, 100));
+    public void drawOrbit(RenderBackend backend, int centerX, int centerY) {
         int diameter = (int)(orbitRadius * 2);
-        g2d.drawOval(centerX - (int)orbitRadius, centerY - (int)orbitRadius, diameter, diameter);
+        backend.drawOval(centerX - (int)orbitRadius, centerY - (int)orbitRadius, diameter, diameter,
+                         ORBIT_COLOR, ORBIT_STROKE);
     }
     
     // Getters
@@ -19,6 +19,10 @@ public class SatelliteFactory {
      * Create a list of satellites with random properties
      */
     public static List<Satellite> createSatellites(int count, int minRadius, int maxRadius) {
+        return createSatellites(count, minRadius, maxRadius, random);
+    }
+    
+    private static List<Satellite> createSatellites(int count, int minRadius, int maxRadius, Random random) {
         List<Satellite> satellites = new ArrayList<>();
         
         for (int i = 0; i < count; i++) {
@@ -40,4 +44,11 @@ public class SatelliteFactory {
     public static List<Satellite> createSatellites(int count, int baseRadius) {
         return createSatellites(count, baseRadius + 20, baseRadius + 80);
     }
+    
+    /**
+     * Create the same satellites every time for a given seed, so recorded sessions replay exactly
+     */
+    public static List<Satellite> createSatellites(int count, int baseRadius, long seed) {
+        return createSatellites(count, baseRadius + 20, baseRadius + 80, new Random(seed));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,124 @@
+package com.dqrapps.global.orbit;
+
+import java.util.stream.IntStream;
+
+/**
+ * Propagates a {@link SatelliteCatalog} to a given time with the secular part of the SGP4
+ * near-Earth model: J2 drift of the node, perigee and mean anomaly, plus the element set's
+ * mean motion decay for drag. Periodic terms and deep-space resonances are left out, which
+ * keeps a step to a Kepler solve and one rotation per satellite.
+ * <p>
+ * The catalog is split into fixed-size batches that run in parallel on the common
+ * fork-join pool; each batch writes only its own slice of the position arrays.
+ */
+public class OrbitPropagator {
+    /** Satellites per parallel task; small catalogs run on the calling thread */
+    public static final int BATCH_SIZE = 2048;
+    private static final double MINUTES_PER_DAY = 1440.0;
+    private static final int KEPLER_ITERATIONS = 10;
+    private static final double KEPLER_TOLERANCE = 1e-10;
+    // Below this eccentricity the second-order series is within about 100 m of the Kepler solve
+    private static final double NEAR_CIRCULAR = 0.02;
+
+    private boolean parallel = true;
+
+    /**
+     * Move every satellite in the catalog to the given Julian date
+     */
+    public void propagate(SatelliteCatalog catalog, double julianDate) {
+        int size = catalog.size();
+        int batches = (size + BATCH_SIZE - 1) / BATCH_SIZE;
+        if (parallel && batches > 1) {
+            IntStream.range(0, batches).parallel().forEach(batch ->
+                propagateRange(catalog, julianDate, batch * BATCH_SIZE, Math.min(size, (batch + 1) * BATCH_SIZE)));
+        } else {
+            propagateRange(catalog, julianDate, 0, size);
+        }
+    }
+
+    private static void propagateRange(SatelliteCatalog catalog, double julianDate, int from, int to) {
+        double[] epochs = catalog.getEpochs();
+        double[] cosInclinations = catalog.getCosInclinations();
+        double[] sinInclinations = catalog.getSinInclinations();
+        double[] nodes = catalog.getAscendingNodes();
+        double[] eccentricities = catalog.getEccentricities();
+        double[] perigees = catalog.getPerigees();
+        double[] anomalies = catalog.getMeanAnomalies();
+        double[] meanMotions = catalog.getMeanMotions();
+        double[] decay = catalog.getMeanMotionDecay();
+        double[] semiMajorAxes = catalog.getSemiMajorAxes();
+        double[] nodeRates = catalog.getNodeRates();
+        double[] perigeeRates = catalog.getPerigeeRates();
+        double[] anomalyRates = catalog.getAnomalyRates();
+        float[] outX = catalog.getPositionX();
+        float[] outY = catalog.getPositionY();
+        float[] outZ = catalog.getPositionZ();
+
+        for (int i = from; i < to; i++) {
+            double t = (julianDate - epochs[i]) * MINUTES_PER_DAY;
+            double e = eccentricities[i];
+            double node = nodes[i] + nodeRates[i] * t;
+            double perigee = perigees[i] + perigeeRates[i] * t;
+            double meanAnomaly = anomalies[i] + anomalyRates[i] * t + decay[i] * t * t;
+
+            // Drag raises the mean motion; shrink the orbit to match (first order in the change)
+            double motionChange = 2 * decay[i] * t / meanMotions[i];
+            double a = semiMajorAxes[i] * Math.max(0.5, 1 - 2.0 / 3.0 * motionChange) * SatelliteCatalog.EARTH_RADIUS_KM;
+
+            double r;
+            double trueAnomaly;
+            if (e < NEAR_CIRCULAR) {
+                // Series in e to second order: the equation of centre and radius need only the
+                // mean anomaly, which skips the Kepler solve for most of a typical catalog
+                double sinM = Math.sin(meanAnomaly);
+                double cosM = Math.cos(meanAnomaly);
+                trueAnomaly = meanAnomaly + e * sinM * (2 + 2.5 * e * cosM);
+                r = a * (1 - e * cosM + e * e * sinM * sinM);
+            } else {
+                double eccentricAnomaly = solveKepler(meanAnomaly, e);
+                double sinE = Math.sin(eccentricAnomaly);
+                double cosE = Math.cos(eccentricAnomaly);
+                trueAnomaly = Math.atan2(Math.sqrt(1 - e * e) * sinE, cosE - e);
+                r = a * (1 - e * cosE);
+            }
+
+            // Rotate from the orbital plane by the argument of latitude, inclination and node
+            double latitudeArgument = perigee + trueAnomaly;
+            double cosU = Math.cos(latitudeArgument);
+            double sinU = Math.sin(latitudeArgument);
+            double cosNode = Math.cos(node);
+            double sinNode = Math.sin(node);
+            double cosI = cosInclinations[i];
+            double sinI = sinInclinations[i];
+            outX[i] = (float) (r * (cosNode * cosU - sinNode * sinU * cosI));
+            outY[i] = (float) (r * (sinNode * cosU + cosNode * sinU * cosI));
+            outZ[i] = (float) (r * sinU * sinI);
+        }
+    }
+
+    /**
+     * Eccentric anomaly for a mean anomaly by Newton's method
+     */
+    static double solveKepler(double meanAnomaly, double e) {
+        meanAnomaly -= 2 * Math.PI * Math.floor(meanAnomaly / (2 * Math.PI));
+        double eccentricAnomaly = meanAnomaly < Math.PI ? meanAnomaly + e : meanAnomaly - e;
+        for (int k = 0; k < KEPLER_ITERATIONS; k++) {
+            double step = (eccentricAnomaly - e * Math.sin(eccentricAnomaly) - meanAnomaly)
+                / (1 - e * Math.cos(eccentricAnomaly));
+            eccentricAnomaly -= step;
+            if (Math.abs(step) < KEPLER_TOLERANCE) break;
+        }
+        return eccentricAnomaly;
+    }
+
+    /**
+     * Spread batches over the common fork-join pool (default) or run them on the calling thread
+     */
+    public void setParallel(boolean parallel) {
+        this.parallel = parallel;
+    }
+
+    public boolean isParallel() {
+        return parallel;
+    }
+}
@@ -0,0 +1,219 @@
+package com.dqrapps.global.orbit;
+
+/**
+ * Mean orbital elements of a satellite catalog and their latest propagated positions,
+ * stored as one primitive array per field so propagation batches walk contiguous memory.
+ * <p>
+ * Elements are read once from two-line element sets by {@link TleParser}; the constructor
+ * derives the secular J2 rates used by {@link OrbitPropagator}. Positions are Earth-centred
+ * inertial coordinates in kilometres and are only written by the propagator.
+ */
+public class SatelliteCatalog {
+    /** WGS-72 equatorial radius in kilometres, the unit of the SGP4 model */
+    public static final double EARTH_RADIUS_KM = 6378.135;
+    static final double J2 = 1.082616e-3;
+    // sqrt(GM) in Earth radii^1.5 per minute
+    static final double KE = 60.0 / Math.sqrt(EARTH_RADIUS_KM * EARTH_RADIUS_KM * EARTH_RADIUS_KM / 398600.8);
+
+    /** Orbit regimes by altitude, used to colour satellites */
+    public static final byte LOW_EARTH_ORBIT = 0;
+    public static final byte MEDIUM_EARTH_ORBIT = 1;
+    public static final byte HIGH_EARTH_ORBIT = 2;
+
+    private final int size;
+    private final String[] names;
+    private final int[] catalogNumbers;
+    private final double[] epochs;          // Julian date
+    private final double[] inclinations;    // Radians
+    private final double[] cosInclinations;
+    private final double[] sinInclinations;
+    private final double[] ascendingNodes;  // Radians at epoch
+    private final double[] eccentricities;
+    private final double[] perigees;        // Argument of perigee, radians at epoch
+    private final double[] meanAnomalies;   // Radians at epoch
+    private final double[] meanMotions;     // Brouwer mean motion, radians per minute
+    private final double[] meanMotionDecay; // Half the first derivative, radians per minute^2
+    private final double[] semiMajorAxes;   // Earth radii
+    private final double[] nodeRates;       // Secular J2 drift, radians per minute
+    private final double[] perigeeRates;
+    private final double[] anomalyRates;
+    private final byte[] regimes;
+    private final double latestEpoch;
+
+    private final float[] positionX;
+    private final float[] positionY;
+    private final float[] positionZ;
+
+    /**
+     * Takes ownership of the arrays; angles in radians, mean motion and its decay as in the
+     * element set (radians per minute and per minute squared, not yet corrected for J2)
+     */
+    SatelliteCatalog(int size, String[] names, int[] catalogNumbers, double[] epochs, double[] inclinations,
+                     double[] ascendingNodes, double[] eccentricities, double[] perigees, double[] meanAnomalies,
+                     double[] meanMotions, double[] meanMotionDecay) {
+        this.size = size;
+        this.names = names;
+        this.catalogNumbers = catalogNumbers;
+        this.epochs = epochs;
+        this.inclinations = inclinations;
+        this.ascendingNodes = ascendingNodes;
+        this.eccentricities = eccentricities;
+        this.perigees = perigees;
+        this.meanAnomalies = meanAnomalies;
+        this.meanMotions = meanMotions;
+        this.meanMotionDecay = meanMotionDecay;
+        this.cosInclinations = new double[size];
+        this.sinInclinations = new double[size];
+        this.semiMajorAxes = new double[size];
+        this.nodeRates = new double[size];
+        this.perigeeRates = new double[size];
+        this.anomalyRates = new double[size];
+        this.regimes = new byte[size];
+        this.positionX = new float[size];
+        this.positionY = new float[size];
+        this.positionZ = new float[size];
+
+        double latest = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < size; i++) {
+            deriveRates(i);
+            latest = Math.max(latest, epochs[i]);
+        }
+        this.latestEpoch = size > 0 ? latest : 0;
+    }
+
+    /**
+     * Recover the Brouwer mean motion and semi-major axis from the Kozai mean motion in the
+     * element set, as SGP4 does, then the first-order J2 secular rates
+     */
+    private void deriveRates(int i) {
+        double cosI = Math.cos(inclinations[i]);
+        cosInclinations[i] = cosI;
+        sinInclinations[i] = Math.sin(inclinations[i]);
+        double e2 = eccentricities[i] * eccentricities[i];
+        double beta = Math.sqrt(1 - e2);
+        double shape = 3 * cosI * cosI - 1;
+
+        double a1 = Math.pow(KE / meanMotions[i], 2.0 / 3.0);
+        double k = 0.75 * J2 * shape / (beta * beta * beta);
+        double d1 = k / (a1 * a1);
+        double a0 = a1 * (1 - d1 / 3 - d1 * d1 - 134.0 / 81.0 * d1 * d1 * d1);
+        double d0 = k / (a0 * a0);
+        double n = meanMotions[i] / (1 + d0);
+        double a = a0 / (1 - d0);
+
+        double p = a * (1 - e2);
+        double j2p = J2 / (p * p);
+        meanMotions[i] = n;
+        semiMajorAxes[i] = a;
+        nodeRates[i] = -1.5 * n * j2p * cosI;
+        perigeeRates[i] = 0.75 * n * j2p * (5 * cosI * cosI - 1);
+        anomalyRates[i] = n * (1 + 0.75 * j2p * beta * shape);
+
+        double altitudeKm = (a - 1) * EARTH_RADIUS_KM;
+        regimes[i] = altitudeKm < 2000 ? LOW_EARTH_ORBIT : altitudeKm < 30000 ? MEDIUM_EARTH_ORBIT : HIGH_EARTH_ORBIT;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Name from the element set's title line, or the catalog number when it had none
+     */
+    public String getName(int index) {
+        return names[index] != null ? names[index] : String.valueOf(catalogNumbers[index]);
+    }
+
+    public int getCatalogNumber(int index) {
+        return catalogNumbers[index];
+    }
+
+    public double getEpoch(int index) {
+        return epochs[index];
+    }
+
+    /**
+     * Most recent element set epoch (Julian date), a sensible start for the simulation clock
+     */
+    public double getLatestEpoch() {
+        return latestEpoch;
+    }
+
+    public byte getRegime(int index) {
+        return regimes[index];
+    }
+
+    double[] getEpochs() {
+        return epochs;
+    }
+
+    double[] getCosInclinations() {
+        return cosInclinations;
+    }
+
+    double[] getSinInclinations() {
+        return sinInclinations;
+    }
+
+    double[] getAscendingNodes() {
+        return ascendingNodes;
+    }
+
+    double[] getEccentricities() {
+        return eccentricities;
+    }
+
+    double[] getPerigees() {
+        return perigees;
+    }
+
+    double[] getMeanAnomalies() {
+        return meanAnomalies;
+    }
+
+    double[] getMeanMotions() {
+        return meanMotions;
+    }
+
+    double[] getMeanMotionDecay() {
+        return meanMotionDecay;
+    }
+
+    double[] getSemiMajorAxes() {
+        return semiMajorAxes;
+    }
+
+    double[] getNodeRates() {
+        return nodeRates;
+    }
+
+    double[] getPerigeeRates() {
+        return perigeeRates;
+    }
+
+    double[] getAnomalyRates() {
+        return anomalyRates;
+    }
+
+    /**
+     * Propagated inertial x (towards the vernal equinox), kilometres
+     */
+    public float[] getPositionX() {
+        return positionX;
+    }
+
+    public float[] getPositionY() {
+        return positionY;
+    }
+
+    /**
+     * Propagated inertial z (towards the north pole), kilometres
+     */
+    public float[] getPositionZ() {
+        return positionZ;
+    }
+
+    public byte[] getRegimes() {
+        return regimes;
+    }
+}
@@ -0,0 +1,72 @@
+package com.dqrapps.global.orbit;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * UTC clock for sun-driven lighting, either the system clock or a simulated one that starts
+ * at a given instant and runs at a multiple of real time. The subsolar point is computed at
+ * most once per (clock) second and cached, so a frame only compares a second counter.
+ * Not thread-safe; each viewport owns its clock.
+ */
+public class SolarClock {
+    private final Instant start;
+    private final double timeScale;
+    private final long startNanos;
+    private SolarPosition cached;
+
+    /**
+     * Clock that follows the system's UTC time
+     */
+    public SolarClock() {
+        this(null, 1.0);
+    }
+
+    /**
+     * Simulated clock starting at {@code start} (now when null) and advancing {@code timeScale}
+     * seconds per real second; a null start with a scale of 1 follows the system clock
+     */
+    public SolarClock(Instant start, double timeScale) {
+        if (start == null && timeScale == 1.0) {
+            this.start = null;
+        } else {
+            this.start = start != null ? start : Instant.now();
+        }
+        this.timeScale = timeScale;
+        this.startNanos = System.nanoTime();
+    }
+
+    /**
+     * Current time on this clock
+     */
+    public Instant now() {
+        if (start == null) {
+            return Instant.now();
+        }
+        long elapsedNanos = (long) ((System.nanoTime() - startNanos) * timeScale);
+        return start.plusSeconds(TimeUnit.NANOSECONDS.toSeconds(elapsedNanos))
+            .plusNanos(elapsedNanos % TimeUnit.SECONDS.toNanos(1));
+    }
+
+    /**
+     * Subsolar point for the current second; the same instance is returned until the second changes
+     */
+    public SolarPosition getPosition() {
+        long second = now().getEpochSecond();
+        if (cached == null || cached.getEpochSecond() != second) {
+            cached = SolarEphemeris.position(Instant.ofEpochSecond(second));
+        }
+        return cached;
+    }
+
+    /**
+     * Whether this clock runs at a simulated time rather than the system's
+     */
+    public boolean isSimulated() {
+        return start != null;
+    }
+
+    public double getTimeScale() {
+        return timeScale;
+    }
+}
@@ -0,0 +1,53 @@
+package com.dqrapps.global.orbit;
+
+import java.time.Instant;
+
+/**
+ * Low-precision solar ephemeris (the Astronomical Almanac's approximation, good to about 0.01
+ * degrees between 1950 and 2050): the Sun's ecliptic longitude from its mean longitude and
+ * mean anomaly, converted to right ascension and declination, and placed over the Earth with
+ * the Greenwich mean sidereal time. The equation of time follows from the right ascension.
+ */
+public final class SolarEphemeris {
+    private static final double J2000 = 2451545.0;
+    private static final double UNIX_EPOCH_JULIAN_DATE = 2440587.5;
+    private static final double SECONDS_PER_DAY = 86400.0;
+
+    private SolarEphemeris() {
+    }
+
+    /**
+     * Subsolar point at the given instant
+     */
+    public static SolarPosition position(Instant instant) {
+        double n = julianDate(instant) - J2000;
+        double meanLongitude = Math.toRadians(280.460 + 0.9856474 * n);
+        double meanAnomaly = Math.toRadians(357.528 + 0.9856003 * n);
+        double eclipticLongitude = meanLongitude
+            + Math.toRadians(1.915) * Math.sin(meanAnomaly)
+            + Math.toRadians(0.020) * Math.sin(2 * meanAnomaly);
+        double obliquity = Math.toRadians(23.439 - 0.0000004 * n);
+
+        double rightAscension = Math.atan2(Math.cos(obliquity) * Math.sin(eclipticLongitude),
+            Math.cos(eclipticLongitude));
+        double declination = Math.asin(Math.sin(obliquity) * Math.sin(eclipticLongitude));
+        double sidereal = wrap(Math.toRadians(280.46061837 + 360.98564736629 * n));
+        double longitude = wrap(rightAscension - sidereal + Math.PI) - Math.PI;
+        return new SolarPosition(instant.getEpochSecond(), declination, longitude, sidereal);
+    }
+
+    /**
+     * Julian date of an instant, treating UTC as UT1 (within a second)
+     */
+    public static double julianDate(Instant instant) {
+        return UNIX_EPOCH_JULIAN_DATE + (instant.getEpochSecond() + instant.getNano() / 1e9) / SECONDS_PER_DAY;
+    }
+
+    /**
+     * Angle in 0..2pi
+     */
+    private static double wrap(double angle) {
+        double wrapped = angle % (2 * Math.PI);
+        return wrapped < 0 ? wrapped + 2 * Math.PI : wrapped;
+    }
+}
@@ -0,0 +1,55 @@
+package com.dqrapps.global.orbit;
+
+/**
+ * Where the Sun is overhead at one instant, and the Earth's rotation angle at that instant
+ */
+public class SolarPosition {
+    private final long epochSecond;
+    private final double latitude;
+    private final double longitude;
+    private final double siderealAngle;
+
+    /**
+     * Subsolar latitude and longitude and the Greenwich sidereal angle, all in radians
+     */
+    public SolarPosition(long epochSecond, double latitude, double longitude, double siderealAngle) {
+        this.epochSecond = epochSecond;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.siderealAngle = siderealAngle;
+    }
+
+    /**
+     * UTC second the position was computed for
+     */
+    public long getEpochSecond() {
+        return epochSecond;
+    }
+
+    public double getLatitude() {
+        return latitude;
+    }
+
+    /**
+     * East longitude, in -pi..pi
+     */
+    public double getLongitude() {
+        return longitude;
+    }
+
+    /**
+     * Greenwich mean sidereal time as an angle, in 0..2pi; grows by 2pi per sidereal day
+     */
+    public double getSiderealAngle() {
+        return siderealAngle;
+    }
+
+    /**
+     * Unit vector towards the Sun in the planet's body frame, the frame the sphere is shaded in
+     * (x and z span the equator, y points to the south pole)
+     */
+    public double[] getBodyDirection() {
+        double cosLat = Math.cos(latitude);
+        return new double[]{cosLat * Math.cos(longitude), -Math.sin(latitude), cosLat * Math.sin(longitude)};
+    }
+}
@@ -0,0 +1,243 @@
+package com.dqrapps.global.orbit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Streaming parser for two-line element (TLE) files, with or without a name line before
+ * each pair. The file is memory-mapped and scanned once; numeric fields are decoded straight
+ * from their fixed columns in the mapped bytes, so no line or field strings are created and
+ * only the optional satellite names are copied. Lines failing their checksum are skipped.
+ */
+public class TleParser {
+    private static final Logger logger = LoggerFactory.getLogger(TleParser.class);
+    private static final int LINE_LENGTH = 69;
+    private static final double REVS_PER_DAY = 2 * Math.PI / 1440.0;
+    private static final double REVS_PER_DAY_SQUARED = 2 * Math.PI / (1440.0 * 1440.0);
+    private static final double[] POWERS_OF_TEN = {1, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11};
+
+    private final ByteBuffer buffer;
+    private int count;
+    private int skipped;
+    private String[] names;
+    private int[] catalogNumbers;
+    private double[] epochs;
+    private double[] inclinations;
+    private double[] ascendingNodes;
+    private double[] eccentricities;
+    private double[] perigees;
+    private double[] meanAnomalies;
+    private double[] meanMotions;
+    private double[] meanMotionDecay;
+
+    private TleParser(ByteBuffer buffer) {
+        this.buffer = buffer;
+        // A named element set takes about 165 bytes
+        allocate(buffer.remaining() / 140 + 16);
+    }
+
+    /**
+     * Memory-map and parse a TLE file
+     */
+    public static SatelliteCatalog parse(Path path) throws IOException {
+        long start = System.nanoTime();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("TLE file too large to map: " + path);
+            }
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            TleParser parser = new TleParser(mapped);
+            SatelliteCatalog catalog = parser.parseAll();
+            logger.info("Parsed {} element sets from {} in {} ms ({} skipped)", catalog.size(), path,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), parser.skipped);
+            return catalog;
+        }
+    }
+
+    /**
+     * Parse TLE text already in memory, from the buffer's position to its limit
+     */
+    public static SatelliteCatalog parse(ByteBuffer buffer) {
+        return new TleParser(buffer).parseAll();
+    }
+
+    private SatelliteCatalog parseAll() {
+        int position = buffer.position();
+        int limit = buffer.limit();
+        int nameStart = -1;
+        int nameEnd = -1;
+        int firstLine = -1;
+
+        while (position < limit) {
+            int end = position;
+            while (end < limit && buffer.get(end) != '\n') end++;
+            int contentEnd = end > position && buffer.get(end - 1) == '\r' ? end - 1 : end;
+            int length = contentEnd - position;
+
+            if (isElementLine(position, length, '1')) {
+                if (firstLine >= 0) skipped++;
+                firstLine = position;
+            } else if (isElementLine(position, length, '2') && firstLine >= 0) {
+                if (checksumValid(firstLine) && checksumValid(position)
+                        && catalogNumber(firstLine) == catalogNumber(position)) {
+                    add(firstLine, position, nameStart, nameEnd);
+                } else {
+                    skipped++;
+                }
+                firstLine = -1;
+                nameStart = -1;
+            } else if (length > 0) {
+                if (firstLine >= 0) skipped++;
+                firstLine = -1;
+                nameStart = position;
+                nameEnd = contentEnd;
+            }
+            position = end + 1;
+        }
+        if (firstLine >= 0) skipped++;
+
+        trim();
+        return new SatelliteCatalog(count, names, catalogNumbers, epochs, inclinations, ascendingNodes,
+                eccentricities, perigees, meanAnomalies, meanMotions, meanMotionDecay);
+    }
+
+    private boolean isElementLine(int start, int length, char lineNumber) {
+        return length >= LINE_LENGTH && buffer.get(start) == lineNumber && buffer.get(start + 1) == ' ';
+    }
+
+    private void add(int line1, int line2, int nameStart, int nameEnd) {
+        if (count == catalogNumbers.length) {
+            grow(count * 2);
+        }
+        int i = count++;
+        names[i] = nameStart >= 0 ? readName(nameStart, nameEnd) : null;
+        catalogNumbers[i] = catalogNumber(line1);
+
+        // Line 1: epoch year (cols 19-20), day of year with fraction (21-32), mean motion / 2 (34-43)
+        int year = (int) parseNumber(line1 + 18, line1 + 20);
+        year += year < 57 ? 2000 : 1900;
+        epochs[i] = julianDateOfYear(year) - 1 + parseNumber(line1 + 20, line1 + 32);
+        meanMotionDecay[i] = parseNumber(line1 + 33, line1 + 43) * REVS_PER_DAY_SQUARED;
+
+        // Line 2: angles in degrees, eccentricity with an implied leading decimal point, rev/day
+        inclinations[i] = Math.toRadians(parseNumber(line2 + 8, line2 + 16));
+        ascendingNodes[i] = Math.toRadians(parseNumber(line2 + 17, line2 + 25));
+        eccentricities[i] = parseNumber(line2 + 26, line2 + 33) / 1e7;
+        perigees[i] = Math.toRadians(parseNumber(line2 + 34, line2 + 42));
+        meanAnomalies[i] = Math.toRadians(parseNumber(line2 + 43, line2 + 51));
+        meanMotions[i] = parseNumber(line2 + 52, line2 + 63) * REVS_PER_DAY;
+    }
+
+    /**
+     * Decimal number in a fixed-width field: optional sign, digits, optional point and fraction;
+     * blanks are ignored
+     */
+    private double parseNumber(int from, int to) {
+        long digits = 0;
+        int fractionDigits = -1;
+        boolean negative = false;
+        for (int p = from; p < to; p++) {
+            byte c = buffer.get(p);
+            if (c >= '0' && c <= '9') {
+                digits = digits * 10 + (c - '0');
+                if (fractionDigits >= 0) fractionDigits++;
+            } else if (c == '.') {
+                fractionDigits = 0;
+            } else if (c == '-') {
+                negative = true;
+            }
+        }
+        double value = fractionDigits > 0 ? digits / POWERS_OF_TEN[fractionDigits] : digits;
+        return negative ? -value : value;
+    }
+
+    /**
+     * Satellite number in columns 3-7, including the Alpha-5 form where a leading letter
+     * (skipping I and O) stands for 10-33 ten-thousands
+     */
+    private int catalogNumber(int line) {
+        byte lead = buffer.get(line + 2);
+        if (lead >= 'A' && lead <= 'Z') {
+            int tenThousands = 10 + (lead - 'A') - (lead > 'I' ? 1 : 0) - (lead > 'O' ? 1 : 0);
+            return tenThousands * 10000 + (int) parseNumber(line + 3, line + 7);
+        }
+        return (int) parseNumber(line + 2, line + 7);
+    }
+
+    /**
+     * Column 69 holds the sum of digits in columns 1-68, counting minus signs as 1, modulo 10
+     */
+    private boolean checksumValid(int line) {
+        int sum = 0;
+        for (int p = line; p < line + LINE_LENGTH - 1; p++) {
+            byte c = buffer.get(p);
+            if (c >= '0' && c <= '9') {
+                sum += c - '0';
+            } else if (c == '-') {
+                sum++;
+            }
+        }
+        return buffer.get(line + LINE_LENGTH - 1) - '0' == sum % 10;
+    }
+
+    private String readName(int start, int end) {
+        // Space-Track three-line files prefix names with "0 "
+        if (end - start > 2 && buffer.get(start) == '0' && buffer.get(start + 1) == ' ') {
+            start += 2;
+        }
+        byte[] bytes = new byte[end - start];
+        for (int p = start; p < end; p++) {
+            bytes[p - start] = buffer.get(p);
+        }
+        return new String(bytes, StandardCharsets.ISO_8859_1).trim();
+    }
+
+    /**
+     * Julian date of January 1st, 0h UT, of a Gregorian year
+     */
+    static double julianDateOfYear(int year) {
+        return 367.0 * year - Math.floor(7 * year / 4.0) + 1721044.5;
+    }
+
+    private void allocate(int capacity) {
+        names = new String[capacity];
+        catalogNumbers = new int[capacity];
+        epochs = new double[capacity];
+        inclinations = new double[capacity];
+        ascendingNodes = new double[capacity];
+        eccentricities = new double[capacity];
+        perigees = new double[capacity];
+        meanAnomalies = new double[capacity];
+        meanMotions = new double[capacity];
+        meanMotionDecay = new double[capacity];
+    }
+
+    private void grow(int capacity) {
+        names = Arrays.copyOf(names, capacity);
+        catalogNumbers = Arrays.copyOf(catalogNumbers, capacity);
+        epochs = Arrays.copyOf(epochs, capacity);
+        inclinations = Arrays.copyOf(inclinations, capacity);
+        ascendingNodes = Arrays.copyOf(ascendingNodes, capacity);
+        eccentricities = Arrays.copyOf(eccentricities, capacity);
+        perigees = Arrays.copyOf(perigees, capacity);
+        meanAnomalies = Arrays.copyOf(meanAnomalies, capacity);
+        meanMotions = Arrays.copyOf(meanMotions, capacity);
+        meanMotionDecay = Arrays.copyOf(meanMotionDecay, capacity);
+    }
+
+    private void trim() {
+        if (count != catalogNumbers.length) {
+            grow(count);
+        }
+    }
+}
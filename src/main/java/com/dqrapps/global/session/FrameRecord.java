@@ -0,0 +1,46 @@
+package com.dqrapps.global.session;
+
+/**
+ * Render state of one recorded frame and how long the frame took on the recording display.
+ * Frames the recorder had to drop are counted on the next frame that was written, marking a
+ * gap after which the drawn frames no longer follow each other as recorded.
+ */
+public class FrameRecord {
+    private final long frameNumber;
+    private final long frameNanos;
+    private final RenderState state;
+    private final int droppedBefore;
+
+    public FrameRecord(long frameNumber, long frameNanos, RenderState state, int droppedBefore) {
+        this.frameNumber = frameNumber;
+        this.frameNanos = frameNanos;
+        this.state = state;
+        this.droppedBefore = droppedBefore;
+    }
+
+    public long getFrameNumber() {
+        return frameNumber;
+    }
+
+    public long getFrameNanos() {
+        return frameNanos;
+    }
+
+    public RenderState getState() {
+        return state;
+    }
+
+    /**
+     * Frames dropped immediately before this one
+     */
+    public int getDroppedBefore() {
+        return droppedBefore;
+    }
+
+    /**
+     * Whether this frame follows dropped frames rather than the previous recorded frame
+     */
+    public boolean isAfterGap() {
+        return droppedBefore > 0;
+    }
+}
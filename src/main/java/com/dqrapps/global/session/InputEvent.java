@@ -0,0 +1,34 @@
+package com.dqrapps.global.session;
+
+/**
+ * One recorded input, applied before the frame with the given number was drawn
+ */
+public class InputEvent {
+    private final long frameNumber;
+    private final long timestampMillis;
+    private final InputEventType type;
+    private final String value;
+
+    public InputEvent(long frameNumber, long timestampMillis, InputEventType type, String value) {
+        this.frameNumber = frameNumber;
+        this.timestampMillis = timestampMillis;
+        this.type = type;
+        this.value = value;
+    }
+
+    public long getFrameNumber() {
+        return frameNumber;
+    }
+
+    public long getTimestampMillis() {
+        return timestampMillis;
+    }
+
+    public InputEventType getType() {
+        return type;
+    }
+
+    public String getValue() {
+        return value;
+    }
+}
@@ -0,0 +1,18 @@
+package com.dqrapps.global.session;
+
+/**
+ * Kinds of user input captured in a recorded session
+ */
+public enum InputEventType {
+    DRAG,             // "dx,dy" or "dx,dy,shift"
+    PLANET,           // planet id
+    ANIMATION_SPEED,
+    SATELLITE_COUNT,
+    LIGHT_ANGLE,
+    SHOW_ORBITS,
+    SHOW_LIGHT_SOURCE,
+    SHOW_TERMINATOR,
+    RESOLUTION_SCALE,
+    ADAPTIVE_QUALITY,
+    RESET
+}
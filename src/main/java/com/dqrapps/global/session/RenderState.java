@@ -0,0 +1,128 @@
+package com.dqrapps.global.session;
+
+/**
+ * Immutable snapshot of everything that determines what one frame draws, so any frame can be
+ * restored on its own. Satellites are reproduced from their seed and phase: they are created
+ * from the seed and advanced by the animation time elapsed since then. A sun-driven light is
+ * kept as its body-frame direction, since the sun clock that produced it moves on between
+ * recording and replay.
+ */
+public class RenderState {
+    private final String planetId;
+    private final double earthRotation;
+    private final double cameraPitch;
+    private final double cameraTilt;
+    private final double lightAngle;
+    private final double[] sunDirection;
+    private final double animationTime;
+    private final double animationSpeed;
+    private final int satelliteCount;
+    private final long satelliteSeed;
+    private final double satellitePhase;
+    private final boolean showOrbits;
+    private final boolean showLightSource;
+    private final boolean showTerminator;
+    private final double resolutionScale;
+    private final int qualityLevel;
+
+    public RenderState(String planetId, double earthRotation, double cameraPitch, double cameraTilt,
+                       double lightAngle, double[] sunDirection, double animationTime, double animationSpeed,
+                       int satelliteCount, long satelliteSeed, double satellitePhase,
+                       boolean showOrbits, boolean showLightSource, boolean showTerminator,
+                       double resolutionScale, int qualityLevel) {
+        this.planetId = planetId;
+        this.earthRotation = earthRotation;
+        this.cameraPitch = cameraPitch;
+        this.cameraTilt = cameraTilt;
+        this.lightAngle = lightAngle;
+        this.sunDirection = sunDirection != null ? sunDirection.clone() : null;
+        this.animationTime = animationTime;
+        this.animationSpeed = animationSpeed;
+        this.satelliteCount = satelliteCount;
+        this.satelliteSeed = satelliteSeed;
+        this.satellitePhase = satellitePhase;
+        this.showOrbits = showOrbits;
+        this.showLightSource = showLightSource;
+        this.showTerminator = showTerminator;
+        this.resolutionScale = resolutionScale;
+        this.qualityLevel = qualityLevel;
+    }
+
+    public String getPlanetId() {
+        return planetId;
+    }
+
+    public double getEarthRotation() {
+        return earthRotation;
+    }
+
+    public double getCameraPitch() {
+        return cameraPitch;
+    }
+
+    public double getCameraTilt() {
+        return cameraTilt;
+    }
+
+    public double getLightAngle() {
+        return lightAngle;
+    }
+
+    /**
+     * Body-frame unit vector towards the subsolar point when the light followed the sun clock,
+     * or null for the manual light angle
+     */
+    public double[] getSunDirection() {
+        return sunDirection != null ? sunDirection.clone() : null;
+    }
+
+    public boolean isSunDriven() {
+        return sunDirection != null;
+    }
+
+    public double getAnimationTime() {
+        return animationTime;
+    }
+
+    public double getAnimationSpeed() {
+        return animationSpeed;
+    }
+
+    public int getSatelliteCount() {
+        return satelliteCount;
+    }
+
+    public long getSatelliteSeed() {
+        return satelliteSeed;
+    }
+
+    /**
+     * Animation time the satellites have advanced since they were created from their seed
+     */
+    public double getSatellitePhase() {
+        return satellitePhase;
+    }
+
+    public boolean isShowOrbits() {
+        return showOrbits;
+    }
+
+    public boolean isShowLightSource() {
+        return showLightSource;
+    }
+
+    public boolean isShowTerminator() {
+        return showTerminator;
+    }
+
+    public double getResolutionScale() {
+        return resolutionScale;
+    }
+
+    /**
+     * Adaptive quality ladder level the frame was drawn at
+     */
+    public int getQualityLevel() {
+        return qualityLevel;
+    }
+}
@@ -0,0 +1,58 @@
+package com.dqrapps.global.session;
+
+import com.dqrapps.global.metrics.LatencyHistogram;
+
+/**
+ * Frame times of a session as recorded and as replayed on this machine. Frames that follow a
+ * recorder gap are replayed but left out of the comparison, since the frames drawn before them
+ * differ between the recording and the replay.
+ */
+public class ReplayReport {
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final long sessionId;
+    private final LatencyHistogram recorded;
+    private final LatencyHistogram replayed;
+    private final long framesAfterGaps;
+
+    public ReplayReport(long sessionId, LatencyHistogram recorded, LatencyHistogram replayed, long framesAfterGaps) {
+        this.sessionId = sessionId;
+        this.recorded = recorded;
+        this.replayed = replayed;
+        this.framesAfterGaps = framesAfterGaps;
+    }
+
+    public long getSessionId() {
+        return sessionId;
+    }
+
+    /**
+     * Frames whose recorded and replayed times are compared
+     */
+    public long getFrameCount() {
+        return replayed.getTotalCount();
+    }
+
+    /**
+     * Frames replayed after a recorder gap and left out of the comparison
+     */
+    public long getFramesAfterGaps() {
+        return framesAfterGaps;
+    }
+
+    public double getRecordedMillis(double percentile) {
+        return recorded.getValueAtPercentile(percentile) / NANOS_PER_MILLI;
+    }
+
+    public double getReplayedMillis(double percentile) {
+        return replayed.getValueAtPercentile(percentile) / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Session %d, %d frames (%d after recorder gaps not compared): "
+                + "recorded p50 %.2f p99 %.2f ms, replayed p50 %.2f p99 %.2f ms",
+                sessionId, getFrameCount(), framesAfterGaps, getRecordedMillis(50), getRecordedMillis(99),
+                getReplayedMillis(50), getReplayedMillis(99));
+    }
+}
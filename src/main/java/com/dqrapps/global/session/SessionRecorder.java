@@ -0,0 +1,125 @@
+package com.dqrapps.global.session;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records a render session to a {@link SessionStore}. The painting thread only enqueues
+ * immutable records; a background writer drains the queue and inserts them in JDBC batches.
+ * If the writer falls behind, records are dropped and counted rather than stalling frames;
+ * the next frame written after dropped frames carries a gap marker.
+ */
+public class SessionRecorder implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(SessionRecorder.class);
+    private static final int QUEUE_CAPACITY = 8192;
+    private static final int MAX_BATCH = 512;
+
+    private final SessionStore store;
+    private final long sessionId;
+    private final BlockingQueue<Object> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final Thread writer;
+    private volatile boolean running = true;
+    private volatile long droppedRecords;
+    private long frameNumber;
+    private int droppedFrames; // Frames dropped since the last frame written
+
+    public SessionRecorder(SessionStore store, String description, int width, int height) {
+        this.store = store;
+        this.sessionId = store.createSession(description, width, height);
+        this.writer = new Thread(this::writeLoop, "session-writer-" + sessionId);
+        writer.setDaemon(true);
+        writer.start();
+        logger.info("Recording render session {}", sessionId);
+    }
+
+    /**
+     * Record the state a frame was drawn with; painting thread only
+     */
+    public void recordFrame(RenderState state, long frameNanos) {
+        if (enqueue(new FrameRecord(frameNumber++, frameNanos, state, droppedFrames))) {
+            droppedFrames = 0;
+        } else {
+            droppedFrames++;
+        }
+    }
+
+    /**
+     * Record an input that takes effect from the next frame; painting thread only
+     */
+    public void recordInput(InputEventType type, Object value) {
+        enqueue(new InputEvent(frameNumber, System.currentTimeMillis(), type, String.valueOf(value)));
+    }
+
+    private boolean enqueue(Object record) {
+        if (!running) return true;
+        if (queue.offer(record)) return true;
+        droppedRecords++;
+        return false;
+    }
+
+    private void writeLoop() {
+        List<Object> batch = new ArrayList<>(MAX_BATCH);
+        while (running || !queue.isEmpty()) {
+            try {
+                Object first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+                queue.drainTo(batch, MAX_BATCH - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (RuntimeException e) {
+                logger.error("Failed to write {} session records: {}", batch.size(), e.getMessage());
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<Object> batch) {
+        List<FrameRecord> frames = new ArrayList<>(batch.size());
+        List<InputEvent> events = new ArrayList<>();
+        for (Object record : batch) {
+            if (record instanceof FrameRecord) {
+                frames.add((FrameRecord) record);
+            } else {
+                events.add((InputEvent) record);
+            }
+        }
+        store.insertFrames(sessionId, frames);
+        store.insertEvents(sessionId, events);
+    }
+
+    public long getSessionId() {
+        return sessionId;
+    }
+
+    /**
+     * Records discarded because the writer queue was full
+     */
+    public long getDroppedRecords() {
+        return droppedRecords;
+    }
+
+    /**
+     * Stop accepting records and wait for the queue to be written
+     */
+    @Override
+    public void close() {
+        if (!running) return;
+        running = false;
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        logger.info("Session {} recorded: {} frames, {} records dropped", sessionId, frameNumber, droppedRecords);
+    }
+}
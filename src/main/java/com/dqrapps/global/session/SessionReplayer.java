@@ -0,0 +1,122 @@
+package com.dqrapps.global.session;
+
+import com.dqrapps.global.metrics.LatencyHistogram;
+import com.dqrapps.global.ui.FramePacing;
+import com.dqrapps.global.ui.FrameScheduler;
+import com.dqrapps.global.ui.GlobePanel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Re-renders a recorded session frame by frame. Each frame's state is restored before it is
+ * painted exactly once, so the sequence of drawn frames matches the recording and frame
+ * times can be compared against the production display that recorded it. Every frame's state
+ * is complete, so the recorded input events are not needed to replay it. The panel animates by
+ * one nominal frame per painted frame while replaying, not by wall-clock time, and its sun clock
+ * is held so the recorded light and rotation are drawn; both resume afterwards.
+ */
+public class SessionReplayer {
+    private static final Logger logger = LoggerFactory.getLogger(SessionReplayer.class);
+
+    private final SessionStore store;
+
+    public SessionReplayer(SessionStore store) {
+        this.store = store;
+    }
+
+    /**
+     * Replay into an offscreen image of the given size on the calling thread
+     */
+    public ReplayReport replayOffscreen(long sessionId, GlobePanel panel, int width, int height) {
+        List<FrameRecord> frames = load(sessionId);
+        LatencyHistogram recorded = new LatencyHistogram();
+        LatencyHistogram replayed = new LatencyHistogram();
+        long framesAfterGaps = 0;
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        panel.awaitTextures();
+        panel.setSize(width, height);
+        panel.setAdaptiveQuality(false);
+        boolean realTimeAnimation = panel.isRealTimeAnimation();
+        panel.setRealTimeAnimation(false);
+        panel.setReplaying(true);
+        try {
+            for (FrameRecord frame : frames) {
+                panel.applyRenderState(frame.getState());
+                Graphics2D g2d = target.createGraphics();
+                panel.paint(g2d);
+                g2d.dispose();
+                if (frame.isAfterGap()) {
+                    framesAfterGaps++;
+                } else {
+                    recorded.record(frame.getFrameNanos());
+                    replayed.record(panel.getFrameMetrics().getLastFrameNanos());
+                }
+            }
+        } finally {
+            panel.setRealTimeAnimation(realTimeAnimation);
+            panel.setReplaying(false);
+        }
+        ReplayReport report = new ReplayReport(sessionId, recorded, replayed, framesAfterGaps);
+        logger.info("{}", report);
+        return report;
+    }
+
+    /**
+     * Replay on screen once the panel's textures have loaded, one frame per deadline of a
+     * {@link FrameScheduler} with fixed pacing at the panel's target rate, so the replayed frames
+     * are paced like live ones; must be called on the EDT with the panel's own frame scheduler
+     * stopped. The callback receives the report after the last frame.
+     */
+    public void replay(long sessionId, GlobePanel panel, Consumer<ReplayReport> onFinished) {
+        panel.whenTexturesReady(() -> replayFrames(sessionId, panel, onFinished));
+    }
+
+    private void replayFrames(long sessionId, GlobePanel panel, Consumer<ReplayReport> onFinished) {
+        List<FrameRecord> frames = load(sessionId);
+        LatencyHistogram recorded = new LatencyHistogram();
+        LatencyHistogram replayed = new LatencyHistogram();
+        panel.setAdaptiveQuality(false);
+        boolean realTimeAnimation = panel.isRealTimeAnimation();
+        panel.setRealTimeAnimation(false);
+        panel.setReplaying(true);
+        int[] next = {0};
+        long[] framesAfterGaps = {0};
+        FrameScheduler[] scheduler = new FrameScheduler[1];
+        scheduler[0] = new FrameScheduler(FramePacing.FIXED, panel.getTargetFps(), () -> {
+            if (next[0] >= frames.size()) {
+                scheduler[0].close();
+                panel.setRealTimeAnimation(realTimeAnimation);
+                panel.setReplaying(false);
+                ReplayReport report = new ReplayReport(sessionId, recorded, replayed, framesAfterGaps[0]);
+                logger.info("{}", report);
+                onFinished.accept(report);
+                return;
+            }
+            FrameRecord frame = frames.get(next[0]++);
+            panel.applyRenderState(frame.getState());
+            panel.paintImmediately(0, 0, panel.getWidth(), panel.getHeight());
+            if (frame.isAfterGap()) {
+                framesAfterGaps[0]++;
+            } else {
+                recorded.record(frame.getFrameNanos());
+                replayed.record(panel.getFrameMetrics().getLastFrameNanos());
+            }
+        });
+        scheduler[0].start();
+    }
+
+    private List<FrameRecord> load(long sessionId) {
+        List<FrameRecord> frames = store.loadFrames(sessionId);
+        if (frames.isEmpty()) {
+            throw new IllegalArgumentException("No recorded frames for session " + sessionId);
+        }
+        logger.info("Replaying session {}: {} frames, {} after recorder gaps", sessionId, frames.size(),
+                frames.stream().filter(FrameRecord::isAfterGap).count());
+        return frames;
+    }
+}
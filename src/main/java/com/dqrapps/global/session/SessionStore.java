@@ -0,0 +1,173 @@
+package com.dqrapps.global.session;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * JDBC access to recorded sessions. The schema is created on first use, so the database
+ * is only opened when a session is recorded or replayed.
+ */
+public class SessionStore {
+    private static final String INSERT_FRAME = "INSERT INTO render_frame (session_id, frame_number, frame_nanos, "
+            + "planet_id, earth_rotation, camera_pitch, camera_tilt, light_angle, sun_x, sun_y, sun_z, animation_time, "
+            + "animation_speed, satellite_count, satellite_seed, satellite_phase, show_orbits, show_light_source, "
+            + "show_terminator, resolution_scale, quality_level, dropped_before) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_EVENT = "INSERT INTO input_event "
+            + "(session_id, frame_number, timestamp_millis, event_type, event_value) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile boolean schemaReady;
+
+    public SessionStore(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    private void ensureSchema() {
+        if (schemaReady) return;
+        synchronized (this) {
+            if (schemaReady) return;
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS render_session ("
+                    + "id BIGINT AUTO_INCREMENT PRIMARY KEY, started_at TIMESTAMP NOT NULL, "
+                    + "width INT NOT NULL, height INT NOT NULL, description VARCHAR(255))");
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS render_frame ("
+                    + "session_id BIGINT NOT NULL, frame_number BIGINT NOT NULL, frame_nanos BIGINT NOT NULL, "
+                    + "planet_id VARCHAR(64) NOT NULL, earth_rotation DOUBLE NOT NULL, camera_pitch DOUBLE NOT NULL, "
+                    + "camera_tilt DOUBLE NOT NULL, light_angle DOUBLE NOT NULL, animation_time DOUBLE NOT NULL, "
+                    + "animation_speed DOUBLE NOT NULL, satellite_count INT NOT NULL, satellite_seed BIGINT NOT NULL, "
+                    + "show_orbits BOOLEAN NOT NULL, show_light_source BOOLEAN NOT NULL, show_terminator BOOLEAN NOT NULL, "
+                    + "resolution_scale DOUBLE NOT NULL, quality_level INT NOT NULL, "
+                    + "PRIMARY KEY (session_id, frame_number))");
+            // Columns added since the first schema; older sessions read them as zero
+            jdbcTemplate.execute("ALTER TABLE render_frame ADD COLUMN IF NOT EXISTS "
+                    + "satellite_phase DOUBLE DEFAULT 0 NOT NULL");
+            jdbcTemplate.execute("ALTER TABLE render_frame ADD COLUMN IF NOT EXISTS "
+                    + "dropped_before INT DEFAULT 0 NOT NULL");
+            // Null unless the light followed the sun clock
+            jdbcTemplate.execute("ALTER TABLE render_frame ADD COLUMN IF NOT EXISTS sun_x DOUBLE");
+            jdbcTemplate.execute("ALTER TABLE render_frame ADD COLUMN IF NOT EXISTS sun_y DOUBLE");
+            jdbcTemplate.execute("ALTER TABLE render_frame ADD COLUMN IF NOT EXISTS sun_z DOUBLE");
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS input_event ("
+                    + "session_id BIGINT NOT NULL, frame_number BIGINT NOT NULL, timestamp_millis BIGINT NOT NULL, "
+                    + "event_type VARCHAR(32) NOT NULL, event_value VARCHAR(255))");
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS input_event_session ON input_event (session_id, frame_number)");
+            schemaReady = true;
+        }
+    }
+
+    /**
+     * Create a session row and return its id
+     */
+    public long createSession(String description, int width, int height) {
+        ensureSchema();
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    "INSERT INTO render_session (started_at, width, height, description) VALUES (?, ?, ?, ?)",
+                    Statement.RETURN_GENERATED_KEYS);
+            statement.setTimestamp(1, new Timestamp(System.currentTimeMillis()));
+            statement.setInt(2, width);
+            statement.setInt(3, height);
+            statement.setString(4, description);
+            return statement;
+        }, keys);
+        return keys.getKey().longValue();
+    }
+
+    /**
+     * Insert frames as one JDBC batch
+     */
+    public void insertFrames(long sessionId, List<FrameRecord> frames) {
+        if (frames.isEmpty()) return;
+        ensureSchema();
+        jdbcTemplate.batchUpdate(INSERT_FRAME, frames, frames.size(), (statement, frame) -> {
+            RenderState state = frame.getState();
+            statement.setLong(1, sessionId);
+            statement.setLong(2, frame.getFrameNumber());
+            statement.setLong(3, frame.getFrameNanos());
+            statement.setString(4, state.getPlanetId());
+            statement.setDouble(5, state.getEarthRotation());
+            statement.setDouble(6, state.getCameraPitch());
+            statement.setDouble(7, state.getCameraTilt());
+            statement.setDouble(8, state.getLightAngle());
+            double[] sun = state.getSunDirection();
+            for (int i = 0; i < 3; i++) {
+                if (sun != null) {
+                    statement.setDouble(9 + i, sun[i]);
+                } else {
+                    statement.setNull(9 + i, Types.DOUBLE);
+                }
+            }
+            statement.setDouble(12, state.getAnimationTime());
+            statement.setDouble(13, state.getAnimationSpeed());
+            statement.setInt(14, state.getSatelliteCount());
+            statement.setLong(15, state.getSatelliteSeed());
+            statement.setDouble(16, state.getSatellitePhase());
+            statement.setBoolean(17, state.isShowOrbits());
+            statement.setBoolean(18, state.isShowLightSource());
+            statement.setBoolean(19, state.isShowTerminator());
+            statement.setDouble(20, state.getResolutionScale());
+            statement.setInt(21, state.getQualityLevel());
+            statement.setInt(22, frame.getDroppedBefore());
+        });
+    }
+
+    /**
+     * Insert input events as one JDBC batch
+     */
+    public void insertEvents(long sessionId, List<InputEvent> events) {
+        if (events.isEmpty()) return;
+        ensureSchema();
+        jdbcTemplate.batchUpdate(INSERT_EVENT, events, events.size(), (statement, event) -> {
+            statement.setLong(1, sessionId);
+            statement.setLong(2, event.getFrameNumber());
+            statement.setLong(3, event.getTimestampMillis());
+            statement.setString(4, event.getType().name());
+            statement.setString(5, event.getValue());
+        });
+    }
+
+    /**
+     * All frames of a session in frame order
+     */
+    public List<FrameRecord> loadFrames(long sessionId) {
+        ensureSchema();
+        return jdbcTemplate.query("SELECT * FROM render_frame WHERE session_id = ? ORDER BY frame_number",
+                (rs, row) -> new FrameRecord(rs.getLong("frame_number"), rs.getLong("frame_nanos"),
+                        new RenderState(rs.getString("planet_id"), rs.getDouble("earth_rotation"),
+                                rs.getDouble("camera_pitch"), rs.getDouble("camera_tilt"),
+                                rs.getDouble("light_angle"), sunDirection(rs), rs.getDouble("animation_time"),
+                                rs.getDouble("animation_speed"), rs.getInt("satellite_count"),
+                                rs.getLong("satellite_seed"), rs.getDouble("satellite_phase"),
+                                rs.getBoolean("show_orbits"), rs.getBoolean("show_light_source"),
+                                rs.getBoolean("show_terminator"), rs.getDouble("resolution_scale"),
+                                rs.getInt("quality_level")), rs.getInt("dropped_before")),
+                sessionId);
+    }
+
+    private static double[] sunDirection(ResultSet rs) throws SQLException {
+        double x = rs.getDouble("sun_x");
+        if (rs.wasNull()) return null;
+        return new double[]{x, rs.getDouble("sun_y"), rs.getDouble("sun_z")};
+    }
+
+    /**
+     * Input events of a session in frame order
+     */
+    public List<InputEvent> loadEvents(long sessionId) {
+        ensureSchema();
+        return jdbcTemplate.query("SELECT * FROM input_event WHERE session_id = ? ORDER BY frame_number, timestamp_millis",
+                (rs, row) -> new InputEvent(rs.getLong("frame_number"), rs.getLong("timestamp_millis"),
+                        InputEventType.valueOf(rs.getString("event_type")), rs.getString("event_value")),
+                sessionId);
+    }
+}
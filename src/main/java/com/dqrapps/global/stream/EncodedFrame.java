@@ -0,0 +1,29 @@
+package com.dqrapps.global.stream;
+
+/**
+ * One encoded frame shared by every subscriber. The bytes are written to each client
+ * as they are and must not be modified.
+ */
+public class EncodedFrame {
+    private final long sequence;
+    private final byte[] data;
+    private final long encodeNanos;
+
+    public EncodedFrame(long sequence, byte[] data, long encodeNanos) {
+        this.sequence = sequence;
+        this.data = data;
+        this.encodeNanos = encodeNanos;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public byte[] getData() {
+        return data;
+    }
+
+    public long getEncodeNanos() {
+        return encodeNanos;
+    }
+}
@@ -0,0 +1,141 @@
+package com.dqrapps.global.stream;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Embedded HTTP server for remote displays, built on the JDK's HTTP server so it adds no
+ * dependency and nothing listens unless streaming is enabled.
+ * <ul>
+ * <li>{@code /stream.mjpg}: multipart MJPEG stream, viewable in a browser or with curl</li>
+ * <li>{@code /frame.jpg}: the latest frame as a single JPEG</li>
+ * <li>{@code /}: a page showing the stream</li>
+ * </ul>
+ * Each client is served on its own thread, which blocks until the streamer publishes a newer
+ * frame and then writes the shared encoded bytes.
+ */
+public class FrameStreamServer implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(FrameStreamServer.class);
+    private static final String BOUNDARY = "frame";
+    private static final long FRAME_TIMEOUT_MILLIS = 5000;
+    private static final byte[] INDEX_PAGE = ("<!DOCTYPE html><html><head><title>Globe stream</title></head>"
+            + "<body style=\"margin:0;background:#000\"><img src=\"/stream.mjpg\" style=\"width:100%\"></body></html>")
+            .getBytes(StandardCharsets.UTF_8);
+
+    private final FrameStreamer streamer;
+    private final HttpServer server;
+    private final ExecutorService clientThreads;
+
+    public FrameStreamServer(int port, FrameStreamer streamer) throws IOException {
+        this.streamer = streamer;
+        this.server = HttpServer.create(new InetSocketAddress(port), 0);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.clientThreads = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "stream-client-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(clientThreads);
+        server.createContext("/stream.mjpg", this::serveStream);
+        server.createContext("/frame.jpg", this::serveFrame);
+        server.createContext("/", this::serveIndex);
+    }
+
+    public void start() {
+        server.start();
+        logger.info("Streaming frames on http://localhost:{}/stream.mjpg", getPort());
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    private void serveStream(HttpExchange exchange) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "multipart/x-mixed-replace; boundary=" + BOUNDARY);
+        exchange.getResponseHeaders().set("Cache-Control", "no-cache, no-store");
+        exchange.sendResponseHeaders(200, 0);
+        streamer.subscribe();
+        logger.info("Stream client connected from {} ({} watching)", exchange.getRemoteAddress(),
+                streamer.getSubscriberCount());
+        try (OutputStream out = exchange.getResponseBody()) {
+            long sequence = 0;
+            while (!streamer.isClosed()) {
+                EncodedFrame frame = streamer.awaitFrame(sequence, FRAME_TIMEOUT_MILLIS);
+                if (frame == null) continue;
+                sequence = frame.getSequence();
+                String header = "--" + BOUNDARY + "\r\nContent-Type: image/jpeg\r\nContent-Length: "
+                        + frame.getData().length + "\r\n\r\n";
+                out.write(header.getBytes(StandardCharsets.US_ASCII));
+                out.write(frame.getData());
+                out.write('\r');
+                out.write('\n');
+                out.flush();
+            }
+        } catch (IOException e) {
+            // Client went away
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            streamer.unsubscribe();
+            exchange.close();
+            logger.info("Stream client {} disconnected ({} watching)", exchange.getRemoteAddress(),
+                    streamer.getSubscriberCount());
+        }
+    }
+
+    private void serveFrame(HttpExchange exchange) throws IOException {
+        // A single-frame request counts as a viewer until a frame is available
+        EncodedFrame frame = streamer.getLatest();
+        if (frame == null || !streamer.isActive()) {
+            streamer.subscribe();
+            try {
+                frame = streamer.awaitFrame(frame == null ? 0 : frame.getSequence(), FRAME_TIMEOUT_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                streamer.unsubscribe();
+            }
+        }
+        if (frame == null) {
+            exchange.sendResponseHeaders(503, -1);
+            exchange.close();
+            return;
+        }
+        exchange.getResponseHeaders().set("Content-Type", "image/jpeg");
+        exchange.getResponseHeaders().set("Cache-Control", "no-cache, no-store");
+        exchange.sendResponseHeaders(200, frame.getData().length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(frame.getData());
+        }
+    }
+
+    private void serveIndex(HttpExchange exchange) throws IOException {
+        if (!"/".equals(exchange.getRequestURI().getPath())) {
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+            return;
+        }
+        exchange.getResponseHeaders().set("Content-Type", "text/html; charset=utf-8");
+        exchange.sendResponseHeaders(200, INDEX_PAGE.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(INDEX_PAGE);
+        }
+    }
+
+    @Override
+    public void close() {
+        streamer.close();
+        server.stop(0);
+        clientThreads.shutdownNow();
+    }
+}
@@ -0,0 +1,198 @@
+package com.dqrapps.global.stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Encodes rendered frames to JPEG once per tick for any number of stream subscribers.
+ * <p>
+ * The painting thread copies each frame into one of a few capture buffers and hands it to
+ * a small encoder pool; when every buffer is busy the frame is skipped rather than queued.
+ * Finished frames replace the latest frame, and subscribers wait for a newer sequence
+ * number and then write the same byte array, so a slow client only skips frames.
+ * Nothing is captured or encoded while there are no subscribers.
+ */
+public class FrameStreamer implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(FrameStreamer.class);
+
+    private final ExecutorService encoders;
+    private final BlockingQueue<BufferedImage> freeBuffers;
+    private final long minIntervalNanos;
+    private final float quality;
+    private final ThreadLocal<ImageWriter> writers = ThreadLocal.withInitial(
+            () -> ImageIO.getImageWritersByFormatName("jpeg").next());
+    private final AtomicInteger subscribers = new AtomicInteger();
+    private final AtomicLong encodedFrames = new AtomicLong();
+    private final AtomicLong skippedFrames = new AtomicLong();
+    private final Object frameLock = new Object();
+
+    private long nextSequence;
+    private long lastOfferNanos;
+    private EncodedFrame latest;
+    private volatile boolean closed;
+
+    /**
+     * @param maxFps   upper bound on encoded frames per second
+     * @param quality  JPEG quality, 0 to 1
+     * @param threads  encoder threads; one more capture buffer than threads is kept
+     */
+    public FrameStreamer(int maxFps, float quality, int threads) {
+        this.minIntervalNanos = TimeUnit.SECONDS.toNanos(1) / Math.max(1, maxFps);
+        this.quality = Math.max(0.05f, Math.min(1f, quality));
+        int encoderThreads = Math.max(1, threads);
+        this.freeBuffers = new ArrayBlockingQueue<>(encoderThreads + 1);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.encoders = Executors.newFixedThreadPool(encoderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "frame-encoder-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < encoderThreads + 1; i++) {
+            freeBuffers.add(new BufferedImage(1, 1, BufferedImage.TYPE_INT_RGB));
+        }
+    }
+
+    /**
+     * Whether frames are wanted; lets the panel skip offscreen capture when nobody watches
+     */
+    public boolean isActive() {
+        return !closed && subscribers.get() > 0;
+    }
+
+    /**
+     * Offer a finished frame from the painting thread. The pixels are copied, so the caller
+     * may reuse the image immediately. Frames beyond the rate limit or while every capture
+     * buffer is being encoded are skipped.
+     */
+    public void offer(BufferedImage frame) {
+        if (!isActive()) return;
+        long now = System.nanoTime();
+        if (now - lastOfferNanos < minIntervalNanos) return;
+        BufferedImage capture = freeBuffers.poll();
+        if (capture == null) {
+            skippedFrames.incrementAndGet();
+            return;
+        }
+        lastOfferNanos = now;
+
+        int width = frame.getWidth();
+        int height = frame.getHeight();
+        if (capture.getWidth() != width || capture.getHeight() != height) {
+            capture = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        }
+        int[] source = ((DataBufferInt) frame.getRaster().getDataBuffer()).getData();
+        int[] target = ((DataBufferInt) capture.getRaster().getDataBuffer()).getData();
+        System.arraycopy(source, 0, target, 0, width * height);
+
+        long sequence = ++nextSequence;
+        BufferedImage buffer = capture;
+        encoders.execute(() -> encode(sequence, buffer));
+    }
+
+    private void encode(long sequence, BufferedImage capture) {
+        long start = System.nanoTime();
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 * 1024);
+            ImageWriter writer = writers.get();
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(quality);
+            try (ImageOutputStream output = ImageIO.createImageOutputStream(bytes)) {
+                writer.setOutput(output);
+                writer.write(null, new IIOImage(capture, null, null), param);
+            }
+            publish(new EncodedFrame(sequence, bytes.toByteArray(), System.nanoTime() - start));
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Failed to encode stream frame {}: {}", sequence, e.getMessage());
+        } finally {
+            freeBuffers.offer(capture);
+        }
+    }
+
+    private void publish(EncodedFrame frame) {
+        synchronized (frameLock) {
+            // Encoders may finish out of order; never replace a newer frame
+            if (latest != null && latest.getSequence() >= frame.getSequence()) return;
+            latest = frame;
+            encodedFrames.incrementAndGet();
+            frameLock.notifyAll();
+        }
+    }
+
+    /**
+     * Wait for a frame newer than the given sequence number; null on timeout or close
+     */
+    public EncodedFrame awaitFrame(long afterSequence, long timeoutMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        synchronized (frameLock) {
+            while (!closed && (latest == null || latest.getSequence() <= afterSequence)) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) return null;
+                frameLock.wait(remaining);
+            }
+            return closed ? null : latest;
+        }
+    }
+
+    /**
+     * Most recent encoded frame, or null before the first
+     */
+    public EncodedFrame getLatest() {
+        synchronized (frameLock) {
+            return latest;
+        }
+    }
+
+    public void subscribe() {
+        subscribers.incrementAndGet();
+    }
+
+    public void unsubscribe() {
+        subscribers.decrementAndGet();
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.get();
+    }
+
+    public long getEncodedFrames() {
+        return encodedFrames.get();
+    }
+
+    /**
+     * Frames skipped because every capture buffer was still being encoded
+     */
+    public long getSkippedFrames() {
+        return skippedFrames.get();
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        encoders.shutdownNow();
+        synchronized (frameLock) {
+            frameLock.notifyAll();
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.dqrapps.global.ui;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+
+/**
+ * How a {@link FrameScheduler} decides when to paint the next frame
+ */
+public enum FramePacing {
+    /** Frames at the target rate against absolute deadlines, skipping rather than queueing late frames */
+    FIXED,
+    /** A new frame as soon as the previous one is painted, for benchmarking */
+    UNCAPPED,
+    /** Frames only when requested after a state change, at most at the target rate */
+    ON_DEMAND;
+
+    /** Used for unknown names */
+    public static final FramePacing DEFAULT = FIXED;
+    private static final Logger logger = LoggerFactory.getLogger(FramePacing.class);
+
+    /**
+     * Pacing for a property value such as "fixed", "uncapped" or "on-demand"; an unknown name
+     * is logged and falls back to {@link #DEFAULT}
+     */
+    public static FramePacing fromName(String name) {
+        try {
+            return valueOf(name.trim().toUpperCase().replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Unknown frame pacing '{}', expected one of {}; using {}", name,
+                Arrays.toString(values()).toLowerCase().replace('_', '-'), DEFAULT.name().toLowerCase());
+            return DEFAULT;
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.dqrapps.global.ui;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.swing.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives frame painting from a dedicated timing thread instead of a Swing Timer. Fixed pacing
+ * computes each deadline from the previous deadline rather than from when the timer fired,
+ * parks until shortly before it and yields out the rest, so the rate does not drift. At most
+ * one frame is queued on the event dispatch thread at a time; a frame whose deadline passes
+ * while the previous one is still painting is skipped and counted.
+ */
+public class FrameScheduler implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(FrameScheduler.class);
+    /** Parking overshoots by up to a millisecond or so; the last stretch is spent yielding */
+    private static final long SPIN_NANOS = TimeUnit.MICROSECONDS.toNanos(1500);
+
+    private final FramePacing pacing;
+    private final long intervalNanos;
+    private final Runnable paintFrame;
+    private final Object lock = new Object();
+    private final AtomicLong paintedFrames = new AtomicLong();
+    private final AtomicLong skippedFrames = new AtomicLong();
+
+    private boolean framePending;
+    private boolean frameRequested;
+    private volatile boolean running;
+    private Thread thread;
+
+    /**
+     * @param pacing     when to paint
+     * @param targetFps  frame rate for fixed pacing and the cap for on-demand pacing
+     * @param paintFrame paints one frame; always run on the event dispatch thread
+     */
+    public FrameScheduler(FramePacing pacing, int targetFps, Runnable paintFrame) {
+        this.pacing = pacing;
+        this.intervalNanos = TimeUnit.SECONDS.toNanos(1) / Math.max(1, targetFps);
+        this.paintFrame = paintFrame;
+    }
+
+    public synchronized void start() {
+        if (running) return;
+        running = true;
+        // On demand, the first frame shows the initial state
+        requestFrame();
+        thread = new Thread(this::run, "frame-scheduler");
+        thread.setDaemon(true);
+        thread.start();
+        logger.info("Frame scheduler started: {} pacing, {} ms interval", pacing,
+            String.format("%.2f", intervalNanos / 1e6));
+    }
+
+    /**
+     * Ask for a frame after a state change; only on-demand pacing waits for this
+     */
+    public void requestFrame() {
+        synchronized (lock) {
+            frameRequested = true;
+            lock.notifyAll();
+        }
+    }
+
+    private void run() {
+        long deadline = System.nanoTime();
+        try {
+            while (running) {
+                switch (pacing) {
+                    case FIXED:
+                        deadline += intervalNanos;
+                        sleepUntil(deadline);
+                        long late = System.nanoTime() - deadline;
+                        if (late > intervalNanos) {
+                            // After a stall, start over from now instead of bursting to catch up
+                            skippedFrames.addAndGet(late / intervalNanos);
+                            deadline = System.nanoTime();
+                        }
+                        if (!postFrame()) {
+                            skippedFrames.incrementAndGet();
+                        }
+                        break;
+                    case UNCAPPED:
+                        awaitPainted();
+                        postFrame();
+                        break;
+                    case ON_DEMAND:
+                        awaitRequest();
+                        sleepUntil(deadline + intervalNanos);
+                        // A change made while a frame is painting needs a frame of its own
+                        awaitPainted();
+                        deadline = System.nanoTime();
+                        postFrame();
+                        break;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Queue a frame on the event dispatch thread unless one is already waiting there
+     */
+    private boolean postFrame() {
+        synchronized (lock) {
+            if (framePending) return false;
+            framePending = true;
+            frameRequested = false;
+        }
+        SwingUtilities.invokeLater(() -> {
+            try {
+                if (running) {
+                    paintFrame.run();
+                    paintedFrames.incrementAndGet();
+                }
+            } finally {
+                synchronized (lock) {
+                    framePending = false;
+                    lock.notifyAll();
+                }
+            }
+        });
+        return true;
+    }
+
+    private void awaitPainted() throws InterruptedException {
+        synchronized (lock) {
+            while (running && framePending) {
+                lock.wait();
+            }
+        }
+    }
+
+    private void awaitRequest() throws InterruptedException {
+        synchronized (lock) {
+            while (running && !frameRequested) {
+                lock.wait();
+            }
+        }
+    }
+
+    private static void sleepUntil(long deadline) throws InterruptedException {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > SPIN_NANOS) {
+            LockSupport.parkNanos(remaining - SPIN_NANOS);
+            if (Thread.interrupted()) throw new InterruptedException();
+        }
+        while (deadline - System.nanoTime() > 0) {
+            Thread.yield();
+        }
+    }
+
+    public FramePacing getPacing() {
+        return pacing;
+    }
+
+    public long getPaintedFrames() {
+        return paintedFrames.get();
+    }
+
+    /**
+     * Frames not painted because the previous one was still painting at their deadline
+     */
+    public long getSkippedFrames() {
+        return skippedFrames.get();
+    }
+
+    @Override
+    public synchronized void close() {
+        if (running) {
+            logger.info("Frame scheduler stopped: {} frames painted, {} skipped", paintedFrames.get(),
+                skippedFrames.get());
+        }
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+            thread = null;
+        }
+        synchronized (lock) {
+            lock.notifyAll();
+        }
+    }
+}
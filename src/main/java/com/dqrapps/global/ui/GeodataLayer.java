@@ -0,0 +1,190 @@
+package com.dqrapps.global.ui;
+
+import com.dqrapps.global.geo.MarkerSet;
+import com.dqrapps.global.geo.PolylineSet;
+import com.dqrapps.global.graphics.CameraOrientation;
+
+import java.awt.*;
+import java.awt.geom.Path2D;
+
+/**
+ * Draws the graticule, coastlines and point markers over the sphere with fixed colours, so the
+ * overlay reads the same on the day and night sides. Features turn with the planet's spin,
+ * pitch and tilt; each set's spatial index rejects whole cells behind the planet, chunks and
+ * markers are then culled individually, and lines crossing the limb are clipped where they
+ * meet it. Work therefore follows the number of features facing the viewer.
+ */
+public class GeodataLayer {
+    private static final Color GRATICULE_COLOR = new Color(255, 255, 255, 70);
+    private static final Color COASTLINE_COLOR = new Color(255, 225, 140);
+    private static final BasicStroke GRATICULE_STROKE = new BasicStroke(0.8f);
+    // Opaque one-pixel lines take Java2D's unantialiased thin-line path, over ten times faster
+    // than antialiased stroking for the hundreds of thousands of points of a detailed coastline
+    private static final BasicStroke COASTLINE_STROKE = new BasicStroke(1f);
+    private static final int MARKER_SIZE = 3;
+    /** Points closer than this to the last one traced are dropped; stroking sub-pixel segments is wasted work */
+    private static final float MIN_SEGMENT_PIXELS = 1.5f;
+
+    private final Path2D.Float path = new Path2D.Float(Path2D.WIND_NON_ZERO, 4096);
+    private int[] candidates = new int[0];
+    private int testedFeatures;
+    private int drawnFeatures;
+
+    /**
+     * Draw the given sets; any of them may be null. The camera maps view directions to the body
+     * frame, as for the sphere.
+     */
+    public void draw(Graphics2D g2d, int centerX, int centerY, int radius, CameraOrientation camera,
+                     PolylineSet graticule, PolylineSet coastlines, MarkerSet markers) {
+        double[] m = camera.toMatrix();
+        testedFeatures = 0;
+        drawnFeatures = 0;
+        if (graticule != null) {
+            drawPolylines(g2d, centerX, centerY, radius, m, graticule, GRATICULE_COLOR, GRATICULE_STROKE, true);
+        }
+        if (coastlines != null) {
+            drawPolylines(g2d, centerX, centerY, radius, m, coastlines, COASTLINE_COLOR, COASTLINE_STROKE, false);
+        }
+        if (markers != null) {
+            drawMarkers(g2d, centerX, centerY, radius, m, markers);
+        }
+    }
+
+    /**
+     * Trace every visible chunk into one path and stroke it once
+     */
+    private void drawPolylines(Graphics2D g2d, int centerX, int centerY, int radius, double[] m,
+                               PolylineSet set, Color color, Stroke stroke, boolean antialias) {
+        // The viewer sits on view +z, so the body direction facing it is the matrix's third column
+        double eyeX = m[2];
+        double eyeY = m[5];
+        double eyeZ = m[8];
+        int count = set.getGrid().collect(eyeX, eyeY, eyeZ, ensureCandidates(set.getGrid().size()));
+        testedFeatures += count;
+        float[] xs = set.getPointX();
+        float[] ys = set.getPointY();
+        float[] zs = set.getPointZ();
+        path.reset();
+
+        for (int k = 0; k < count; k++) {
+            int chunk = candidates[k];
+            if (!set.isChunkVisible(chunk, eyeX, eyeY, eyeZ)) continue;
+            drawnFeatures++;
+            boolean penDown = false;
+            double previousX = 0;
+            double previousY = 0;
+            double previousZ = 0;
+            float tracedX = 0;
+            float tracedY = 0;
+            for (int p = set.getChunkStart(chunk), end = set.getChunkEnd(chunk); p <= end; p++) {
+                // Transposed view-to-body rotation takes the point to view space
+                double viewX = m[0] * xs[p] + m[3] * ys[p] + m[6] * zs[p];
+                double viewY = m[1] * xs[p] + m[4] * ys[p] + m[7] * zs[p];
+                double viewZ = m[2] * xs[p] + m[5] * ys[p] + m[8] * zs[p];
+                boolean front = viewZ >= 0;
+                if (p > set.getChunkStart(chunk) && front != (previousZ >= 0)) {
+                    // The segment crosses the limb; end or start the line where it does
+                    double t = previousZ / (previousZ - viewZ);
+                    double limbX = previousX + (viewX - previousX) * t;
+                    double limbY = previousY + (viewY - previousY) * t;
+                    double length = Math.sqrt(limbX * limbX + limbY * limbY);
+                    if (length > 0) {
+                        limbX /= length;
+                        limbY /= length;
+                    }
+                    float screenX = (float) (centerX + limbX * radius);
+                    float screenY = (float) (centerY + limbY * radius);
+                    if (penDown) {
+                        path.lineTo(screenX, screenY);
+                    } else {
+                        path.moveTo(screenX, screenY);
+                    }
+                    penDown = !penDown;
+                    // A line re-entering at the limb continues from there, not from where it left
+                    tracedX = screenX;
+                    tracedY = screenY;
+                }
+                if (front) {
+                    float screenX = (float) (centerX + viewX * radius);
+                    float screenY = (float) (centerY + viewY * radius);
+                    if (!penDown) {
+                        path.moveTo(screenX, screenY);
+                        penDown = true;
+                    } else if (p == end || Math.abs(screenX - tracedX) + Math.abs(screenY - tracedY) >= MIN_SEGMENT_PIXELS) {
+                        path.lineTo(screenX, screenY);
+                    } else {
+                        screenX = tracedX;
+                        screenY = tracedY;
+                    }
+                    tracedX = screenX;
+                    tracedY = screenY;
+                }
+                previousX = viewX;
+                previousY = viewY;
+                previousZ = viewZ;
+            }
+        }
+
+        Object antialiasing = g2d.getRenderingHint(RenderingHints.KEY_ANTIALIASING);
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING,
+            antialias ? RenderingHints.VALUE_ANTIALIAS_ON : RenderingHints.VALUE_ANTIALIAS_OFF);
+        g2d.setColor(color);
+        g2d.setStroke(stroke);
+        g2d.draw(path);
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, antialiasing);
+    }
+
+    /**
+     * Fill a small square per visible marker; colours are only switched between runs
+     */
+    private void drawMarkers(Graphics2D g2d, int centerX, int centerY, int radius, double[] m, MarkerSet markers) {
+        int count = markers.getGrid().collect(m[2], m[5], m[8], ensureCandidates(markers.size()));
+        testedFeatures += count;
+        float[] xs = markers.getX();
+        float[] ys = markers.getY();
+        float[] zs = markers.getZ();
+        int[] colors = markers.getColors();
+        Color currentColor = null;
+        int half = MARKER_SIZE / 2;
+
+        // Axis-aligned squares need no antialiasing, which keeps thousands of fills cheap
+        Object antialiasing = g2d.getRenderingHint(RenderingHints.KEY_ANTIALIASING);
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_OFF);
+        for (int k = 0; k < count; k++) {
+            int i = candidates[k];
+            double viewZ = m[2] * xs[i] + m[5] * ys[i] + m[8] * zs[i];
+            if (viewZ < 0) continue;
+            double viewX = m[0] * xs[i] + m[3] * ys[i] + m[6] * zs[i];
+            double viewY = m[1] * xs[i] + m[4] * ys[i] + m[7] * zs[i];
+            if (currentColor == null || currentColor.getRGB() != colors[i]) {
+                currentColor = new Color(colors[i], true);
+                g2d.setColor(currentColor);
+            }
+            g2d.fillRect(centerX + (int) Math.floor(viewX * radius) - half,
+                centerY + (int) Math.floor(viewY * radius) - half, MARKER_SIZE, MARKER_SIZE);
+            drawnFeatures++;
+        }
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, antialiasing);
+    }
+
+    private int[] ensureCandidates(int size) {
+        if (candidates.length < size) {
+            candidates = new int[size];
+        }
+        return candidates;
+    }
+
+    /**
+     * Polyline chunks and markers taken from index cells facing the viewer in the last frame
+     */
+    public int getTestedFeatures() {
+        return testedFeatures;
+    }
+
+    /**
+     * Polyline chunks and markers drawn in the last frame
+     */
+    public int getDrawnFeatures() {
+        return drawnFeatures;
+    }
+}
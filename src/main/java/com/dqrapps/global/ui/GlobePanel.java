@@ -1,52 +1,167 @@
 package com.dqrapps.global.ui;
 
+import com.dqrapps.global.geo.MarkerSet;
+import com.dqrapps.global.geo.PolylineSet;
+import com.dqrapps.global.graphics.CameraOrientation;
+import com.dqrapps.global.graphics.Java2DBackend;
 import com.dqrapps.global.graphics.LightingSystem;
+import com.dqrapps.global.graphics.OffscreenBackend;
+import com.dqrapps.global.graphics.QualityController;
+import com.dqrapps.global.graphics.RenderBackend;
+import com.dqrapps.global.graphics.RenderBackendType;
+import com.dqrapps.global.graphics.RenderQuality;
+import com.dqrapps.global.graphics.ShadingKernels;
+import com.dqrapps.global.graphics.TexelFormat;
+import com.dqrapps.global.graphics.TexelLayout;
 import com.dqrapps.global.graphics.SphereRenderer;
 import com.dqrapps.global.graphics.TextureManager;
+import com.dqrapps.global.metrics.FrameMetrics;
+import com.dqrapps.global.metrics.FrameStats;
+import com.dqrapps.global.metrics.RenderStage;
 import com.dqrapps.global.model.Planet;
+import com.dqrapps.global.model.PlanetCatalog;
 import com.dqrapps.global.model.Satellite;
 import com.dqrapps.global.model.SatelliteFactory;
+import com.dqrapps.global.orbit.OrbitPropagator;
+import com.dqrapps.global.orbit.SatelliteCatalog;
+import com.dqrapps.global.orbit.SolarClock;
+import com.dqrapps.global.orbit.SolarPosition;
+import com.dqrapps.global.session.InputEventType;
+import com.dqrapps.global.session.RenderState;
+import com.dqrapps.global.session.SessionRecorder;
+import com.dqrapps.global.stream.FrameStreamer;
 
 import javax.swing.*;
 import java.awt.*;
+import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
-import java.awt.event.MouseMotionListener;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Main panel for displaying the globe visualization
  * Uses composition pattern with specialized classes for different concerns
  */
 public class GlobePanel extends JPanel {
+    /** Frame rate the quality controller and frame metrics aim at until one is configured */
+    private static final int DEFAULT_TARGET_FPS = 60;
+    private static final Random SEED_SOURCE = new Random();
+    /** Simulated minutes of catalog orbit time per unit of animation time (0.5 min per frame) */
+    private static final double ORBIT_MINUTES_PER_TIME_UNIT = 25.0;
+    /** Animation steps are defined per nominal 60 FPS frame */
+    private static final double NOMINAL_FRAME_NANOS = TimeUnit.SECONDS.toNanos(1) / 60.0;
+    /** Longest real-time step (a quarter second), so stalls and idle periods do not jump the animation */
+    private static final double MAX_ANIMATION_STEPS = 15;
+    private static final Font HUD_FONT = new Font("Arial", Font.BOLD, 16);
+    private static final Font HINT_FONT = new Font("Arial", Font.PLAIN, 12);
+    private static final String HINT_TEXT = "Drag to rotate and pitch, Shift+drag to tilt";
+    
     // Core systems
     private final TextureManager textureManager;
     private final LightingSystem lightingSystem;
     private final SphereRenderer sphereRenderer;
+    private final CompletableFuture<Void> textureWarmup;
+    private boolean texturesShown;
+    private Planet loadingPlanet; // Planet whose textures are loading in the background, on the event dispatch thread
+    private final QualityController qualityController = new QualityController(DEFAULT_TARGET_FPS);
+    private int targetFps = DEFAULT_TARGET_FPS;
+    
+    // Instrumentation
+    private final FrameMetrics frameMetrics = new FrameMetrics(
+        TimeUnit.SECONDS.toNanos(1) / DEFAULT_TARGET_FPS, TimeUnit.NANOSECONDS);
+    private final MetricsOverlay metricsOverlay = new MetricsOverlay();
+    
+    // Which layers must be recomputed after control changes, and the surfaces retaining them
+    private final LayerInvalidation invalidation = new LayerInvalidation();
+    private final LayerCompositor compositor = new LayerCompositor(invalidation);
+    private int hudWidth;
+    private boolean showMetrics = false;
     
     // Animation and state
     private double animationTime = 0;
     private double earthRotation = 0;
+    private double cameraPitch = 0;
+    private double cameraTilt = 0;
     private double animationSpeed = 1.0;
-    private Planet currentPlanet = Planet.EARTH;
+    private boolean realTimeAnimation = true;
+    private long lastAnimationNanos;
+    private Runnable frameRequester;
+    private final PlanetCatalog planetCatalog;
+    private Planet currentPlanet;
     
     // Satellites
     private List<Satellite> satellites;
     private boolean showOrbits = true;
     private int satelliteCount = 8;
+    private long satelliteSeed = SEED_SOURCE.nextLong();
+    private double satellitePhase; // Animation time the satellites have advanced since they were created
+    
+    // Tracked satellites from a TLE catalog, null when none is loaded
+    private SatelliteCatalog trackedSatellites;
+    private final OrbitPropagator orbitPropagator = new OrbitPropagator();
+    private final TrackedSatelliteLayer trackedSatelliteLayer = new TrackedSatelliteLayer();
+    private double propagatedTime = Double.NaN;
+    
+    // Sun-driven lighting, null while the light angle is set by hand
+    private SolarClock solarClock;
+    private SolarPosition sunPosition;
+    // While replaying, the light and rotation come from the recorded frames, not the clock
+    private volatile boolean replaying;
+    
+    // Geodata overlay: the graticule is drawn on every planet, coastlines and markers only on theirs
+    private final GeodataLayer geodataLayer = new GeodataLayer();
+    private boolean showGeodata = false;
+    private double graticuleStep;
+    private PolylineSet graticule;
+    private PolylineSet coastlines;
+    private MarkerSet markers;
+    private String geodataPlanetId;
+    
+    // Session recording, null when not recording
+    private SessionRecorder sessionRecorder;
+    
+    // Remote streaming; while a client watches, frames are drawn offscreen and then blitted
+    private FrameStreamer frameStreamer;
+    
+    // Offscreen frame for streaming and the offscreen backend, which rasterizes into its pixels
+    private RenderBackendType backendType = RenderBackendType.JAVA2D;
+    private BufferedImage offscreenFrame;
+    private OffscreenBackend offscreenBackend;
     
     public GlobePanel() {
+        this(PlanetCatalog.loadDefault());
+    }
+    
+    public GlobePanel(PlanetCatalog planetCatalog) {
+        this(planetCatalog, TexelFormat.RGB, TexelLayout.ROW_MAJOR);
+    }
+    
+    /**
+     * Panel whose textures are stored in the given format and layout; they are given here rather
+     * than set afterwards so the background warmup decodes the startup textures only once
+     */
+    public GlobePanel(PlanetCatalog planetCatalog, TexelFormat texelFormat, TexelLayout texelLayout) {
         setBackground(Color.BLACK);
+        this.planetCatalog = planetCatalog;
+        this.currentPlanet = planetCatalog.getDefault();
         
         // Initialize systems
-        textureManager = new TextureManager();
+        textureManager = new TextureManager(texelFormat, texelLayout);
         lightingSystem = new LightingSystem();
         sphereRenderer = new SphereRenderer(textureManager, lightingSystem);
         
-        // Load textures
-        textureManager.loadAllTextures();
+        // Load textures in the background, showing a placeholder globe meanwhile; other planets are
+        // loaded when first selected
+        textureWarmup = textureManager.warmUp(currentPlanet);
+        textureWarmup.whenComplete((done, failure) -> SwingUtilities.invokeLater(this::requestFrame));
         
         // Create satellites
-        satellites = SatelliteFactory.createSatellites(satelliteCount, 150);
+        createSatellites(0);
         
         setupMouseInteraction();
         
@@ -55,29 +170,58 @@ public class GlobePanel extends JPanel {
     }
     
     /**
-     * Setup mouse interaction for rotation control
+     * Setup mouse interaction: drag to spin and pitch the globe, Shift+drag to tilt its axis
      */
     private void setupMouseInteraction() {
-        addMouseMotionListener(new MouseMotionListener() {
+        MouseAdapter dragHandler = new MouseAdapter() {
+            private Point lastPoint;
+            
             @Override
-            public void mouseDragged(MouseEvent e) {
-                // Mouse position affects rotation speed
-                int mouseX = e.getX() - getWidth() / 2;
-                earthRotation += mouseX * 0.01;
-                textureManager.clearCache(); // Clear cache when manually rotating
+            public void mousePressed(MouseEvent e) {
+                lastPoint = e.getPoint();
             }
             
             @Override
-            public void mouseMoved(MouseEvent e) {
-                // No action needed
+            public void mouseDragged(MouseEvent e) {
+                if (lastPoint == null) {
+                    lastPoint = e.getPoint();
+                    return;
+                }
+                int dx = e.getX() - lastPoint.x;
+                int dy = e.getY() - lastPoint.y;
+                lastPoint = e.getPoint();
+                
+                recordInput(InputEventType.DRAG, e.isShiftDown() ? dx + "," + dy + ",shift" : dx + "," + dy);
+                if (e.isShiftDown()) {
+                    cameraTilt += dx * 0.01;
+                } else {
+                    earthRotation += dx * 0.01;
+                    cameraPitch = Math.max(-Math.PI / 2, Math.min(Math.PI / 2, cameraPitch + dy * 0.01));
+                }
+                invalidation.invalidate(RenderInput.CAMERA);
             }
-        });
+        };
+        addMouseListener(dragHandler);
+        addMouseMotionListener(dragHandler);
     }
     
     @Override
     protected void paintComponent(Graphics g) {
-        super.paintComponent(g);
-        Graphics2D g2d = (Graphics2D) g.create();
+        frameMetrics.beginFrame();
+        // Before the state is captured, so a recorded frame holds the sun it is drawn with
+        if (solarClock != null) {
+            updateSunPosition();
+        }
+        RenderState recordedState = sessionRecorder != null ? captureRenderState() : null;
+        boolean streaming = frameStreamer != null && frameStreamer.isActive();
+        boolean offscreen = backendType == RenderBackendType.OFFSCREEN;
+        Graphics2D frameGraphics = streaming || offscreen ? createOffscreenGraphics() : null;
+        Graphics target = frameGraphics != null ? frameGraphics : g;
+        super.paintComponent(target);
+        Graphics2D g2d = (Graphics2D) target.create();
+        // Retained layers are painted by Java2D into their own surfaces; the per-frame sphere,
+        // satellites and terminator go through the selected backend
+        RenderBackend backend = offscreen ? offscreenBackend : new Java2DBackend(g2d);
         
         // Enable high-quality rendering
         g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
@@ -89,58 +233,197 @@ public class GlobePanel extends JPanel {
         int centerX = width / 2;
         int centerY = height / 2;
         int radius = Math.min(width, height) / 4;
+        invalidation.updateViewport(width, height);
+        if (!texturesShown && textureWarmup.isDone()) {
+            // Checked here rather than in a callback so offscreen painting threads see it too
+            texturesShown = true;
+            invalidation.invalidate(RenderInput.TEXTURES);
+        }
         
         // Draw background stars
-        sphereRenderer.drawStars(g2d, width, height);
+        compositor.composite(g2d, RenderLayer.STARS, new Rectangle(0, 0, width, height), true,
+            layer -> sphereRenderer.drawStars(new Java2DBackend(layer), width, height));
+        frameMetrics.lap(RenderStage.STARS);
         
         // Draw satellites and orbits
         if (showOrbits) {
-            drawSatelliteOrbits(g2d, centerX, centerY);
+            compositor.composite(g2d, RenderLayer.ORBITS, getOrbitBounds(centerX, centerY), false,
+                layer -> drawSatelliteOrbits(layer, centerX, centerY));
         }
-        drawSatellites(g2d, centerX, centerY);
+        drawSatellites(backend, centerX, centerY);
+        frameMetrics.lap(RenderStage.SATELLITES);
         
-        // Draw main planet
-        sphereRenderer.drawPlanet(g2d, centerX, centerY, radius, currentPlanet, earthRotation);
+        // Draw main planet, discarding the cached sphere only if its inputs changed
+        if (invalidation.consume(RenderLayer.SPHERE)) {
+            textureManager.clearCache();
+        }
+        CameraOrientation camera = CameraOrientation.fromAngles(earthRotation, cameraPitch, cameraTilt);
+        lightingSystem.setCamera(camera);
+        if (areTexturesReady() && isPlanetLoaded(currentPlanet)) {
+            sphereRenderer.drawPlanet(backend, centerX, centerY, radius, currentPlanet, camera);
+        } else {
+            SphereRenderer.drawFallbackPlanet(backend, centerX, centerY, radius, currentPlanet);
+        }
+        frameMetrics.lap(RenderStage.SPHERE);
         
-        // Draw lighting effects
-        lightingSystem.drawLightSource(g2d, centerX, centerY, radius, animationTime);
-        lightingSystem.drawTerminator(g2d, centerX, centerY, radius);
+        // Draw the geodata overlay; it turns with the planet, so it is also keyed on the rotation
+        if (showGeodata) {
+            Rectangle bounds = new Rectangle(centerX - radius - 2, centerY - radius - 2, 2 * radius + 5, 2 * radius + 5);
+            compositor.composite(g2d, RenderLayer.GEODATA, bounds, false, earthRotation,
+                layer -> drawGeodata(layer, centerX, centerY, radius, camera));
+        }
+        frameMetrics.lap(RenderStage.GEODATA);
+        
+        // Draw catalog satellites in front of and beside the planet
+        drawTrackedSatellites(g2d, centerX, centerY, radius);
+        frameMetrics.lap(RenderStage.TRACKING);
+        
+        // Draw lighting effects; the light's rays turn with the animation time
+        double rayTime = animationTime;
+        compositor.composite(g2d, RenderLayer.LIGHT_SOURCE, lightingSystem.getLightSourceBounds(centerX, centerY, radius),
+            false, rayTime, layer -> lightingSystem.drawLightSource(new Java2DBackend(layer), centerX, centerY, radius, rayTime));
+        lightingSystem.drawTerminator(backend, centerX, centerY, radius);
+        frameMetrics.lap(RenderStage.LIGHTING);
         
         // Draw UI info
-        drawInfo(g2d);
+        if (invalidation.isDirty(RenderLayer.HUD)) {
+            hudWidth = measureInfo();
+        }
+        compositor.composite(g2d, RenderLayer.HUD, new Rectangle(0, 0, Math.min(hudWidth, width), height), false,
+            this::drawInfo);
+        if (showMetrics) {
+            metricsOverlay.draw(g2d, width, frameMetrics.getLatest(), textureManager);
+        }
+        if (frameGraphics != null) {
+            frameGraphics.dispose();
+            g.drawImage(offscreenFrame, 0, 0, null);
+            if (streaming) {
+                frameStreamer.offer(offscreenFrame);
+            }
+        }
+        frameMetrics.lap(RenderStage.OVERLAY);
+        
+        // Layers that were hidden or are drawn from scratch every frame only need their flags cleared
+        invalidation.consumeAll();
         
         // Update animation
         updateAnimation();
+        frameMetrics.lap(RenderStage.SIMULATION);
         
         g2d.dispose();
+        frameMetrics.endFrame();
+        if (recordedState != null) {
+            sessionRecorder.recordFrame(recordedState, frameMetrics.getLastFrameNanos());
+        }
+        
+        // Adjust quality for the next frame based on how long this one took
+        sphereRenderer.setQuality(qualityController.update(frameMetrics.getLastFrameNanos() / 1_000_000.0));
+    }
+    
+    /**
+     * Graphics for the offscreen frame shared by the display, the stream encoder and the offscreen backend
+     */
+    private Graphics2D createOffscreenGraphics() {
+        int width = Math.max(1, getWidth());
+        int height = Math.max(1, getHeight());
+        if (offscreenFrame == null || offscreenFrame.getWidth() != width || offscreenFrame.getHeight() != height) {
+            offscreenFrame = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            offscreenBackend = new OffscreenBackend(offscreenFrame);
+        }
+        return offscreenFrame.createGraphics();
     }
     
     /**
      * Draw satellites
      */
-    private void drawSatellites(Graphics2D g2d, int centerX, int centerY) {
+    private void drawSatellites(RenderBackend backend, int centerX, int centerY) {
+        boolean glow = sphereRenderer.getQuality().isSatelliteGlow();
         for (Satellite satellite : satellites) {
-            satellite.update(0.02 * animationSpeed);
-            satellite.draw(g2d, centerX, centerY);
+            satellite.draw(backend, centerX, centerY, glow);
         }
     }
     
+    /**
+     * Square around the largest decorative orbit, empty without satellites
+     */
+    private Rectangle getOrbitBounds(int centerX, int centerY) {
+        double maxRadius = -1;
+        for (Satellite satellite : satellites) {
+            maxRadius = Math.max(maxRadius, satellite.getOrbitRadius());
+        }
+        if (maxRadius < 0) return new Rectangle();
+        int extent = (int) Math.ceil(maxRadius) + 2;
+        return new Rectangle(centerX - extent, centerY - extent, 2 * extent + 1, 2 * extent + 1);
+    }
+    
     /**
      * Draw satellite orbits
      */
     private void drawSatelliteOrbits(Graphics2D g2d, int centerX, int centerY) {
+        RenderBackend backend = new Java2DBackend(g2d);
         for (Satellite satellite : satellites) {
-            satellite.drawOrbit(g2d, centerX, centerY);
+            satellite.drawOrbit(backend, centerX, centerY);
+        }
+    }
+    
+    /**
+     * Draw the graticule, and the coastlines and markers when the planet they belong to is shown
+     */
+    private void drawGeodata(Graphics2D g2d, int centerX, int centerY, int radius, CameraOrientation camera) {
+        boolean ownPlanet = currentPlanet.getId().equals(geodataPlanetId);
+        geodataLayer.draw(g2d, centerX, centerY, radius, camera, graticule,
+            ownPlanet ? coastlines : null, ownPlanet ? markers : null);
+    }
+    
+    /**
+     * Draw catalog satellites, propagating first if the animation time was set directly
+     */
+    private void drawTrackedSatellites(Graphics2D g2d, int centerX, int centerY, int radius) {
+        if (trackedSatellites == null) return;
+        if (propagatedTime != animationTime) {
+            propagateTrackedSatellites();
         }
+        trackedSatelliteLayer.draw(g2d, getWidth(), getHeight(), centerX, centerY, radius,
+            trackedSatellites, cameraPitch, cameraTilt);
     }
     
     /**
-     * Update animation parameters
+     * Propagate the catalog to the current animation time, counted from its latest epoch
+     */
+    private void propagateTrackedSatellites() {
+        double julianDate = trackedSatellites.getLatestEpoch() + animationTime * ORBIT_MINUTES_PER_TIME_UNIT / 1440.0;
+        orbitPropagator.propagate(trackedSatellites, julianDate);
+        propagatedTime = animationTime;
+    }
+    
+    /**
+     * Update animation parameters by the real time since the previous frame, measured in nominal
+     * 60 FPS frames, so the animation runs at the same speed whatever frame rate is achieved
      */
     private void updateAnimation() {
-        animationTime += 0.02 * animationSpeed;
-        // Smoother rotation with higher precision (60 FPS friendly)
-        earthRotation += 0.003 * animationSpeed;
+        double steps = 1;
+        long now = System.nanoTime();
+        if (realTimeAnimation && lastAnimationNanos != 0) {
+            steps = Math.min(MAX_ANIMATION_STEPS, (now - lastAnimationNanos) / NOMINAL_FRAME_NANOS);
+        }
+        lastAnimationNanos = now;
+        
+        double step = steps * animationSpeed;
+        for (Satellite satellite : satellites) {
+            satellite.update(0.02 * step);
+        }
+        satellitePhase += 0.02 * step;
+        animationTime += 0.02 * step;
+        if (solarClock == null) {
+            earthRotation += 0.003 * step; // Under the sun clock the planet turns with sidereal time instead
+        }
+        if (trackedSatellites != null) {
+            propagateTrackedSatellites();
+        }
+        // On-demand scheduling keeps painting while something moves
+        if (frameRequester != null && animationSpeed != 0) {
+            frameRequester.run();
+        }
     }
     
     /**
@@ -148,70 +431,525 @@ public class GlobePanel extends JPanel {
      */
     private void drawInfo(Graphics2D g2d) {
         g2d.setColor(Color.WHITE);
-        g2d.setFont(new Font("Arial", Font.BOLD, 16));
-        g2d.drawString("Planet: " + currentPlanet.getDisplayName(), 10, 30);
-        g2d.drawString("Satellites: " + satellites.size(), 10, 50);
-        g2d.drawString("Speed: " + String.format("%.1fx", animationSpeed), 10, 70);
+        g2d.setFont(HUD_FONT);
+        List<String> lines = getInfoLines();
+        for (int i = 0; i < lines.size(); i++) {
+            g2d.drawString(lines.get(i), 10, 30 + 20 * i);
+        }
         
-        g2d.setFont(new Font("Arial", Font.PLAIN, 12));
-        g2d.drawString("Move mouse to control rotation", 10, getHeight() - 20);
+        g2d.setFont(HINT_FONT);
+        g2d.drawString(HINT_TEXT, 10, getHeight() - 20);
+    }
+    
+    private List<String> getInfoLines() {
+        List<String> lines = new ArrayList<>();
+        lines.add("Planet: " + currentPlanet.getDisplayName());
+        lines.add("Satellites: " + satellites.size());
+        lines.add("Speed: " + String.format("%.1fx", animationSpeed));
+        if (trackedSatellites != null) {
+            lines.add("Tracked: " + trackedSatellites.size());
+        }
+        return lines;
+    }
+    
+    /**
+     * Width of the strip on the left that the UI information covers
+     */
+    private int measureInfo() {
+        FontMetrics metrics = getFontMetrics(HUD_FONT);
+        int textWidth = getFontMetrics(HINT_FONT).stringWidth(HINT_TEXT);
+        for (String line : getInfoLines()) {
+            textWidth = Math.max(textWidth, metrics.stringWidth(line));
+        }
+        return 10 + textWidth + 4; // Left margin, plus slack for antialiasing
     }
     
     // Public control methods
     public void setAnimationSpeed(double speed) {
+        recordInput(InputEventType.ANIMATION_SPEED, speed);
         this.animationSpeed = speed;
+        invalidation.invalidate(RenderInput.HUD_TEXT);
     }
     
     public void setPlanet(Planet planet) {
         if (!planet.equals(this.currentPlanet)) {
+            recordInput(InputEventType.PLANET, planet.getId());
             this.currentPlanet = planet;
-            textureManager.clearCache(); // Clear cache when changing planets
+            invalidation.invalidate(RenderInput.PLANET);
         }
     }
     
     public void setPlanet(String planetName) {
-        setPlanet(Planet.fromDisplayName(planetName));
+        setPlanet(planetCatalog.fromDisplayName(planetName));
     }
     
     public void setSatelliteCount(int count) {
+        recordInput(InputEventType.SATELLITE_COUNT, count);
         this.satelliteCount = Math.max(0, Math.min(count, 20));
-        this.satellites = SatelliteFactory.createSatellites(this.satelliteCount, 150);
+        this.satelliteSeed = SEED_SOURCE.nextLong();
+        createSatellites(0);
+        invalidation.invalidate(RenderInput.SATELLITES);
     }
     
     public void setShowOrbits(boolean showOrbits) {
+        recordInput(InputEventType.SHOW_ORBITS, showOrbits);
         this.showOrbits = showOrbits;
+        invalidation.invalidate(RenderInput.ORBIT_VISIBILITY);
     }
     
     public void setShowLightSource(boolean show) {
+        recordInput(InputEventType.SHOW_LIGHT_SOURCE, show);
         lightingSystem.setShowLightSource(show);
-        textureManager.clearCache(); // Clear cache when lighting changes
+        invalidation.invalidate(RenderInput.LIGHT_SOURCE_VISIBILITY);
+    }
+    
+    /**
+     * Enable or disable the adaptive quality controller; disabling restores full quality
+     */
+    public void setAdaptiveQuality(boolean adaptive) {
+        recordInput(InputEventType.ADAPTIVE_QUALITY, adaptive);
+        qualityController.setEnabled(adaptive);
+        sphereRenderer.setQuality(qualityController.getQuality());
+    }
+    
+    /**
+     * Frame rate the adaptive quality and the frame budget of the metrics are measured against
+     */
+    public void setTargetFps(int targetFps) {
+        this.targetFps = Math.max(1, targetFps);
+        qualityController.setTargetFps(this.targetFps);
+        frameMetrics.setFrameBudget(TimeUnit.SECONDS.toNanos(1) / this.targetFps, TimeUnit.NANOSECONDS);
+    }
+    
+    public int getTargetFps() {
+        return targetFps;
+    }
+    
+    /**
+     * Render the sphere at a fraction of screen resolution and upscale it
+     */
+    public void setResolutionScale(double scale) {
+        recordInput(InputEventType.RESOLUTION_SCALE, scale);
+        sphereRenderer.setResolutionScale(scale);
+        invalidation.invalidate(RenderInput.SPHERE_SETTINGS);
+    }
+    
+    public double getResolutionScale() {
+        return sphereRenderer.getResolutionScale();
+    }
+    
+    public void setBicubicUpscale(boolean bicubic) {
+        sphereRenderer.setBicubicUpscale(bicubic);
+    }
+    
+    /**
+     * Reproject the previous frame's projection table instead of fully rasterizing each frame
+     */
+    public void setTemporalReprojection(boolean enabled) {
+        sphereRenderer.setTemporalReprojection(enabled);
+        invalidation.invalidate(RenderInput.SPHERE_SETTINGS);
+    }
+    
+    /**
+     * Use the Vector API shading kernel when this JVM supports it, otherwise the scalar kernel
+     */
+    public void setSimdShading(boolean simd) {
+        sphereRenderer.setShadingKernel(simd ? ShadingKernels.best() : ShadingKernels.scalar());
+        invalidation.invalidate(RenderInput.SPHERE_SETTINGS);
+    }
+    
+    /**
+     * Draw frames through Java2D or rasterize them into an offscreen frame shown with one blit
+     */
+    public void setRenderBackend(RenderBackendType backendType) {
+        this.backendType = backendType;
+        requestFrame();
+    }
+    
+    public RenderBackendType getRenderBackend() {
+        return backendType;
+    }
+    
+    /**
+     * Memory order of unpacked textures; blocked layouts cut cache misses on large maps
+     */
+    public void setTexelLayout(TexelLayout layout) {
+        textureManager.setTexelLayout(layout);
+        invalidation.invalidate(RenderInput.SPHERE_SETTINGS);
+    }
+    
+    /**
+     * Texture storage format; BC1 cuts resident texture memory about 8x at some colour loss
+     */
+    public void setTexelFormat(TexelFormat format) {
+        textureManager.setTexelFormat(format);
+        invalidation.invalidate(RenderInput.SPHERE_SETTINGS);
+    }
+    
+    public void setShowMetrics(boolean showMetrics) {
+        this.showMetrics = showMetrics;
+        requestFrame();
     }
     
     public void setShowTerminator(boolean show) {
+        recordInput(InputEventType.SHOW_TERMINATOR, show);
         lightingSystem.setShowTerminator(show);
+        invalidation.invalidate(RenderInput.TERMINATOR_VISIBILITY);
+    }
+    
+    /**
+     * Light the planet from the subsolar point of the given clock and turn it with sidereal
+     * time, as seen by a viewer fixed among the stars; null returns to the manual light angle.
+     * The ephemeris is evaluated at most once per clock second.
+     */
+    public void setSolarClock(SolarClock solarClock) {
+        this.solarClock = solarClock;
+        this.sunPosition = null;
+        if (solarClock == null) {
+            lightingSystem.setSunDirection(null);
+            invalidation.invalidate(RenderInput.LIGHT_ANGLE);
+        } else {
+            updateSunPosition();
+        }
+    }
+    
+    public SolarClock getSolarClock() {
+        return solarClock;
+    }
+    
+    /**
+     * Follow the sun clock to the current second: move the light to the new subsolar point and
+     * turn the planet by the sidereal time elapsed. Called before each frame, and periodically
+     * so on-demand pacing still sees the sun move while nothing else changes. Suspended while
+     * a session is replayed.
+     */
+    public void updateSunPosition() {
+        if (solarClock == null || replaying) return;
+        SolarPosition position = solarClock.getPosition();
+        if (position == sunPosition) return;
+        if (sunPosition != null) {
+            // A fixed viewer sees longitudes further west as the Earth turns east
+            double turned = position.getSiderealAngle() - sunPosition.getSiderealAngle();
+            turned -= 2 * Math.PI * Math.floor(turned / (2 * Math.PI) + 0.5);
+            earthRotation -= turned;
+            invalidation.invalidate(RenderInput.CAMERA);
+        }
+        sunPosition = position;
+        lightingSystem.setSunDirection(position.getBodyDirection());
+        invalidation.invalidate(RenderInput.LIGHT_ANGLE);
     }
     
     public void setLightAngle(double angle) {
+        recordInput(InputEventType.LIGHT_ANGLE, angle);
         lightingSystem.setLightAngle(angle);
-        textureManager.clearCache(); // Clear cache when light angle changes
+        invalidation.invalidate(RenderInput.LIGHT_ANGLE);
     }
     
     public void reset() {
+        recordInput(InputEventType.RESET, "");
         animationTime = 0;
         earthRotation = 0;
+        cameraPitch = 0;
+        cameraTilt = 0;
         animationSpeed = 1.0;
-        currentPlanet = Planet.EARTH;
+        currentPlanet = planetCatalog.getDefault();
         showOrbits = true;
+        showMetrics = false;
         satelliteCount = 8;
-        satellites = SatelliteFactory.createSatellites(satelliteCount, 150);
+        satelliteSeed = SEED_SOURCE.nextLong();
+        createSatellites(0);
         
         // Reset lighting system
         lightingSystem.setShowLightSource(true);
         lightingSystem.setShowTerminator(true);
         lightingSystem.setLightAngle(Math.PI / 4);
         
-        // Clear cache on reset
-        textureManager.clearCache();
+        qualityController.reset();
+        sphereRenderer.setQuality(qualityController.getQuality());
+        
+        // Everything may have changed
+        invalidation.invalidateAll();
+    }
+    
+    /**
+     * Show and propagate the satellites of a TLE catalog alongside the decorative ones; null removes them
+     */
+    public void setSatelliteCatalog(SatelliteCatalog catalog) {
+        this.trackedSatellites = catalog;
+        this.propagatedTime = Double.NaN;
+        invalidation.invalidate(RenderInput.HUD_TEXT);
+    }
+    
+    /**
+     * Show or hide the geodata overlay (graticule, coastlines and markers)
+     */
+    public void setShowGeodata(boolean show) {
+        this.showGeodata = show;
+        invalidation.invalidate(RenderInput.GEODATA);
+    }
+    
+    public boolean isShowGeodata() {
+        return showGeodata;
+    }
+    
+    /**
+     * Spacing of the graticule's meridians and parallels in degrees; 0 hides it
+     */
+    public void setGraticuleStep(double degrees) {
+        if (degrees != graticuleStep) {
+            this.graticuleStep = degrees;
+            this.graticule = degrees > 0 ? PolylineSet.graticule(degrees) : null;
+            invalidation.invalidate(RenderInput.GEODATA);
+        }
+    }
+    
+    public double getGraticuleStep() {
+        return graticuleStep;
+    }
+    
+    /**
+     * Coastlines and markers drawn over the planet with the given id; either set may be null
+     */
+    public void setGeodata(String planetId, PolylineSet coastlines, MarkerSet markers) {
+        this.geodataPlanetId = planetId;
+        this.coastlines = coastlines;
+        this.markers = markers;
+        invalidation.invalidate(RenderInput.GEODATA);
+    }
+    
+    /**
+     * Draws the geodata overlay; reports how many features were tested and drawn last frame
+     */
+    public GeodataLayer getGeodataLayer() {
+        return geodataLayer;
+    }
+    
+    public SatelliteCatalog getSatelliteCatalog() {
+        return trackedSatellites;
+    }
+    
+    public OrbitPropagator getOrbitPropagator() {
+        return orbitPropagator;
+    }
+    
+    /**
+     * Start recording every frame's render state and the user's inputs; null stops recording
+     */
+    public void setSessionRecorder(SessionRecorder sessionRecorder) {
+        this.sessionRecorder = sessionRecorder;
+    }
+    
+    public SessionRecorder getSessionRecorder() {
+        return sessionRecorder;
+    }
+    
+    /**
+     * Publish drawn frames to remote viewers; null stops streaming
+     */
+    public void setFrameStreamer(FrameStreamer frameStreamer) {
+        this.frameStreamer = frameStreamer;
+        this.offscreenFrame = null;
+    }
+    
+    public FrameStreamer getFrameStreamer() {
+        return frameStreamer;
+    }
+    
+    private void recordInput(InputEventType type, Object value) {
+        if (sessionRecorder != null) {
+            sessionRecorder.recordInput(type, value);
+        }
+    }
+    
+    /**
+     * Snapshot of the state the next frame will be drawn with
+     */
+    public RenderState captureRenderState() {
+        return new RenderState(currentPlanet.getId(), earthRotation, cameraPitch, cameraTilt,
+            lightingSystem.getLightAngle(), lightingSystem.getSunDirection(), animationTime, animationSpeed, satelliteCount, satelliteSeed, satellitePhase,
+            showOrbits, lightingSystem.isShowLightSource(), lightingSystem.isShowTerminator(),
+            sphereRenderer.getResolutionScale(), qualityController.getLevel());
+    }
+    
+    /**
+     * Restore a recorded state before drawing a frame. Satellites are recreated from the seed
+     * and advanced to the recorded phase unless they are already there.
+     */
+    public void applyRenderState(RenderState state) {
+        Planet planet = planetCatalog.get(state.getPlanetId());
+        setPlanetSilently(planet != null ? planet : planetCatalog.getDefault());
+        earthRotation = state.getEarthRotation();
+        cameraPitch = state.getCameraPitch();
+        cameraTilt = state.getCameraTilt();
+        animationTime = state.getAnimationTime();
+        if (state.getAnimationSpeed() != animationSpeed) {
+            animationSpeed = state.getAnimationSpeed();
+            invalidation.invalidate(RenderInput.HUD_TEXT);
+        }
+        if (state.isShowOrbits() != showOrbits) {
+            showOrbits = state.isShowOrbits();
+            invalidation.invalidate(RenderInput.ORBIT_VISIBILITY);
+        }
+        if (state.isShowLightSource() != lightingSystem.isShowLightSource()) {
+            lightingSystem.setShowLightSource(state.isShowLightSource());
+            invalidation.invalidate(RenderInput.LIGHT_SOURCE_VISIBILITY);
+        }
+        if (state.isShowTerminator() != lightingSystem.isShowTerminator()) {
+            lightingSystem.setShowTerminator(state.isShowTerminator());
+            invalidation.invalidate(RenderInput.TERMINATOR_VISIBILITY);
+        }
+        if (state.getLightAngle() != lightingSystem.getLightAngle()) {
+            lightingSystem.setLightAngle(state.getLightAngle());
+            invalidation.invalidate(RenderInput.LIGHT_ANGLE);
+        }
+        if (!Arrays.equals(state.getSunDirection(), lightingSystem.getSunDirection())) {
+            lightingSystem.setSunDirection(state.getSunDirection());
+            invalidation.invalidate(RenderInput.LIGHT_ANGLE);
+        }
+        if (state.getResolutionScale() != sphereRenderer.getResolutionScale()) {
+            sphereRenderer.setResolutionScale(state.getResolutionScale());
+            invalidation.invalidate(RenderInput.SPHERE_SETTINGS);
+        }
+        sphereRenderer.setQuality(RenderQuality.forLevel(state.getQualityLevel()));
+        if (state.getSatelliteSeed() != satelliteSeed || state.getSatelliteCount() != satelliteCount) {
+            satelliteCount = state.getSatelliteCount();
+            satelliteSeed = state.getSatelliteSeed();
+            createSatellites(state.getSatellitePhase());
+            invalidation.invalidate(RenderInput.SATELLITES);
+        } else if (state.getSatellitePhase() != satellitePhase) {
+            createSatellites(state.getSatellitePhase());
+        }
+    }
+    
+    /**
+     * Recreate the satellites from the current count and seed, advanced by the given animation time
+     */
+    private void createSatellites(double phase) {
+        satellites = SatelliteFactory.createSatellites(satelliteCount, 150, satelliteSeed);
+        for (Satellite satellite : satellites) {
+            satellite.update(phase);
+        }
+        satellitePhase = phase;
+    }
+    
+    private void setPlanetSilently(Planet planet) {
+        if (!planet.equals(currentPlanet)) {
+            currentPlanet = planet;
+            invalidation.invalidate(RenderInput.PLANET);
+        }
+    }
+    
+    /**
+     * Release this viewport's share of the textures and projection tables; the panel must not
+     * be painted afterwards. Streamers and recorders belong to their owner and are left open.
+     */
+    public void dispose() {
+        compositor.clear();
+        sphereRenderer.dispose();
+        textureManager.release();
+    }
+    
+    /**
+     * Advance the animation by the real time between frames (the default), or by one nominal
+     * frame per painted frame for deterministic offscreen rendering
+     */
+    public void setRealTimeAnimation(boolean realTime) {
+        this.realTimeAnimation = realTime;
+        this.lastAnimationNanos = 0;
+    }
+    
+    public boolean isRealTimeAnimation() {
+        return realTimeAnimation;
+    }
+    
+    /**
+     * Hold the sun clock while recorded frames are applied; afterwards the light follows the
+     * clock again from its current position, or the manual angle when there is no clock
+     */
+    public void setReplaying(boolean replaying) {
+        this.replaying = replaying;
+        if (!replaying) {
+            sunPosition = null;
+            if (solarClock != null) {
+                updateSunPosition();
+            } else {
+                lightingSystem.setSunDirection(null);
+                invalidation.invalidate(RenderInput.LIGHT_ANGLE);
+            }
+        }
+    }
+    
+    public boolean isReplaying() {
+        return replaying;
+    }
+    
+    /**
+     * Called whenever the panel needs another frame: after state changes, and after each frame
+     * while animating. Used by on-demand frame scheduling; null removes it.
+     */
+    public void setFrameRequester(Runnable frameRequester) {
+        this.frameRequester = frameRequester;
+        invalidation.setListener(frameRequester);
+    }
+    
+    private void requestFrame() {
+        if (frameRequester != null) {
+            frameRequester.run();
+        }
+    }
+    
+    /**
+     * Dirty flags of the render layers; control changes mark only the layers that depend on them
+     */
+    public LayerInvalidation getLayerInvalidation() {
+        return invalidation;
+    }
+    
+    /**
+     * Retained surfaces of the static layers, with repaint and reuse counts
+     */
+    public LayerCompositor getLayerCompositor() {
+        return compositor;
+    }
+    
+    /**
+     * Whether the startup textures have loaded; until then a placeholder globe is drawn
+     */
+    public boolean areTexturesReady() {
+        return textureWarmup.isDone();
+    }
+    
+    /**
+     * Whether a planet's textures can be drawn this frame. On the event dispatch thread a planet
+     * that has not loaded yet is loaded in the background and drawn as a placeholder meanwhile;
+     * offscreen painting threads load it in place, so their frames never show the placeholder.
+     */
+    private boolean isPlanetLoaded(Planet planet) {
+        if (textureManager.isLoaded(planet) || !SwingUtilities.isEventDispatchThread()) {
+            return true;
+        }
+        if (planet != loadingPlanet) {
+            loadingPlanet = planet;
+            textureManager.load(planet).whenComplete((done, failure) -> SwingUtilities.invokeLater(() -> {
+                invalidation.invalidate(RenderInput.TEXTURES);
+                requestFrame();
+            }));
+        }
+        return false;
+    }
+    
+    /**
+     * Run an action on the event dispatch thread once the startup textures have loaded
+     */
+    public void whenTexturesReady(Runnable action) {
+        textureWarmup.whenComplete((done, failure) -> SwingUtilities.invokeLater(action));
+    }
+    
+    /**
+     * Block until the startup textures have loaded, for offscreen rendering; not on the event dispatch thread
+     */
+    public void awaitTextures() {
+        textureWarmup.exceptionally(failure -> null).join();
     }
     
     // Getters
@@ -223,6 +961,34 @@ public class GlobePanel extends JPanel {
         return currentPlanet;
     }
     
+    public PlanetCatalog getPlanetCatalog() {
+        return planetCatalog;
+    }
+    
+    /**
+     * Pitch the view about the screen's horizontal axis, in radians (positive shows the north pole)
+     */
+    public void setCameraPitch(double pitch) {
+        this.cameraPitch = Math.max(-Math.PI / 2, Math.min(Math.PI / 2, pitch));
+        invalidation.invalidate(RenderInput.CAMERA);
+    }
+    
+    /**
+     * Tilt the planet's axis about the view direction, in radians
+     */
+    public void setCameraTilt(double tilt) {
+        this.cameraTilt = tilt;
+        invalidation.invalidate(RenderInput.CAMERA);
+    }
+    
+    public double getCameraPitch() {
+        return cameraPitch;
+    }
+    
+    public double getCameraTilt() {
+        return cameraTilt;
+    }
+    
     public double getAnimationSpeed() {
         return animationSpeed;
     }
@@ -238,4 +1004,30 @@ public class GlobePanel extends JPanel {
     public TextureManager getTextureManager() {
         return textureManager;
     }
+    
+    public boolean isAdaptiveQuality() {
+        return qualityController.isEnabled();
+    }
+    
+    public QualityController getQualityController() {
+        return qualityController;
+    }
+    
+    public boolean isShowMetrics() {
+        return showMetrics;
+    }
+    
+    /**
+     * Frame metrics collector; exposes per-stage timings and dropped frames
+     */
+    public FrameMetrics getFrameMetrics() {
+        return frameMetrics;
+    }
+    
+    /**
+     * Most recently published frame metrics snapshot
+     */
+    public FrameStats getFrameStats() {
+        return frameMetrics.getLatest();
+    }
 }
\ No newline at end of file
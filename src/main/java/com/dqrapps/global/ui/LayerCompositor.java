@@ -0,0 +1,112 @@
+package com.dqrapps.global.ui;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Retains slow-changing layers of the frame in their own offscreen surfaces. A layer is
+ * repainted into its surface only when {@link LayerInvalidation} reports one of its inputs
+ * changed, its bounds moved, or its version key (the animation time for animated layers)
+ * differs from the one it was painted at; otherwise compositing it costs one blit.
+ * Surfaces are sized to the layer's bounds rather than the whole frame.
+ */
+public class LayerCompositor {
+    private final LayerInvalidation invalidation;
+    private final Map<RenderLayer, Surface> surfaces = new EnumMap<>(RenderLayer.class);
+    private long repaints;
+    private long reuses;
+
+    public LayerCompositor(LayerInvalidation invalidation) {
+        this.invalidation = invalidation;
+    }
+
+    /**
+     * Composite a layer that changes only with its inputs
+     */
+    public void composite(Graphics2D g2d, RenderLayer layer, Rectangle bounds, boolean opaque,
+                          Consumer<Graphics2D> painter) {
+        composite(g2d, layer, bounds, opaque, 0, painter);
+    }
+
+    /**
+     * Composite a layer, repainting it first if it is dirty, moved or painted at another version.
+     * The painter draws in frame coordinates and the surface starts cleared (black when opaque).
+     */
+    public void composite(Graphics2D g2d, RenderLayer layer, Rectangle bounds, boolean opaque, double version,
+                          Consumer<Graphics2D> painter) {
+        boolean dirty = invalidation.consume(layer);
+        if (bounds.isEmpty()) return;
+        Surface surface = surfaces.get(layer);
+        if (surface == null || !surface.fits(bounds, opaque)) {
+            surface = new Surface(bounds.width, bounds.height, opaque);
+            surfaces.put(layer, surface);
+            dirty = true;
+        }
+        if (dirty || !bounds.getLocation().equals(surface.origin) || surface.version != version) {
+            surface.repaint(g2d, bounds, version, painter);
+            repaints++;
+        } else {
+            reuses++;
+        }
+        g2d.drawImage(surface.image, bounds.x, bounds.y, null);
+    }
+
+    /**
+     * Drop every retained surface, e.g. when the panel is disposed
+     */
+    public void clear() {
+        surfaces.clear();
+    }
+
+    /**
+     * Layer composites that had to repaint their surface
+     */
+    public long getRepaints() {
+        return repaints;
+    }
+
+    /**
+     * Layer composites served by blitting the retained surface
+     */
+    public long getReuses() {
+        return reuses;
+    }
+
+    /**
+     * Offscreen surface of one layer and the state it was painted with
+     */
+    private static class Surface {
+        final BufferedImage image;
+        final boolean opaque;
+        final Point origin = new Point();
+        double version = Double.NaN;
+
+        Surface(int width, int height, boolean opaque) {
+            // Pre-multiplied alpha composites onto the frame without a per-pixel divide
+            this.image = new BufferedImage(width, height,
+                opaque ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB_PRE);
+            this.opaque = opaque;
+        }
+
+        boolean fits(Rectangle bounds, boolean opaque) {
+            return this.opaque == opaque && image.getWidth() == bounds.width && image.getHeight() == bounds.height;
+        }
+
+        void repaint(Graphics2D target, Rectangle bounds, double version, Consumer<Graphics2D> painter) {
+            Graphics2D g2d = image.createGraphics();
+            // Clear through Java2D rather than the raster so the image stays eligible for acceleration
+            g2d.setComposite(AlphaComposite.Clear);
+            g2d.fillRect(0, 0, image.getWidth(), image.getHeight());
+            g2d.setComposite(AlphaComposite.SrcOver);
+            g2d.setRenderingHints(target.getRenderingHints());
+            g2d.translate(-bounds.x, -bounds.y);
+            painter.accept(g2d);
+            g2d.dispose();
+            origin.setLocation(bounds.x, bounds.y);
+            this.version = version;
+        }
+    }
+}
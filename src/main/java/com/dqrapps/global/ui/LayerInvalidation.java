@@ -0,0 +1,86 @@
+package com.dqrapps.global.ui;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Dirty flags for render layers, driven by changes to their declared inputs. Control
+ * setters call {@link #invalidate}; the painting code asks {@link #consume} before reusing
+ * a layer's cached work, so only layers whose inputs changed are recomputed and several
+ * changes between two frames cost one recomputation. Used on the event dispatch thread.
+ */
+public class LayerInvalidation {
+    private final EnumSet<RenderLayer> dirty = EnumSet.allOf(RenderLayer.class);
+    private int lastWidth = -1;
+    private int lastHeight = -1;
+    private Runnable listener;
+
+    /**
+     * Run the listener after every invalidation, e.g. to schedule a frame on demand; null removes it
+     */
+    public void setListener(Runnable listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Mark every layer that depends on the input as dirty
+     */
+    public void invalidate(RenderInput input) {
+        for (RenderLayer layer : RenderLayer.values()) {
+            if (layer.dependsOn(input)) {
+                dirty.add(layer);
+            }
+        }
+        notifyListener();
+    }
+
+    public void invalidateAll() {
+        dirty.addAll(EnumSet.allOf(RenderLayer.class));
+        notifyListener();
+    }
+
+    private void notifyListener() {
+        if (listener != null) {
+            listener.run();
+        }
+    }
+
+    /**
+     * Invalidate size-dependent layers when the viewport was resized since the last call
+     */
+    public void updateViewport(int width, int height) {
+        if (width != lastWidth || height != lastHeight) {
+            lastWidth = width;
+            lastHeight = height;
+            invalidate(RenderInput.VIEWPORT_SIZE);
+        }
+    }
+
+    /**
+     * Whether one of the layer's inputs changed since it was last recomputed
+     */
+    public boolean isDirty(RenderLayer layer) {
+        return dirty.contains(layer);
+    }
+
+    /**
+     * Check and clear a layer's dirty flag; true when its cached work must be rebuilt
+     */
+    public boolean consume(RenderLayer layer) {
+        return dirty.remove(layer);
+    }
+
+    /**
+     * Clear every dirty flag once all layers have been redrawn
+     */
+    public void consumeAll() {
+        dirty.clear();
+    }
+
+    /**
+     * Layers currently waiting to be recomputed, for diagnostics
+     */
+    public Set<RenderLayer> getDirtyLayers() {
+        return EnumSet.copyOf(dirty);
+    }
+}
@@ -0,0 +1,81 @@
+package com.dqrapps.global.ui;
+
+import com.dqrapps.global.graphics.TextureManager;
+import com.dqrapps.global.metrics.FrameStats;
+import com.dqrapps.global.metrics.RenderStage;
+
+import java.awt.*;
+
+/**
+ * Draws the frame-time and hot-path metrics panel in the top right corner
+ */
+public class MetricsOverlay {
+    private static final Font FONT = new Font(Font.MONOSPACED, Font.PLAIN, 12);
+    private static final Color BACKGROUND = new Color(0, 0, 0, 160);
+    private static final Color WARNING = new Color(255, 120, 80);
+    private static final int LINE_HEIGHT = 15;
+    private static final int PANEL_WIDTH = 230;
+
+    // Cache counters are cumulative; track them per snapshot so the overlay shows a recent rate
+    private FrameStats lastStats;
+    private long lastHits;
+    private long lastMisses;
+    private double intervalHitRate;
+
+    /**
+     * Draw the overlay for the given snapshot
+     */
+    public void draw(Graphics2D g2d, int panelWidth, FrameStats stats, TextureManager textureManager) {
+        updateHitRate(stats, textureManager);
+
+        int lines = 6 + RenderStage.values().length;
+        int x = panelWidth - PANEL_WIDTH - 10;
+        int y = 10;
+        g2d.setColor(BACKGROUND);
+        g2d.fillRoundRect(x, y, PANEL_WIDTH, lines * LINE_HEIGHT + 10, 8, 8);
+
+        g2d.setFont(FONT);
+        int textX = x + 8;
+        int textY = y + LINE_HEIGHT;
+        boolean overBudget = stats.getFrameTimeMillis(99) > stats.getFrameBudgetMillis();
+
+        g2d.setColor(Color.WHITE);
+        g2d.drawString(String.format("FPS %6.1f  budget %4.1f ms", stats.getFramesPerSecond(),
+                stats.getFrameBudgetMillis()), textX, textY);
+        textY += LINE_HEIGHT;
+        g2d.setColor(overBudget ? WARNING : Color.WHITE);
+        g2d.drawString(String.format("frame p50 %5.2f p99 %5.2f", stats.getFrameTimeMillis(50),
+                stats.getFrameTimeMillis(99)), textX, textY);
+        textY += LINE_HEIGHT;
+        g2d.drawString(String.format("frame max %5.2f ms", stats.getMaxFrameTimeMillis()), textX, textY);
+        textY += LINE_HEIGHT;
+
+        g2d.setColor(Color.LIGHT_GRAY);
+        for (RenderStage stage : RenderStage.values()) {
+            g2d.drawString(String.format("%-10s %5.2f p99 %5.2f", stage.getDisplayName(),
+                    stats.getStageMeanMillis(stage), stats.getStageTimeMillis(stage, 99)), textX, textY);
+            textY += LINE_HEIGHT;
+        }
+
+        g2d.setColor(stats.getDroppedFrames() > 0 ? WARNING : Color.WHITE);
+        g2d.drawString(String.format("dropped %d (total %d)", stats.getDroppedFrames(),
+                stats.getTotalDroppedFrames()), textX, textY);
+        textY += LINE_HEIGHT;
+        g2d.setColor(Color.WHITE);
+        g2d.drawString(String.format("sphere cache hit %5.1f%%", intervalHitRate * 100), textX, textY);
+        textY += LINE_HEIGHT;
+        double allocated = stats.getMeanAllocatedBytes();
+        g2d.drawString(allocated < 0 ? "alloc/frame n/a"
+                : String.format("alloc/frame %8.1f KB", allocated / 1024.0), textX, textY);
+    }
+
+    private void updateHitRate(FrameStats stats, TextureManager textureManager) {
+        if (stats == lastStats) return;
+        lastStats = stats;
+        long hits = textureManager.getCacheHits() - lastHits;
+        long misses = textureManager.getCacheMisses() - lastMisses;
+        lastHits = textureManager.getCacheHits();
+        lastMisses = textureManager.getCacheMisses();
+        intervalHitRate = hits + misses == 0 ? 0.0 : (double) hits / (hits + misses);
+    }
+}
@@ -0,0 +1,28 @@
+package com.dqrapps.global.ui;
+
+/**
+ * Pieces of panel state that render layers depend on. Setters report which input they
+ * changed; continuous animation is not an input, since layers that move every frame
+ * apply their own reuse policy to it.
+ */
+public enum RenderInput {
+    /** Body shown on the sphere */
+    PLANET,
+    /** Camera rotation, pitch or tilt set by the user rather than by animation */
+    CAMERA,
+    LIGHT_ANGLE,
+    LIGHT_SOURCE_VISIBILITY,
+    TERMINATOR_VISIBILITY,
+    /** Decorative satellite set or count */
+    SATELLITES,
+    ORBIT_VISIBILITY,
+    /** Sphere resolution, kernel, reprojection and texture storage settings */
+    SPHERE_SETTINGS,
+    /** Textures finished loading in the background */
+    TEXTURES,
+    /** Geodata overlay visibility, graticule spacing or overlay data */
+    GEODATA,
+    /** Values printed by the HUD that are not covered by another input */
+    HUD_TEXT,
+    VIEWPORT_SIZE
+}
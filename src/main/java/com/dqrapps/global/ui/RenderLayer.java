@@ -0,0 +1,39 @@
+package com.dqrapps.global.ui;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Layers of a globe frame and the state each is derived from. A layer only needs to be
+ * recomputed after one of its inputs changed; layers that also move with the animation
+ * (the light source rays, the geodata overlay turning with the planet) are keyed on the
+ * animation state by whoever retains them. The light source and terminator also follow the
+ * camera, as the light is fixed in the planet's body frame and placed on screen through it.
+ */
+public enum RenderLayer {
+    STARS(RenderInput.TEXTURES, RenderInput.VIEWPORT_SIZE),
+    ORBITS(RenderInput.SATELLITES, RenderInput.ORBIT_VISIBILITY, RenderInput.VIEWPORT_SIZE),
+    SPHERE(RenderInput.TEXTURES, RenderInput.PLANET, RenderInput.CAMERA, RenderInput.LIGHT_ANGLE,
+        RenderInput.SPHERE_SETTINGS, RenderInput.VIEWPORT_SIZE),
+    GEODATA(RenderInput.PLANET, RenderInput.CAMERA, RenderInput.GEODATA, RenderInput.VIEWPORT_SIZE),
+    LIGHT_SOURCE(RenderInput.LIGHT_ANGLE, RenderInput.CAMERA, RenderInput.LIGHT_SOURCE_VISIBILITY,
+        RenderInput.VIEWPORT_SIZE),
+    TERMINATOR(RenderInput.LIGHT_ANGLE, RenderInput.CAMERA, RenderInput.TERMINATOR_VISIBILITY,
+        RenderInput.VIEWPORT_SIZE),
+    HUD(RenderInput.PLANET, RenderInput.SATELLITES, RenderInput.HUD_TEXT, RenderInput.VIEWPORT_SIZE);
+
+    private final Set<RenderInput> dependencies;
+
+    RenderLayer(RenderInput first, RenderInput... rest) {
+        this.dependencies = Collections.unmodifiableSet(EnumSet.of(first, rest));
+    }
+
+    public Set<RenderInput> getDependencies() {
+        return dependencies;
+    }
+
+    public boolean dependsOn(RenderInput input) {
+        return dependencies.contains(input);
+    }
+}
@@ -0,0 +1,87 @@
+package com.dqrapps.global.ui;
+
+import com.dqrapps.global.graphics.Java2DBackend;
+import com.dqrapps.global.graphics.SphereRenderer;
+import com.dqrapps.global.model.Planet;
+import com.dqrapps.global.model.PlanetCatalog;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.swing.*;
+import java.awt.*;
+import java.lang.management.ManagementFactory;
+
+/**
+ * The main window, shown with a placeholder globe as soon as the JVM is up and before the
+ * Spring context is built. The application fills it with the real panels once its settings
+ * are known, so the time to a visible window does not include context startup.
+ */
+public class StartupWindow {
+    private static final Logger logger = LoggerFactory.getLogger(StartupWindow.class);
+    public static final String TITLE = "Enhanced Globe 3D Visualization - Refactored";
+
+    private final PlanetCatalog planetCatalog;
+    private JFrame frame;
+
+    /**
+     * Window whose placeholder draws the catalog's default body; the catalog is loaded by the
+     * caller so the event dispatch thread never parses it
+     */
+    public StartupWindow(PlanetCatalog planetCatalog) {
+        this.planetCatalog = planetCatalog;
+    }
+
+    /**
+     * Schedule the window to be shown on the event dispatch thread and return immediately
+     */
+    public static StartupWindow show(PlanetCatalog planetCatalog) {
+        StartupWindow window = new StartupWindow(planetCatalog);
+        SwingUtilities.invokeLater(window::getFrame);
+        return window;
+    }
+
+    /**
+     * The window, created and shown on first use; call on the event dispatch thread
+     */
+    public JFrame getFrame() {
+        if (frame == null) {
+            frame = new JFrame(TITLE);
+            frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+            frame.setSize(1000, 700);
+            frame.setLocationRelativeTo(null);
+            frame.setContentPane(new Placeholder(planetCatalog.getDefault()));
+            frame.setVisible(true);
+            frame.setAlwaysOnTop(true); // Bring to front initially
+            frame.setAlwaysOnTop(false); // Remove always on top after showing
+            frame.toFront();
+            frame.requestFocus();
+            logger.info("Window shown {} ms after JVM start", ManagementFactory.getRuntimeMXBean().getUptime());
+        }
+        return frame;
+    }
+
+    /**
+     * Untextured globe on black, drawn without loading any texture
+     */
+    private static class Placeholder extends JComponent {
+        private final Planet planet;
+
+        Placeholder(Planet planet) {
+            this.planet = planet;
+        }
+
+        @Override
+        protected void paintComponent(Graphics g) {
+            Graphics2D g2d = (Graphics2D) g.create();
+            g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g2d.setColor(Color.BLACK);
+            g2d.fillRect(0, 0, getWidth(), getHeight());
+            int radius = Math.min(getWidth(), getHeight()) / 4;
+            SphereRenderer.drawFallbackPlanet(new Java2DBackend(g2d), getWidth() / 2, getHeight() / 2, radius, planet);
+            g2d.setColor(Color.WHITE);
+            g2d.setFont(new Font("Arial", Font.PLAIN, 12));
+            g2d.drawString("Loading...", 10, getHeight() - 20);
+            g2d.dispose();
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.dqrapps.global.ui;
+
+import com.dqrapps.global.graphics.CameraOrientation;
+import com.dqrapps.global.orbit.SatelliteCatalog;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.Arrays;
+
+/**
+ * Draws a propagated satellite catalog as 2x2 points coloured by orbit regime. Points are
+ * written straight into a transparent layer image and composited with one image draw,
+ * since tens of thousands of individual fills would cost more than the propagation.
+ * Only the rows touched by the previous frame are cleared.
+ */
+public class TrackedSatelliteLayer {
+    private static final int[] REGIME_COLORS = {0xFF78DCFF, 0xFFFFDC78, 0xFFFF8C5A};
+
+    private BufferedImage layer;
+    private int[] pixels;
+    private int dirtyTop;
+    private int dirtyBottom = -1;
+
+    /**
+     * Project and draw the catalog's current positions. Positions are inertial, so only the
+     * camera's pitch and tilt apply, not the planet's spin; points behind the planet are skipped.
+     */
+    public void draw(Graphics2D g2d, int width, int height, int centerX, int centerY, int radius,
+                     SatelliteCatalog catalog, double cameraPitch, double cameraTilt) {
+        if (width <= 0 || height <= 0) return;
+        prepareLayer(width, height);
+
+        // Inertial (x, y, z north) to the renderer's body frame is (x, -z, y); the transposed
+        // camera matrix then takes body to view space
+        double[] m = CameraOrientation.fromAngles(0, cameraPitch, cameraTilt).toMatrix();
+        double scale = radius / SatelliteCatalog.EARTH_RADIUS_KM;
+        double earthRadiusSquared = SatelliteCatalog.EARTH_RADIUS_KM * SatelliteCatalog.EARTH_RADIUS_KM;
+        float[] xs = catalog.getPositionX();
+        float[] ys = catalog.getPositionY();
+        float[] zs = catalog.getPositionZ();
+        byte[] regimes = catalog.getRegimes();
+        int top = height;
+        int bottom = -1;
+
+        for (int i = 0, count = catalog.size(); i < count; i++) {
+            double bodyX = xs[i];
+            double bodyY = -zs[i];
+            double bodyZ = ys[i];
+            double viewX = m[0] * bodyX + m[3] * bodyY + m[6] * bodyZ;
+            double viewY = m[1] * bodyX + m[4] * bodyY + m[7] * bodyZ;
+            double viewZ = m[2] * bodyX + m[5] * bodyY + m[8] * bodyZ;
+            if (viewZ < 0 && viewX * viewX + viewY * viewY < earthRadiusSquared) continue;
+
+            int x = centerX + (int) Math.floor(viewX * scale);
+            int y = centerY + (int) Math.floor(viewY * scale);
+            if (x < 0 || y < 0 || x >= width - 1 || y >= height - 1) continue;
+            int color = REGIME_COLORS[regimes[i]];
+            int index = y * width + x;
+            pixels[index] = color;
+            pixels[index + 1] = color;
+            pixels[index + width] = color;
+            pixels[index + width + 1] = color;
+            top = Math.min(top, y);
+            bottom = Math.max(bottom, y + 1);
+        }
+
+        if (bottom >= top) {
+            g2d.drawImage(layer, 0, top, width, bottom + 1, 0, top, width, bottom + 1, null);
+        }
+        dirtyTop = top;
+        dirtyBottom = bottom;
+    }
+
+    private void prepareLayer(int width, int height) {
+        if (layer == null || layer.getWidth() != width || layer.getHeight() != height) {
+            layer = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+            pixels = ((DataBufferInt) layer.getRaster().getDataBuffer()).getData();
+            dirtyBottom = -1;
+        } else if (dirtyBottom >= dirtyTop) {
+            Arrays.fill(pixels, dirtyTop * width, (dirtyBottom + 1) * width, 0);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.dqrapps.global.graphics;
+
+import jdk.incubator.vector.IntVector;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Shades the same random pixels with the vector and scalar kernels. Built and run only by the
+ * {@code vector} Maven profile.
+ */
+class VectorShadingKernelTest {
+    private static final int LANES = IntVector.SPECIES_PREFERRED.length();
+    private static final AtmosphereTable ATMOSPHERE = new AtmosphereTable(0.35, 0.55, 1.0, 0.6);
+
+    /**
+     * Pixel counts with a full-vector body and a tail of every kind: none, one pixel, one short
+     * of a vector, and a count below a single vector that runs on the scalar tail alone
+     */
+    static Stream<Arguments> cases() {
+        return Stream.of(LANES * 64, LANES * 64 + 1, LANES * 64 + LANES - 1, LANES - 1, 10_007)
+            .flatMap(count -> Stream.of(Arguments.of(count, false), Arguments.of(count, true)));
+    }
+
+    @ParameterizedTest(name = "{0} pixels, atmosphere={1}")
+    @MethodSource("cases")
+    void vectorKernelMatchesScalarKernel(int count, boolean withAtmosphere) {
+        Random random = new Random(count * 31L + (withAtmosphere ? 1 : 0));
+        int[] texels = new int[count];
+        float[] normalX = new float[count];
+        float[] normalY = new float[count];
+        float[] normalZ = new float[count];
+        int[] alpha = new int[count];
+        int[] pixelIndex = new int[count];
+        for (int i = 0; i < count; i++) {
+            texels[i] = 0xFF000000 | random.nextInt(0x1000000);
+            // Front-facing unit normals, as in the projection table
+            double x = random.nextDouble() * 2 - 1;
+            double y = (random.nextDouble() * 2 - 1) * Math.sqrt(1 - x * x);
+            normalX[i] = (float) x;
+            normalY[i] = (float) y;
+            normalZ[i] = (float) Math.sqrt(Math.max(0, 1 - x * x - y * y));
+            alpha[i] = random.nextInt(256) << 24;
+            pixelIndex[i] = count - 1 - i;
+        }
+        double theta = random.nextDouble() * 2 * Math.PI;
+        double z = random.nextDouble() * 2 - 1;
+        double r = Math.sqrt(1 - z * z);
+        float lightX = (float) (r * Math.cos(theta));
+        float lightY = (float) (r * Math.sin(theta));
+        float lightZ = (float) z;
+        float ambient = 0.1f + random.nextFloat() * 0.3f;
+        AtmosphereTable atmosphere = withAtmosphere ? ATMOSPHERE : null;
+
+        // Kernels may use the texels as scratch space, so each gets its own copy
+        int[] scalar = new int[count];
+        ShadingKernels.scalar().shade(texels.clone(), normalX, normalY, normalZ, alpha, pixelIndex, count,
+            lightX, lightY, lightZ, ambient, atmosphere, scalar);
+        int[] vector = new int[count];
+        Arrays.fill(vector, 0x00ABCDEF);
+        new VectorShadingKernel().shade(texels.clone(), normalX, normalY, normalZ, alpha, pixelIndex, count,
+            lightX, lightY, lightZ, ambient, atmosphere, vector);
+
+        for (int i = 0; i < count; i++) {
+            int pixel = pixelIndex[i];
+            assertThat(vector[pixel] >>> 24).as("alpha of pixel %d", i).isEqualTo(scalar[pixel] >>> 24);
+            // The vector kernel lights in 16.16 fixed point and may land one level off at rounding boundaries
+            for (int shift = 0; shift <= 16; shift += 8) {
+                int difference = Math.abs(((vector[pixel] >> shift) & 0xFF) - ((scalar[pixel] >> shift) & 0xFF));
+                assertThat(difference).as("channel %d of pixel %d", shift / 8, i).isLessThanOrEqualTo(1);
+            }
+        }
+    }
+}
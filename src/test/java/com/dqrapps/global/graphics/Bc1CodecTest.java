@@ -0,0 +1,144 @@
+package com.dqrapps.global.graphics;
+
+import org.junit.jupiter.api.Test;
+
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class Bc1CodecTest {
+
+    @Test
+    void solidColorsRepresentableIn565RoundTripExactly() {
+        int[] colors = {0xFF000000, 0xFFFFFFFF, 0xFFFF0000, 0xFF00FF00, 0xFF0000FF, 0xFF841084};
+        for (int color : colors) {
+            long[] blocks = Bc1Codec.encode(filled(16, color), 4, 4);
+            assertThat(blocks).hasSize(1);
+            for (int texel = 0; texel < 16; texel++) {
+                assertThat(Bc1Codec.decode(blocks[0], texel)).isEqualTo(color);
+            }
+        }
+    }
+
+    @Test
+    void noisyImageRoundTripsWithinBlockRange() {
+        int width = 64;
+        int height = 32;
+        int[] rgb = new Random(7).ints(width * height).map(value -> value | 0xFF000000).toArray();
+        long[] blocks = Bc1Codec.encode(rgb, width, height);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                long block = blocks[(y / 4) * Bc1Codec.blocksAcross(width) + x / 4];
+                int decoded = Bc1Codec.decode(block, (y & 3) * 4 + (x & 3));
+                // Every texel decodes to a colour inside its block's bounding box, up to 565 rounding
+                for (int shift = 0; shift <= 16; shift += 8) {
+                    int channel = (decoded >> shift) & 0xFF;
+                    int[] range = channelRange(rgb, width, x & ~3, y & ~3, shift);
+                    assertThat(channel).isBetween(range[0] - 8, range[1] + 8);
+                }
+            }
+        }
+    }
+
+    @Test
+    void gradientErrorIsBoundedByPaletteSpacing() {
+        int[] rgb = new int[16];
+        for (int i = 0; i < 16; i++) {
+            int level = i * 16;
+            rgb[i] = 0xFF000000 | level << 16 | level << 8 | level;
+        }
+        long block = Bc1Codec.encode(rgb, 4, 4)[0];
+        for (int i = 0; i < 16; i++) {
+            int decoded = Bc1Codec.decode(block, i) & 0xFF;
+            // Four palette entries across 240 levels are 80 apart; nearest is within half of that
+            assertThat(Math.abs(decoded - (rgb[i] & 0xFF))).isLessThanOrEqualTo(40 + 4);
+        }
+    }
+
+    @Test
+    void encoderPutsTheBrighterCornerFirst() {
+        int[] rgb = filled(16, 0xFF204060);
+        rgb[5] = 0xFFE0C0A0;
+        long block = Bc1Codec.encode(rgb, 4, 4)[0];
+        assertThat(block & 0xFFFF).isGreaterThan((block >>> 16) & 0xFFFF);
+        assertThat(Bc1Codec.endpoint0(block)).isEqualTo(Bc1Codec.decode(block, 5));
+        assertThat(Bc1Codec.endpoint1(block)).isEqualTo(Bc1Codec.decode(block, 0));
+    }
+
+    @Test
+    void swappedEndpointsStillDecodeTheFourColorPalette() {
+        // No punch-through alpha: with endpoint0 < endpoint1 index 3 is still a blend, not black
+        int bright = 0xFFFF;
+        int dark = 0x0000;
+        long indices = 0;
+        for (int texel = 0; texel < 16; texel++) {
+            indices |= (long) (texel & 3) << (texel * 2);
+        }
+        long block = (indices << 32) | ((long) bright << 16) | dark;
+        assertThat(Bc1Codec.decode(block, 0)).isEqualTo(0xFF000000);
+        assertThat(Bc1Codec.decode(block, 1)).isEqualTo(0xFFFFFFFF);
+        assertThat(Bc1Codec.decode(block, 2)).isEqualTo(0xFF555555);
+        assertThat(Bc1Codec.decode(block, 3)).isEqualTo(0xFFAAAAAA);
+    }
+
+    @Test
+    void partialEdgeBlocksRepeatTheLastRowAndColumn() {
+        int width = 5;
+        int height = 3;
+        int[] rgb = new int[width * height];
+        for (int i = 0; i < rgb.length; i++) {
+            rgb[i] = i % width == width - 1 ? 0xFFFFFFFF : 0xFF000000;
+        }
+        long[] blocks = Bc1Codec.encode(rgb, width, height);
+        assertThat(blocks).hasSize(2);
+        // The second block holds column 4 only, repeated across the block
+        for (int texel = 0; texel < 16; texel++) {
+            assertThat(Bc1Codec.decode(blocks[1], texel)).isEqualTo(0xFFFFFFFF);
+        }
+    }
+
+    @Test
+    void compressedBilinearMatchesFilteringTheDecodedTexels() {
+        int width = 37;
+        int height = 19;
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        image.setRGB(0, 0, width, height, new Random(3).ints(width * height).toArray(), 0, width);
+        TexelBuffer compressed = new TexelBuffer(image, TexelLayout.ROW_MAJOR, TexelFormat.BC1);
+
+        BufferedImage decoded = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                decoded.setRGB(x, y, compressed.getTexel(x, y));
+            }
+        }
+        TexelBuffer reference = new TexelBuffer(decoded);
+
+        Random random = new Random(11);
+        for (int i = 0; i < 5000; i++) {
+            double x = random.nextDouble() * width;
+            double y = random.nextDouble() * height;
+            assertThat(compressed.sampleBilinear(x, y)).isEqualTo(reference.sampleBilinear(x, y));
+        }
+    }
+
+    private static int[] filled(int count, int color) {
+        int[] texels = new int[count];
+        Arrays.fill(texels, color);
+        return texels;
+    }
+
+    private static int[] channelRange(int[] rgb, int width, int blockX, int blockY, int shift) {
+        int min = 255;
+        int max = 0;
+        for (int y = blockY; y < blockY + 4; y++) {
+            for (int x = blockX; x < blockX + 4; x++) {
+                int channel = (rgb[y * width + x] >> shift) & 0xFF;
+                min = Math.min(min, channel);
+                max = Math.max(max, channel);
+            }
+        }
+        return new int[]{min, max};
+    }
+}
@@ -0,0 +1,203 @@
+package com.dqrapps.global.graphics;
+
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.awt.geom.Path2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OffscreenBackendTest {
+    private static final int RED = 0xFFFF0000;
+
+    @Test
+    void spansCoverThePixelsWhoseCentresLieInside() {
+        OffscreenBackend backend = new OffscreenBackend(8, 8);
+        // Centres 1.5, 2.5 and 3.5 lie in [1.5, 4.5); the right and bottom edges are exclusive
+        backend.fillShape(new Rectangle2D.Double(1.5, 1.5, 3, 2), RED);
+
+        assertThat(covered(backend)).containsExactly(
+            "........",
+            ".###....",
+            ".###....",
+            "........",
+            "........",
+            "........",
+            "........",
+            "........");
+    }
+
+    @Test
+    void spansJustShortOfAPixelCentreLeaveItEmpty() {
+        OffscreenBackend backend = new OffscreenBackend(4, 4);
+        backend.fillShape(new Rectangle2D.Double(0.51, 0.51, 2.98, 2.98), RED);
+
+        assertThat(covered(backend)).containsExactly(
+            "....",
+            ".##.",
+            ".##.",
+            "....");
+    }
+
+    @Test
+    void shapesReachingPastTheImageAreClippedToIt() {
+        OffscreenBackend backend = new OffscreenBackend(6, 4);
+        backend.fillShape(new Rectangle2D.Double(-10, -10, 13, 12), RED);
+        backend.fillShape(new Rectangle2D.Double(4, 3, 100, 100), RED);
+        // Entirely outside on every side: nothing is drawn and nothing is indexed out of range
+        backend.fillShape(new Rectangle2D.Double(-20, 0, 10, 4), RED);
+        backend.fillShape(new Rectangle2D.Double(10, 0, 10, 4), RED);
+        backend.fillShape(new Rectangle2D.Double(0, -20, 6, 10), RED);
+        backend.fillShape(new Rectangle2D.Double(0, 10, 6, 10), RED);
+
+        assertThat(covered(backend)).containsExactly(
+            "###...",
+            "###...",
+            "......",
+            "....##");
+    }
+
+    @Test
+    void nonZeroWindingFillsOverlapsAndEvenOddLeavesThemOut() {
+        OffscreenBackend nonZero = new OffscreenBackend(6, 6);
+        nonZero.fillShape(nestedSquares(Path2D.WIND_NON_ZERO, false), RED);
+        OffscreenBackend evenOdd = new OffscreenBackend(6, 6);
+        evenOdd.fillShape(nestedSquares(Path2D.WIND_EVEN_ODD, false), RED);
+        OffscreenBackend reversed = new OffscreenBackend(6, 6);
+        reversed.fillShape(nestedSquares(Path2D.WIND_NON_ZERO, true), RED);
+
+        assertThat(covered(nonZero)).containsExactly(
+            "######", "######", "######", "######", "######", "######");
+        String[] ring = {"######", "#....#", "#....#", "#....#", "#....#", "######"};
+        assertThat(covered(evenOdd)).containsExactly(ring);
+        // An inner square wound the other way cancels the outer one under the non-zero rule
+        assertThat(covered(reversed)).containsExactly(ring);
+    }
+
+    @Test
+    void strokedRectangleLeavesItsInteriorEmpty() {
+        OffscreenBackend backend = new OffscreenBackend(8, 8);
+        backend.draw(new Rectangle(1, 1, 5, 5), 0, 0, Color.RED, new BasicStroke(1));
+
+        // The stroke spans [0.5, 1.5) around x = 1 and covers the pixel centred on 0.5, unlike
+        // Java2D's stroke normalization, which shifts it half a pixel right and down
+        assertThat(covered(backend)).containsExactly(
+            "######..",
+            "#....#..",
+            "#....#..",
+            "#....#..",
+            "#....#..",
+            "######..",
+            "........",
+            "........");
+    }
+
+    @Test
+    void ovalIsSymmetricAndStaysInsideItsBounds() {
+        OffscreenBackend backend = new OffscreenBackend(12, 12);
+        backend.fillOval(1, 1, 10, 10, Color.RED);
+
+        String[] rows = covered(backend);
+        assertThat(rows[0]).isEqualTo("............");
+        assertThat(rows[11]).isEqualTo("............");
+        assertThat(rows[6]).isEqualTo(".##########.");
+        assertThat(rows[1].charAt(1)).isEqualTo('.');
+        for (int row = 0; row < 12; row++) {
+            assertThat(new StringBuilder(rows[row]).reverse().toString()).isEqualTo(rows[row]);
+            assertThat(rows[11 - row]).isEqualTo(rows[row]);
+        }
+    }
+
+    @Test
+    void translucentColourBlendsOntoAnOpaqueImage() {
+        BufferedImage image = new BufferedImage(2, 1, BufferedImage.TYPE_INT_RGB);
+        OffscreenBackend backend = new OffscreenBackend(image);
+        backend.clear(0xFF0000FF);
+        backend.fillShape(new Rectangle2D.Double(0, 0, 1, 1), 0x80FF0000);
+
+        assertThat(image.getRGB(0, 0)).isEqualTo(0xFF80007F);
+        assertThat(image.getRGB(1, 0)).isEqualTo(0xFF0000FF);
+    }
+
+    @Test
+    void translucentColourOverTransparentPixelsKeepsItsOwnAlpha() {
+        OffscreenBackend backend = new OffscreenBackend(3, 1);
+        backend.fillShape(new Rectangle2D.Double(0, 0, 1, 1), 0x80FF0000);
+        backend.fillShape(new Rectangle2D.Double(1, 0, 1, 1), 0x80FF0000);
+        backend.fillShape(new Rectangle2D.Double(1, 0, 1, 1), 0x800000FF);
+        backend.fillShape(new Rectangle2D.Double(2, 0, 1, 1), 0x00FFFFFF);
+
+        int[] pixels = backend.getPixels();
+        assertThat(pixels[0]).isEqualTo(0x80FF0000);
+        // Two half-covering layers: alpha 128 + 127 * 128 / 255 and the colour weighted towards the top one
+        assertThat(pixels[1]).isEqualTo(0xBF5400AA);
+        assertThat(pixels[2]).isZero();
+    }
+
+    @Test
+    void imagesScaleWithNearestSamplingAndClip() {
+        BufferedImage source = new BufferedImage(2, 2, BufferedImage.TYPE_INT_RGB);
+        source.setRGB(0, 0, 0xFF0000);
+        source.setRGB(1, 0, 0x00FF00);
+        source.setRGB(0, 1, 0x0000FF);
+        source.setRGB(1, 1, 0xFFFFFF);
+        OffscreenBackend backend = new OffscreenBackend(3, 3);
+        backend.drawImage(source, -1, -1, 4, 4);
+
+        int[] pixels = backend.getPixels();
+        assertThat(pixels).containsExactly(
+            0xFFFF0000, 0xFF00FF00, 0xFF00FF00,
+            0xFF0000FF, 0xFFFFFFFF, 0xFFFFFFFF,
+            0xFF0000FF, 0xFFFFFFFF, 0xFFFFFFFF);
+    }
+
+    @Test
+    void imagesOtherThanIntRgbAreRejected() {
+        BufferedImage image = new BufferedImage(2, 2, BufferedImage.TYPE_3BYTE_BGR);
+        assertThatThrownBy(() -> new OffscreenBackend(image)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * A 6x6 square around a 4x4 one, the inner one optionally wound the other way
+     */
+    private static Shape nestedSquares(int windingRule, boolean reverseInner) {
+        Path2D.Double path = new Path2D.Double(windingRule);
+        path.moveTo(0, 0);
+        path.lineTo(6, 0);
+        path.lineTo(6, 6);
+        path.lineTo(0, 6);
+        path.closePath();
+        if (reverseInner) {
+            path.moveTo(1, 1);
+            path.lineTo(1, 5);
+            path.lineTo(5, 5);
+            path.lineTo(5, 1);
+        } else {
+            path.moveTo(1, 1);
+            path.lineTo(5, 1);
+            path.lineTo(5, 5);
+            path.lineTo(1, 5);
+        }
+        path.closePath();
+        return path;
+    }
+
+    /**
+     * Rows of the image with '#' for every pixel that was drawn
+     */
+    private static String[] covered(OffscreenBackend backend) {
+        BufferedImage image = backend.getImage();
+        String[] rows = new String[image.getHeight()];
+        for (int y = 0; y < image.getHeight(); y++) {
+            StringBuilder row = new StringBuilder();
+            for (int x = 0; x < image.getWidth(); x++) {
+                row.append(backend.getPixels()[y * image.getWidth() + x] != 0 ? '#' : '.');
+            }
+            rows[y] = row.toString();
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,89 @@
+package com.dqrapps.global.graphics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SharedCacheTest {
+
+    @Test
+    void twoHoldersShareOneValueThatIsFreedWithTheLastRelease() {
+        AtomicInteger builds = new AtomicInteger();
+        SharedCache<String, Object> cache = new SharedCache<>(key -> {
+            builds.incrementAndGet();
+            return new Object();
+        });
+
+        Object first = cache.acquire("earth");
+        Object second = cache.acquire("earth");
+        assertThat(second).isSameAs(first);
+        assertThat(builds).hasValue(1);
+        assertThat(cache.getReferenceCount("earth")).isEqualTo(2);
+
+        cache.release("earth");
+        assertThat(cache.getReferenceCount("earth")).isEqualTo(1);
+        assertThat(cache.size()).isEqualTo(1);
+
+        cache.release("earth");
+        assertThat(cache.getReferenceCount("earth")).isZero();
+        assertThat(cache.size()).isZero();
+
+        // A release with nothing held does not drive the count negative and strand the next holder
+        cache.release("earth");
+        Object rebuilt = cache.acquire("earth");
+        assertThat(rebuilt).isNotSameAs(first);
+        assertThat(builds).hasValue(2);
+        assertThat(cache.getReferenceCount("earth")).isEqualTo(1);
+    }
+
+    @Test
+    void concurrentFirstAcquiresBuildOnce() throws Exception {
+        AtomicInteger builds = new AtomicInteger();
+        CountDownLatch building = new CountDownLatch(1);
+        SharedCache<String, Object> cache = new SharedCache<>(key -> {
+            builds.incrementAndGet();
+            building.countDown();
+            sleep(50);
+            return new Object();
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Object> first = executor.submit(() -> cache.acquire("mars"));
+            building.await(1, TimeUnit.SECONDS);
+            Future<Object> second = executor.submit(() -> cache.acquire("mars"));
+
+            assertThat(second.get(1, TimeUnit.SECONDS)).isSameAs(first.get(1, TimeUnit.SECONDS));
+            assertThat(builds).hasValue(1);
+            assertThat(cache.getReferenceCount("mars")).isEqualTo(2);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void failedBuildGivesBackItsReference() {
+        SharedCache<String, Object> cache = new SharedCache<>(key -> {
+            throw new IllegalStateException("no texture for " + key);
+        });
+
+        assertThatThrownBy(() -> cache.acquire("pluto")).isInstanceOf(IllegalStateException.class);
+        assertThat(cache.getReferenceCount("pluto")).isZero();
+        assertThat(cache.size()).isZero();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
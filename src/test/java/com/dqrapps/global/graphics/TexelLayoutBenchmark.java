@@ -0,0 +1,91 @@
+package com.dqrapps.global.graphics;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.awt.image.BufferedImage;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bilinear and nearest sampling of a tilted sphere's texture coordinates in each texel layout,
+ * the access pattern that blocked layouts are meant to help: near the poles and the limb
+ * consecutive pixels walk down texture columns. Run with
+ * {@code mvn -Pbenchmark test -Djmh.args=TexelLayoutBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class TexelLayoutBenchmark {
+    private static final int RADIUS = 350;
+
+    @Param({"ROW_MAJOR", "TILED", "MORTON"})
+    public TexelLayout layout;
+
+    @Param({"2048", "8192"})
+    public int textureWidth;
+
+    private TexelBuffer texels;
+    private double[] x;
+    private double[] y;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        int textureHeight = textureWidth / 2;
+        BufferedImage image = new BufferedImage(textureWidth, textureHeight, BufferedImage.TYPE_INT_RGB);
+        int[] noise = new Random(42).ints(textureWidth * textureHeight).toArray();
+        image.setRGB(0, 0, textureWidth, textureHeight, noise, 0, textureWidth);
+        texels = new TexelBuffer(image, layout);
+
+        // Texture coordinates of every sphere pixel under a pitched and tilted camera,
+        // derived as SphereRenderer does for non-yaw-only cameras
+        ProjectionTable table = new ProjectionTable(RADIUS);
+        double[] m = CameraOrientation.fromAngles(0.7, 0.6, 0.3).toMatrix();
+        int count = table.getCount();
+        x = new double[count];
+        y = new double[count];
+        for (int i = 0; i < count; i++) {
+            double dx = table.getDirectionX()[i];
+            double dy = table.getDirectionY()[i];
+            double dz = table.getDirectionZ()[i];
+            double bodyX = m[0] * dx + m[1] * dy + m[2] * dz;
+            double bodyY = m[3] * dx + m[4] * dy + m[5] * dz;
+            double bodyZ = m[6] * dx + m[7] * dy + m[8] * dz;
+            double u = (Math.atan2(bodyZ, bodyX) + Math.PI) / (2 * Math.PI);
+            double latitude = Math.atan2(-bodyY, Math.sqrt(bodyX * bodyX + bodyZ * bodyZ));
+            x[i] = (u - Math.floor(u)) * textureWidth;
+            y[i] = Math.max(0, Math.min(1, (Math.PI / 2 - latitude) / Math.PI)) * textureHeight;
+        }
+    }
+
+    @Benchmark
+    public long bilinear() {
+        long sum = 0;
+        for (int i = 0; i < x.length; i++) {
+            sum += texels.sampleBilinear(x[i], y[i]);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long nearest() {
+        long sum = 0;
+        for (int i = 0; i < x.length; i++) {
+            sum += texels.sampleNearest(x[i], y[i]);
+        }
+        return sum;
+    }
+}
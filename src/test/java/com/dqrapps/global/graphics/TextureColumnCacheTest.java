@@ -0,0 +1,104 @@
+package com.dqrapps.global.graphics;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.awt.image.BufferedImage;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TextureColumnCacheTest {
+    private static final int RADIUS = 40;
+    private static final int TEXTURE_WIDTH = 96;
+    private static final int TEXTURE_HEIGHT = 48;
+
+    @ParameterizedTest(name = "nearest={0}")
+    @ValueSource(booleans = {false, true})
+    void turningPlanetMatchesDirectSampling(boolean nearest) {
+        ProjectionTable table = new ProjectionTable(RADIUS);
+        TexelBuffer texels = randomTexels(7);
+        TextureColumnCache cache = new TextureColumnCache(table, texels, nearest);
+        int[] sampled = new int[table.getCount()];
+
+        // Steps below, around and above one texel, and a full turn that wraps back to the start
+        for (double yaw : new double[] {0, 0.01, 0.05, 0.3, 2.5, 2 * Math.PI}) {
+            float[] u = rotatedU(table, yaw);
+            cache.sample(u, sampled);
+            for (int i = 0; i < table.getCount(); i++) {
+                double x = u[i] * (double) TEXTURE_WIDTH;
+                double y = table.getV()[i] * (double) TEXTURE_HEIGHT;
+                int expected = nearest ? texels.sampleNearest(x, y) : texels.sampleBilinear(x, y);
+                if (nearest) {
+                    assertThat(sampled[i]).isEqualTo(expected);
+                } else {
+                    // The two filter passes truncate separately, so a channel may be one step lower
+                    assertThat(channelDifference(sampled[i], expected)).as("pixel %d at yaw %s", i, yaw).isLessThanOrEqualTo(1);
+                }
+            }
+        }
+    }
+
+    @ParameterizedTest(name = "nearest={0}")
+    @ValueSource(booleans = {false, true})
+    void onlyColumnsTurningIntoViewAreFilled(boolean nearest) {
+        ProjectionTable table = new ProjectionTable(RADIUS);
+        TextureColumnCache cache = new TextureColumnCache(table, randomTexels(11), nearest);
+        int[] sampled = new int[table.getCount()];
+
+        int first = cache.sample(rotatedU(table, 0), sampled);
+        // The front hemisphere shows about half of the texture's columns
+        assertThat(first).isBetween(TEXTURE_WIDTH / 2 - 2, TEXTURE_WIDTH / 2 + 2);
+        assertThat(cache.sample(rotatedU(table, 0), sampled)).isZero();
+
+        // Turning by four texels exposes about four new columns on the leading limb
+        int turned = cache.sample(rotatedU(table, 4 * 2 * Math.PI / TEXTURE_WIDTH), sampled);
+        assertThat(turned).isBetween(3, 5);
+    }
+
+    @ParameterizedTest(name = "nearest={0}")
+    @ValueSource(booleans = {false, true})
+    void cacheBelongsToOneTableLevelAndMode(boolean nearest) {
+        ProjectionTable table = new ProjectionTable(RADIUS);
+        TexelBuffer texels = randomTexels(3);
+        TextureColumnCache cache = new TextureColumnCache(table, texels, nearest);
+
+        assertThat(cache.matches(table, texels, nearest)).isTrue();
+        assertThat(cache.matches(table, texels, !nearest)).isFalse();
+        assertThat(cache.matches(table, randomTexels(3), nearest)).isFalse();
+        assertThat(cache.matches(new ProjectionTable(RADIUS), texels, nearest)).isFalse();
+    }
+
+    /**
+     * Texture u of every table pixel for a yaw-only camera, as SphereRenderer computes it
+     */
+    private static float[] rotatedU(ProjectionTable table, double yaw) {
+        double shift = yaw / (2 * Math.PI);
+        float[] baseU = table.getBaseU();
+        float[] u = new float[table.getCount()];
+        for (int i = 0; i < u.length; i++) {
+            double shifted = baseU[i] + shift;
+            u[i] = (float) (shifted - Math.floor(shifted));
+        }
+        return u;
+    }
+
+    private static TexelBuffer randomTexels(long seed) {
+        Random random = new Random(seed);
+        BufferedImage image = new BufferedImage(TEXTURE_WIDTH, TEXTURE_HEIGHT, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < TEXTURE_HEIGHT; y++) {
+            for (int x = 0; x < TEXTURE_WIDTH; x++) {
+                image.setRGB(x, y, random.nextInt(0x1000000));
+            }
+        }
+        return new TexelBuffer(image);
+    }
+
+    private static int channelDifference(int a, int b) {
+        int difference = 0;
+        for (int shift = 0; shift <= 24; shift += 8) {
+            difference = Math.max(difference, Math.abs(((a >> shift) & 0xFF) - ((b >> shift) & 0xFF)));
+        }
+        return difference;
+    }
+}
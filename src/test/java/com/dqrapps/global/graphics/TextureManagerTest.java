@@ -0,0 +1,60 @@
+package com.dqrapps.global.graphics;
+
+import com.dqrapps.global.model.Planet;
+import com.dqrapps.global.model.PlanetCatalog;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Viewports sharing one reference-counted {@link TextureCache}
+ */
+class TextureManagerTest {
+    private static final int LEVEL = 3;
+
+    private final Planet earth = PlanetCatalog.loadDefault().get("earth");
+
+    @Test
+    void viewportsShareTheCacheUntilBothRelease() {
+        // Other tests may hold RGB viewports, so counts are relative to what is held already
+        int before = TextureManager.getSharedUsers(TexelFormat.RGB);
+        TextureManager first = new TextureManager();
+        TextureManager second = new TextureManager();
+        assertThat(TextureManager.getSharedUsers(TexelFormat.RGB)).isEqualTo(before + 2);
+        assertThat(second.getPlanetTexels(earth, LEVEL)).isSameAs(first.getPlanetTexels(earth, LEVEL));
+
+        first.release();
+        assertThat(TextureManager.getSharedUsers(TexelFormat.RGB)).isEqualTo(before + 1);
+        // Releasing the same viewport again must not take the other viewport's reference
+        first.release();
+        assertThat(TextureManager.getSharedUsers(TexelFormat.RGB)).isEqualTo(before + 1);
+        assertThat(second.getPlanetTexels(earth, LEVEL)).isNotNull();
+
+        second.release();
+        assertThat(TextureManager.getSharedUsers(TexelFormat.RGB)).isEqualTo(before);
+    }
+
+    @Test
+    void layoutSwitchKeepsTheOtherViewportsTexels() {
+        TextureManager switching = new TextureManager(TexelFormat.RGB, TexelLayout.ROW_MAJOR);
+        TextureManager staying = new TextureManager(TexelFormat.RGB, TexelLayout.ROW_MAJOR);
+        try {
+            TexelBuffer rowMajor = staying.getPlanetTexels(earth, LEVEL);
+            assertThat(switching.getPlanetTexels(earth, LEVEL)).isSameAs(rowMajor);
+
+            switching.setTexelLayout(TexelLayout.MORTON);
+            TexelBuffer morton = switching.getPlanetTexels(earth, LEVEL);
+            assertThat(morton.getLayout()).isEqualTo(TexelLayout.MORTON);
+            assertThat(morton.sampleNearest(10, 10)).isEqualTo(rowMajor.sampleNearest(10, 10));
+            // The row-major texels are still in use by the other viewport and are not rebuilt
+            assertThat(staying.getPlanetTexels(earth, LEVEL)).isSameAs(rowMajor);
+
+            // Switching back to a layout another viewport holds reuses its texels
+            switching.setTexelLayout(TexelLayout.ROW_MAJOR);
+            assertThat(switching.getPlanetTexels(earth, LEVEL)).isSameAs(rowMajor);
+        } finally {
+            switching.release();
+            staying.release();
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.dqrapps.global.metrics;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class LatencyHistogramTest {
+
+    @Test
+    void smallValuesAreExactAndPercentilesRankThem() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 10; value >= 1; value--) {
+            histogram.record(value);
+        }
+
+        assertThat(histogram.getTotalCount()).isEqualTo(10);
+        assertThat(histogram.getMaxValue()).isEqualTo(10);
+        assertThat(histogram.getMean()).isEqualTo(5.5);
+        assertThat(histogram.getValueAtPercentile(0)).isEqualTo(1);
+        assertThat(histogram.getValueAtPercentile(50)).isEqualTo(5);
+        assertThat(histogram.getValueAtPercentile(50.1)).isEqualTo(6);
+        assertThat(histogram.getValueAtPercentile(90)).isEqualTo(9);
+        assertThat(histogram.getValueAtPercentile(99)).isEqualTo(10);
+        assertThat(histogram.getValueAtPercentile(100)).isEqualTo(10);
+        assertThat(histogram.getValueAtPercentile(150)).isEqualTo(10);
+    }
+
+    /**
+     * Values below 32 get a bucket each; above that each power of two is split into 16
+     * sub-buckets, two wide from 32 and four wide from 64, reported at their midpoint
+     */
+    @ParameterizedTest(name = "{0} -> {1}")
+    @CsvSource({
+        "31, 31",
+        "32, 33",
+        "33, 33",
+        "34, 35",
+        "63, 63",
+        "64, 66",
+        "67, 66",
+        "68, 70",
+        "127, 126",
+        "128, 132"
+    })
+    void valuesAreReportedAtTheirSubBucketMidpoint(long value, long midpoint) {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(value);
+        // A larger second sample keeps the percentile from being clamped to the maximum
+        histogram.record(1_000_000);
+
+        assertThat(histogram.getValueAtPercentile(50)).isEqualTo(midpoint);
+    }
+
+    @Test
+    void largeValuesStayWithinTheSubBucketPrecision() {
+        Random random = new Random(26);
+        for (int i = 0; i < 1000; i++) {
+            long value = 32 + (random.nextLong() >>> (1 + random.nextInt(57)));
+            LatencyHistogram histogram = new LatencyHistogram();
+            histogram.record(value);
+            histogram.record(Long.MAX_VALUE);
+
+            long reported = histogram.getValueAtPercentile(50);
+            assertThat((double) Math.abs(reported - value)).as("value %d", value).isLessThanOrEqualTo(value / 32.0);
+        }
+    }
+
+    @Test
+    void highestTrackableValueDoesNotOverflow() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(Long.MAX_VALUE);
+        histogram.record(Long.MAX_VALUE);
+        histogram.record(Long.MAX_VALUE - 1);
+
+        assertThat(histogram.getTotalCount()).isEqualTo(3);
+        assertThat(histogram.getMaxValue()).isEqualTo(Long.MAX_VALUE);
+        assertThat(histogram.getMean()).isCloseTo(Long.MAX_VALUE, within(1e4));
+        // All three share the top sub-bucket, [31 * 2^58, 2^63), and report its midpoint
+        long topMidpoint = (31L << 58) + (1L << 57);
+        assertThat(histogram.getValueAtPercentile(50)).isEqualTo(topMidpoint);
+        assertThat(histogram.getValueAtPercentile(100)).isEqualTo(topMidpoint);
+    }
+
+    @Test
+    void negativeValuesAreRecordedAsZero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-5);
+
+        assertThat(histogram.getTotalCount()).isEqualTo(1);
+        assertThat(histogram.getValueAtPercentile(100)).isZero();
+        assertThat(histogram.getMean()).isZero();
+    }
+
+    @Test
+    void resetClearsEverySampleAndCopiesAreIndependent() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(40);
+        histogram.record(5_000);
+        LatencyHistogram snapshot = histogram.copy();
+
+        histogram.reset();
+
+        assertThat(histogram.getTotalCount()).isZero();
+        assertThat(histogram.getMaxValue()).isZero();
+        assertThat(histogram.getMean()).isZero();
+        assertThat(histogram.getValueAtPercentile(99)).isZero();
+        assertThat(snapshot.getTotalCount()).isEqualTo(2);
+        assertThat(snapshot.getMaxValue()).isEqualTo(5_000);
+
+        histogram.record(7);
+        assertThat(histogram.getValueAtPercentile(50)).isEqualTo(7);
+        assertThat(histogram.getMean()).isEqualTo(7.0);
+    }
+}
@@ -0,0 +1,125 @@
+package com.dqrapps.global.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PlanetCatalogTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void builtInCatalogListsBodiesInSelectorOrder() {
+        PlanetCatalog catalog = PlanetCatalog.loadDefault();
+        assertThat(catalog.getAllDisplayNames())
+            .containsExactly("Earth", "Mars", "Jupiter", "Venus", "Mercury", "Saturn", "Neptune");
+        Planet earth = catalog.getDefault();
+        assertThat(earth.getId()).isEqualTo("earth");
+        assertThat(earth.getTextureFileName()).isEqualTo("earth_daymap.jpg");
+        assertThat(earth.getRedComponent()).isEqualTo(0.8);
+        assertThat(earth.getAtmosphereDensity()).isEqualTo(0.9);
+        assertThat(earth.getNightTextureFileName()).isNull();
+    }
+
+    @Test
+    void externalFileOverridesInPlaceAndAppendsNewBodies() throws IOException {
+        Files.createDirectories(directory.resolve("textures"));
+        write("textures/moon.png");
+        Path file = write("moons.properties",
+            "bodies=moon,mars",
+            "moon.name=Moon",
+            "moon.texture=textures/moon.png",
+            "moon.reflectivity=0.12",
+            "mars.name=Red Planet",
+            "mars.color=1,0,0");
+
+        PlanetCatalog catalog = PlanetCatalog.load(file.toString());
+
+        assertThat(catalog.size()).isEqualTo(8);
+        assertThat(catalog.getPlanets().get(1).getDisplayName()).isEqualTo("Red Planet");
+        assertThat(catalog.getPlanets().get(7).getId()).isEqualTo("moon");
+        assertThat(catalog.fromDisplayName("Red Planet").getRedComponent()).isEqualTo(1.0);
+        // The old name no longer resolves to the overridden body
+        assertThat(catalog.fromDisplayName("Mars")).isEqualTo(catalog.getDefault());
+        // Textures of external entries resolve against the catalog file's directory
+        assertThat(catalog.get("moon").getTextureFileName())
+            .isEqualTo(new File(directory.toFile(), "textures/moon.png").getPath());
+        assertThat(catalog.get("moon").getBaseReflectivity()).isEqualTo(0.12);
+    }
+
+    @Test
+    void renamingABodyKeepsANameTakenOverByAnother() throws IOException {
+        Path file = write("names.properties",
+            "bodies=moon,earth",
+            "moon.name=Earth",
+            "earth.name=Terra");
+
+        PlanetCatalog catalog = PlanetCatalog.load(file.toString());
+
+        assertThat(catalog.fromDisplayName("Earth").getId()).isEqualTo("moon");
+        assertThat(catalog.fromDisplayName("Terra").getId()).isEqualTo("earth");
+    }
+
+    @Test
+    void clashingDisplayNamesAreMadeUnique() throws IOException {
+        Path file = write("twins.properties",
+            "bodies=moon,phobos",
+            "moon.name=Mars",
+            "phobos.name=Mars");
+
+        PlanetCatalog catalog = PlanetCatalog.load(file.toString());
+
+        assertThat(catalog.getAllDisplayNames()).doesNotHaveDuplicates()
+            .contains("Mars", "Mars (moon)", "Mars (phobos)");
+        assertThat(catalog.fromDisplayName("Mars").getId()).isEqualTo("mars");
+        assertThat(catalog.fromDisplayName("Mars (moon)").getId()).isEqualTo("moon");
+        assertThat(catalog.fromDisplayName("Mars (phobos)").getId()).isEqualTo("phobos");
+        assertThat(catalog.get("phobos").getDisplayName()).isEqualTo("Mars (phobos)");
+    }
+
+    @Test
+    void invalidNumberSkipsOnlyThatBody() throws IOException {
+        Path file = write("broken.properties",
+            "bodies=pluto,ceres,eris",
+            "pluto.reflectivity=bright",
+            "ceres.name=Ceres",
+            "eris.color=1,0");
+
+        PlanetCatalog catalog = PlanetCatalog.load(file.toString());
+
+        assertThat(catalog.get("pluto")).isNull();
+        assertThat(catalog.get("eris")).isNull();
+        assertThat(catalog.get("ceres").getDisplayName()).isEqualTo("Ceres");
+    }
+
+    @Test
+    void directoryIsReadInFileNameOrder() throws IOException {
+        write("a.properties", "bodies=moon", "moon.name=First");
+        write("b.properties", "bodies=moon", "moon.name=Second");
+        write("notes.txt", "bodies=ignored");
+
+        PlanetCatalog catalog = PlanetCatalog.load(directory.toString());
+
+        assertThat(catalog.get("moon").getDisplayName()).isEqualTo("Second");
+        assertThat(catalog.get("ignored")).isNull();
+        assertThat(catalog.fromDisplayName("First")).isEqualTo(catalog.getDefault());
+    }
+
+    @Test
+    void missingLocationFallsBackToTheBuiltInCatalog() {
+        PlanetCatalog catalog = PlanetCatalog.load(directory.resolve("absent").toString());
+        assertThat(catalog.size()).isEqualTo(7);
+    }
+
+    private Path write(String name, String... lines) throws IOException {
+        return Files.write(directory.resolve(name), String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+    }
+}
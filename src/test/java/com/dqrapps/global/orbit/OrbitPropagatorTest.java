@@ -0,0 +1,80 @@
+package com.dqrapps.global.orbit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class OrbitPropagatorTest {
+    /** The secular model leaves out SGP4's periodic terms, worth several kilometres in low orbits */
+    private static final double TOLERANCE_KM = 20;
+
+    private final OrbitPropagator propagator = new OrbitPropagator();
+
+    @Test
+    void matchesTheSgp4VerificationCaseForVanguard() {
+        SatelliteCatalog catalog = TleParserTest.parse(TleParserTest.VANGUARD_LINE1, TleParserTest.VANGUARD_LINE2);
+        double epoch = catalog.getEpoch(0);
+
+        // TEME positions of satellite 00005 from the published SGP4 verification output
+        propagator.propagate(catalog, epoch);
+        assertPosition(catalog, 7022.46529266, -1400.08296755, 0.03995155);
+        propagator.propagate(catalog, epoch + 360 / 1440.0);
+        assertPosition(catalog, -7154.03120202, -3783.17682504, -3536.19412294);
+    }
+
+    @Test
+    void keepsTheIssOnItsOrbit() {
+        SatelliteCatalog catalog = TleParserTest.parse(TleParserTest.ISS_NAME, TleParserTest.ISS_LINE1,
+            TleParserTest.ISS_LINE2);
+        double maxZ = Math.sin(Math.toRadians(51.6416));
+        for (int minute = 0; minute <= 1440; minute += 30) {
+            propagator.propagate(catalog, catalog.getEpoch(0) + minute / 1440.0);
+            double x = catalog.getPositionX()[0];
+            double y = catalog.getPositionY()[0];
+            double z = catalog.getPositionZ()[0];
+            double r = Math.sqrt(x * x + y * y + z * z);
+            // About 350 km up in a near-circular orbit
+            assertThat(r - SatelliteCatalog.EARTH_RADIUS_KM).isBetween(330.0, 380.0);
+            assertThat(Math.abs(z) / r).isLessThanOrEqualTo(maxZ + 1e-6);
+        }
+    }
+
+    @Test
+    void parallelBatchesMatchTheSequentialResult() {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < OrbitPropagator.BATCH_SIZE * 2 + 7; i++) {
+            text.append(i % 2 == 0 ? TleParserTest.ISS_LINE1 + "\n" + TleParserTest.ISS_LINE2
+                : TleParserTest.VANGUARD_LINE1 + "\n" + TleParserTest.VANGUARD_LINE2).append('\n');
+        }
+        SatelliteCatalog sequential = TleParserTest.parse(text.toString());
+        SatelliteCatalog parallel = TleParserTest.parse(text.toString());
+        double date = sequential.getLatestEpoch() + 0.3;
+
+        propagator.setParallel(false);
+        propagator.propagate(sequential, date);
+        propagator.setParallel(true);
+        propagator.propagate(parallel, date);
+
+        assertThat(parallel.getPositionX()).containsExactly(sequential.getPositionX());
+        assertThat(parallel.getPositionY()).containsExactly(sequential.getPositionY());
+        assertThat(parallel.getPositionZ()).containsExactly(sequential.getPositionZ());
+    }
+
+    @Test
+    void keplerSolveSatisfiesKeplersEquation() {
+        for (double e : new double[]{0.05, 0.3, 0.7, 0.95}) {
+            for (double meanAnomaly = -7; meanAnomaly < 7; meanAnomaly += 0.37) {
+                double eccentricAnomaly = OrbitPropagator.solveKepler(meanAnomaly, e);
+                double reduced = meanAnomaly - 2 * Math.PI * Math.floor(meanAnomaly / (2 * Math.PI));
+                assertThat(eccentricAnomaly - e * Math.sin(eccentricAnomaly)).isCloseTo(reduced, within(1e-9));
+            }
+        }
+    }
+
+    private static void assertPosition(SatelliteCatalog catalog, double x, double y, double z) {
+        assertThat((double) catalog.getPositionX()[0]).isCloseTo(x, within(TOLERANCE_KM));
+        assertThat((double) catalog.getPositionY()[0]).isCloseTo(y, within(TOLERANCE_KM));
+        assertThat((double) catalog.getPositionZ()[0]).isCloseTo(z, within(TOLERANCE_KM));
+    }
+}
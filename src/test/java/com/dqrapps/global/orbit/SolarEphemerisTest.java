@@ -0,0 +1,53 @@
+package com.dqrapps.global.orbit;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class SolarEphemerisTest {
+    private static final double DECLINATION_TOLERANCE = 0.05;
+    private static final double LONGITUDE_TOLERANCE = 0.15; // Degrees; about half a minute of the equation of time
+
+    /**
+     * 2024 equinoxes and solstices with the Almanac's declination (the obliquity at the solstices)
+     * and equation of time in minutes. The Sun is overhead at -(UTC hour - 12) * 15 degrees,
+     * moved west by a quarter degree per minute the apparent Sun runs ahead of the mean Sun.
+     */
+    @ParameterizedTest(name = "{0}")
+    @CsvSource({
+        "2024-03-20T03:06:00Z, 0.0, -7.4",
+        "2024-06-20T20:51:00Z, 23.436, -1.8",
+        "2024-09-22T12:44:00Z, 0.0, 7.5",
+        "2024-12-21T09:21:00Z, -23.436, 1.7"
+    })
+    void subsolarPointMatchesTheAlmanac(String time, double declination, double equationOfTimeMinutes) {
+        Instant instant = Instant.parse(time);
+        SolarPosition position = SolarEphemeris.position(instant);
+
+        double utcHours = (instant.getEpochSecond() % 86400) / 3600.0;
+        double expectedLongitude = -(utcHours - 12) * 15 - equationOfTimeMinutes / 4;
+        assertThat(position.getEpochSecond()).isEqualTo(instant.getEpochSecond());
+        assertThat(Math.toDegrees(position.getLatitude())).isCloseTo(declination, within(DECLINATION_TOLERANCE));
+        assertThat(Math.toDegrees(position.getLongitude())).isCloseTo(expectedLongitude, within(LONGITUDE_TOLERANCE));
+
+        // Body frame: x and z span the equator with x at longitude 0 and z at 90 degrees east,
+        // y points to the south pole, so a Sun over the northern hemisphere has negative y
+        double[] direction = position.getBodyDirection();
+        double latitude = Math.toRadians(declination);
+        double longitude = Math.toRadians(expectedLongitude);
+        assertThat(Math.sqrt(direction[0] * direction[0] + direction[1] * direction[1] + direction[2] * direction[2]))
+            .isCloseTo(1.0, within(1e-12));
+        assertThat(direction[1]).isCloseTo(-Math.sin(latitude), within(1e-3));
+        assertThat(direction[0]).isCloseTo(Math.cos(latitude) * Math.cos(longitude), within(3e-3));
+        assertThat(direction[2]).isCloseTo(Math.cos(latitude) * Math.sin(longitude), within(3e-3));
+        if (declination > 1) {
+            assertThat(direction[1]).isNegative();
+        } else if (declination < -1) {
+            assertThat(direction[1]).isPositive();
+        }
+    }
+}
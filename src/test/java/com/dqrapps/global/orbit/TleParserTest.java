@@ -0,0 +1,88 @@
+package com.dqrapps.global.orbit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class TleParserTest {
+    static final String ISS_NAME = "ISS (ZARYA)";
+    static final String ISS_LINE1 = "1 25544U 98067A   08264.51782528 -.00002182  00000-0 -11606-4 0  2927";
+    static final String ISS_LINE2 = "2 25544  51.6416 247.4627 0006703 130.5360 325.0288 15.72125391563537";
+    static final String VANGUARD_LINE1 = "1 00005U 58002B   00179.78495062  .00000023  00000-0  28098-4 0  4753";
+    static final String VANGUARD_LINE2 = "2 00005  34.2682 348.7242 1859667 331.7664  19.3264 10.82419157413667";
+
+    @TempDir
+    Path directory;
+
+    static SatelliteCatalog parse(String... lines) {
+        return TleParser.parse(ByteBuffer.wrap(String.join("\n", lines).getBytes(StandardCharsets.ISO_8859_1)));
+    }
+
+    @Test
+    void parsesTheIssElementSet() {
+        SatelliteCatalog catalog = parse(ISS_NAME, ISS_LINE1, ISS_LINE2);
+
+        assertThat(catalog.size()).isEqualTo(1);
+        assertThat(catalog.getName(0)).isEqualTo(ISS_NAME);
+        assertThat(catalog.getCatalogNumber(0)).isEqualTo(25544);
+        // 2008 day 264.51782528: January 1st 2008 is JD 2454466.5
+        assertThat(catalog.getEpoch(0)).isCloseTo(2454466.5 + 263.51782528, within(1e-8));
+        assertThat(catalog.getEccentricities()[0]).isEqualTo(0.0006703);
+        assertThat(Math.toDegrees(catalog.getAscendingNodes()[0])).isCloseTo(247.4627, within(1e-9));
+        assertThat(Math.toDegrees(catalog.getPerigees()[0])).isCloseTo(130.5360, within(1e-9));
+        assertThat(Math.toDegrees(catalog.getMeanAnomalies()[0])).isCloseTo(325.0288, within(1e-9));
+        assertThat(catalog.getMeanMotionDecay()[0]).isNegative();
+        assertThat(catalog.getRegime(0)).isEqualTo(SatelliteCatalog.LOW_EARTH_ORBIT);
+    }
+
+    @Test
+    void skipsElementSetsFailingTheirChecksum() {
+        String corruptedLine2 = ISS_LINE2.replace("51.6416", "51.6417");
+        SatelliteCatalog catalog = parse(ISS_NAME, ISS_LINE1, corruptedLine2, VANGUARD_LINE1, VANGUARD_LINE2);
+
+        assertThat(catalog.size()).isEqualTo(1);
+        assertThat(catalog.getCatalogNumber(0)).isEqualTo(5);
+        // The skipped set's name line does not carry over; unnamed sets are named by number
+        assertThat(catalog.getName(0)).isEqualTo("5");
+    }
+
+    @Test
+    void skipsPairsWithDifferentSatelliteNumbers() {
+        assertThat(parse(ISS_LINE1, VANGUARD_LINE2).size()).isZero();
+    }
+
+    @Test
+    void decodesAlpha5SatelliteNumbers() {
+        // A leading letter carries no checksum weight, so replacing the first zero keeps both lines valid
+        assertThat(parse(VANGUARD_LINE1.replace(" 00005", " A0005"), VANGUARD_LINE2.replace(" 00005", " A0005"))
+            .getCatalogNumber(0)).isEqualTo(100005);
+        // I and O are not used, so J is 18 and P is 23 ten-thousands
+        assertThat(parse(VANGUARD_LINE1.replace(" 00005", " J0005"), VANGUARD_LINE2.replace(" 00005", " J0005"))
+            .getCatalogNumber(0)).isEqualTo(180005);
+        assertThat(parse(VANGUARD_LINE1.replace(" 00005", " P0005"), VANGUARD_LINE2.replace(" 00005", " P0005"))
+            .getCatalogNumber(0)).isEqualTo(230005);
+    }
+
+    @Test
+    void readsThreeLineFilesFromDisk() throws IOException {
+        Path file = directory.resolve("stations.txt");
+        String text = "0 " + ISS_NAME + "\r\n" + ISS_LINE1 + "\r\n" + ISS_LINE2 + "\r\n"
+            + "0 VANGUARD 1\r\n" + VANGUARD_LINE1 + "\r\n" + VANGUARD_LINE2 + "\r\n";
+        Files.write(file, text.getBytes(StandardCharsets.ISO_8859_1));
+
+        SatelliteCatalog catalog = TleParser.parse(file);
+
+        assertThat(catalog.size()).isEqualTo(2);
+        assertThat(catalog.getName(0)).isEqualTo(ISS_NAME);
+        assertThat(catalog.getName(1)).isEqualTo("VANGUARD 1");
+        assertThat(catalog.getLatestEpoch()).isEqualTo(catalog.getEpoch(0));
+    }
+}
@@ -0,0 +1,125 @@
+package com.dqrapps.global.regression;
+
+import com.dqrapps.global.graphics.CameraOrientation;
+import com.dqrapps.global.graphics.Java2DBackend;
+import com.dqrapps.global.graphics.LightingSystem;
+import com.dqrapps.global.graphics.OffscreenBackend;
+import com.dqrapps.global.graphics.RenderBackend;
+import com.dqrapps.global.graphics.RenderBackendType;
+import com.dqrapps.global.graphics.SphereRenderer;
+import com.dqrapps.global.graphics.TextureManager;
+import com.dqrapps.global.model.Planet;
+import com.dqrapps.global.model.PlanetCatalog;
+import com.dqrapps.global.model.Satellite;
+import com.dqrapps.global.model.SatelliteFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput comparison of the render backends. Each backend draws the same scene as a
+ * GlobePanel frame (stars, orbits, satellites with glow, the planet, the light source and the
+ * terminator) into an offscreen frame, with the sphere itself taken from the renderer's cache so
+ * the backends' own rasterization is what is measured. The last frame of each backend is written
+ * to target/backends for comparison. Run with
+ * {@code mvn -Pbenchmark test -Djmh.args=BackendBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class BackendBenchmark {
+    private static final int WIDTH = 1000;
+    private static final int HEIGHT = 700;
+    private static final long SATELLITE_SEED = 42;
+    private static final Path OUTPUT = Paths.get("target/backends");
+
+    @Param({"JAVA2D", "OFFSCREEN"})
+    public RenderBackendType backend;
+
+    @Param({"20"})
+    public int satelliteCount;
+
+    @Param({"earth"})
+    public String planetId;
+
+    private TextureManager textureManager;
+    private LightingSystem lightingSystem;
+    private SphereRenderer sphereRenderer;
+    private Planet planet;
+    private List<Satellite> satellites;
+    private BufferedImage frame;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        textureManager = new TextureManager();
+        lightingSystem = new LightingSystem();
+        sphereRenderer = new SphereRenderer(textureManager, lightingSystem);
+        sphereRenderer.setTemporalReprojection(true);
+        planet = PlanetCatalog.loadDefault().get(planetId);
+        satellites = SatelliteFactory.createSatellites(satelliteCount, 150, SATELLITE_SEED);
+        frame = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.createDirectories(OUTPUT);
+        ImageIO.write(frame, "png", OUTPUT.resolve(backend.name().toLowerCase() + ".png").toFile());
+        sphereRenderer.dispose();
+        textureManager.release();
+    }
+
+    /**
+     * One frame in GlobePanel's drawing order
+     */
+    @Benchmark
+    public BufferedImage drawFrame() {
+        Graphics2D g2d = frame.createGraphics();
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        RenderBackend target = backend == RenderBackendType.OFFSCREEN ? new OffscreenBackend(frame) : new Java2DBackend(g2d);
+        g2d.setColor(Color.BLACK);
+        g2d.fillRect(0, 0, WIDTH, HEIGHT);
+
+        int centerX = WIDTH / 2;
+        int centerY = HEIGHT / 2;
+        int radius = Math.min(WIDTH, HEIGHT) / 4;
+        sphereRenderer.drawStars(target, WIDTH, HEIGHT);
+        for (Satellite satellite : satellites) {
+            satellite.drawOrbit(target, centerX, centerY);
+        }
+        for (Satellite satellite : satellites) {
+            satellite.draw(target, centerX, centerY, true);
+        }
+        CameraOrientation camera = CameraOrientation.fromAngles(0, 0, 0);
+        lightingSystem.setCamera(camera);
+        sphereRenderer.drawPlanet(target, centerX, centerY, radius, planet, camera);
+        lightingSystem.drawLightSource(target, centerX, centerY, radius, 0);
+        lightingSystem.drawTerminator(target, centerX, centerY, radius);
+        g2d.dispose();
+        return frame;
+    }
+}
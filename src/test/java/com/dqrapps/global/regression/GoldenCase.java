@@ -0,0 +1,77 @@
+package com.dqrapps.global.regression;
+
+import com.dqrapps.global.graphics.CameraOrientation;
+import com.dqrapps.global.model.Planet;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * One reference render: a planet at a fixed orientation and light angle, drawn through
+ * either the direct raster path or the projection-table path of the sphere renderer
+ */
+public class GoldenCase {
+    private final Planet planet;
+    private final double yaw;
+    private final double pitch;
+    private final double tilt;
+    private final double lightAngle;
+    private final boolean projectionTable;
+
+    public GoldenCase(Planet planet, double yaw, double pitch, double tilt, double lightAngle,
+                      boolean projectionTable) {
+        this.planet = planet;
+        this.yaw = yaw;
+        this.pitch = pitch;
+        this.tilt = tilt;
+        this.lightAngle = lightAngle;
+        this.projectionTable = projectionTable;
+    }
+
+    /**
+     * The standard cases for a planet: a face-on view on each sphere path and a pitched,
+     * tilted view, under three different light angles
+     */
+    public static List<GoldenCase> standardCases(Planet planet) {
+        List<GoldenCase> cases = new ArrayList<>();
+        cases.add(new GoldenCase(planet, 0.0, 0.0, 0.0, Math.toRadians(45), false));
+        cases.add(new GoldenCase(planet, 2.1, 0.0, 0.0, Math.toRadians(160), true));
+        cases.add(new GoldenCase(planet, 4.2, 0.45, 0.3, Math.toRadians(300), true));
+        return cases;
+    }
+
+    /**
+     * File-name friendly identifier, e.g. "earth-yaw120-pitch000-tilt000-light045-raster"
+     */
+    public String getName() {
+        return String.format(Locale.ROOT, "%s-yaw%03d-pitch%03d-tilt%03d-light%03d-%s", planet.getId(),
+            Math.round(Math.toDegrees(yaw)), Math.round(Math.toDegrees(pitch)), Math.round(Math.toDegrees(tilt)),
+            Math.round(Math.toDegrees(lightAngle)), projectionTable ? "table" : "raster");
+    }
+
+    public CameraOrientation getCamera() {
+        return CameraOrientation.fromAngles(yaw, pitch, tilt);
+    }
+
+    public Planet getPlanet() {
+        return planet;
+    }
+
+    public double getLightAngle() {
+        return lightAngle;
+    }
+
+    /**
+     * Whether the case renders through the projection table (temporal reprojection enabled);
+     * pitched or tilted cameras always do
+     */
+    public boolean isProjectionTable() {
+        return projectionTable;
+    }
+
+    @Override
+    public String toString() {
+        return getName();
+    }
+}
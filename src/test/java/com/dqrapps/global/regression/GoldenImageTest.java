@@ -0,0 +1,185 @@
+package com.dqrapps.global.regression;
+
+import com.dqrapps.global.graphics.Java2DBackend;
+import com.dqrapps.global.graphics.LightingSystem;
+import com.dqrapps.global.graphics.OffscreenBackend;
+import com.dqrapps.global.graphics.RenderBackend;
+import com.dqrapps.global.graphics.RenderBackendType;
+import com.dqrapps.global.graphics.RenderQuality;
+import com.dqrapps.global.graphics.SphereRenderer;
+import com.dqrapps.global.graphics.TextureManager;
+import com.dqrapps.global.model.Planet;
+import com.dqrapps.global.model.PlanetCatalog;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Golden-image regression test for the sphere renderer. Every catalog planet is rendered
+ * offscreen through {@link SphereRenderer} for each {@link GoldenCase} and render backend and
+ * compared with a stored reference PNG within a colour tolerance; actual and diff images of
+ * failing cases are written to the output directory. Frame times depend on the machine running
+ * the build, so they are only checked when a budget is given:
+ * <pre>
+ * mvn test -Dtest=GoldenImageTest                        compare against src/test/resources/golden
+ * mvn -Pgolden test                                      also fail cases whose median frame exceeds 50 ms
+ * mvn test -Dtest=GoldenImageTest -Dgolden.update=true   rewrite the references after an intended change
+ * </pre>
+ * System properties: {@code golden.update}, {@code golden.references}, {@code golden.output},
+ * {@code golden.catalog}, {@code golden.radius}, {@code golden.tolerance}, {@code golden.max-differing},
+ * {@code golden.budget-ms} (0 for none), {@code golden.frames}, {@code golden.backend=java2d|offscreen}
+ * (both when unset). The offscreen backend does not antialias the outline, so it is compared against
+ * its own references in the directory named after the java2d one with an {@code -offscreen} suffix.
+ */
+class GoldenImageTest {
+    private static final int MARGIN = 2;
+    private static final int WARMUP_FRAMES = 5;
+
+    private static final boolean UPDATE = Boolean.getBoolean("golden.update");
+    private static final Path REFERENCES = Paths.get(System.getProperty("golden.references", "src/test/resources/golden"));
+    private static final Path OUTPUT = Paths.get(System.getProperty("golden.output", "target/golden"));
+    private static final String CATALOG = System.getProperty("golden.catalog", "");
+    private static final int RADIUS = Integer.getInteger("golden.radius", 64);
+    private static final int CHANNEL_TOLERANCE = Integer.getInteger("golden.tolerance", 8);
+    private static final double MAX_DIFFERING = Double.parseDouble(System.getProperty("golden.max-differing", "0.002"));
+    private static final double BUDGET_MILLIS = Double.parseDouble(System.getProperty("golden.budget-ms", "0"));
+    private static final int TIMED_FRAMES = Math.max(1, Integer.getInteger("golden.frames", 20));
+    private static final String BACKEND = System.getProperty("golden.backend", "");
+
+    private static TextureManager textureManager;
+    private static LightingSystem lightingSystem;
+    private static SphereRenderer sphereRenderer;
+
+    @BeforeAll
+    static void setUp() throws IOException {
+        textureManager = new TextureManager();
+        lightingSystem = new LightingSystem();
+        sphereRenderer = new SphereRenderer(textureManager, lightingSystem);
+        sphereRenderer.setQuality(RenderQuality.FULL);
+        sphereRenderer.setResolutionScale(1.0);
+        Files.createDirectories(OUTPUT);
+        if (UPDATE) {
+            for (RenderBackendType backend : backends()) {
+                Files.createDirectories(references(backend));
+            }
+        }
+    }
+
+    @AfterAll
+    static void release() {
+        sphereRenderer.dispose();
+        textureManager.release();
+    }
+
+    static List<Arguments> cases() {
+        List<Arguments> cases = new ArrayList<>();
+        for (RenderBackendType backend : backends()) {
+            for (Planet planet : PlanetCatalog.load(CATALOG).getPlanets()) {
+                for (GoldenCase goldenCase : GoldenCase.standardCases(planet)) {
+                    cases.add(Arguments.of(backend, goldenCase));
+                }
+            }
+        }
+        return cases;
+    }
+
+    private static List<RenderBackendType> backends() {
+        return BACKEND.trim().isEmpty() ? Arrays.asList(RenderBackendType.values())
+            : Collections.singletonList(RenderBackendType.fromName(BACKEND));
+    }
+
+    /**
+     * Reference directory of a backend: the configured one for java2d, a sibling for offscreen
+     */
+    private static Path references(RenderBackendType backend) {
+        return backend == RenderBackendType.JAVA2D ? REFERENCES
+            : REFERENCES.resolveSibling(REFERENCES.getFileName() + "-" + backend.name().toLowerCase());
+    }
+
+    @ParameterizedTest(name = "{0} {1}")
+    @MethodSource("cases")
+    void matchesReference(RenderBackendType backend, GoldenCase goldenCase) throws IOException {
+        BufferedImage actual = render(backend, goldenCase);
+        File reference = references(backend).resolve(goldenCase.getName() + ".png").toFile();
+        // Failing images of both backends share the output directory
+        String name = backend.name().toLowerCase() + "-" + goldenCase.getName();
+        if (UPDATE) {
+            ImageIO.write(actual, "png", reference);
+        } else {
+            if (!reference.isFile()) {
+                ImageIO.write(actual, "png", OUTPUT.resolve(name + "-actual.png").toFile());
+            }
+            assertThat(reference).as("reference image").isFile();
+
+            ImageComparison comparison = ImageComparison.compare(ImageIO.read(reference), actual, CHANNEL_TOLERANCE);
+            boolean matches = comparison.matches(MAX_DIFFERING);
+            if (!matches) {
+                ImageIO.write(actual, "png", OUTPUT.resolve(name + "-actual.png").toFile());
+                ImageIO.write(comparison.getDiff(), "png", OUTPUT.resolve(name + "-diff.png").toFile());
+            }
+            assertThat(matches).as("%d pixels differ (%.3f%%, max delta %d)", comparison.getDifferingPixels(),
+                100 * comparison.getDifferingFraction(), comparison.getMaxChannelDelta()).isTrue();
+        }
+
+        if (BUDGET_MILLIS > 0) {
+            assertThat(timeCase(backend, goldenCase)).as("median frame time in ms").isLessThanOrEqualTo(BUDGET_MILLIS);
+        }
+    }
+
+    /**
+     * Render one case onto a black square just large enough for the planet and its outline
+     */
+    private static BufferedImage render(RenderBackendType backend, GoldenCase goldenCase) {
+        lightingSystem.setLightAngle(goldenCase.getLightAngle());
+        sphereRenderer.setTemporalReprojection(goldenCase.isProjectionTable());
+        // Every frame is rendered in full rather than reused from the sphere cache
+        textureManager.clearCache();
+
+        int size = 2 * (RADIUS + MARGIN);
+        BufferedImage image = new BufferedImage(size, size, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2d = image.createGraphics();
+        // Same hints as GlobePanel
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        RenderBackend target = backend == RenderBackendType.OFFSCREEN
+            ? new OffscreenBackend(image) : new Java2DBackend(g2d);
+        sphereRenderer.drawPlanet(target, size / 2, size / 2, RADIUS, goldenCase.getPlanet(), goldenCase.getCamera());
+        g2d.dispose();
+        return image;
+    }
+
+    /**
+     * Median time of a full render of the case, after a few warmup frames
+     */
+    private static double timeCase(RenderBackendType backend, GoldenCase goldenCase) {
+        for (int i = 0; i < WARMUP_FRAMES; i++) {
+            render(backend, goldenCase);
+        }
+        long[] nanos = new long[TIMED_FRAMES];
+        for (int i = 0; i < TIMED_FRAMES; i++) {
+            long start = System.nanoTime();
+            render(backend, goldenCase);
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        return nanos[TIMED_FRAMES / 2] / 1_000_000.0;
+    }
+}
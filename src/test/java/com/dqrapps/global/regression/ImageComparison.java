@@ -0,0 +1,80 @@
+package com.dqrapps.global.regression;
+
+import java.awt.image.BufferedImage;
+
+/**
+ * Per-pixel comparison of a render against its reference. A pixel differs when any colour
+ * channel is off by more than the channel tolerance; the images match when no more than the
+ * allowed fraction of pixels differ.
+ */
+public class ImageComparison {
+    private final int width;
+    private final int height;
+    private final long differingPixels;
+    private final int maxChannelDelta;
+    private final BufferedImage diff;
+
+    private ImageComparison(int width, int height, long differingPixels, int maxChannelDelta, BufferedImage diff) {
+        this.width = width;
+        this.height = height;
+        this.differingPixels = differingPixels;
+        this.maxChannelDelta = maxChannelDelta;
+        this.diff = diff;
+    }
+
+    /**
+     * Compare two images; differing pixels are painted red in the diff image over a dimmed copy
+     * of the reference. Images of different sizes differ everywhere.
+     */
+    public static ImageComparison compare(BufferedImage reference, BufferedImage actual, int channelTolerance) {
+        int width = actual.getWidth();
+        int height = actual.getHeight();
+        BufferedImage diff = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        if (reference.getWidth() != width || reference.getHeight() != height) {
+            return new ImageComparison(width, height, (long) width * height, 255, diff);
+        }
+        int[] expected = reference.getRGB(0, 0, width, height, null, 0, width);
+        int[] rendered = actual.getRGB(0, 0, width, height, null, 0, width);
+        long differing = 0;
+        int maxDelta = 0;
+        for (int i = 0; i < rendered.length; i++) {
+            int delta = channelDelta(expected[i], rendered[i]);
+            maxDelta = Math.max(maxDelta, delta);
+            if (delta > channelTolerance) {
+                differing++;
+                diff.setRGB(i % width, i / width, 0xFF0000);
+            } else {
+                diff.setRGB(i % width, i / width, (expected[i] >> 2) & 0x3F3F3F);
+            }
+        }
+        return new ImageComparison(width, height, differing, maxDelta, diff);
+    }
+
+    private static int channelDelta(int a, int b) {
+        int delta = 0;
+        for (int shift = 0; shift < 32; shift += 8) {
+            delta = Math.max(delta, Math.abs(((a >>> shift) & 0xFF) - ((b >>> shift) & 0xFF)));
+        }
+        return delta;
+    }
+
+    public boolean matches(double maxDifferingFraction) {
+        return differingPixels <= maxDifferingFraction * width * height;
+    }
+
+    public long getDifferingPixels() {
+        return differingPixels;
+    }
+
+    public double getDifferingFraction() {
+        return (double) differingPixels / ((long) width * height);
+    }
+
+    public int getMaxChannelDelta() {
+        return maxChannelDelta;
+    }
+
+    public BufferedImage getDiff() {
+        return diff;
+    }
+}
@@ -0,0 +1,68 @@
+package com.dqrapps.global.session;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SessionStoreTest {
+
+    private static JdbcTemplate database(String name) {
+        return new JdbcTemplate(new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", ""));
+    }
+
+    private static RenderState state(double satellitePhase, double[] sunDirection) {
+        return new RenderState("mars", 0.5, 0.1, -0.2, 1.0, sunDirection, 3.0, 1.5, 4, 42L, satellitePhase,
+            true, false, true, 0.75, 2);
+    }
+
+    @Test
+    void framesRoundTripWithSatellitePhaseSunAndGapMarkers() {
+        SessionStore store = new SessionStore(database("round-trip"));
+        long sessionId = store.createSession("test", 800, 600);
+        store.insertFrames(sessionId, Arrays.asList(
+            new FrameRecord(0, 1_000_000, state(0.0, null), 0),
+            new FrameRecord(3, 2_000_000, state(0.06, new double[]{0.6, -0.8, 0}), 2)));
+
+        List<FrameRecord> frames = store.loadFrames(sessionId);
+
+        assertThat(frames).hasSize(2);
+        assertThat(frames.get(0).isAfterGap()).isFalse();
+        assertThat(frames.get(0).getState().isSunDriven()).isFalse();
+        assertThat(frames.get(1).getFrameNumber()).isEqualTo(3);
+        assertThat(frames.get(1).getDroppedBefore()).isEqualTo(2);
+        RenderState restored = frames.get(1).getState();
+        assertThat(restored.getSatellitePhase()).isEqualTo(0.06);
+        assertThat(restored.getPlanetId()).isEqualTo("mars");
+        assertThat(restored.getSatelliteSeed()).isEqualTo(42L);
+        assertThat(restored.getResolutionScale()).isEqualTo(0.75);
+        assertThat(restored.getQualityLevel()).isEqualTo(2);
+        assertThat(restored.getSunDirection()).containsExactly(0.6, -0.8, 0);
+    }
+
+    @Test
+    void sessionsRecordedBeforeTheNewColumnsStillLoad() {
+        JdbcTemplate database = database("old-schema");
+        database.execute("CREATE TABLE render_frame ("
+            + "session_id BIGINT NOT NULL, frame_number BIGINT NOT NULL, frame_nanos BIGINT NOT NULL, "
+            + "planet_id VARCHAR(64) NOT NULL, earth_rotation DOUBLE NOT NULL, camera_pitch DOUBLE NOT NULL, "
+            + "camera_tilt DOUBLE NOT NULL, light_angle DOUBLE NOT NULL, animation_time DOUBLE NOT NULL, "
+            + "animation_speed DOUBLE NOT NULL, satellite_count INT NOT NULL, satellite_seed BIGINT NOT NULL, "
+            + "show_orbits BOOLEAN NOT NULL, show_light_source BOOLEAN NOT NULL, show_terminator BOOLEAN NOT NULL, "
+            + "resolution_scale DOUBLE NOT NULL, quality_level INT NOT NULL, "
+            + "PRIMARY KEY (session_id, frame_number))");
+        database.update("INSERT INTO render_frame VALUES (7, 0, 1000, 'earth', 0, 0, 0, 0.78, 0, 1, 8, 5, "
+            + "TRUE, TRUE, TRUE, 1, 0)");
+
+        List<FrameRecord> frames = new SessionStore(database).loadFrames(7);
+
+        assertThat(frames).hasSize(1);
+        assertThat(frames.get(0).getState().getSatellitePhase()).isZero();
+        assertThat(frames.get(0).getState().getSunDirection()).isNull();
+        assertThat(frames.get(0).isAfterGap()).isFalse();
+    }
+}